@@ -0,0 +1,41 @@
+package com.getcapacitor.community.benchmarks;
+
+import com.getcapacitor.community.BridgefyHelper;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Parsing the UUIDs passed in by the web view, including malformed ones, which are turned into {@code null}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BridgefyHelperBenchmark {
+
+    private String valid;
+
+    private String invalid;
+
+    @Setup
+    public void setup() {
+        valid = UUID.randomUUID().toString();
+        invalid = "not-a-uuid";
+    }
+
+    @Benchmark
+    public UUID makeUUID() {
+        return BridgefyHelper.makeUUID(valid);
+    }
+
+    @Benchmark
+    public UUID makeInvalidUUID() {
+        return BridgefyHelper.makeUUID(invalid);
+    }
+}
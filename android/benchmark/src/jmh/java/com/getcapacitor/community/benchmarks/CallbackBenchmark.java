@@ -0,0 +1,69 @@
+package com.getcapacitor.community.benchmarks;
+
+import com.getcapacitor.JSObject;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.community.BridgefyController.Reason;
+import com.getcapacitor.community.classes.results.SendResult;
+import com.getcapacitor.community.interfaces.Callback;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Settling a call, up to the message which is posted to the web view.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CallbackBenchmark {
+
+    private PluginCall call;
+
+    private Callback callback;
+
+    private SendResult result;
+
+    private Exception exception;
+
+    private Reason reason;
+
+    @Setup
+    public void setup() {
+        call = new PluginCall("1", new JSObject());
+        callback = new Callback(call) {};
+
+        result = new SendResult(UUID.randomUUID());
+        exception = new IllegalStateException("Bridgefy is not started.", new RuntimeException("cause"));
+        reason = new Reason("expiredLicense", "The license has expired.", null);
+    }
+
+    @Benchmark
+    public String success() {
+        callback.success();
+        return call.getMessage();
+    }
+
+    @Benchmark
+    public String successResult() {
+        callback.success(result);
+        return call.getMessage();
+    }
+
+    @Benchmark
+    public String errorException() {
+        callback.error(exception);
+        return call.getMessage();
+    }
+
+    @Benchmark
+    public String errorReason() {
+        callback.error(reason);
+        return call.getMessage();
+    }
+}
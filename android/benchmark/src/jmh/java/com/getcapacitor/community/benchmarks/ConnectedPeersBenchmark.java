@@ -0,0 +1,50 @@
+package com.getcapacitor.community.benchmarks;
+
+import com.getcapacitor.community.classes.events.ConnectedPeersEvent;
+import com.getcapacitor.community.classes.results.ConnectedPeersResult;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Serializing the connected peers, as they are returned by {@code connectedPeers} and emitted by
+ * {@code onConnectedPeers}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConnectedPeersBenchmark {
+
+    @Param({ "1", "10", "100", "500" })
+    public int peers;
+
+    private ConnectedPeersResult result;
+
+    private ConnectedPeersEvent event;
+
+    @Setup
+    public void setup() {
+        List<UUID> peers = Payloads.peers(this.peers);
+
+        result = new ConnectedPeersResult(peers, 1);
+        event = new ConnectedPeersEvent(peers);
+    }
+
+    @Benchmark
+    public String result() {
+        return result.toJSObject().toString();
+    }
+
+    @Benchmark
+    public String event() {
+        return event.toJSObject().toString();
+    }
+}
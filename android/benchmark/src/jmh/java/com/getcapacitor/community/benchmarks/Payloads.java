@@ -0,0 +1,33 @@
+package com.getcapacitor.community.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Inputs shared by the benchmarks, seeded so that every run measures the same data.
+ */
+final class Payloads {
+
+    private static final long SEED = 0x42;
+
+    private Payloads() {}
+
+    static byte[] bytes(int size) {
+        byte[] data = new byte[size];
+        new Random(SEED).nextBytes(data);
+        return data;
+    }
+
+    static List<UUID> peers(int count) {
+        Random random = new Random(SEED);
+        List<UUID> peers = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            peers.add(new UUID(random.nextLong(), random.nextLong()));
+        }
+
+        return peers;
+    }
+}
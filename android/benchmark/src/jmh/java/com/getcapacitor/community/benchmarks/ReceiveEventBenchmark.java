@@ -0,0 +1,56 @@
+package com.getcapacitor.community.benchmarks;
+
+import android.util.Pair;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.community.classes.events.ReceiveEvent;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Building the event of a received message, which encodes the payload, and serializing it for the bridge.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReceiveEventBenchmark {
+
+    @Param({ "32", "1024", "32768", "1048576" })
+    public int size;
+
+    private ReceiveEvent event;
+
+    private ReceiveEvent preview;
+
+    @Setup
+    public void setup() {
+        UUID messageID = UUID.randomUUID();
+        Pair<String, UUID> transmissionMode = new Pair<>("p2p", UUID.randomUUID());
+        byte[] data = Payloads.bytes(size);
+
+        event = new ReceiveEvent(messageID, data, transmissionMode);
+        preview = new ReceiveEvent(messageID, data, transmissionMode, 64);
+    }
+
+    @Benchmark
+    public JSObject toJSObject() {
+        return event.toJSObject();
+    }
+
+    @Benchmark
+    public String serialize() {
+        return event.toJSObject().toString();
+    }
+
+    @Benchmark
+    public String serializePreview() {
+        return preview.toJSObject().toString();
+    }
+}
@@ -0,0 +1,65 @@
+package com.getcapacitor.community.benchmarks;
+
+import android.util.Base64;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.community.classes.options.SendOptions;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.json.JSONException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Reading the options of a send call, which decodes the payload, with and without parsing the bridge message.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SendOptionsBenchmark {
+
+    @Param({ "32", "1024", "32768", "1048576" })
+    public int size;
+
+    private String data;
+
+    private String json;
+
+    private JSObject options;
+
+    @Setup
+    public void setup() throws JSONException {
+        data = Base64.encodeToString(Payloads.bytes(size), Base64.NO_WRAP);
+
+        JSObject transmissionMode = new JSObject();
+        transmissionMode.put("type", "mesh");
+        transmissionMode.put("uuid", UUID.randomUUID().toString());
+
+        options = new JSObject();
+        options.put("data", data);
+        options.put("transmissionMode", transmissionMode);
+        options.put("awaitDelivery", true);
+
+        json = options.toString();
+    }
+
+    @Benchmark
+    public SendOptions parse() throws JSONException {
+        return new SendOptions(new JSObject(json));
+    }
+
+    @Benchmark
+    public SendOptions options() {
+        return new SendOptions(options);
+    }
+
+    @Benchmark
+    public byte[] decode() {
+        return Base64.decode(data, Base64.NO_WRAP);
+    }
+}
@@ -0,0 +1,6 @@
+package android.content;
+
+/**
+ * Stands in for {@code android.content.Context}, which is only referred to by the benchmarked classes.
+ */
+public abstract class Context {}
@@ -0,0 +1,73 @@
+package android.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Stands in for {@code android.util.Base64} on the JVM, backed by {@link java.util.Base64}.
+ */
+public class Base64 {
+
+    public static final int DEFAULT = 0;
+    public static final int NO_PADDING = 1;
+    public static final int NO_WRAP = 2;
+    public static final int CRLF = 4;
+    public static final int URL_SAFE = 8;
+    public static final int NO_CLOSE = 16;
+
+    private static final int LINE_LENGTH = 76;
+
+    private Base64() {}
+
+    public static byte[] decode(String str, int flags) {
+        return decoder(flags).decode(str);
+    }
+
+    public static byte[] decode(byte[] input, int flags) {
+        return decoder(flags).decode(input);
+    }
+
+    public static byte[] decode(byte[] input, int offset, int len, int flags) {
+        return decoder(flags).decode(Arrays.copyOfRange(input, offset, offset + len));
+    }
+
+    public static String encodeToString(byte[] input, int flags) {
+        return new String(encode(input, flags), StandardCharsets.US_ASCII);
+    }
+
+    public static String encodeToString(byte[] input, int offset, int len, int flags) {
+        return new String(encode(input, offset, len, flags), StandardCharsets.US_ASCII);
+    }
+
+    public static byte[] encode(byte[] input, int flags) {
+        return encoder(flags).encode(input);
+    }
+
+    public static byte[] encode(byte[] input, int offset, int len, int flags) {
+        if (offset == 0 && len == input.length) {
+            return encode(input, flags);
+        }
+
+        return encode(Arrays.copyOfRange(input, offset, offset + len), flags);
+    }
+
+    private static java.util.Base64.Decoder decoder(int flags) {
+        // Like Android, line breaks are skipped, which the MIME decoder does as well.
+        return (flags & URL_SAFE) != 0 ? java.util.Base64.getUrlDecoder() : java.util.Base64.getMimeDecoder();
+    }
+
+    private static java.util.Base64.Encoder encoder(int flags) {
+        java.util.Base64.Encoder encoder;
+
+        if ((flags & URL_SAFE) != 0) {
+            encoder = java.util.Base64.getUrlEncoder();
+        } else if ((flags & NO_WRAP) != 0) {
+            encoder = java.util.Base64.getEncoder();
+        } else {
+            byte[] separator = (flags & CRLF) != 0 ? new byte[] { '\r', '\n' } : new byte[] { '\n' };
+            encoder = java.util.Base64.getMimeEncoder(LINE_LENGTH, separator);
+        }
+
+        return (flags & NO_PADDING) != 0 ? encoder.withoutPadding() : encoder;
+    }
+}
@@ -0,0 +1,70 @@
+package com.getcapacitor;
+
+/**
+ * Stands in for Capacitor's {@code PluginCall} on the JVM. Results are serialized into the message the bridge would
+ * post to the web view, so that resolving and rejecting cost what they cost on a device, minus the web view.
+ */
+public class PluginCall {
+
+    private final String callbackId;
+
+    private final JSObject data;
+
+    private String message;
+
+    public PluginCall(String callbackId, JSObject data) {
+        this.callbackId = callbackId;
+        this.data = data;
+    }
+
+    public JSObject getData() {
+        return data;
+    }
+
+    /**
+     * @return the last message which would have been posted to the web view.
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    public void resolve() {
+        post(true, new JSObject());
+    }
+
+    public void resolve(JSObject data) {
+        post(true, data);
+    }
+
+    public void reject(String msg, String code) {
+        reject(msg, code, null);
+    }
+
+    public void reject(String msg, Exception ex) {
+        reject(msg, null, ex);
+    }
+
+    public void reject(String msg, String code, Exception ex) {
+        JSObject error = new JSObject();
+
+        error.put("message", msg);
+        if (code != null) {
+            error.put("code", code);
+        }
+
+        post(false, error);
+    }
+
+    private void post(boolean success, JSObject result) {
+        JSObject message = new JSObject();
+
+        message.put("save", false);
+        message.put("callbackId", callbackId);
+        message.put("pluginId", "Bridgefy");
+        message.put("methodName", "benchmark");
+        message.put("success", success);
+        message.put(success ? "data" : "error", result);
+
+        this.message = message.toString();
+    }
+}
@@ -0,0 +1,10 @@
+package com.getcapacitor.community;
+
+/**
+ * Stands in for the controller, whose {@code Reason} is all the benchmarked classes refer to; the controller itself
+ * needs the Bridgefy SDK.
+ */
+public class BridgefyController {
+
+    public record Reason(String type, String message, Integer code) {}
+}
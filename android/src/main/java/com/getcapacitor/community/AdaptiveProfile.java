@@ -0,0 +1,360 @@
+package com.getcapacitor.community;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.json.JSONObject;
+
+/**
+ * Chooses the propagation profile from the density of peers around, and restarts the SDK when it changes.
+ * <p>
+ * The density is the number of distinct peers connected within a sliding window, so peers which only passed by
+ * count as well. Separate thresholds to enter and to leave a profile, and a minimum time between restarts, keep the
+ * profile from flapping.
+ * <p>
+ * The SDK is stopped and started again on a single thread, so that restarts triggered by evaluations and by peers
+ * connecting or disconnecting do not overlap. If the SDK fails to stop, or does not stop in time, it keeps running with
+ * the previous profile, which is switched from again once the minimum time has passed. If it fails to start again, the
+ * profile is no longer adapted.
+ */
+public class AdaptiveProfile {
+
+    static final String ADAPTIVE = "adaptive";
+
+    private static final String STANDARD = "standard";
+    private static final String HIGH_DENSITY = "highDensityNetwork";
+    private static final String SPARSE = "sparseNetwork";
+
+    static final int DEFAULT_WINDOW = 60000;
+    static final int DEFAULT_MIN_DWELL = 120000;
+
+    static final int DEFAULT_HIGH_DENSITY_ENTER = 8;
+    static final int DEFAULT_HIGH_DENSITY_LEAVE = 5;
+    static final int DEFAULT_SPARSE_ENTER = 1;
+    static final int DEFAULT_SPARSE_LEAVE = 3;
+
+    private static final long EVALUATE_INTERVAL = 10;
+
+    public interface Restart {
+        void stop();
+
+        void start(@NonNull String propagationProfile);
+    }
+
+    public interface Clock {
+        /**
+         * @return the current time in nanoseconds.
+         */
+        long nanoTime();
+    }
+
+    private final long window;
+    private final long minDwell;
+
+    private final int highDensityEnter;
+    private final int highDensityLeave;
+    private final int sparseEnter;
+    private final int sparseLeave;
+
+    private final Restart restart;
+
+    private final Clock clock;
+
+    private boolean isEnabled = false;
+    private boolean isRestarting = false;
+    private boolean isRestarted = false;
+
+    @NonNull
+    private String profile = STANDARD;
+
+    // The profile the SDK runs with while it is restarted with another one.
+    @NonNull
+    private String previous = STANDARD;
+
+    private long switched;
+
+    private final Set<UUID> connected = new HashSet<>();
+
+    private final Map<UUID, Long> seen = new HashMap<>();
+
+    @Nullable
+    private ScheduledExecutorService executor;
+
+    @Nullable
+    private ScheduledFuture<?> evaluation;
+
+    /**
+     * @param options the window and dwell time in milliseconds, and the densities to enter and to leave the profiles.
+     */
+    public AdaptiveProfile(@Nullable JSONObject options, @NonNull Restart restart) {
+        this(options, restart, System::nanoTime, null);
+    }
+
+    /**
+     * @param executor the executor to evaluate and restart on, which is created on start if {@code null}.
+     */
+    AdaptiveProfile(
+        @Nullable JSONObject options,
+        @NonNull Restart restart,
+        @NonNull Clock clock,
+        @Nullable ScheduledExecutorService executor
+    ) {
+        JSONObject values = options != null ? options : new JSONObject();
+
+        this.window = TimeUnit.MILLISECONDS.toNanos(Math.max(values.optLong("window", DEFAULT_WINDOW), 0));
+        this.minDwell = TimeUnit.MILLISECONDS.toNanos(Math.max(values.optLong("minDwell", DEFAULT_MIN_DWELL), 0));
+
+        this.highDensityEnter = Math.max(values.optInt("highDensityEnter", DEFAULT_HIGH_DENSITY_ENTER), 1);
+        this.sparseEnter = Math.max(values.optInt("sparseEnter", DEFAULT_SPARSE_ENTER), 0);
+
+        // A profile is left below the density it has been entered at, or the profile would flap.
+        this.highDensityLeave = Math.min(values.optInt("highDensityLeave", DEFAULT_HIGH_DENSITY_LEAVE), highDensityEnter);
+        this.sparseLeave = Math.max(values.optInt("sparseLeave", DEFAULT_SPARSE_LEAVE), sparseEnter + 1);
+
+        this.restart = restart;
+        this.clock = clock;
+        this.executor = executor;
+    }
+
+    public static boolean isAdaptive(@Nullable String propagationProfile) {
+        return ADAPTIVE.equals(propagationProfile);
+    }
+
+    /**
+     * @return the propagation profile to start with.
+     */
+    @NonNull
+    public synchronized String start() {
+        isEnabled = true;
+        isRestarting = false;
+        isRestarted = false;
+
+        profile = STANDARD;
+        previous = STANDARD;
+        switched = clock.nanoTime();
+
+        connected.clear();
+        seen.clear();
+
+        if (executor == null) {
+            executor = Executors.newSingleThreadScheduledExecutor();
+        }
+
+        if (evaluation == null) {
+            evaluation = executor.scheduleWithFixedDelay(this::evaluate, EVALUATE_INTERVAL, EVALUATE_INTERVAL, TimeUnit.SECONDS);
+        }
+
+        return profile;
+    }
+
+    public synchronized void stop() {
+        isEnabled = false;
+        isRestarting = false;
+        isRestarted = false;
+
+        if (evaluation != null) {
+            evaluation.cancel(false);
+            evaluation = null;
+        }
+    }
+
+    public void release() {
+        stop();
+
+        synchronized (this) {
+            if (executor != null) {
+                executor.shutdownNow();
+                executor = null;
+            }
+        }
+    }
+
+    /**
+     * Starts the SDK again with the new profile if it has been stopped to restart.
+     *
+     * @return {@code true} if the SDK has been stopped to restart.
+     */
+    public synchronized boolean onStopped() {
+        if (!isRestarting) {
+            stop();
+            return false;
+        }
+
+        isRestarting = false;
+        isRestarted = true;
+
+        String propagationProfile = profile;
+
+        execute(() -> restart.start(propagationProfile));
+
+        return true;
+    }
+
+    /**
+     * Keeps the profile the SDK is still running with if it has been stopped to restart, and switches again once the
+     * minimum time has passed.
+     * <p>
+     * Called when the SDK fails to stop, and when it does not stop in time.
+     */
+    public synchronized void onFailToStop() {
+        if (!isRestarting) {
+            return;
+        }
+
+        isRestarting = false;
+
+        profile = previous;
+        switched = clock.nanoTime();
+    }
+
+    /**
+     * @return {@code true} if the SDK has been started again after a change of profile.
+     */
+    public synchronized boolean onStarted() {
+        boolean wasRestarted = isRestarted;
+
+        isRestarted = false;
+
+        return wasRestarted;
+    }
+
+    /**
+     * Stops adapting the profile, as the SDK is not running anymore.
+     * <p>
+     * Called when the SDK fails to start, and when it does not start in time.
+     */
+    public synchronized void onFailToStart() {
+        stop();
+    }
+
+    public void onConnected(@NonNull UUID peerID) {
+        synchronized (this) {
+            connected.add(peerID);
+            seen.put(peerID, clock.nanoTime());
+        }
+
+        evaluate();
+    }
+
+    public void onDisconnected(@NonNull UUID peerID) {
+        synchronized (this) {
+            connected.remove(peerID);
+            seen.put(peerID, clock.nanoTime());
+        }
+
+        evaluate();
+    }
+
+    public void onConnectedPeers(@NonNull List<UUID> peers) {
+        synchronized (this) {
+            long now = clock.nanoTime();
+
+            for (UUID peerID : connected) {
+                seen.put(peerID, now);
+            }
+
+            connected.clear();
+            connected.addAll(peers);
+
+            for (UUID peerID : peers) {
+                seen.put(peerID, now);
+            }
+        }
+
+        evaluate();
+    }
+
+    private void evaluate() {
+        synchronized (this) {
+            if (!isEnabled || isRestarting) {
+                return;
+            }
+
+            long now = clock.nanoTime();
+
+            for (UUID peerID : connected) {
+                seen.put(peerID, now);
+            }
+
+            Iterator<Long> iterator = seen.values().iterator();
+
+            while (iterator.hasNext()) {
+                if (now - iterator.next() > window) {
+                    iterator.remove();
+                }
+            }
+
+            String next = toProfile(seen.size());
+
+            if (next.equals(profile) || now - switched < minDwell) {
+                return;
+            }
+
+            previous = profile;
+            profile = next;
+            switched = now;
+
+            isRestarting = true;
+
+            execute(restart::stop);
+        }
+    }
+
+    /**
+     * Runs a step of a restart on the executor, unless the profile has been stopped meanwhile.
+     */
+    private void execute(@NonNull Runnable task) {
+        if (executor == null) {
+            return;
+        }
+
+        try {
+            executor.execute(() -> {
+                synchronized (this) {
+                    if (!isEnabled) {
+                        return;
+                    }
+                }
+
+                task.run();
+            });
+        } catch (RejectedExecutionException ignored) {}
+    }
+
+    @NonNull
+    private String toProfile(int density) {
+        switch (profile) {
+            case HIGH_DENSITY:
+                if (density >= highDensityLeave) {
+                    return HIGH_DENSITY;
+                }
+                break;
+            case SPARSE:
+                if (density < sparseLeave) {
+                    return SPARSE;
+                }
+                break;
+        }
+
+        if (density >= highDensityEnter) {
+            return HIGH_DENSITY;
+        }
+
+        if (density <= sparseEnter) {
+            return SPARSE;
+        }
+
+        return STANDARD;
+    }
+}
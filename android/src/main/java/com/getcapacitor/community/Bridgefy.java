@@ -1,13 +1,28 @@
 package com.getcapacitor.community;
 
+import android.util.Pair;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.community.BridgefyController.Reason;
+import com.getcapacitor.community.BridgefyController.ReasonType;
+import com.getcapacitor.community.classes.events.ConnectedPeersChangeEvent;
+import com.getcapacitor.community.classes.events.FailToSendEvent;
+import com.getcapacitor.community.classes.events.ProgressEvent;
+import com.getcapacitor.community.classes.events.ReceiveEvent;
+import com.getcapacitor.community.classes.events.SendEvent;
 import com.getcapacitor.community.classes.options.EstablishSecureConnectionOptions;
 import com.getcapacitor.community.classes.options.FingerprintOptions;
 import com.getcapacitor.community.classes.options.InitializeOptions;
 import com.getcapacitor.community.classes.options.IsFingerprintValidOptions;
+import com.getcapacitor.community.classes.options.PayloadOptions;
+import com.getcapacitor.community.classes.options.ReceiveFilterOptions;
+import com.getcapacitor.community.classes.options.SendBatchOptions;
+import com.getcapacitor.community.classes.options.SendFileOptions;
 import com.getcapacitor.community.classes.options.SendOptions;
 import com.getcapacitor.community.classes.options.StartOptions;
+import com.getcapacitor.community.classes.options.StatisticsOptions;
+import com.getcapacitor.community.classes.results.CompressionStatisticsResult;
 import com.getcapacitor.community.classes.results.ConnectedPeersResult;
 import com.getcapacitor.community.classes.results.CurrentUserIDResult;
 import com.getcapacitor.community.classes.results.FingerprintResult;
@@ -15,29 +30,180 @@ import com.getcapacitor.community.classes.results.IsFingerprintValidResult;
 import com.getcapacitor.community.classes.results.IsInitializedResult;
 import com.getcapacitor.community.classes.results.IsStartedResult;
 import com.getcapacitor.community.classes.results.LicenseExpirationDateResult;
+import com.getcapacitor.community.classes.results.PayloadResult;
+import com.getcapacitor.community.classes.results.SendBatchResult;
 import com.getcapacitor.community.classes.results.SendResult;
+import com.getcapacitor.community.classes.results.StatisticsResult;
+import com.getcapacitor.community.interfaces.Backend;
 import com.getcapacitor.community.interfaces.Callback;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class Bridgefy {
 
+    private interface Submission {
+        /**
+         * Sends the message and reports the outcome to the caller.
+         *
+         * @return the message ID, or {@code null} if the message could not be sent.
+         */
+        @Nullable
+        UUID submit(@NonNull PendingSends.Send send);
+
+        void reject(@NonNull Reason reason);
+    }
+
     private final String MISSING_API_KEY = "missing API key";
     private final String MISSING_USER_IDENTIFIER = "missing user identifier";
     private final String MISSING_FINGERPRINT = "missing fingerprint";
     private final String MISSING_PAYLOAD = "missing payload";
     private final String MISSING_TRANSMISSION_MODE = "missing transmission mode";
+    private final String MISSING_MESSAGES = "missing messages";
+    private final String MISSING_URI = "missing URI";
+    private final String MISSING_MESSAGE_ID = "missing message identifier";
+    private final String PAYLOAD_NOT_FOUND = "payload not found";
+    private final String UNKNOWN_ERROR = "unknown error";
+    private final String SEND_QUEUE_FULL = "send queue is full";
+    private final String OUTBOX_FULL = "outbox is full";
+    private final String RATE_LIMITED = "rate limit exceeded";
+    private final String PAYLOAD_TOO_LARGE = "payload too large";
+
+    private static final String DIRECTORY = "bridgefy";
 
     @NonNull
     private final BridgefyConfig config;
 
+    @NonNull
+    private final BridgefyPlugin plugin;
+
     private final BridgefyController bridgefy;
 
-    public Bridgefy(@NonNull BridgefyConfig config, @NonNull BridgefyPlugin plugin) {
+    private final PendingSends pendingSends = new PendingSends();
+
+    private final SendScheduler scheduler;
+
+    private final Fragmenter fragmenter;
+
+    private final Reassembler reassembler = new Reassembler();
+
+    private final Compression compression;
+
+    private final Coalescer coalescer;
+
+    private final DuplicateFilter duplicateFilter;
+
+    private final PayloadStore payloadStore;
+
+    private final PayloadSpiller spiller;
+
+    private final Outbox outbox;
+
+    private final RetryEngine retryEngine;
+
+    private final RateLimiter rateLimiter;
+
+    private final AdaptiveProfile adaptiveProfile;
+
+    private final ProgressThrottle progressThrottle;
+
+    private final PeerRegistry peerRegistry = new PeerRegistry();
+
+    private final Metrics metrics = new Metrics();
+
+    @Nullable
+    private volatile UUID userID;
+
+    private volatile ReceiveFilter receiveFilter = ReceiveFilter.NONE;
+
+    public Bridgefy(@NonNull BridgefyConfig config, @NonNull BridgefyPlugin plugin, @NonNull Backend backend) {
         this.config = config;
+        this.plugin = plugin;
+
+        bridgefy = new BridgefyController(plugin, backend);
+
+        rateLimiter = new RateLimiter(
+            config.getRateLimitPolicy(),
+            config.getRateLimitBytes(),
+            config.getRateLimitMessages(),
+            config.getRateLimitDestinationBytes(),
+            config.getRateLimitDestinationMessages()
+        );
+
+        scheduler = new SendScheduler(config.getSendQueueCapacity(), config.getMaxMessagesInFlight(), rateLimiter);
+
+        fragmenter = new Fragmenter(config.getFragmentSize());
+
+        compression = new Compression(config.getCompression(), config.getCompressionThreshold());
+
+        duplicateFilter = new DuplicateFilter(
+            config.getDuplicateFilter(),
+            config.getDuplicateFilterSize(),
+            config.getDuplicateFilterWindow()
+        );
+
+        payloadStore = new PayloadStore(
+            config.getReceiveMode(),
+            config.getPayloadStoreSize(),
+            config.getPayloadStoreTimeout(),
+            config.getPayloadPreviewSize()
+        );
+
+        spiller = new PayloadSpiller(
+            new File(plugin.getContext().getCacheDir(), DIRECTORY),
+            config.getSpillThreshold(),
+            config.getSpillQuota(),
+            event -> plugin.dispatchEvent(() -> plugin.onReceiveEvents(Collections.singletonList(event)))
+        );
+
+        outbox = new Outbox(
+            new File(plugin.getContext().getFilesDir(), DIRECTORY),
+            config.getOutbox(),
+            config.getOutboxSize(),
+            config.getOutboxMaxAttempts(),
+            config.getOutboxMaxAge(),
+            this::resend
+        );
+
+        adaptiveProfile = new AdaptiveProfile(
+            config.getAdaptiveProfile(),
+            new AdaptiveProfile.Restart() {
+                @Override
+                public void stop() {
+                    // Also settled if the SDK does not call back in time.
+                    bridgefy.stop(reason -> {
+                        if (reason != null) {
+                            adaptiveProfile.onFailToStop();
+                        }
+                    });
+                }
+
+                @Override
+                public void start(@NonNull String propagationProfile) {
+                    bridgefy.start(userID, propagationProfile, reason -> {
+                        if (reason != null) {
+                            adaptiveProfile.onFailToStart();
+                        }
+                    });
+                }
+            }
+        );
 
-        bridgefy = new BridgefyController(plugin);
+        progressThrottle = new ProgressThrottle(config.getProgressInterval(), config.getProgressStep());
+
+        retryEngine = new RetryEngine(config.getRetryPolicies(), this::retry, (retry, reason) -> {
+            outbox.defer(retry.entryID, reason);
+
+            plugin.dispatchEvent(() -> plugin.onFailToSendEvents(Collections.singletonList(onGiveUp(retry, reason))));
+        });
+
+        coalescer = new Coalescer(config.getCoalescingWindow(), config.getCoalescingSize(), this::sendFrame, this::flush, (messageIDs, exception) ->
+            onFailToSendPacked(messageIDs, new Reason(ReasonType.GENERIC, exception.getMessage(), null))
+        );
     }
 
     /**
@@ -77,9 +243,15 @@ public class Bridgefy {
             ? options.getPropagationProfile()
             : config.getPropagationProfile();
 
-        bridgefy.start(userID, propagationProfile);
+        if (AdaptiveProfile.isAdaptive(propagationProfile)) {
+            this.userID = userID;
 
-        callback.success();
+            propagationProfile = adaptiveProfile.start();
+        } else {
+            adaptiveProfile.stop();
+        }
+
+        bridgefy.start(userID, propagationProfile, reason -> settle(callback, reason));
     }
 
     public void isStarted(@NonNull Callback callback) {
@@ -90,9 +262,9 @@ public class Bridgefy {
     }
 
     public void stop(@NonNull Callback callback) {
-        bridgefy.stop();
+        adaptiveProfile.stop();
 
-        callback.success();
+        bridgefy.stop(reason -> settle(callback, reason));
     }
 
     /**
@@ -117,9 +289,9 @@ public class Bridgefy {
      */
 
     public void destroySession(@NonNull Callback callback) {
-        bridgefy.destroySession();
+        adaptiveProfile.stop();
 
-        callback.success();
+        bridgefy.destroySession(reason -> settle(callback, reason));
     }
 
     public void currentUserID(@NonNull Callback callback) {
@@ -130,9 +302,7 @@ public class Bridgefy {
     }
 
     public void connectedPeers(@NonNull Callback callback) {
-        List<UUID> peers = bridgefy.connectedPeers();
-
-        ConnectedPeersResult result = new ConnectedPeersResult(peers);
+        ConnectedPeersResult result = peerRegistry.getConnectedPeers();
         callback.success(result);
     }
 
@@ -213,9 +383,777 @@ public class Bridgefy {
             return;
         }
 
-        UUID messageID = bridgefy.send(data, transmissionMode);
+        enqueue(data, transmissionMode, options, callback);
+    }
 
-        SendResult result = new SendResult(messageID);
+    /**
+     * Reads the file to send.
+     *
+     * @return the payload, or {@code null} if the call has been settled with an error.
+     */
+    @Nullable
+    public byte[] readFile(@NonNull SendFileOptions options, @NonNull Callback callback) {
+        @Nullable
+        String uri = options.getURI();
+
+        if (uri == null) {
+            callback.error(new Exception(MISSING_URI));
+            return null;
+        }
+
+        byte[] data;
+
+        try {
+            data = FileSource.read(plugin.getContext(), uri, Fragmenter.MAX_PAYLOAD_SIZE);
+        } catch (FileSource.TooLargeException exception) {
+            callback.error(new Reason(ReasonType.PAYLOAD_TOO_LARGE, PAYLOAD_TOO_LARGE, null));
+            return null;
+        } catch (Exception exception) {
+            callback.error(exception);
+            return null;
+        }
+
+        if (data.length == 0) {
+            callback.error(new Exception(MISSING_PAYLOAD));
+            return null;
+        }
+
+        return data;
+    }
+
+    public void sendFile(@NonNull SendFileOptions options, @NonNull byte[] data, @NonNull Callback callback) {
+        @Nullable
+        var transmissionMode = options.getSendOptions().getTransmissionMode();
+
+        if (transmissionMode == null) {
+            callback.error(new Exception(MISSING_TRANSMISSION_MODE));
+            return;
+        }
+
+        enqueue(data, transmissionMode, options.getSendOptions(), callback);
+    }
+
+    public void sendBatch(@NonNull SendBatchOptions options, @NonNull Callback callback) {
+        @Nullable
+        List<JSObject> messages = options.getMessages();
+
+        if (messages == null) {
+            callback.error(new Exception(MISSING_MESSAGES));
+            return;
+        }
+
+        SendBatchResult result = new SendBatchResult(messages.size());
+
+        if (messages.isEmpty()) {
+            callback.success(result);
+            return;
+        }
+
+        // The batch settles once every entry has either been handed over to the SDK or failed.
+        AtomicInteger remaining = new AtomicInteger(messages.size());
+        Runnable complete = () -> {
+            if (remaining.decrementAndGet() == 0) {
+                callback.success(result);
+            }
+        };
+
+        for (int i = 0; i < messages.size(); i++) {
+            final int index = i;
+
+            @Nullable
+            JSObject message = messages.get(i);
+
+            try {
+                if (message == null) {
+                    throw new Exception(MISSING_PAYLOAD);
+                }
+
+                SendOptions sendOptions = new SendOptions(message);
+
+                @Nullable
+                byte[] data = sendOptions.getData();
+
+                if (data == null) {
+                    throw new Exception(MISSING_PAYLOAD);
+                }
+
+                @Nullable
+                var transmissionMode = sendOptions.getTransmissionMode();
+
+                if (transmissionMode == null) {
+                    throw new Exception(MISSING_TRANSMISSION_MODE);
+                }
+
+                enqueue(
+                    data,
+                    transmissionMode,
+                    toPriority(sendOptions.getPriority()),
+                    new Submission() {
+                        @Nullable
+                        @Override
+                        public UUID submit(@NonNull PendingSends.Send send) {
+                            try {
+                                UUID messageID = send.send();
+
+                                result.setMessageID(index, messageID);
+
+                                return messageID;
+                            } catch (Exception exception) {
+                                result.setError(index, getMessage(exception));
+
+                                return null;
+                            } finally {
+                                complete.run();
+                            }
+                        }
+
+                        @Override
+                        public void reject(@NonNull Reason reason) {
+                            result.setError(index, reason.message());
+
+                            complete.run();
+                        }
+                    }
+                );
+            } catch (Exception exception) {
+                result.setError(index, getMessage(exception));
+
+                complete.run();
+            }
+        }
+    }
+
+    /**
+     * Payloads
+     */
+
+    public void getPayload(@NonNull PayloadOptions options, @NonNull Callback callback) {
+        @Nullable
+        UUID messageID = options.getMessageID();
+
+        if (messageID == null) {
+            callback.error(new Exception(MISSING_MESSAGE_ID));
+            return;
+        }
+
+        @Nullable
+        byte[] data = payloadStore.get(messageID);
+
+        if (data == null) {
+            callback.error(new Exception(PAYLOAD_NOT_FOUND));
+            return;
+        }
+
+        PayloadResult result = new PayloadResult(data);
         callback.success(result);
     }
+
+    /**
+     * Filters
+     */
+
+    public void setReceiveFilter(@NonNull ReceiveFilterOptions options, @NonNull Callback callback) {
+        receiveFilter = new ReceiveFilter(
+            options.getTransmissionTypes(),
+            options.getAllowedSenders(),
+            options.getDeniedSenders(),
+            options.getPrefixes()
+        );
+
+        callback.success();
+    }
+
+    /**
+     * Statistics
+     */
+
+    public void compressionStatistics(@NonNull Callback callback) {
+        CompressionStatisticsResult result = compression.getStatistics();
+        callback.success(result);
+    }
+
+    public void getStatistics(@NonNull StatisticsOptions options, @NonNull Callback callback) {
+        boolean reset = Boolean.TRUE.equals(options.getReset());
+
+        EventDispatcher dispatcher = plugin.getDispatcher();
+
+        StatisticsResult result = new StatisticsResult(
+            metrics.getSent(reset),
+            metrics.getReceived(reset),
+            metrics.getWireSent(reset),
+            metrics.getWireReceived(reset),
+            metrics.getFailures(reset),
+            metrics.getSendLatency(reset),
+            metrics.getSDKSendTime(reset),
+            metrics.getReceiveBuildTime(reset),
+            metrics.getNotifyTime(reset),
+            scheduler.getQueueDepth(),
+            scheduler.getInFlight(),
+            dispatcher.getQueueDepth(),
+            dispatcher.getDropped(reset),
+            duplicateFilter.getDuplicates(reset),
+            compression.getStatistics(reset)
+        );
+        callback.success(result);
+    }
+
+    @NonNull
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Session Listeners
+     */
+
+    /**
+     * @return {@code true} if the event is to be reported, and not caused by a change of the adaptive profile.
+     */
+    public boolean onStarted() {
+        outbox.retry();
+
+        return !adaptiveProfile.onStarted();
+    }
+
+    public void onFailToStart() {
+        adaptiveProfile.onFailToStart();
+    }
+
+    /**
+     * @return {@code true} if the event is to be reported, and not caused by a change of the adaptive profile.
+     */
+    public boolean onStopped() {
+        if (adaptiveProfile.onStopped()) {
+            return false;
+        }
+
+        // Only a stop reported to the application clears the peers, a restart reports their changes as they happen.
+        onConnectedPeersChange(peerRegistry.clear());
+
+        return true;
+    }
+
+    public void onFailToStop() {
+        adaptiveProfile.onFailToStop();
+    }
+
+    public void onDestroySession() {
+        onConnectedPeersChange(peerRegistry.clear());
+    }
+
+    /**
+     * Connectivity Listeners
+     */
+
+    public void onConnectedPeers(@NonNull List<UUID> peers) {
+        onConnectedPeersChange(peerRegistry.onConnectedPeers(peers));
+
+        adaptiveProfile.onConnectedPeers(peers);
+    }
+
+    public void onConnected(@NonNull UUID peerID) {
+        onConnectedPeersChange(peerRegistry.onConnected(peerID));
+
+        adaptiveProfile.onConnected(peerID);
+
+        outbox.retry();
+    }
+
+    public void onDisconnected(@NonNull UUID peerID) {
+        onConnectedPeersChange(peerRegistry.onDisconnected(peerID));
+
+        adaptiveProfile.onDisconnected(peerID);
+    }
+
+    /**
+     * Transmission Listeners
+     */
+
+    @NonNull
+    public List<SendEvent> onSend(@NonNull UUID messageID) {
+        @Nullable
+        UUID logicalID = fragmenter.onSend(messageID);
+
+        if (logicalID == null) {
+            return Collections.emptyList();
+        }
+
+        @Nullable
+        ProgressEvent progress = progressThrottle.onSend(logicalID);
+
+        if (progress != null) {
+            plugin.onProgressEvent(progress);
+        }
+
+        scheduler.onComplete(logicalID);
+
+        List<SendEvent> events = new ArrayList<>();
+
+        for (UUID packedID : coalescer.onComplete(logicalID)) {
+            outbox.onSend(packedID);
+
+            UUID reportedID = retryEngine.onSend(packedID);
+
+            pendingSends.onSend(reportedID);
+
+            metrics.onSend(reportedID);
+
+            events.add(new SendEvent(reportedID));
+        }
+
+        return events;
+    }
+
+    @NonNull
+    public List<FailToSendEvent> onFailToSend(@NonNull UUID messageID, @Nullable Reason reason) {
+        @Nullable
+        UUID logicalID = fragmenter.onFailToSend(messageID);
+
+        if (logicalID == null) {
+            return Collections.emptyList();
+        }
+
+        progressThrottle.onFailToSend(logicalID);
+
+        scheduler.onComplete(logicalID);
+
+        List<FailToSendEvent> events = new ArrayList<>();
+
+        for (UUID packedID : coalescer.onComplete(logicalID)) {
+            @Nullable
+            UUID reportedID = retryEngine.onFailToSend(packedID, reason);
+
+            // The message is sent again, and reported once it has been sent or has run out of attempts.
+            if (reportedID == null) {
+                continue;
+            }
+
+            outbox.onFailToSend(packedID, reason);
+
+            pendingSends.onFailToSend(reportedID, reason);
+
+            metrics.onFailToSend(reportedID, reason);
+
+            events.add(new FailToSendEvent(reportedID, reason));
+        }
+
+        return events;
+    }
+
+    /**
+     * Settles a message which has run out of attempts without ever reaching the SDK callbacks, under the message ID it
+     * has been reported with.
+     */
+    @NonNull
+    private FailToSendEvent onGiveUp(@NonNull RetryEngine.Retry retry, @NonNull Reason reason) {
+        progressThrottle.onFailToSend(retry.messageID);
+
+        pendingSends.onFailToSend(retry.messageID, reason);
+
+        metrics.onFailToSend(retry.messageID, reason);
+
+        return new FailToSendEvent(retry.messageID, reason);
+    }
+
+    @Nullable
+    public ProgressEvent onProgress(@NonNull UUID messageID, int position, int of) {
+        if (coalescer.isPacked(messageID) || fragmenter.isDiscarded(messageID)) {
+            return null;
+        }
+
+        @Nullable
+        Fragmenter.Outgoing outgoing = fragmenter.onProgress(messageID, position, of);
+
+        if (outgoing == null) {
+            return progressThrottle.onProgress(messageID, position, of);
+        }
+
+        return progressThrottle.onProgress(outgoing.messageID, outgoing.getPosition(), outgoing.length);
+    }
+
+    @NonNull
+    public List<ReceiveEvent> onReceive(@NonNull UUID messageID, @Nullable byte[] data, @Nullable Pair<String, UUID> transmissionMode) {
+        metrics.onWireReceive(transmissionMode, data != null ? data.length : 0);
+
+        // Read once, so a concurrent update applies to whole messages only.
+        ReceiveFilter filter = receiveFilter;
+
+        if (!filter.acceptsTransmissionMode(transmissionMode)) {
+            return Collections.emptyList();
+        }
+
+        if (data == null) {
+            metrics.onReceive(transmissionMode, 0);
+
+            if (!filter.acceptsPayload(null)) {
+                return Collections.emptyList();
+            }
+
+            return deliverInOrder(new ReceiveEvent(messageID, null, transmissionMode), transmissionMode);
+        }
+
+        @Nullable
+        Fragmenter.Fragment fragment = Fragmenter.decode(data);
+
+        if (fragment != null) {
+            data = reassembler.add(fragment);
+
+            if (data == null) {
+                return Collections.emptyList();
+            }
+
+            messageID = fragment.messageID;
+        }
+
+        data = compression.decode(data);
+
+        @Nullable
+        UUID sender = transmissionMode != null ? transmissionMode.second : null;
+
+        @Nullable
+        List<Coalescer.Entry> entries = Coalescer.decode(data);
+
+        if (entries == null) {
+            metrics.onReceive(transmissionMode, data.length);
+
+            if (!filter.acceptsPayload(data) || duplicateFilter.isDuplicate(messageID, data, sender)) {
+                return Collections.emptyList();
+            }
+
+            if (spiller.accepts(data)) {
+                spiller.spill(messageID, data, transmissionMode);
+                return Collections.emptyList();
+            }
+
+            return deliverInOrder(newReceiveEvent(messageID, data, transmissionMode), transmissionMode);
+        }
+
+        List<ReceiveEvent> events = new ArrayList<>(entries.size());
+
+        for (Coalescer.Entry entry : entries) {
+            metrics.onReceive(transmissionMode, entry.data.length);
+
+            if (!filter.acceptsPayload(entry.data) || duplicateFilter.isDuplicate(entry.messageID, entry.data, sender)) {
+                continue;
+            }
+
+            if (spiller.accepts(entry.data)) {
+                spiller.spill(entry.messageID, entry.data, transmissionMode);
+                continue;
+            }
+
+            ReceiveEvent event = newReceiveEvent(entry.messageID, entry.data, transmissionMode);
+
+            if (!spiller.hold(event, transmissionMode)) {
+                events.add(event);
+            }
+        }
+
+        return events;
+    }
+
+    /**
+     * Events received after a payload which is still being spilled to a file are delivered after it.
+     */
+    @NonNull
+    private List<ReceiveEvent> deliverInOrder(@NonNull ReceiveEvent event, @Nullable Pair<String, UUID> transmissionMode) {
+        if (spiller.hold(event, transmissionMode)) {
+            return Collections.emptyList();
+        }
+
+        return Collections.singletonList(event);
+    }
+
+    public void release() {
+        bridgefy.release();
+
+        coalescer.release();
+
+        payloadStore.release();
+
+        spiller.release();
+
+        outbox.release();
+
+        retryEngine.release();
+
+        adaptiveProfile.release();
+
+        progressThrottle.release();
+
+        scheduler.release();
+
+        pendingSends.release();
+    }
+
+    /**
+     * Helpers
+     */
+
+    private static void settle(@NonNull Callback callback, @Nullable Reason reason) {
+        if (reason != null) {
+            callback.error(reason);
+        } else {
+            callback.success();
+        }
+    }
+
+    private void onConnectedPeersChange(@Nullable ConnectedPeersChangeEvent event) {
+        if (event != null) {
+            plugin.onConnectedPeersChangeEvent(event);
+        }
+    }
+
+    private void enqueue(
+        @NonNull byte[] data,
+        @NonNull Pair<String, UUID> transmissionMode,
+        @NonNull SendOptions options,
+        @NonNull Callback callback
+    ) {
+        boolean awaitDelivery = Boolean.TRUE.equals(options.getAwaitDelivery());
+        int timeout = options.getTimeout() != null ? options.getTimeout() : PendingSends.DEFAULT_TIMEOUT;
+
+        enqueue(
+            data,
+            transmissionMode,
+            toPriority(options.getPriority()),
+            new Submission() {
+                @Nullable
+                @Override
+                public UUID submit(@NonNull PendingSends.Send send) {
+                    try {
+                        if (awaitDelivery) {
+                            return pendingSends.register(send, callback, timeout);
+                        }
+
+                        UUID messageID = send.send();
+
+                        SendResult result = new SendResult(messageID);
+                        callback.success(result);
+
+                        return messageID;
+                    } catch (Exception exception) {
+                        callback.error(exception);
+
+                        return null;
+                    }
+                }
+
+                @Override
+                public void reject(@NonNull Reason reason) {
+                    callback.error(reason);
+                }
+            }
+        );
+    }
+
+    /**
+     * Applies the rate limits and journals the message if the outbox is enabled, then queues it for sending.
+     */
+    private void enqueue(
+        @NonNull byte[] data,
+        @NonNull Pair<String, UUID> transmissionMode,
+        @NonNull SendScheduler.Priority priority,
+        @NonNull Submission submission
+    ) {
+        // The receiver drops messages it cannot reassemble, so do not send them in the first place.
+        if (!fragmenter.accepts(data.length)) {
+            submission.reject(new Reason(ReasonType.PAYLOAD_TOO_LARGE, PAYLOAD_TOO_LARGE, null));
+            return;
+        }
+
+        // Messages within the limits are held back in the send queue until the limits allow them.
+        if (rateLimiter.isRefused(transmissionMode.second)) {
+            submission.reject(new Reason(ReasonType.RATE_LIMITED, RATE_LIMITED, null));
+            return;
+        }
+
+        long queued = System.nanoTime();
+
+        @Nullable
+        UUID entryID = outbox.isEnabled() ? UUID.randomUUID() : null;
+
+        Runnable schedule = () -> {
+            boolean isQueued = scheduler.enqueue(priority, transmissionMode.second, () -> {
+                @Nullable
+                UUID messageID = submission.submit(() ->
+                    outbox.dispatch(entryID, () ->
+                        retryEngine.dispatch(null, entryID, data, transmissionMode, priority, () -> sendPayload(data, transmissionMode, priority))
+                    )
+                );
+
+                if (messageID == null) {
+                    outbox.remove(entryID);
+                } else {
+                    metrics.onDispatch(messageID, queued, data.length, transmissionMode);
+                }
+
+                return messageID;
+            });
+
+            if (!isQueued) {
+                outbox.remove(entryID);
+
+                submission.reject(new Reason(ReasonType.QUEUE_FULL, SEND_QUEUE_FULL, null));
+            }
+        };
+
+        if (entryID == null) {
+            schedule.run();
+            return;
+        }
+
+        if (!outbox.add(entryID, data, transmissionMode, priority, schedule)) {
+            submission.reject(new Reason(ReasonType.QUEUE_FULL, OUTBOX_FULL, null));
+        }
+    }
+
+    /**
+     * Sends a message of the outbox again, without reporting to a call.
+     */
+    private void resend(
+        @NonNull UUID entryID,
+        @Nullable UUID messageID,
+        @NonNull byte[] data,
+        @NonNull Pair<String, UUID> transmissionMode,
+        @NonNull SendScheduler.Priority priority
+    ) {
+        boolean isQueued = scheduler.enqueue(priority, transmissionMode.second, () -> {
+            try {
+                return outbox.dispatch(entryID, () ->
+                    retryEngine.dispatch(messageID, entryID, data, transmissionMode, priority, () -> sendPayload(data, transmissionMode, priority))
+                );
+            } catch (Exception exception) {
+                outbox.defer(entryID, new Reason(ReasonType.GENERIC, getMessage(exception), null));
+
+                return null;
+            }
+        });
+
+        if (!isQueued) {
+            outbox.defer(entryID, new Reason(ReasonType.QUEUE_FULL, SEND_QUEUE_FULL, null));
+        }
+    }
+
+    /**
+     * Sends a message again after it has failed.
+     */
+    private void retry(@NonNull RetryEngine.Retry retry) {
+        @Nullable
+        byte[] data = retry.data;
+
+        if (data == null) {
+            return;
+        }
+
+        boolean isQueued = scheduler.enqueue(retry.priority, retry.transmissionMode.second, () -> {
+            try {
+                return outbox.dispatch(retry.entryID, () ->
+                    retryEngine.dispatch(retry, () -> sendPayload(data, retry.transmissionMode, retry.priority))
+                );
+            } catch (Exception exception) {
+                retryEngine.onFailure(retry, new Reason(ReasonType.GENERIC, getMessage(exception), null));
+
+                return null;
+            }
+        });
+
+        if (!isQueued) {
+            retryEngine.onFailure(retry, new Reason(ReasonType.QUEUE_FULL, SEND_QUEUE_FULL, null));
+        }
+    }
+
+    @NonNull
+    private ReceiveEvent newReceiveEvent(@NonNull UUID messageID, @NonNull byte[] data, @Nullable Pair<String, UUID> transmissionMode) {
+        if (payloadStore.isEnabled() && payloadStore.put(messageID, data)) {
+            return new ReceiveEvent(messageID, data, transmissionMode, payloadStore.getPreviewSize());
+        }
+
+        return new ReceiveEvent(messageID, data, transmissionMode);
+    }
+
+    @NonNull
+    private UUID sendPayload(
+        @NonNull byte[] data,
+        @NonNull Pair<String, UUID> transmissionMode,
+        @NonNull SendScheduler.Priority priority
+    ) throws Exception {
+        if (coalescer.accepts(data, priority)) {
+            return coalescer.add(data, transmissionMode, priority);
+        }
+
+        return sendFrame(data, transmissionMode);
+    }
+
+    /**
+     * Queues a packed message like any other message, so that it honors the priority lanes and the limit of messages in
+     * flight.
+     */
+    private void flush(@NonNull Coalescer.Frame frame) {
+        // The logical messages no longer occupy a slot, the packed message takes one once it is handed over to the SDK.
+        for (UUID messageID : frame.messageIDs) {
+            scheduler.onComplete(messageID);
+        }
+
+        boolean isQueued = scheduler.enqueue(frame.priority, frame.transmissionMode.second, () -> coalescer.send(frame));
+
+        if (!isQueued) {
+            onFailToSendPacked(frame.messageIDs, new Reason(ReasonType.QUEUE_FULL, SEND_QUEUE_FULL, null));
+        }
+    }
+
+    /**
+     * Fails the logical messages of a packed message that could not be sent.
+     */
+    private void onFailToSendPacked(@NonNull List<UUID> messageIDs, @NonNull Reason reason) {
+        plugin.dispatchEvent(() -> {
+            for (UUID messageID : messageIDs) {
+                plugin.onFailToSendEvent(messageID, reason);
+            }
+        });
+    }
+
+    @NonNull
+    private UUID sendFrame(@NonNull byte[] data, @NonNull Pair<String, UUID> transmissionMode) throws Exception {
+        byte[] payload = compression.encode(data);
+
+        if (fragmenter.needsFragmentation(payload)) {
+            return fragmenter.send(payload, fragment -> send(fragment, transmissionMode));
+        }
+
+        return send(payload, transmissionMode);
+    }
+
+    @NonNull
+    private UUID send(@NonNull byte[] data, @NonNull Pair<String, UUID> transmissionMode) {
+        long start = System.nanoTime();
+
+        // Every SDK message counts against the rate limits, with its size on the wire.
+        rateLimiter.take(transmissionMode.second, data.length);
+
+        try {
+            UUID messageID = bridgefy.send(data, transmissionMode);
+
+            metrics.onWireSend(transmissionMode, data.length);
+
+            return messageID;
+        } finally {
+            metrics.onSDKSend(System.nanoTime() - start);
+        }
+    }
+
+    @NonNull
+    private static SendScheduler.Priority toPriority(@Nullable String priority) {
+        @Nullable
+        SendScheduler.Priority result = SendScheduler.Priority.fromString(priority);
+
+        return result != null ? result : SendScheduler.Priority.INTERACTIVE;
+    }
+
+    @NonNull
+    private String getMessage(@NonNull Exception exception) {
+        String message = exception.getMessage();
+
+        return message != null ? message : UNKNOWN_ERROR;
+    }
 }
@@ -4,6 +4,7 @@ import static com.getcapacitor.community.BridgefyHelper.makeUUID;
 
 import java.util.UUID;
 import javax.annotation.Nullable;
+import org.json.JSONObject;
 
 public class BridgefyConfig {
 
@@ -19,6 +20,111 @@ public class BridgefyConfig {
     @Nullable
     String propagationProfile;
 
+    @Nullable
+    Integer sendQueueCapacity;
+
+    @Nullable
+    Integer maxMessagesInFlight;
+
+    @Nullable
+    Integer fragmentSize;
+
+    @Nullable
+    String compression;
+
+    @Nullable
+    Integer compressionThreshold;
+
+    @Nullable
+    Integer coalescingWindow;
+
+    @Nullable
+    Integer coalescingSize;
+
+    @Nullable
+    String duplicateFilter;
+
+    @Nullable
+    Integer duplicateFilterSize;
+
+    @Nullable
+    Integer duplicateFilterWindow;
+
+    @Nullable
+    Integer receiveBatchWindow;
+
+    @Nullable
+    Integer receiveBatchSize;
+
+    @Nullable
+    String receiveMode;
+
+    @Nullable
+    Integer payloadStoreSize;
+
+    @Nullable
+    Integer payloadStoreTimeout;
+
+    @Nullable
+    Integer payloadPreviewSize;
+
+    @Nullable
+    Integer spillThreshold;
+
+    @Nullable
+    Integer spillQuota;
+
+    @Nullable
+    Boolean outbox;
+
+    @Nullable
+    Integer outboxSize;
+
+    @Nullable
+    Integer outboxMaxAttempts;
+
+    @Nullable
+    Integer outboxMaxAge;
+
+    @Nullable
+    JSONObject retryPolicies;
+
+    @Nullable
+    String rateLimitPolicy;
+
+    @Nullable
+    Integer rateLimitBytes;
+
+    @Nullable
+    Integer rateLimitMessages;
+
+    @Nullable
+    Integer rateLimitDestinationBytes;
+
+    @Nullable
+    Integer rateLimitDestinationMessages;
+
+    @Nullable
+    Integer progressInterval;
+
+    @Nullable
+    Integer progressStep;
+
+    @Nullable
+    Integer progressBatchWindow;
+
+    @Nullable
+    String dispatchOverflow;
+
+    @Nullable
+    Integer dispatchQueueSize;
+
+    @Nullable
+    Integer methodThreads;
+
+    @Nullable
+    JSONObject adaptiveProfile;
+
     public BridgefyConfig(
         @Nullable UUID userID,
         @Nullable String apiKey,
@@ -44,6 +150,146 @@ public class BridgefyConfig {
         this.propagationProfile = propagationProfile;
     }
 
+    public void setSendQueueCapacity(@Nullable Integer sendQueueCapacity) {
+        this.sendQueueCapacity = sendQueueCapacity;
+    }
+
+    public void setMaxMessagesInFlight(@Nullable Integer maxMessagesInFlight) {
+        this.maxMessagesInFlight = maxMessagesInFlight;
+    }
+
+    public void setFragmentSize(@Nullable Integer fragmentSize) {
+        this.fragmentSize = fragmentSize;
+    }
+
+    public void setCompression(@Nullable String compression) {
+        this.compression = compression;
+    }
+
+    public void setCompressionThreshold(@Nullable Integer compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    public void setCoalescingWindow(@Nullable Integer coalescingWindow) {
+        this.coalescingWindow = coalescingWindow;
+    }
+
+    public void setCoalescingSize(@Nullable Integer coalescingSize) {
+        this.coalescingSize = coalescingSize;
+    }
+
+    public void setDuplicateFilter(@Nullable String duplicateFilter) {
+        this.duplicateFilter = duplicateFilter;
+    }
+
+    public void setDuplicateFilterSize(@Nullable Integer duplicateFilterSize) {
+        this.duplicateFilterSize = duplicateFilterSize;
+    }
+
+    public void setDuplicateFilterWindow(@Nullable Integer duplicateFilterWindow) {
+        this.duplicateFilterWindow = duplicateFilterWindow;
+    }
+
+    public void setReceiveBatchWindow(@Nullable Integer receiveBatchWindow) {
+        this.receiveBatchWindow = receiveBatchWindow;
+    }
+
+    public void setReceiveBatchSize(@Nullable Integer receiveBatchSize) {
+        this.receiveBatchSize = receiveBatchSize;
+    }
+
+    public void setReceiveMode(@Nullable String receiveMode) {
+        this.receiveMode = receiveMode;
+    }
+
+    public void setPayloadStoreSize(@Nullable Integer payloadStoreSize) {
+        this.payloadStoreSize = payloadStoreSize;
+    }
+
+    public void setPayloadStoreTimeout(@Nullable Integer payloadStoreTimeout) {
+        this.payloadStoreTimeout = payloadStoreTimeout;
+    }
+
+    public void setPayloadPreviewSize(@Nullable Integer payloadPreviewSize) {
+        this.payloadPreviewSize = payloadPreviewSize;
+    }
+
+    public void setSpillThreshold(@Nullable Integer spillThreshold) {
+        this.spillThreshold = spillThreshold;
+    }
+
+    public void setSpillQuota(@Nullable Integer spillQuota) {
+        this.spillQuota = spillQuota;
+    }
+
+    public void setOutbox(@Nullable Boolean outbox) {
+        this.outbox = outbox;
+    }
+
+    public void setOutboxSize(@Nullable Integer outboxSize) {
+        this.outboxSize = outboxSize;
+    }
+
+    public void setOutboxMaxAttempts(@Nullable Integer outboxMaxAttempts) {
+        this.outboxMaxAttempts = outboxMaxAttempts;
+    }
+
+    public void setOutboxMaxAge(@Nullable Integer outboxMaxAge) {
+        this.outboxMaxAge = outboxMaxAge;
+    }
+
+    public void setRetryPolicies(@Nullable JSONObject retryPolicies) {
+        this.retryPolicies = retryPolicies;
+    }
+
+    public void setRateLimitPolicy(@Nullable String rateLimitPolicy) {
+        this.rateLimitPolicy = rateLimitPolicy;
+    }
+
+    public void setRateLimitBytes(@Nullable Integer rateLimitBytes) {
+        this.rateLimitBytes = rateLimitBytes;
+    }
+
+    public void setRateLimitMessages(@Nullable Integer rateLimitMessages) {
+        this.rateLimitMessages = rateLimitMessages;
+    }
+
+    public void setRateLimitDestinationBytes(@Nullable Integer rateLimitDestinationBytes) {
+        this.rateLimitDestinationBytes = rateLimitDestinationBytes;
+    }
+
+    public void setRateLimitDestinationMessages(@Nullable Integer rateLimitDestinationMessages) {
+        this.rateLimitDestinationMessages = rateLimitDestinationMessages;
+    }
+
+    public void setProgressInterval(@Nullable Integer progressInterval) {
+        this.progressInterval = progressInterval;
+    }
+
+    public void setProgressStep(@Nullable Integer progressStep) {
+        this.progressStep = progressStep;
+    }
+
+    public void setProgressBatchWindow(@Nullable Integer progressBatchWindow) {
+        this.progressBatchWindow = progressBatchWindow;
+    }
+
+    public void setDispatchOverflow(@Nullable String dispatchOverflow) {
+        this.dispatchOverflow = dispatchOverflow;
+    }
+
+    public void setDispatchQueueSize(@Nullable Integer dispatchQueueSize) {
+        this.dispatchQueueSize = dispatchQueueSize;
+    }
+
+    public void setMethodThreads(@Nullable Integer methodThreads) {
+        this.methodThreads = methodThreads;
+    }
+
+    public void setAdaptiveProfile(@Nullable JSONObject adaptiveProfile) {
+        this.adaptiveProfile = adaptiveProfile;
+    }
+
     @Nullable
     public UUID getAPIKey() {
         return apiKey;
@@ -63,4 +309,179 @@ public class BridgefyConfig {
     public UUID getUserID() {
         return userID;
     }
+
+    @Nullable
+    public Integer getSendQueueCapacity() {
+        return sendQueueCapacity;
+    }
+
+    @Nullable
+    public Integer getMaxMessagesInFlight() {
+        return maxMessagesInFlight;
+    }
+
+    @Nullable
+    public Integer getFragmentSize() {
+        return fragmentSize;
+    }
+
+    @Nullable
+    public String getCompression() {
+        return compression;
+    }
+
+    @Nullable
+    public Integer getCompressionThreshold() {
+        return compressionThreshold;
+    }
+
+    @Nullable
+    public Integer getCoalescingWindow() {
+        return coalescingWindow;
+    }
+
+    @Nullable
+    public Integer getCoalescingSize() {
+        return coalescingSize;
+    }
+
+    @Nullable
+    public String getDuplicateFilter() {
+        return duplicateFilter;
+    }
+
+    @Nullable
+    public Integer getDuplicateFilterSize() {
+        return duplicateFilterSize;
+    }
+
+    @Nullable
+    public Integer getDuplicateFilterWindow() {
+        return duplicateFilterWindow;
+    }
+
+    @Nullable
+    public Integer getReceiveBatchWindow() {
+        return receiveBatchWindow;
+    }
+
+    @Nullable
+    public Integer getReceiveBatchSize() {
+        return receiveBatchSize;
+    }
+
+    @Nullable
+    public String getReceiveMode() {
+        return receiveMode;
+    }
+
+    @Nullable
+    public Integer getPayloadStoreSize() {
+        return payloadStoreSize;
+    }
+
+    @Nullable
+    public Integer getPayloadStoreTimeout() {
+        return payloadStoreTimeout;
+    }
+
+    @Nullable
+    public Integer getPayloadPreviewSize() {
+        return payloadPreviewSize;
+    }
+
+    @Nullable
+    public Integer getSpillThreshold() {
+        return spillThreshold;
+    }
+
+    @Nullable
+    public Integer getSpillQuota() {
+        return spillQuota;
+    }
+
+    @Nullable
+    public Boolean getOutbox() {
+        return outbox;
+    }
+
+    @Nullable
+    public Integer getOutboxSize() {
+        return outboxSize;
+    }
+
+    @Nullable
+    public Integer getOutboxMaxAttempts() {
+        return outboxMaxAttempts;
+    }
+
+    @Nullable
+    public Integer getOutboxMaxAge() {
+        return outboxMaxAge;
+    }
+
+    @Nullable
+    public JSONObject getRetryPolicies() {
+        return retryPolicies;
+    }
+
+    @Nullable
+    public String getRateLimitPolicy() {
+        return rateLimitPolicy;
+    }
+
+    @Nullable
+    public Integer getRateLimitBytes() {
+        return rateLimitBytes;
+    }
+
+    @Nullable
+    public Integer getRateLimitMessages() {
+        return rateLimitMessages;
+    }
+
+    @Nullable
+    public Integer getRateLimitDestinationBytes() {
+        return rateLimitDestinationBytes;
+    }
+
+    @Nullable
+    public Integer getRateLimitDestinationMessages() {
+        return rateLimitDestinationMessages;
+    }
+
+    @Nullable
+    public Integer getProgressInterval() {
+        return progressInterval;
+    }
+
+    @Nullable
+    public Integer getProgressStep() {
+        return progressStep;
+    }
+
+    @Nullable
+    public Integer getProgressBatchWindow() {
+        return progressBatchWindow;
+    }
+
+    @Nullable
+    public String getDispatchOverflow() {
+        return dispatchOverflow;
+    }
+
+    @Nullable
+    public Integer getDispatchQueueSize() {
+        return dispatchQueueSize;
+    }
+
+    @Nullable
+    public Integer getMethodThreads() {
+        return methodThreads;
+    }
+
+    @Nullable
+    public JSONObject getAdaptiveProfile() {
+        return adaptiveProfile;
+    }
 }
@@ -1,19 +1,62 @@
 package com.getcapacitor.community
 
-import android.util.Log
 import android.util.Pair
-import me.bridgefy.Bridgefy
-import me.bridgefy.commons.TransmissionMode
-import me.bridgefy.commons.exception.BridgefyException
-import me.bridgefy.commons.listener.BridgefyDelegate
-import me.bridgefy.commons.propagation.PropagationProfile
-import me.bridgefy.logger.enums.LogType
+import com.getcapacitor.community.interfaces.Backend
 import java.util.Date
 import java.util.UUID
+import java.util.concurrent.Executors
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.ScheduledFuture
+import java.util.concurrent.TimeUnit
+
+/**
+ * @param lifecycleTimeout the time in milliseconds after which a lifecycle call the SDK has not called back for is
+ * settled.
+ */
+class BridgefyController @JvmOverloads constructor(
+    private var plugin: BridgefyPlugin,
+    private val bridgefy: Backend,
+    private val lifecycleTimeout: Long = LIFECYCLE_TIMEOUT,
+) {
 
-class BridgefyController(private var plugin: BridgefyPlugin) {
+    /**
+     * Lifecycle
+     */
+
+    enum class State { STOPPED, STARTING, STARTED, STOPPING, DESTROYING }
+
+    fun interface Completion {
+        fun complete(reason: Reason?)
+    }
+
+    private enum class Kind { START, STOP, DESTROY }
+
+    private class Operation(val kind: Kind, val userID: UUID?, val propagationProfile: String?) {
+        val completions = mutableListOf<Completion>()
+
+        fun matches(kind: Kind, userID: UUID?, propagationProfile: String?): Boolean {
+            return this.kind == kind && this.userID == userID && this.propagationProfile == propagationProfile
+        }
+    }
+
+    companion object {
+        private const val LIFECYCLE_TIMEOUT = 30000L
+    }
+
+    private val lock = Any()
+
+    private var state = State.STOPPED
 
-    private var bridgefy: Bridgefy = Bridgefy(plugin.context)
+    // The operation waiting for its delegate callback, and the ones called meanwhile.
+    private var current: Operation? = null
+    private val operations = ArrayDeque<Operation>()
+
+    // The start operation the SDK has been started with.
+    private var started: Operation? = null
+
+    private var executor: ScheduledExecutorService? = null
+    private var timeout: ScheduledFuture<*>? = null
 
     /**
      * Initialize
@@ -25,72 +68,115 @@ class BridgefyController(private var plugin: BridgefyPlugin) {
     ) {
         bridgefy.init(
             apiKey,
-            object : BridgefyDelegate {
+            object : Backend.Delegate {
                 // Initialization Listeners
 
                 override fun onStarted(userID: UUID) {
-                    plugin.onStartedEvent(userID)
+                    settle(Kind.START, null, State.STARTED)
+
+                    plugin.dispatchEvent {
+                        plugin.onStartedEvent(userID)
+                    }
                 }
 
-                override fun onFailToStart(error: BridgefyException) {
-                    plugin.onFailToStartEvent(fromBridgefyException(error))
+                override fun onFailToStart(reason: Reason) {
+                    // Starting again while started has the outcome it was called for.
+                    if (reason.type == ReasonType.ALREADY_STARTED) {
+                        settle(Kind.START, null, State.STARTED)
+                    } else {
+                        settle(Kind.START, reason, State.STOPPED)
+                    }
+
+                    plugin.dispatchEvent {
+                        plugin.onFailToStartEvent(reason)
+                    }
                 }
 
                 override fun onStopped() {
-                    plugin.onStoppedEvent();
+                    settle(Kind.STOP, null, State.STOPPED)
+
+                    plugin.dispatchEvent {
+                        plugin.onStoppedEvent();
+                    }
                 }
 
-                override fun onFailToStop(error: BridgefyException) {
-                    plugin.onFailToStopEvent(fromBridgefyException(error))
+                override fun onFailToStop(reason: Reason) {
+                    settle(Kind.STOP, reason, null)
+
+                    plugin.dispatchEvent {
+                        plugin.onFailToStopEvent(reason)
+                    }
                 }
 
                 override fun onDestroySession() {
-                    plugin.onDestroySessionEvent()
+                    settle(Kind.DESTROY, null, State.STOPPED)
+
+                    plugin.dispatchEvent {
+                        plugin.onDestroySessionEvent()
+                    }
                 }
 
-                override fun onFailToDestroySession(error: BridgefyException) {
-                    plugin.onFailToDestroySessionEvent(fromBridgefyException(error))
+                override fun onFailToDestroySession(reason: Reason) {
+                    settle(Kind.DESTROY, reason, null)
+
+                    plugin.dispatchEvent {
+                        plugin.onFailToDestroySessionEvent(reason)
+                    }
                 }
 
                 // Connectivity Listeners
 
                 override fun onConnected(peerID: UUID) {
-                    plugin.onConnectedEvent(peerID);
+                    plugin.dispatchEvent {
+                        plugin.onConnectedEvent(peerID);
+                    }
                 }
 
                 override fun onDisconnected(peerID: UUID) {
-                    plugin.onDisconnectedEvent(peerID);
+                    plugin.dispatchEvent {
+                        plugin.onDisconnectedEvent(peerID);
+                    }
                 }
 
                 override fun onConnectedPeers(connectedPeers: List<UUID>) {
-                    plugin.onConnectedPeersEvent(connectedPeers);
+                    plugin.dispatchEvent {
+                        plugin.onConnectedPeersEvent(connectedPeers);
+                    }
                 }
 
-                override fun onEstablishSecureConnection(userId: UUID) {
-                    plugin.onEstablishSecureConnectionEvent(userId);
+                override fun onEstablishSecureConnection(userID: UUID) {
+                    plugin.dispatchEvent {
+                        plugin.onEstablishSecureConnectionEvent(userID);
+                    }
                 }
 
                 override fun onFailToEstablishSecureConnection(
-                    userId: UUID,
-                    error: BridgefyException
+                    userID: UUID,
+                    reason: Reason
                 ) {
-                    plugin.onFailToEstablishSecureConnectionEvent(
-                        userId,
-                        fromBridgefyException(error)
-                    )
+                    plugin.dispatchEvent {
+                        plugin.onFailToEstablishSecureConnectionEvent(
+                            userID,
+                            reason
+                        )
+                    }
                 }
 
                 // Transmission Listeners
 
                 override fun onSend(messageID: UUID) {
-                    plugin.onSendEvent(messageID);
+                    plugin.dispatchEvent {
+                        plugin.onSendEvent(messageID);
+                    }
                 }
 
                 override fun onFailToSend(
                     messageID: UUID,
-                    error: BridgefyException
+                    reason: Reason
                 ) {
-                    plugin.onFailToSendEvent(messageID, fromBridgefyException(error))
+                    plugin.dispatchEvent {
+                        plugin.onFailToSendEvent(messageID, reason)
+                    }
                 }
 
                 override fun onProgressOfSend(
@@ -98,28 +184,26 @@ class BridgefyController(private var plugin: BridgefyPlugin) {
                     position: Int,
                     of: Int
                 ) {
-                    plugin.onProgressEvent(messageID, position, of);
+                    plugin.offerEvent {
+                        plugin.onProgressEvent(messageID, position, of);
+                    }
                 }
 
                 override fun onReceiveData(
                     data: ByteArray,
                     messageID: UUID,
-                    transmissionMode: TransmissionMode
+                    transmissionMode: Pair<String, UUID>?
                 ) {
-                    plugin.onReceiveEvent(
-                        messageID,
-                        data,
-                        fromTransmissionMode(transmissionMode)
-                    );
+                    plugin.dispatchEvent {
+                        plugin.onReceiveEvent(
+                            messageID,
+                            data,
+                            transmissionMode
+                        );
+                    }
                 }
             },
-            if (verboseLogging == null)
-                LogType.None else
-                LogType.ConsoleLogger(
-                    if (verboseLogging)
-                        Log.DEBUG else
-                        Log.WARN
-                ),
+            verboseLogging,
         )
     }
 
@@ -127,22 +211,32 @@ class BridgefyController(private var plugin: BridgefyPlugin) {
         return bridgefy.isInitialized
     }
 
+    /**
+     * Settles [completion] once the SDK has started, or has failed to.
+     */
     fun start(
         userID: UUID?,
         propagationProfile: String?,
+        completion: Completion?,
     ) {
-        bridgefy.start(
-            userID,
-            toPropagationProfile(propagationProfile) ?: PropagationProfile.Standard,
-        )
+        submit(Kind.START, userID, propagationProfile, completion)
     }
 
     fun isStarted(): Boolean {
         return bridgefy.isStarted
     }
 
-    fun stop() {
-        bridgefy.stop()
+    /**
+     * Settles [completion] once the SDK has stopped, or has failed to.
+     */
+    fun stop(completion: Completion?) {
+        submit(Kind.STOP, null, null, completion)
+    }
+
+    fun state(): State {
+        synchronized(lock) {
+            return state
+        }
     }
 
     /**
@@ -150,7 +244,7 @@ class BridgefyController(private var plugin: BridgefyPlugin) {
      */
 
     fun licenseExpirationDate(): Date? {
-        return bridgefy.licenseExpirationDate().getOrNull()
+        return bridgefy.licenseExpirationDate()
     }
 
     fun updateLicense() {
@@ -161,17 +255,19 @@ class BridgefyController(private var plugin: BridgefyPlugin) {
      * Session
      */
 
-    fun destroySession() {
-        bridgefy.destroySession()
+    /**
+     * Settles [completion] once the session has been destroyed, or has failed to.
+     */
+    fun destroySession(completion: Completion?) {
+        submit(Kind.DESTROY, null, null, completion)
     }
 
     fun currentUserId(): UUID? {
-        return bridgefy.currentUserId().getOrNull()
+        return bridgefy.currentUserId()
     }
 
     fun connectedPeers(): List<UUID> {
-        val peers = bridgefy.connectedPeers().getOrNull()
-        return peers ?: emptyList()
+        return bridgefy.connectedPeers()
     }
 
     /**
@@ -189,21 +285,19 @@ class BridgefyController(private var plugin: BridgefyPlugin) {
     fun fingerprint(
         userID: UUID,
     ): ByteArray? {
-        val result = bridgefy.fingerprint(
+        return bridgefy.fingerprint(
             userID,
-        ).getOrNull()
-        return result?.scannable
+        )
     }
 
     fun isFingerprintValid(
         userID: UUID,
         fingerprint: ByteArray,
     ): Boolean {
-        val result = bridgefy.isFingerprintValid(
-            fingerprint,
+        return bridgefy.isFingerprintValid(
             userID,
-        ).getOrNull()
-        return result ?: false
+            fingerprint,
+        )
     }
 
     /**
@@ -214,48 +308,156 @@ class BridgefyController(private var plugin: BridgefyPlugin) {
         data: ByteArray,
         transmissionMode: Pair<String, UUID>,
     ): UUID {
-        val transmissionMode = toTransmissionMode(transmissionMode)
-        if (transmissionMode == null) {
-            throw Exception("missing transmission mode")
-        }
-
         return bridgefy.send(
             data,
             transmissionMode,
         )
     }
 
+    fun release() {
+        synchronized(lock) {
+            executor?.shutdownNow()
+            executor = null
+        }
+
+        bridgefy.release()
+    }
+
     /**
      * Helpers
      */
 
-    private fun toPropagationProfile(propagationProfile: String?): PropagationProfile? {
-        return when (propagationProfile) {
-            "highDensityNetwork" -> PropagationProfile.HighDensityEnvironment
-            "sparseNetwork" -> PropagationProfile.SparseEnvironment
-            "longReach" -> PropagationProfile.LongReach
-            "shortReach" -> PropagationProfile.ShortReach
-            "standard" -> PropagationProfile.Standard
-            else -> null
+    private fun submit(kind: Kind, userID: UUID?, propagationProfile: String?, completion: Completion?) {
+        synchronized(lock) {
+            // A call repeating the last operation with the same arguments is merged into it, instead of failing with
+            // `alreadyStarted`. Any other call is queued behind it.
+            val last = operations.lastOrNull() ?: current
+            val operation = if (last != null && last.matches(kind, userID, propagationProfile)) {
+                last
+            } else {
+                Operation(kind, userID, propagationProfile).also { operations.addLast(it) }
+            }
+
+            completion?.let { operation.completions.add(it) }
         }
+
+        advance()
     }
 
-    private fun toTransmissionMode(transmissionMode: Pair<String, UUID>): TransmissionMode? {
-        return when (transmissionMode.first) {
-            "broadcast" -> TransmissionMode.Broadcast(transmissionMode.second)
-            "mesh" -> TransmissionMode.Mesh(transmissionMode.second)
-            "p2p" -> TransmissionMode.P2P(transmissionMode.second)
-            else -> null
+    private fun advance() {
+        while (true) {
+            var operation: Operation? = null
+            var completions: List<Completion> = emptyList()
+            var reason: Reason? = null
+
+            synchronized(lock) {
+                if (current != null) {
+                    return
+                }
+
+                val next = operations.removeFirstOrNull() ?: return
+
+                if ((next.kind == Kind.START && state == State.STARTED) || (next.kind == Kind.STOP && state == State.STOPPED)) {
+                    completions = next.completions
+
+                    // Starting again with other arguments does not apply them.
+                    val running = started
+                    if (next.kind == Kind.START && running != null && !running.matches(Kind.START, next.userID, next.propagationProfile)) {
+                        reason = Reason(ReasonType.ALREADY_STARTED, "already started with other arguments")
+                    }
+                } else {
+                    current = next
+
+                    state = when (next.kind) {
+                        Kind.START -> State.STARTING
+                        Kind.STOP -> State.STOPPING
+                        Kind.DESTROY -> State.DESTROYING
+                    }
+
+                    timeout = schedule(next)
+
+                    operation = next
+                }
+            }
+
+            completions.forEach { it.complete(reason) }
+
+            val next = operation ?: continue
+
+            try {
+                when (next.kind) {
+                    Kind.START -> bridgefy.start(
+                        next.userID,
+                        next.propagationProfile,
+                    )
+
+                    Kind.STOP -> bridgefy.stop()
+                    Kind.DESTROY -> bridgefy.destroySession()
+                }
+            } catch (exception: Exception) {
+                settle(next.kind, Reason(ReasonType.GENERIC, exception.message), null)
+            }
+
+            return
         }
     }
 
-    fun fromTransmissionMode(transmissionMode: TransmissionMode): Pair<String, UUID>? {
-        return when (transmissionMode) {
-            is TransmissionMode.Broadcast -> Pair("broadcast", transmissionMode.sender)
-            is TransmissionMode.Mesh -> Pair("mesh", transmissionMode.receiver)
-            is TransmissionMode.P2P -> Pair("p2p", transmissionMode.receiver)
-            else -> null
+    /**
+     * Moves to [state], or to the state reported by the SDK if `null`, and settles the current operation if it is of
+     * [kind].
+     */
+    private fun settle(kind: Kind, reason: Reason?, state: State?) {
+        val completions: List<Completion>
+
+        synchronized(lock) {
+            this.state = state ?: if (bridgefy.isStarted) State.STARTED else State.STOPPED
+
+            val operation = current
+
+            if (this.state != State.STARTED) {
+                started = null
+            } else if (kind == Kind.START && operation?.kind == Kind.START) {
+                started = operation
+            }
+
+            if (operation == null || operation.kind != kind) {
+                return
+            }
+
+            current = null
+
+            timeout?.cancel(false)
+            timeout = null
+
+            completions = operation.completions
         }
+
+        completions.forEach { it.complete(reason) }
+
+        advance()
+    }
+
+    private fun schedule(operation: Operation): ScheduledFuture<*>? {
+        val executor = executor ?: Executors.newSingleThreadScheduledExecutor().also { executor = it }
+
+        return try {
+            executor.schedule(Runnable { expire(operation) }, lifecycleTimeout, TimeUnit.MILLISECONDS)
+        } catch (exception: RejectedExecutionException) {
+            null
+        }
+    }
+
+    /**
+     * Settles [operation] if the SDK has not called back in time.
+     */
+    private fun expire(operation: Operation) {
+        synchronized(lock) {
+            if (current !== operation) {
+                return
+            }
+        }
+
+        settle(operation.kind, Reason(ReasonType.GENERIC, "timed out"), null)
     }
 
     object ReasonType {
@@ -273,85 +475,14 @@ class BridgefyController(private var plugin: BridgefyPlugin) {
         const val SIMULATOR_IS_NOT_SUPPORTED: String = "simulatorIsNotSupported"
         const val SIZE_LIMIT_EXCEEDED: String = "sizeLimitExceeded"
         const val UNKNOWN: String = "unknown"
+
+        // Plugin
+
+        const val QUEUE_FULL: String = "queueFull"
+        const val PAYLOAD_TOO_LARGE: String = "payloadTooLarge"
+        const val RATE_LIMITED: String = "rateLimited"
     }
 
     @JvmRecord
     data class Reason(val type: String, val message: String?, val code: Int? = null)
-
-    fun fromBridgefyException(bridgefyException: BridgefyException): Reason? {
-        return when (bridgefyException) {
-            is BridgefyException.AlreadyStartedException -> Reason(
-                ReasonType.ALREADY_STARTED,
-                bridgefyException.message,
-            )
-
-            is BridgefyException.DeviceCapabilitiesException -> Reason(
-                ReasonType.DEVICE_CAPABILITIES,
-                bridgefyException.message,
-            )
-
-            is BridgefyException.ExpiredLicenseException -> Reason(
-                ReasonType.EXPIRED_LICENSE,
-                bridgefyException.message,
-            )
-
-            is BridgefyException.GenericException -> Reason(
-                ReasonType.GENERIC,
-                bridgefyException.message,
-                bridgefyException.code,
-            )
-
-            is BridgefyException.InconsistentDeviceTimeException -> Reason(
-                ReasonType.INCONSISTENT_DEVICE_TIME,
-                bridgefyException.message,
-            )
-
-            is BridgefyException.InternetConnectionRequiredException -> Reason(
-                ReasonType.INTERNET_CONNECTION_REQUIRED,
-                bridgefyException.message,
-            )
-
-            is BridgefyException.InvalidAPIKeyFormatException -> Reason(
-                ReasonType.INVALID_API_KEY,
-                bridgefyException.message,
-            )
-
-            is BridgefyException.MissingApplicationIdException -> Reason(
-                ReasonType.MISSING_APPLICATION_ID,
-                bridgefyException.message,
-            )
-
-            is BridgefyException.PermissionException -> Reason(
-                ReasonType.PERMISSION,
-                bridgefyException.message,
-            )
-
-            is BridgefyException.RegistrationException -> Reason(
-                ReasonType.REGISTRATION,
-                bridgefyException.message,
-            )
-
-            is BridgefyException.SessionErrorException -> Reason(
-                ReasonType.SESSION_ERROR,
-                bridgefyException.message,
-            )
-
-            is BridgefyException.SimulatorIsNotSupportedException -> Reason(
-                ReasonType.SIMULATOR_IS_NOT_SUPPORTED,
-                bridgefyException.message,
-            )
-
-            is BridgefyException.SizeLimitExceededException -> Reason(
-                ReasonType.SIZE_LIMIT_EXCEEDED,
-                bridgefyException.message,
-            )
-
-            is BridgefyException.UnknownException -> Reason(
-                ReasonType.UNKNOWN,
-                bridgefyException.message,
-            )
-
-            else -> null
-        }
-    }
 }
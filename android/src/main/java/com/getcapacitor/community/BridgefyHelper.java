@@ -18,6 +18,17 @@ public class BridgefyHelper {
         }
     }
 
+    @Nullable
+    public static Integer makeInteger(@Nullable String value) {
+        if (value == null || value.isEmpty()) return null;
+
+        try {
+            return Integer.parseInt(value);
+        } catch (Exception ignored) {
+            return null;
+        }
+    }
+
     @Nullable
     public static UUID makeUUID(@Nullable String value) {
         if (value == null || value.isEmpty()) return null;
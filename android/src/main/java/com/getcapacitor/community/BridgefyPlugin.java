@@ -2,6 +2,7 @@ package com.getcapacitor.community;
 
 import static com.getcapacitor.community.BridgefyHelper.getDeviceID;
 import static com.getcapacitor.community.BridgefyHelper.makeBoolean;
+import static com.getcapacitor.community.BridgefyHelper.makeInteger;
 
 import android.Manifest;
 import android.annotation.SuppressLint;
@@ -9,6 +10,7 @@ import android.content.pm.PackageInfo;
 import android.content.pm.PackageManager;
 import android.os.Build;
 import android.util.Pair;
+import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import com.getcapacitor.JSArray;
 import com.getcapacitor.JSObject;
@@ -21,6 +23,7 @@ import com.getcapacitor.annotation.Permission;
 import com.getcapacitor.annotation.PermissionCallback;
 import com.getcapacitor.community.BridgefyController.Reason;
 import com.getcapacitor.community.classes.events.ConnectedEvent;
+import com.getcapacitor.community.classes.events.ConnectedPeersChangeEvent;
 import com.getcapacitor.community.classes.events.ConnectedPeersEvent;
 import com.getcapacitor.community.classes.events.DestroySessionEvent;
 import com.getcapacitor.community.classes.events.DisconnectedEvent;
@@ -30,7 +33,9 @@ import com.getcapacitor.community.classes.events.FailToEstablishSecureConnection
 import com.getcapacitor.community.classes.events.FailToSendEvent;
 import com.getcapacitor.community.classes.events.FailToStartEvent;
 import com.getcapacitor.community.classes.events.FailToStopEvent;
+import com.getcapacitor.community.classes.events.ProgressBatchEvent;
 import com.getcapacitor.community.classes.events.ProgressEvent;
+import com.getcapacitor.community.classes.events.ReceiveBatchEvent;
 import com.getcapacitor.community.classes.events.ReceiveEvent;
 import com.getcapacitor.community.classes.events.SendEvent;
 import com.getcapacitor.community.classes.events.StartedEvent;
@@ -39,8 +44,14 @@ import com.getcapacitor.community.classes.options.EstablishSecureConnectionOptio
 import com.getcapacitor.community.classes.options.FingerprintOptions;
 import com.getcapacitor.community.classes.options.InitializeOptions;
 import com.getcapacitor.community.classes.options.IsFingerprintValidOptions;
+import com.getcapacitor.community.classes.options.PayloadOptions;
+import com.getcapacitor.community.classes.options.ReceiveFilterOptions;
+import com.getcapacitor.community.classes.options.SendBatchOptions;
+import com.getcapacitor.community.classes.options.SendFileOptions;
 import com.getcapacitor.community.classes.options.SendOptions;
 import com.getcapacitor.community.classes.options.StartOptions;
+import com.getcapacitor.community.classes.options.StatisticsOptions;
+import com.getcapacitor.community.interfaces.Backend;
 import com.getcapacitor.community.interfaces.Callback;
 import java.util.ArrayList;
 import java.util.List;
@@ -96,6 +107,7 @@ public class BridgefyPlugin extends Plugin {
     static final String CONNECTED_EVENT = "onConnected";
     static final String DISCONNECTED_EVENT = "onDisconnected";
     static final String CONNECTED_PEERS_EVENT = "onConnectedPeers";
+    static final String CONNECTED_PEERS_CHANGE_EVENT = "onConnectedPeersChange";
     static final String ESTABLISH_SECURE_CONNECTION_EVENT = "onEstablishSecureConnection";
     static final String FAIL_TO_ESTABLISH_SECURE_CONNECTION_EVENT = "onFailToEstablishSecureConnection";
 
@@ -104,17 +116,85 @@ public class BridgefyPlugin extends Plugin {
     static final String SEND_EVENT = "onSend";
     static final String FAIL_TO_SEND_EVENT = "onFailToSend";
     static final String PROGRESS_EVENT = "onProgress";
+    static final String PROGRESS_BATCH_EVENT = "onProgressBatch";
     static final String RECEIVE_EVENT = "onReceive";
+    static final String RECEIVE_BATCH_EVENT = "onReceiveBatch";
 
     private Bridgefy implementation;
 
+    private ReceiveBatcher receiveBatcher;
+
+    private ProgressBatcher progressBatcher;
+
+    private EventDispatcher dispatcher;
+
+    private MethodExecutor methods;
+
+    private final ListenerCache listeners = new ListenerCache(this::hasListeners);
+
     @Override
     public void load() {
         super.load();
 
-        BridgefyConfig config = getBridgefyConfig();
+        load(getBridgefyConfig(), new SDKBackend(getContext()));
+    }
+
+    /**
+     * Loads the plugin on the given backend, which is the SDK unless the plugin runs on a simulated mesh in tests.
+     */
+    void load(@NonNull BridgefyConfig config, @NonNull Backend backend) {
+        dispatcher = new EventDispatcher(config.getDispatchOverflow(), config.getDispatchQueueSize());
+
+        methods = new MethodExecutor(config.getMethodThreads());
+
+        implementation = new Bridgefy(config, this, backend);
+
+        receiveBatcher = new ReceiveBatcher(config.getReceiveBatchWindow(), config.getReceiveBatchSize(), dispatcher, this::onReceiveBatchEvent);
+
+        progressBatcher = new ProgressBatcher(config.getProgressBatchWindow(), dispatcher, this::onProgressBatchEvent);
+    }
+
+    @Override
+    protected void handleOnDestroy() {
+        methods.release();
+
+        dispatcher.release();
+
+        receiveBatcher.release();
+
+        progressBatcher.release();
+
+        implementation.release();
+
+        super.handleOnDestroy();
+    }
+
+    /**
+     * Listeners
+     */
+
+    @Override
+    @PluginMethod(returnType = PluginMethod.RETURN_NONE)
+    public void addListener(PluginCall call) {
+        super.addListener(call);
 
-        implementation = new Bridgefy(config, this);
+        listeners.update(call.getString("eventName"));
+    }
+
+    @Override
+    @PluginMethod(returnType = PluginMethod.RETURN_NONE)
+    public void removeListener(PluginCall call) {
+        super.removeListener(call);
+
+        listeners.update(call.getString("eventName"));
+    }
+
+    @Override
+    @PluginMethod(returnType = PluginMethod.RETURN_PROMISE)
+    public void removeAllListeners(PluginCall call) {
+        super.removeAllListeners(call);
+
+        listeners.clear();
     }
 
     /**
@@ -128,7 +208,7 @@ public class BridgefyPlugin extends Plugin {
         try {
             InitializeOptions options = new InitializeOptions(call);
 
-            implementation.initialize(options, callback);
+            methods.lifecycle(callback, () -> implementation.initialize(options, callback));
         } catch (Exception exception) {
             callback.error(exception);
         }
@@ -139,7 +219,7 @@ public class BridgefyPlugin extends Plugin {
         Callback callback = new Callback(call) {};
 
         try {
-            implementation.isInitialized(callback);
+            methods.query(callback, () -> implementation.isInitialized(callback));
         } catch (Exception exception) {
             callback.error(exception);
         }
@@ -152,7 +232,7 @@ public class BridgefyPlugin extends Plugin {
         try {
             StartOptions options = new StartOptions(call);
 
-            implementation.start(options, callback);
+            methods.lifecycle(callback, () -> implementation.start(options, callback));
         } catch (Exception exception) {
             callback.error(exception);
         }
@@ -163,7 +243,7 @@ public class BridgefyPlugin extends Plugin {
         Callback callback = new Callback(call) {};
 
         try {
-            implementation.isStarted(callback);
+            methods.query(callback, () -> implementation.isStarted(callback));
         } catch (Exception exception) {
             callback.error(exception);
         }
@@ -174,7 +254,7 @@ public class BridgefyPlugin extends Plugin {
         Callback callback = new Callback(call) {};
 
         try {
-            implementation.stop(callback);
+            methods.lifecycle(callback, () -> implementation.stop(callback));
         } catch (Exception exception) {
             callback.error(exception);
         }
@@ -189,7 +269,7 @@ public class BridgefyPlugin extends Plugin {
         Callback callback = new Callback(call) {};
 
         try {
-            implementation.licenseExpirationDate(callback);
+            methods.query(callback, () -> implementation.licenseExpirationDate(callback));
         } catch (Exception exception) {
             callback.error(exception);
         }
@@ -200,7 +280,7 @@ public class BridgefyPlugin extends Plugin {
         Callback callback = new Callback(call) {};
 
         try {
-            implementation.updateLicense(callback);
+            methods.lifecycle(callback, () -> implementation.updateLicense(callback));
         } catch (Exception exception) {
             callback.error(exception);
         }
@@ -215,7 +295,7 @@ public class BridgefyPlugin extends Plugin {
         Callback callback = new Callback(call) {};
 
         try {
-            implementation.destroySession(callback);
+            methods.lifecycle(callback, () -> implementation.destroySession(callback));
         } catch (Exception exception) {
             callback.error(exception);
         }
@@ -226,7 +306,7 @@ public class BridgefyPlugin extends Plugin {
         Callback callback = new Callback(call) {};
 
         try {
-            implementation.currentUserID(callback);
+            methods.query(callback, () -> implementation.currentUserID(callback));
         } catch (Exception exception) {
             callback.error(exception);
         }
@@ -237,7 +317,7 @@ public class BridgefyPlugin extends Plugin {
         Callback callback = new Callback(call) {};
 
         try {
-            implementation.connectedPeers(callback);
+            methods.query(callback, () -> implementation.connectedPeers(callback));
         } catch (Exception exception) {
             callback.error(exception);
         }
@@ -254,7 +334,7 @@ public class BridgefyPlugin extends Plugin {
         try {
             EstablishSecureConnectionOptions options = new EstablishSecureConnectionOptions(call);
 
-            implementation.establishSecureConnection(options, callback);
+            methods.update(callback, () -> implementation.establishSecureConnection(options, callback));
         } catch (Exception exception) {
             callback.error(exception);
         }
@@ -267,7 +347,7 @@ public class BridgefyPlugin extends Plugin {
         try {
             FingerprintOptions options = new FingerprintOptions(call);
 
-            implementation.fingerprint(options, callback);
+            methods.query(callback, () -> implementation.fingerprint(options, callback));
         } catch (Exception exception) {
             callback.error(exception);
         }
@@ -280,7 +360,7 @@ public class BridgefyPlugin extends Plugin {
         try {
             IsFingerprintValidOptions options = new IsFingerprintValidOptions(call);
 
-            implementation.isFingerprintValid(options, callback);
+            methods.query(callback, () -> implementation.isFingerprintValid(options, callback));
         } catch (Exception exception) {
             callback.error(exception);
         }
@@ -297,7 +377,103 @@ public class BridgefyPlugin extends Plugin {
         try {
             SendOptions options = new SendOptions(call);
 
-            implementation.send(options, callback);
+            methods.send(callback, () -> implementation.send(options, callback));
+        } catch (Exception exception) {
+            callback.error(exception);
+        }
+    }
+
+    @PluginMethod
+    public void sendFile(PluginCall call) {
+        Callback callback = new Callback(call) {};
+
+        try {
+            SendFileOptions options = new SendFileOptions(call);
+
+            // The file is read off the send lane, and queued behind the messages sent in the meantime.
+            methods.read(callback, () -> {
+                @Nullable
+                byte[] data = implementation.readFile(options, callback);
+
+                if (data != null) {
+                    methods.send(callback, () -> implementation.sendFile(options, data, callback));
+                }
+            });
+        } catch (Exception exception) {
+            callback.error(exception);
+        }
+    }
+
+    @PluginMethod
+    public void sendBatch(PluginCall call) {
+        Callback callback = new Callback(call) {};
+
+        try {
+            SendBatchOptions options = new SendBatchOptions(call);
+
+            methods.send(callback, () -> implementation.sendBatch(options, callback));
+        } catch (Exception exception) {
+            callback.error(exception);
+        }
+    }
+
+    /**
+     * Payloads
+     */
+
+    @PluginMethod
+    public void getPayload(PluginCall call) {
+        Callback callback = new Callback(call) {};
+
+        try {
+            PayloadOptions options = new PayloadOptions(call);
+
+            methods.query(callback, () -> implementation.getPayload(options, callback));
+        } catch (Exception exception) {
+            callback.error(exception);
+        }
+    }
+
+    /**
+     * Filters
+     */
+
+    @PluginMethod
+    public void setReceiveFilter(PluginCall call) {
+        Callback callback = new Callback(call) {};
+
+        try {
+            ReceiveFilterOptions options = new ReceiveFilterOptions(call);
+
+            methods.update(callback, () -> implementation.setReceiveFilter(options, callback));
+        } catch (Exception exception) {
+            callback.error(exception);
+        }
+    }
+
+    /**
+     * Statistics
+     */
+
+    @PluginMethod
+    public void compressionStatistics(PluginCall call) {
+        Callback callback = new Callback(call) {};
+
+        try {
+            methods.query(callback, () -> implementation.compressionStatistics(callback));
+        } catch (Exception exception) {
+            callback.error(exception);
+        }
+    }
+
+    @PluginMethod
+    public void getStatistics(PluginCall call) {
+        Callback callback = new Callback(call) {};
+
+        try {
+            StatisticsOptions options = new StatisticsOptions(call);
+
+            methods.query(callback, () -> implementation.getStatistics(options, callback));
         } catch (Exception exception) {
             callback.error(exception);
         }
@@ -448,7 +624,80 @@ public class BridgefyPlugin extends Plugin {
             }
         } catch (Exception ignored) {}
 
-        return new BridgefyConfig(userID, apiKey, verboseLogging, propagationProfile);
+        BridgefyConfig config = new BridgefyConfig(userID, apiKey, verboseLogging, propagationProfile);
+
+        config.setSendQueueCapacity(makeInteger(getConfig().getString("sendQueueCapacity")));
+        config.setMaxMessagesInFlight(makeInteger(getConfig().getString("maxMessagesInFlight")));
+        config.setFragmentSize(makeInteger(getConfig().getString("fragmentSize")));
+        config.setCompression(getConfig().getString("compression"));
+        config.setCompressionThreshold(makeInteger(getConfig().getString("compressionThreshold")));
+        config.setCoalescingWindow(makeInteger(getConfig().getString("coalescingWindow")));
+        config.setCoalescingSize(makeInteger(getConfig().getString("coalescingSize")));
+        config.setDuplicateFilter(getConfig().getString("duplicateFilter"));
+        config.setDuplicateFilterSize(makeInteger(getConfig().getString("duplicateFilterSize")));
+        config.setDuplicateFilterWindow(makeInteger(getConfig().getString("duplicateFilterWindow")));
+        config.setReceiveBatchWindow(makeInteger(getConfig().getString("receiveBatchWindow")));
+        config.setReceiveBatchSize(makeInteger(getConfig().getString("receiveBatchSize")));
+        config.setReceiveMode(getConfig().getString("receiveMode"));
+        config.setPayloadStoreSize(makeInteger(getConfig().getString("payloadStoreSize")));
+        config.setPayloadStoreTimeout(makeInteger(getConfig().getString("payloadStoreTimeout")));
+        config.setPayloadPreviewSize(makeInteger(getConfig().getString("payloadPreviewSize")));
+        config.setSpillThreshold(makeInteger(getConfig().getString("spillThreshold")));
+        config.setSpillQuota(makeInteger(getConfig().getString("spillQuota")));
+        config.setOutbox(makeBoolean(getConfig().getString("outbox")));
+        config.setOutboxSize(makeInteger(getConfig().getString("outboxSize")));
+        config.setOutboxMaxAttempts(makeInteger(getConfig().getString("outboxMaxAttempts")));
+        config.setOutboxMaxAge(makeInteger(getConfig().getString("outboxMaxAge")));
+        config.setRetryPolicies(getConfig().getObject("retryPolicies"));
+        config.setRateLimitPolicy(getConfig().getString("rateLimitPolicy"));
+        config.setRateLimitBytes(makeInteger(getConfig().getString("rateLimitBytes")));
+        config.setRateLimitMessages(makeInteger(getConfig().getString("rateLimitMessages")));
+        config.setRateLimitDestinationBytes(makeInteger(getConfig().getString("rateLimitDestinationBytes")));
+        config.setRateLimitDestinationMessages(makeInteger(getConfig().getString("rateLimitDestinationMessages")));
+        config.setProgressInterval(makeInteger(getConfig().getString("progressInterval")));
+        config.setProgressStep(makeInteger(getConfig().getString("progressStep")));
+        config.setProgressBatchWindow(makeInteger(getConfig().getString("progressBatchWindow")));
+        config.setDispatchOverflow(getConfig().getString("dispatchOverflow"));
+        config.setDispatchQueueSize(makeInteger(getConfig().getString("dispatchQueueSize")));
+        config.setMethodThreads(makeInteger(getConfig().getString("methodThreads")));
+        config.setAdaptiveProfile(getConfig().getObject("adaptiveProfile"));
+
+        return config;
+    }
+
+    /**
+     * Dispatch
+     */
+
+    EventDispatcher getDispatcher() {
+        return dispatcher;
+    }
+
+    Bridgefy getImplementation() {
+        return implementation;
+    }
+
+    @Override
+    protected void notifyListeners(String eventName, JSObject data) {
+        long start = System.nanoTime();
+
+        super.notifyListeners(eventName, data);
+
+        implementation.getMetrics().onNotify(System.nanoTime() - start);
+    }
+
+    /**
+     * Handles an SDK callback on the dispatch thread.
+     */
+    protected void dispatchEvent(Runnable event) {
+        dispatcher.execute(event);
+    }
+
+    /**
+     * Handles an SDK callback on the dispatch thread, unless the queue is full.
+     */
+    protected void offerEvent(Runnable event) {
+        dispatcher.offer(event);
     }
 
     /**
@@ -456,36 +705,66 @@ public class BridgefyPlugin extends Plugin {
      */
 
     protected void onStartedEvent(UUID userID) {
+        if (!implementation.onStarted() || !listeners.hasListeners(STARTED_EVENT)) {
+            return;
+        }
+
         StartedEvent event = new StartedEvent(userID);
 
         notifyListeners(STARTED_EVENT, event.toJSObject());
     }
 
     protected void onFailToStartEvent(Reason reason) {
+        implementation.onFailToStart();
+
+        if (!listeners.hasListeners(FAIL_TO_START_EVENT)) {
+            return;
+        }
+
         FailToStartEvent event = new FailToStartEvent(reason);
 
         notifyListeners(FAIL_TO_START_EVENT, event.toJSObject());
     }
 
     protected void onStoppedEvent() {
+        if (!implementation.onStopped() || !listeners.hasListeners(STOPPED_EVENT)) {
+            return;
+        }
+
         StoppedEvent event = new StoppedEvent();
 
         notifyListeners(STOPPED_EVENT, event.toJSObject());
     }
 
     protected void onFailToStopEvent(Reason reason) {
+        implementation.onFailToStop();
+
+        if (!listeners.hasListeners(FAIL_TO_STOP_EVENT)) {
+            return;
+        }
+
         FailToStopEvent event = new FailToStopEvent(reason);
 
         notifyListeners(FAIL_TO_STOP_EVENT, event.toJSObject());
     }
 
     protected void onDestroySessionEvent() {
+        implementation.onDestroySession();
+
+        if (!listeners.hasListeners(DESTROY_SESSION_EVENT)) {
+            return;
+        }
+
         DestroySessionEvent event = new DestroySessionEvent();
 
         notifyListeners(DESTROY_SESSION_EVENT, event.toJSObject());
     }
 
     protected void onFailToDestroySessionEvent(Reason reason) {
+        if (!listeners.hasListeners(FAIL_TO_DESTROY_SESSION_EVENT)) {
+            return;
+        }
+
         FailToDestroySessionEvent event = new FailToDestroySessionEvent(reason);
 
         notifyListeners(FAIL_TO_DESTROY_SESSION_EVENT, event.toJSObject());
@@ -496,30 +775,58 @@ public class BridgefyPlugin extends Plugin {
      */
 
     protected void onConnectedEvent(UUID peerID) {
-        ConnectedEvent event = new ConnectedEvent(peerID);
+        if (listeners.hasListeners(CONNECTED_EVENT)) {
+            ConnectedEvent event = new ConnectedEvent(peerID);
+
+            notifyListeners(CONNECTED_EVENT, event.toJSObject());
+        }
 
-        notifyListeners(CONNECTED_EVENT, event.toJSObject());
+        implementation.onConnected(peerID);
     }
 
     protected void onDisconnectedEvent(UUID peerID) {
-        DisconnectedEvent event = new DisconnectedEvent(peerID);
+        if (listeners.hasListeners(DISCONNECTED_EVENT)) {
+            DisconnectedEvent event = new DisconnectedEvent(peerID);
 
-        notifyListeners(DISCONNECTED_EVENT, event.toJSObject());
+            notifyListeners(DISCONNECTED_EVENT, event.toJSObject());
+        }
+
+        implementation.onDisconnected(peerID);
     }
 
     protected void onConnectedPeersEvent(List<UUID> peers) {
-        ConnectedPeersEvent event = new ConnectedPeersEvent(peers);
+        if (listeners.hasListeners(CONNECTED_PEERS_EVENT)) {
+            ConnectedPeersEvent event = new ConnectedPeersEvent(peers);
+
+            notifyListeners(CONNECTED_PEERS_EVENT, event.toJSObject());
+        }
+
+        implementation.onConnectedPeers(peers);
+    }
 
-        notifyListeners(CONNECTED_PEERS_EVENT, event.toJSObject());
+    protected void onConnectedPeersChangeEvent(ConnectedPeersChangeEvent event) {
+        if (!listeners.hasListeners(CONNECTED_PEERS_CHANGE_EVENT)) {
+            return;
+        }
+
+        notifyListeners(CONNECTED_PEERS_CHANGE_EVENT, event.toJSObject());
     }
 
     protected void onEstablishSecureConnectionEvent(UUID userID) {
+        if (!listeners.hasListeners(ESTABLISH_SECURE_CONNECTION_EVENT)) {
+            return;
+        }
+
         EstablishSecureConnectionEvent event = new EstablishSecureConnectionEvent(userID);
 
         notifyListeners(ESTABLISH_SECURE_CONNECTION_EVENT, event.toJSObject());
     }
 
     protected void onFailToEstablishSecureConnectionEvent(UUID userID, Reason reason) {
+        if (!listeners.hasListeners(FAIL_TO_ESTABLISH_SECURE_CONNECTION_EVENT)) {
+            return;
+        }
+
         FailToEstablishSecureConnectionEvent event = new FailToEstablishSecureConnectionEvent(userID, reason);
 
         notifyListeners(FAIL_TO_ESTABLISH_SECURE_CONNECTION_EVENT, event.toJSObject());
@@ -530,26 +837,114 @@ public class BridgefyPlugin extends Plugin {
      */
 
     protected void onSendEvent(UUID messageID) {
-        SendEvent event = new SendEvent(messageID);
+        List<SendEvent> events = implementation.onSend(messageID);
 
-        notifyListeners(SEND_EVENT, event.toJSObject());
+        if (!events.isEmpty() && progressBatcher.isEnabled()) {
+            progressBatcher.flush();
+        }
+
+        if (!listeners.hasListeners(SEND_EVENT)) {
+            return;
+        }
+
+        for (SendEvent event : events) {
+            notifyListeners(SEND_EVENT, event.toJSObject());
+        }
     }
 
     protected void onFailToSendEvent(UUID messageID, Reason reason) {
-        FailToSendEvent event = new FailToSendEvent(messageID, reason);
+        onFailToSendEvents(implementation.onFailToSend(messageID, reason));
+    }
 
-        notifyListeners(FAIL_TO_SEND_EVENT, event.toJSObject());
+    protected void onFailToSendEvents(List<FailToSendEvent> events) {
+        if (!events.isEmpty() && progressBatcher.isEnabled()) {
+            progressBatcher.flush();
+        }
+
+        if (!listeners.hasListeners(FAIL_TO_SEND_EVENT)) {
+            return;
+        }
+
+        for (FailToSendEvent event : events) {
+            notifyListeners(FAIL_TO_SEND_EVENT, event.toJSObject());
+        }
     }
 
     protected void onProgressEvent(UUID messageID, int position, int of) {
-        ProgressEvent event = new ProgressEvent(messageID, position, of);
+        if (!listeners.hasListeners(PROGRESS_EVENT, PROGRESS_BATCH_EVENT)) {
+            return;
+        }
+
+        @Nullable
+        ProgressEvent event = implementation.onProgress(messageID, position, of);
+
+        if (event != null) {
+            onProgressEvent(event);
+        }
+    }
 
-        notifyListeners(PROGRESS_EVENT, event.toJSObject());
+    protected void onProgressEvent(ProgressEvent event) {
+        if (progressBatcher.isEnabled()) {
+            if (listeners.hasListeners(PROGRESS_BATCH_EVENT)) {
+                progressBatcher.add(event);
+            }
+        } else if (listeners.hasListeners(PROGRESS_EVENT)) {
+            notifyListeners(PROGRESS_EVENT, event.toJSObject());
+        }
+    }
+
+    protected void onProgressBatchEvent(List<ProgressEvent> events) {
+        if (!listeners.hasListeners(PROGRESS_BATCH_EVENT)) {
+            return;
+        }
+
+        ProgressBatchEvent event = new ProgressBatchEvent(events);
+
+        notifyListeners(PROGRESS_BATCH_EVENT, event.toJSObject());
     }
 
     protected void onReceiveEvent(UUID messageID, byte[] data, Pair<String, UUID> transmissionMode) {
-        ReceiveEvent event = new ReceiveEvent(messageID, data, transmissionMode);
+        List<ReceiveEvent> events = implementation.onReceive(messageID, data, transmissionMode);
+
+        onReceiveEvents(events);
+    }
+
+    protected void onReceiveEvents(List<ReceiveEvent> events) {
+        if (receiveBatcher.isEnabled()) {
+            if (listeners.hasListeners(RECEIVE_BATCH_EVENT)) {
+                receiveBatcher.add(events);
+            }
+            return;
+        }
+
+        if (!listeners.hasListeners(RECEIVE_EVENT)) {
+            return;
+        }
+
+        for (ReceiveEvent event : events) {
+            long start = System.nanoTime();
+
+            JSObject data = event.toJSObject();
+
+            implementation.getMetrics().onReceiveBuild(System.nanoTime() - start);
+
+            notifyListeners(RECEIVE_EVENT, data);
+        }
+    }
+
+    protected void onReceiveBatchEvent(List<ReceiveEvent> events) {
+        if (!listeners.hasListeners(RECEIVE_BATCH_EVENT)) {
+            return;
+        }
+
+        long start = System.nanoTime();
+
+        ReceiveBatchEvent event = new ReceiveBatchEvent(events);
+
+        JSObject data = event.toJSObject();
+
+        implementation.getMetrics().onReceiveBuild(System.nanoTime() - start);
 
-        notifyListeners(RECEIVE_EVENT, event.toJSObject());
+        notifyListeners(RECEIVE_BATCH_EVENT, data);
     }
 }
@@ -0,0 +1,458 @@
+package com.getcapacitor.community;
+
+import android.util.Pair;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Packs small payloads for the same transmission mode into a single SDK message, for at most the coalescing window or
+ * until the packed message reaches the coalescing size, and rolls the delivery callbacks of the packed message out to
+ * its logical messages.
+ * <p>
+ * Packed messages are not sent by the coalescer itself, but handed over to be queued with the priority of their most
+ * urgent logical message, and sent with {@link #send(Frame)} from the queue.
+ * <p>
+ * The SDK is called without holding the lock. A callback for a message which is not known to be packed waits for the
+ * SDK calls in progress to return, as it may be for one of them.
+ * <p>
+ * Frame: {@code magic (4) | count (2) | count * (message ID (16) | length (4) | payload)}.
+ */
+public class Coalescer {
+
+    static final int DEFAULT_SIZE = 1024;
+
+    private static final int HEADER_SIZE = 6;
+    private static final int ENTRY_HEADER_SIZE = 20;
+
+    private static final int MAGIC = 0xBF434F01;
+
+    private static final int MAX_ENTRIES = 0xFFFF;
+
+    private static final long SENT_TIMEOUT = TimeUnit.MINUTES.toNanos(10);
+
+    public interface SendFrame {
+        @NonNull
+        UUID send(@NonNull byte[] frame, @NonNull Pair<String, UUID> transmissionMode) throws Exception;
+    }
+
+    public interface Flush {
+        /**
+         * Queues the packed message, to be sent with {@link #send(Frame)}.
+         */
+        void flush(@NonNull Frame frame);
+    }
+
+    public interface FailToSend {
+        void onFailToSend(@NonNull List<UUID> messageIDs, @NonNull Exception exception);
+    }
+
+    /**
+     * A packed message, ready to be sent.
+     */
+    public static class Frame {
+
+        @NonNull
+        public final byte[] data;
+
+        @NonNull
+        public final Pair<String, UUID> transmissionMode;
+
+        @NonNull
+        public final SendScheduler.Priority priority;
+
+        @NonNull
+        public final List<UUID> messageIDs;
+
+        Frame(
+            @NonNull byte[] data,
+            @NonNull Pair<String, UUID> transmissionMode,
+            @NonNull SendScheduler.Priority priority,
+            @NonNull List<UUID> messageIDs
+        ) {
+            this.data = data;
+            this.transmissionMode = transmissionMode;
+            this.priority = priority;
+            this.messageIDs = messageIDs;
+        }
+    }
+
+    public static class Entry {
+
+        @NonNull
+        public final UUID messageID;
+
+        @NonNull
+        public final byte[] data;
+
+        Entry(@NonNull UUID messageID, @NonNull byte[] data) {
+            this.messageID = messageID;
+            this.data = data;
+        }
+    }
+
+    private static class Batch {
+
+        final List<Entry> entries = new ArrayList<>();
+
+        int size = HEADER_SIZE;
+
+        @NonNull
+        SendScheduler.Priority priority = SendScheduler.Priority.BULK;
+
+        @Nullable
+        ScheduledFuture<?> flush;
+    }
+
+    private static class Sent {
+
+        @NonNull
+        final List<UUID> messageIDs;
+
+        final long created = System.nanoTime();
+
+        Sent(@NonNull List<UUID> messageIDs) {
+            this.messageIDs = messageIDs;
+        }
+    }
+
+    private static class Failure {
+
+        @NonNull
+        final List<UUID> messageIDs;
+
+        @NonNull
+        final Exception exception;
+
+        Failure(@NonNull List<UUID> messageIDs, @NonNull Exception exception) {
+            this.messageIDs = messageIDs;
+            this.exception = exception;
+        }
+    }
+
+    private final int window;
+    private final int size;
+
+    @NonNull
+    private final SendFrame sender;
+
+    @NonNull
+    private final Flush flusher;
+
+    @NonNull
+    private final FailToSend listener;
+
+    private final Map<Pair<String, UUID>, Batch> batches = new HashMap<>();
+
+    private final Map<UUID, Sent> sent = new LinkedHashMap<>();
+
+    // The SDK calls in progress, by the thread making them.
+    private final Map<Object, Thread> calls = new HashMap<>();
+
+    @Nullable
+    private ScheduledExecutorService executor;
+
+    public Coalescer(
+        @Nullable Integer window,
+        @Nullable Integer size,
+        @NonNull SendFrame sender,
+        @NonNull Flush flusher,
+        @NonNull FailToSend listener
+    ) {
+        this.window = window != null && window > 0 ? window : 0;
+        this.size = size != null && size > HEADER_SIZE + ENTRY_HEADER_SIZE ? size : DEFAULT_SIZE;
+        this.sender = sender;
+        this.flusher = flusher;
+        this.listener = listener;
+    }
+
+    /**
+     * Control messages are never held back for the coalescing window.
+     */
+    public boolean accepts(@NonNull byte[] data, @NonNull SendScheduler.Priority priority) {
+        return window > 0 && priority != SendScheduler.Priority.CONTROL && HEADER_SIZE + ENTRY_HEADER_SIZE + data.length <= size;
+    }
+
+    /**
+     * Adds the payload to the batch of its transmission mode.
+     *
+     * @return the identifier of the logical message.
+     */
+    @NonNull
+    public UUID add(@NonNull byte[] data, @NonNull Pair<String, UUID> transmissionMode, @NonNull SendScheduler.Priority priority) {
+        List<Frame> frames = new ArrayList<>();
+
+        UUID messageID;
+
+        synchronized (this) {
+            @Nullable
+            Batch batch = batches.get(transmissionMode);
+
+            if (batch != null && (batch.size + ENTRY_HEADER_SIZE + data.length > size || batch.entries.size() == MAX_ENTRIES)) {
+                flush(transmissionMode, frames);
+                batch = null;
+            }
+
+            if (batch == null) {
+                Batch created = new Batch();
+                batches.put(transmissionMode, created);
+
+                if (executor == null) {
+                    executor = Executors.newSingleThreadScheduledExecutor();
+                }
+                created.flush = executor.schedule(() -> flush(transmissionMode, created), window, TimeUnit.MILLISECONDS);
+
+                batch = created;
+            }
+
+            messageID = UUID.randomUUID();
+
+            batch.entries.add(new Entry(messageID, data));
+            batch.size += ENTRY_HEADER_SIZE + data.length;
+
+            if (priority.ordinal() < batch.priority.ordinal()) {
+                batch.priority = priority;
+            }
+
+            if (batch.size >= size) {
+                flush(transmissionMode, frames);
+            }
+        }
+
+        hand(frames);
+
+        return messageID;
+    }
+
+    /**
+     * Hands the packed message over to the SDK.
+     *
+     * @return the identifier of the packed message, or {@code null} if it could not be sent, in which case its logical
+     * messages have been reported as failed.
+     */
+    @Nullable
+    public UUID send(@NonNull Frame frame) {
+        @Nullable
+        UUID messageID = null;
+
+        @Nullable
+        Failure failure = null;
+
+        Object call = new Object();
+
+        synchronized (this) {
+            expire();
+
+            calls.put(call, Thread.currentThread());
+        }
+
+        try {
+            messageID = sender.send(frame.data, frame.transmissionMode);
+        } catch (Exception exception) {
+            failure = new Failure(frame.messageIDs, exception);
+        }
+
+        synchronized (this) {
+            calls.remove(call);
+
+            // The callbacks of the packed message waiting for the call find its logical messages.
+            if (messageID != null) {
+                sent.put(messageID, new Sent(frame.messageIDs));
+            }
+
+            notifyAll();
+        }
+
+        if (failure != null) {
+            listener.onFailToSend(failure.messageIDs, failure.exception);
+        }
+
+        return messageID;
+    }
+
+    /**
+     * @return the logical messages packed into the message, or the message itself if it has not been packed.
+     */
+    @NonNull
+    public synchronized List<UUID> onComplete(@NonNull UUID messageID) {
+        await(messageID);
+
+        @Nullable
+        Sent entry = sent.remove(messageID);
+
+        return entry != null ? entry.messageIDs : Collections.singletonList(messageID);
+    }
+
+    /**
+     * @return whether the message is a packed message, whose progress does not apply to any single logical message.
+     */
+    public synchronized boolean isPacked(@NonNull UUID messageID) {
+        await(messageID);
+
+        return sent.containsKey(messageID);
+    }
+
+    /**
+     * @return the entries packed into the payload, or {@code null} if the payload is not a packed message.
+     */
+    @Nullable
+    public static List<Entry> decode(@NonNull byte[] data) {
+        if (data.length < HEADER_SIZE) {
+            return null;
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+
+        if (buffer.getInt() != MAGIC) {
+            return null;
+        }
+
+        int count = buffer.getShort() & 0xFFFF;
+
+        List<Entry> entries = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            if (buffer.remaining() < ENTRY_HEADER_SIZE) {
+                return null;
+            }
+
+            UUID messageID = new UUID(buffer.getLong(), buffer.getLong());
+            int length = buffer.getInt();
+
+            if (length < 0 || length > buffer.remaining()) {
+                return null;
+            }
+
+            byte[] payload = new byte[length];
+            buffer.get(payload);
+
+            entries.add(new Entry(messageID, payload));
+        }
+
+        return buffer.hasRemaining() ? null : entries;
+    }
+
+    public void release() {
+        List<Frame> frames = new ArrayList<>();
+
+        synchronized (this) {
+            for (Pair<String, UUID> transmissionMode : new ArrayList<>(batches.keySet())) {
+                flush(transmissionMode, frames);
+            }
+
+            if (executor != null) {
+                executor.shutdownNow();
+                executor = null;
+            }
+        }
+
+        hand(frames);
+    }
+
+    /**
+     * Flushes the batch once its window has elapsed, unless it has been flushed already and replaced by a new one.
+     */
+    private void flush(@NonNull Pair<String, UUID> transmissionMode, @NonNull Batch batch) {
+        List<Frame> frames = new ArrayList<>();
+
+        synchronized (this) {
+            if (batches.get(transmissionMode) != batch) {
+                return;
+            }
+
+            flush(transmissionMode, frames);
+        }
+
+        hand(frames);
+    }
+
+    /**
+     * Waits for the SDK calls in progress to return, unless the message is known to be packed.
+     */
+    private void await(@NonNull UUID messageID) {
+        // The SDK may call back on the thread sending the packed message, before it has returned.
+        if (sent.containsKey(messageID) || calls.containsValue(Thread.currentThread())) {
+            return;
+        }
+
+        Set<Object> pending = new HashSet<>(calls.keySet());
+
+        while (!sent.containsKey(messageID) && !Collections.disjoint(pending, calls.keySet())) {
+            try {
+                wait();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Packed messages are handed over once the lock has been released, as queueing them completes their logical
+     * messages in flight, which takes other locks.
+     */
+    private void hand(@NonNull List<Frame> frames) {
+        for (Frame frame : frames) {
+            flusher.flush(frame);
+        }
+    }
+
+    private void flush(@NonNull Pair<String, UUID> transmissionMode, @NonNull List<Frame> frames) {
+        @Nullable
+        Batch batch = batches.remove(transmissionMode);
+
+        if (batch == null) {
+            return;
+        }
+
+        if (batch.flush != null) {
+            batch.flush.cancel(false);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(batch.size);
+
+        buffer.putInt(MAGIC);
+        buffer.putShort((short) batch.entries.size());
+
+        List<UUID> messageIDs = new ArrayList<>(batch.entries.size());
+
+        for (Entry entry : batch.entries) {
+            buffer.putLong(entry.messageID.getMostSignificantBits());
+            buffer.putLong(entry.messageID.getLeastSignificantBits());
+            buffer.putInt(entry.data.length);
+            buffer.put(entry.data);
+
+            messageIDs.add(entry.messageID);
+        }
+
+        frames.add(new Frame(buffer.array(), transmissionMode, batch.priority, messageIDs));
+    }
+
+    private void expire() {
+        long now = System.nanoTime();
+
+        Iterator<Sent> iterator = sent.values().iterator();
+
+        while (iterator.hasNext()) {
+            if (now - iterator.next().created < SENT_TIMEOUT) {
+                // Messages are kept in send order.
+                break;
+            }
+            iterator.remove();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.getcapacitor.community;
+
+import android.os.Debug;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.getcapacitor.community.classes.results.CompressionStatisticsResult;
+import com.getcapacitor.community.interfaces.Codec;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Optional compression of outgoing payloads, prefixed with a magic number and the header byte of their codec.
+ * <p>
+ * Incoming payloads are decompressed whenever they start with the magic number and the header of a known codec and
+ * decode successfully, so payloads from peers that do not compress are delivered unchanged.
+ * <p>
+ * Frame: {@code magic (4) | codec (1) | compressed payload}.
+ */
+public class Compression {
+
+    static final int DEFAULT_THRESHOLD = 256;
+
+    static final int HEADER_SIZE = 5;
+
+    private static final int MAGIC = 0xBF435A01;
+
+    private static final int MAX_LENGTH = 16 * 1024 * 1024;
+
+    private final Map<Byte, Codec> codecs = new HashMap<>();
+
+    @Nullable
+    private final Codec codec;
+
+    private final int threshold;
+
+    private final AtomicLong compressedMessages = new AtomicLong();
+    private final AtomicLong uncompressedBytes = new AtomicLong();
+    private final AtomicLong compressedBytes = new AtomicLong();
+    private final AtomicLong compressTime = new AtomicLong();
+    private final AtomicLong skippedMessages = new AtomicLong();
+    private final AtomicLong ineffectiveMessages = new AtomicLong();
+    private final AtomicLong ineffectiveTime = new AtomicLong();
+    private final AtomicLong decompressedMessages = new AtomicLong();
+    private final AtomicLong decompressTime = new AtomicLong();
+
+    public Compression(@Nullable String codec, @Nullable Integer threshold) {
+        DeflateCodec deflate = new DeflateCodec();
+        register(deflate);
+
+        this.codec = DeflateCodec.NAME.equals(codec) ? deflate : null;
+        this.threshold = threshold != null && threshold >= 0 ? threshold : DEFAULT_THRESHOLD;
+    }
+
+    public void register(@NonNull Codec codec) {
+        codecs.put(codec.getHeader(), codec);
+    }
+
+    @NonNull
+    public byte[] encode(@NonNull byte[] data) {
+        if (codec == null) {
+            return data;
+        }
+
+        if (data.length < threshold) {
+            skippedMessages.incrementAndGet();
+            return data;
+        }
+
+        long start = Debug.threadCpuTimeNanos();
+
+        @Nullable
+        byte[] compressed;
+        try {
+            compressed = codec.compress(data);
+        } catch (Exception ignored) {
+            compressed = null;
+        }
+
+        if (compressed == null || compressed.length + HEADER_SIZE >= data.length) {
+            // The time spent on payloads that do not shrink is the cost of compressing them at all.
+            ineffectiveTime.addAndGet(Debug.threadCpuTimeNanos() - start);
+            ineffectiveMessages.incrementAndGet();
+            skippedMessages.incrementAndGet();
+            return data;
+        }
+
+        compressTime.addAndGet(Debug.threadCpuTimeNanos() - start);
+        compressedMessages.incrementAndGet();
+        uncompressedBytes.addAndGet(data.length);
+        compressedBytes.addAndGet(compressed.length + HEADER_SIZE);
+
+        ByteBuffer buffer = ByteBuffer.allocate(compressed.length + HEADER_SIZE);
+
+        buffer.putInt(MAGIC);
+        buffer.put(codec.getHeader());
+        buffer.put(compressed);
+
+        return buffer.array();
+    }
+
+    @NonNull
+    public byte[] decode(@NonNull byte[] data) {
+        if (data.length <= HEADER_SIZE || ByteBuffer.wrap(data).getInt() != MAGIC) {
+            return data;
+        }
+
+        @Nullable
+        Codec codec = codecs.get(data[HEADER_SIZE - 1]);
+
+        if (codec == null) {
+            return data;
+        }
+
+        long start = Debug.threadCpuTimeNanos();
+
+        try {
+            byte[] result = codec.decompress(data, HEADER_SIZE, data.length - HEADER_SIZE, MAX_LENGTH);
+
+            decompressedMessages.incrementAndGet();
+            decompressTime.addAndGet(Debug.threadCpuTimeNanos() - start);
+
+            return result;
+        } catch (Exception ignored) {
+            return data;
+        }
+    }
+
+    @NonNull
+    public CompressionStatisticsResult getStatistics() {
+        return getStatistics(false);
+    }
+
+    /**
+     * @param reset whether the statistics start over once they have been taken.
+     */
+    @NonNull
+    public CompressionStatisticsResult getStatistics(boolean reset) {
+        return new CompressionStatisticsResult(
+            get(compressedMessages, reset),
+            get(skippedMessages, reset),
+            get(ineffectiveMessages, reset),
+            get(ineffectiveTime, reset),
+            get(uncompressedBytes, reset),
+            get(compressedBytes, reset),
+            get(compressTime, reset),
+            get(decompressedMessages, reset),
+            get(decompressTime, reset)
+        );
+    }
+
+    private static long get(@NonNull AtomicLong counter, boolean reset) {
+        return reset ? counter.getAndSet(0) : counter.get();
+    }
+}
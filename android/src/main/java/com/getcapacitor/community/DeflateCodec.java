@@ -0,0 +1,87 @@
+package com.getcapacitor.community;
+
+import androidx.annotation.NonNull;
+import com.getcapacitor.community.interfaces.Codec;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Zlib-wrapped deflate, whose checksum rejects payloads that merely start with the header byte.
+ */
+public class DeflateCodec implements Codec {
+
+    static final String NAME = "deflate";
+
+    private static final byte HEADER = (byte) 0xC1;
+
+    private static final String PAYLOAD_TOO_LARGE = "payload too large";
+    private static final String INVALID_PAYLOAD = "invalid payload";
+
+    @Override
+    public byte getHeader() {
+        return HEADER;
+    }
+
+    @NonNull
+    @Override
+    public byte[] compress(@NonNull byte[] data) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+
+            ByteArrayOutputStream output = new ByteArrayOutputStream(data.length / 2 + 16);
+            byte[] buffer = new byte[8192];
+
+            while (!deflater.finished()) {
+                int count = deflater.deflate(buffer);
+                output.write(buffer, 0, count);
+            }
+
+            return output.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    @NonNull
+    @Override
+    public byte[] decompress(@NonNull byte[] data, int offset, int length, int maxLength) throws IOException {
+        Inflater inflater = new Inflater();
+
+        try {
+            inflater.setInput(data, offset, length);
+
+            ByteArrayOutputStream output = new ByteArrayOutputStream(length * 4);
+            byte[] buffer = new byte[8192];
+
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException(INVALID_PAYLOAD);
+                }
+
+                if (output.size() + count > maxLength) {
+                    throw new IOException(PAYLOAD_TOO_LARGE);
+                }
+
+                output.write(buffer, 0, count);
+            }
+
+            if (inflater.getRemaining() > 0) {
+                throw new IOException(INVALID_PAYLOAD);
+            }
+
+            return output.toByteArray();
+        } catch (DataFormatException exception) {
+            throw new IOException(INVALID_PAYLOAD, exception);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.getcapacitor.community;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drops received messages that have already been seen within the window, either by message ID or by content, or none
+ * at all unless a mode has been configured.
+ * <p>
+ * Keys are kept as pairs of longs in a ring buffer, which evicts the oldest key once full, indexed by an
+ * open-addressing hash table, so that checking a message does not allocate.
+ */
+public class DuplicateFilter {
+
+    static final String NONE = "none";
+    static final String MESSAGE_ID = "messageID";
+    static final String CONTENT = "content";
+
+    static final int DEFAULT_SIZE = 1024;
+    static final int DEFAULT_WINDOW = 300000;
+
+    private static final long FNV_OFFSET_BASIS = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    private final boolean isEnabled;
+    private final boolean isContent;
+
+    private final long window;
+
+    private final long[] mostSignificantBits;
+    private final long[] leastSignificantBits;
+    private final long[] times;
+
+    private int head = 0;
+    private int count = 0;
+
+    /**
+     * Ring buffer index + 1 of each key, 0 if empty.
+     */
+    private final int[] table;
+    private final int mask;
+
+    private final AtomicLong duplicates = new AtomicLong();
+
+    public DuplicateFilter(@Nullable String mode, @Nullable Integer size, @Nullable Integer window) {
+        // Filtering is opt-in, as it drops messages the application may legitimately send twice.
+        this.isContent = CONTENT.equals(mode);
+        this.isEnabled = isContent || MESSAGE_ID.equals(mode);
+
+        int capacity = size != null && size > 0 ? size : DEFAULT_SIZE;
+
+        this.window = TimeUnit.MILLISECONDS.toNanos(window != null && window > 0 ? window : DEFAULT_WINDOW);
+
+        this.mostSignificantBits = new long[capacity];
+        this.leastSignificantBits = new long[capacity];
+        this.times = new long[capacity];
+
+        int tableSize = Integer.highestOneBit(capacity * 2 - 1) << 1;
+
+        this.table = new int[tableSize];
+        this.mask = tableSize - 1;
+    }
+
+    /**
+     * Records the message.
+     *
+     * @return whether the message has already been seen within the window.
+     */
+    public synchronized boolean isDuplicate(@NonNull UUID messageID, @NonNull byte[] data, @Nullable UUID sender) {
+        if (!isEnabled) {
+            return false;
+        }
+
+        long msb;
+        long lsb;
+
+        if (isContent) {
+            msb = hash(data);
+            lsb = data.length;
+            if (sender != null) {
+                lsb ^= sender.getMostSignificantBits() * 31 + sender.getLeastSignificantBits();
+            }
+        } else {
+            msb = messageID.getMostSignificantBits();
+            lsb = messageID.getLeastSignificantBits();
+        }
+
+        long now = System.nanoTime();
+
+        int index = find(msb, lsb);
+
+        if (index >= 0) {
+            boolean isDuplicate = now - times[index] < window;
+
+            times[index] = now;
+
+            if (isDuplicate) {
+                duplicates.incrementAndGet();
+            }
+
+            return isDuplicate;
+        }
+
+        insert(msb, lsb, now);
+
+        return false;
+    }
+
+    public long getDuplicates() {
+        return getDuplicates(false);
+    }
+
+    /**
+     * @param reset whether the count starts over once it has been taken.
+     */
+    public long getDuplicates(boolean reset) {
+        return reset ? duplicates.getAndSet(0) : duplicates.get();
+    }
+
+    private int find(long msb, long lsb) {
+        for (int slot = home(msb, lsb);; slot = (slot + 1) & mask) {
+            int entry = table[slot];
+
+            if (entry == 0) {
+                return -1;
+            }
+
+            int index = entry - 1;
+
+            if (mostSignificantBits[index] == msb && leastSignificantBits[index] == lsb) {
+                return index;
+            }
+        }
+    }
+
+    private void insert(long msb, long lsb, long time) {
+        if (count == times.length) {
+            remove(mostSignificantBits[head], leastSignificantBits[head]);
+        } else {
+            count++;
+        }
+
+        mostSignificantBits[head] = msb;
+        leastSignificantBits[head] = lsb;
+        times[head] = time;
+
+        int slot = home(msb, lsb);
+        while (table[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = head + 1;
+
+        head = (head + 1) % times.length;
+    }
+
+    /**
+     * Removes a key with backward shift deletion, which keeps every probe sequence intact without tombstones.
+     */
+    private void remove(long msb, long lsb) {
+        int slot = home(msb, lsb);
+
+        while (true) {
+            int entry = table[slot];
+
+            if (entry == 0) {
+                return;
+            }
+            if (mostSignificantBits[entry - 1] == msb && leastSignificantBits[entry - 1] == lsb) {
+                break;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        table[slot] = 0;
+
+        for (int next = (slot + 1) & mask; table[next] != 0; next = (next + 1) & mask) {
+            int index = table[next] - 1;
+            int home = home(mostSignificantBits[index], leastSignificantBits[index]);
+
+            // Move the entry into the hole unless its home lies cyclically within (slot, next].
+            boolean isBetween = slot <= next ? (slot < home && home <= next) : (slot < home || home <= next);
+
+            if (!isBetween) {
+                table[slot] = table[next];
+                table[next] = 0;
+                slot = next;
+            }
+        }
+    }
+
+    private int home(long msb, long lsb) {
+        long hash = msb * 0x9E3779B97F4A7C15L ^ lsb;
+        hash ^= hash >>> 32;
+        return (int) hash & mask;
+    }
+
+    private static long hash(@NonNull byte[] data) {
+        long hash = FNV_OFFSET_BASIS;
+        for (byte value : data) {
+            hash ^= value & 0xFF;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
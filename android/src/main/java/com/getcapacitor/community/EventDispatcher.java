@@ -0,0 +1,197 @@
+package com.getcapacitor.community;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Hands the SDK callbacks over to a single thread of its own, so that building and delivering events does not hold up
+ * the SDK. Events are handled one at a time in the order they have been dispatched.
+ * <p>
+ * When the queue is full, the SDK thread waits for room with the {@code "block"} policy. With the {@code "drop"}
+ * policy, progress events are dropped instead, and other events take the place of the oldest queued progress event,
+ * or wait for room if there is none. Either way, the queue holds at most its size, apart from the events dispatched
+ * while an event is handled, which are never held up.
+ */
+public class EventDispatcher implements Executor {
+
+    static final String BLOCK = "block";
+    static final String DROP = "drop";
+
+    static final int DEFAULT_SIZE = 1024;
+
+    private final int size;
+
+    private final boolean isDropping;
+
+    private static class Event {
+
+        @NonNull
+        final Runnable runnable;
+
+        final boolean isDroppable;
+
+        Event(@NonNull Runnable runnable, boolean isDroppable) {
+            this.runnable = runnable;
+            this.isDroppable = isDroppable;
+        }
+    }
+
+    private final ArrayDeque<Event> events = new ArrayDeque<>();
+
+    @Nullable
+    private ExecutorService executor;
+
+    @Nullable
+    private Thread consumer;
+
+    private boolean isDraining = false;
+    private boolean isReleased = false;
+
+    private long dropped = 0;
+
+    public EventDispatcher(@Nullable String policy, @Nullable Integer size) {
+        this.isDropping = DROP.equals(policy);
+        this.size = size != null && size > 0 ? size : DEFAULT_SIZE;
+    }
+
+    /**
+     * Queues an event which must be handled.
+     */
+    @Override
+    public void execute(@NonNull Runnable event) {
+        put(event, false);
+    }
+
+    /**
+     * Queues an event which may be dropped if the queue is full.
+     */
+    public void offer(@NonNull Runnable event) {
+        put(event, true);
+    }
+
+    public synchronized int getQueueDepth() {
+        return events.size();
+    }
+
+    /**
+     * @param reset whether the count starts over once it has been taken.
+     */
+    public synchronized long getDropped(boolean reset) {
+        long dropped = this.dropped;
+
+        if (reset) {
+            this.dropped = 0;
+        }
+
+        return dropped;
+    }
+
+    public void release() {
+        synchronized (this) {
+            isReleased = true;
+
+            events.clear();
+
+            notifyAll();
+
+            if (executor != null) {
+                executor.shutdownNow();
+                executor = null;
+            }
+        }
+    }
+
+    private synchronized void put(@NonNull Runnable event, boolean isDroppable) {
+        // Events dispatched while an event is handled, as the SDK may call back right away, are never held up.
+        boolean isConsumer = Thread.currentThread() == consumer;
+
+        while (!isReleased && !isConsumer && events.size() >= size) {
+            if (isDropping) {
+                if (isDroppable) {
+                    dropped++;
+                    return;
+                }
+                if (dropOldest()) {
+                    break;
+                }
+            }
+
+            try {
+                wait();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        if (isReleased) {
+            return;
+        }
+
+        events.add(new Event(event, isDroppable));
+
+        if (!isDraining) {
+            if (executor == null) {
+                executor = Executors.newSingleThreadExecutor();
+            }
+
+            try {
+                executor.execute(this::drain);
+                isDraining = true;
+            } catch (RejectedExecutionException ignored) {}
+        }
+    }
+
+    /**
+     * Drops the oldest queued event which may be dropped, to make room for one which must be handled.
+     *
+     * @return whether an event has been dropped.
+     */
+    private boolean dropOldest() {
+        Iterator<Event> iterator = events.iterator();
+
+        while (iterator.hasNext()) {
+            if (iterator.next().isDroppable) {
+                iterator.remove();
+                dropped++;
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void drain() {
+        synchronized (this) {
+            consumer = Thread.currentThread();
+        }
+
+        while (true) {
+            Event event;
+
+            synchronized (this) {
+                event = events.poll();
+
+                if (event == null) {
+                    consumer = null;
+                    isDraining = false;
+                    return;
+                }
+
+                notifyAll();
+            }
+
+            try {
+                event.runnable.run();
+            } catch (RuntimeException ignored) {
+                // A failing event must not stop the events after it.
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.getcapacitor.community;
+
+import android.content.Context;
+import android.net.Uri;
+import android.os.ParcelFileDescriptor;
+import androidx.annotation.NonNull;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * Reads payloads natively from a file path, a {@code file://} URI or a {@code content://} URI.
+ * <p>
+ * The file is read through its channel straight into the payload array, without passing through JavaScript or
+ * intermediate buffers. Files above the maximum size are rejected up front when their size is known, or as soon as
+ * they exceed it otherwise.
+ */
+public class FileSource {
+
+    private static final String CONTENT_SCHEME = "content";
+    private static final String FILE_SCHEME = "file";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    public static class TooLargeException extends IOException {
+
+        TooLargeException() {
+            super("file is too large");
+        }
+    }
+
+    /**
+     * @param maxSize the maximum size of the file, larger files are rejected before they have been read entirely.
+     */
+    @NonNull
+    public static byte[] read(@NonNull Context context, @NonNull String uri, int maxSize) throws IOException {
+        if (uri.startsWith(CONTENT_SCHEME + ":")) {
+            ParcelFileDescriptor descriptor = open(context, Uri.parse(uri));
+            long size = descriptor.getStatSize();
+
+            try (FileInputStream stream = new ParcelFileDescriptor.AutoCloseInputStream(descriptor)) {
+                return read(stream.getChannel(), size, maxSize);
+            }
+        }
+
+        String path = uri.startsWith(FILE_SCHEME + ":") ? Uri.parse(uri).getPath() : uri;
+
+        if (path == null) {
+            throw new FileNotFoundException(uri);
+        }
+
+        try (FileInputStream stream = new FileInputStream(new File(path))) {
+            FileChannel channel = stream.getChannel();
+
+            return read(channel, channel.size(), maxSize);
+        }
+    }
+
+    @NonNull
+    private static ParcelFileDescriptor open(@NonNull Context context, @NonNull Uri uri) throws FileNotFoundException {
+        ParcelFileDescriptor descriptor = context.getContentResolver().openFileDescriptor(uri, "r");
+
+        if (descriptor == null) {
+            throw new FileNotFoundException(uri.toString());
+        }
+
+        return descriptor;
+    }
+
+    /**
+     * @param size the size of the file, or a negative value if it is unknown.
+     */
+    @NonNull
+    private static byte[] read(@NonNull FileChannel channel, long size, int maxSize) throws IOException {
+        if (size > maxSize) {
+            throw new TooLargeException();
+        }
+
+        if (size < 0) {
+            return readUnknownSize(channel, maxSize);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) size);
+
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                // The file shrank while reading.
+                return Arrays.copyOf(buffer.array(), buffer.position());
+            }
+        }
+
+        return buffer.array();
+    }
+
+    @NonNull
+    private static byte[] readUnknownSize(@NonNull FileChannel channel, int maxSize) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Math.min(BUFFER_SIZE, maxSize + 1));
+
+        while (channel.read(buffer) >= 0) {
+            if (!buffer.hasRemaining()) {
+                // One byte more than allowed tells a file of the maximum size from a larger one.
+                if (buffer.capacity() > maxSize) {
+                    throw new TooLargeException();
+                }
+
+                ByteBuffer grown = ByteBuffer.allocate((int) Math.min((long) buffer.capacity() * 2, (long) maxSize + 1));
+                buffer.flip();
+                grown.put(buffer);
+                buffer = grown;
+            }
+        }
+
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+}
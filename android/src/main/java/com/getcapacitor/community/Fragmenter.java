@@ -0,0 +1,402 @@
+package com.getcapacitor.community;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Splits payloads above the fragment size into framed fragments, each one sent as its own SDK message, and rolls the
+ * delivery callbacks of the fragments up into the logical message.
+ * <p>
+ * Once a logical message has failed or expired, the callbacks of its remaining fragments are swallowed, so that their
+ * identifiers never reach the web view.
+ * <p>
+ * The SDK is called without holding the lock. A callback for a message which is not known to be a fragment waits for
+ * the SDK calls in progress to return, as it may be for one of their fragments.
+ * <p>
+ * Frame: {@code magic (4) | message ID (16) | index (2) | total (2) | fragment}.
+ */
+public class Fragmenter {
+
+    static final int DEFAULT_FRAGMENT_SIZE = 16 * 1024;
+
+    static final int HEADER_SIZE = 24;
+
+    private static final int MAGIC = 0xBF464701;
+
+    private static final int MAX_FRAGMENTS = 0xFFFF;
+
+    /**
+     * The largest payload the receiving side reassembles.
+     */
+    static final int MAX_PAYLOAD_SIZE = Reassembler.MAX_BYTES;
+
+    private static final int MAX_DISCARDED = 4096;
+
+    private static final long OUTGOING_TIMEOUT = TimeUnit.MINUTES.toNanos(10);
+
+    private static final String PAYLOAD_TOO_LARGE = "payload too large";
+
+    public interface SendFragment {
+        @NonNull
+        UUID send(@NonNull byte[] fragment);
+    }
+
+    public static class Fragment {
+
+        @NonNull
+        final UUID messageID;
+
+        final int index;
+        final int total;
+
+        @NonNull
+        final byte[] data;
+
+        Fragment(@NonNull UUID messageID, int index, int total, @NonNull byte[] data) {
+            this.messageID = messageID;
+            this.index = index;
+            this.total = total;
+            this.data = data;
+        }
+    }
+
+    /**
+     * The state of a logical message and its fragments.
+     */
+    public static class Outgoing {
+
+        @NonNull
+        public final UUID messageID;
+
+        public final int length;
+
+        private final int[] sizes;
+        private final int[] positions;
+
+        private int sent = 0;
+
+        /**
+         * Whether the message has failed or expired, so that its remaining fragments are not sent.
+         */
+        private boolean isDiscarded = false;
+
+        private final long created = System.nanoTime();
+
+        Outgoing(@NonNull UUID messageID, int length, int total) {
+            this.messageID = messageID;
+            this.length = length;
+            this.sizes = new int[total];
+            this.positions = new int[total];
+        }
+
+        int getPosition() {
+            int position = 0;
+            for (int value : positions) {
+                position += value;
+            }
+            return position;
+        }
+    }
+
+    private static class Sent {
+
+        @NonNull
+        final Outgoing outgoing;
+
+        final int index;
+
+        Sent(@NonNull Outgoing outgoing, int index) {
+            this.outgoing = outgoing;
+            this.index = index;
+        }
+    }
+
+    private final int fragmentSize;
+
+    private final long timeout;
+
+    private final Map<UUID, Sent> fragments = new HashMap<>();
+
+    // The SDK calls in progress, by the thread making them.
+    private final Map<Object, Thread> calls = new HashMap<>();
+
+    // Fragments of failed or expired messages, whose callbacks are still to come.
+    private final Map<UUID, Boolean> discarded = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, Boolean> eldest) {
+            return size() > MAX_DISCARDED;
+        }
+    };
+
+    public Fragmenter(@Nullable Integer fragmentSize) {
+        this(fragmentSize, OUTGOING_TIMEOUT);
+    }
+
+    Fragmenter(@Nullable Integer fragmentSize, long timeout) {
+        this.fragmentSize = fragmentSize != null && fragmentSize > HEADER_SIZE
+            ? fragmentSize - HEADER_SIZE
+            : DEFAULT_FRAGMENT_SIZE - HEADER_SIZE;
+        this.timeout = timeout;
+    }
+
+    public boolean needsFragmentation(@NonNull byte[] data) {
+        return data.length > fragmentSize + HEADER_SIZE;
+    }
+
+    /**
+     * @return {@code true} if a payload of the given length can be fragmented and reassembled by the receiver.
+     */
+    public boolean accepts(int length) {
+        return length <= MAX_PAYLOAD_SIZE && (length + fragmentSize - 1) / fragmentSize <= MAX_FRAGMENTS;
+    }
+
+    /**
+     * @return {@code true} if the message is a fragment of a failed or expired message, whose callbacks are swallowed.
+     */
+    public synchronized boolean isDiscarded(@NonNull UUID messageID) {
+        await(messageID);
+
+        return discarded.containsKey(messageID);
+    }
+
+    /**
+     * Sends every fragment of the payload, until the logical message has failed.
+     *
+     * @return the identifier of the logical message.
+     */
+    @NonNull
+    public UUID send(@NonNull byte[] data, @NonNull SendFragment sender) throws Exception {
+        if (!accepts(data.length)) {
+            throw new Exception(PAYLOAD_TOO_LARGE);
+        }
+
+        int total = (data.length + fragmentSize - 1) / fragmentSize;
+
+        UUID messageID = UUID.randomUUID();
+
+        Outgoing outgoing = new Outgoing(messageID, data.length, total);
+
+        for (int index = 0; index < total; index++) {
+            int offset = index * fragmentSize;
+            int size = Math.min(fragmentSize, data.length - offset);
+
+            byte[] fragment = encode(messageID, index, total, data, offset, size);
+
+            Object call = new Object();
+
+            synchronized (this) {
+                if (index == 0) {
+                    expire();
+                }
+
+                if (outgoing.isDiscarded) {
+                    break;
+                }
+
+                outgoing.sizes[index] = size;
+
+                calls.put(call, Thread.currentThread());
+            }
+
+            UUID fragmentID;
+            try {
+                fragmentID = sender.send(fragment);
+            } catch (Exception exception) {
+                synchronized (this) {
+                    calls.remove(call);
+                    remove(outgoing);
+
+                    notifyAll();
+                }
+                throw exception;
+            }
+
+            synchronized (this) {
+                calls.remove(call);
+
+                if (outgoing.isDiscarded) {
+                    discarded.put(fragmentID, Boolean.TRUE);
+                } else {
+                    fragments.put(fragmentID, new Sent(outgoing, index));
+                }
+
+                notifyAll();
+            }
+        }
+
+        return messageID;
+    }
+
+    /**
+     * @return the logical message once all of its fragments have been sent, the message itself if it is not a fragment,
+     * or {@code null} if fragments of the logical message are still being sent or the logical message has failed.
+     */
+    @Nullable
+    public synchronized UUID onSend(@NonNull UUID messageID) {
+        await(messageID);
+
+        @Nullable
+        Sent sent = fragments.remove(messageID);
+
+        if (sent == null) {
+            return discarded.remove(messageID) == null ? messageID : null;
+        }
+
+        Outgoing outgoing = sent.outgoing;
+
+        outgoing.positions[sent.index] = outgoing.sizes[sent.index];
+
+        return ++outgoing.sent == outgoing.sizes.length ? outgoing.messageID : null;
+    }
+
+    /**
+     * @return the logical message of a failed fragment, which fails the whole message, the message itself if it is not a
+     * fragment, or {@code null} if the logical message has already failed.
+     */
+    @Nullable
+    public synchronized UUID onFailToSend(@NonNull UUID messageID) {
+        await(messageID);
+
+        @Nullable
+        Sent sent = fragments.remove(messageID);
+
+        if (sent == null) {
+            return discarded.remove(messageID) == null ? messageID : null;
+        }
+
+        Outgoing outgoing = sent.outgoing;
+
+        remove(outgoing);
+
+        return outgoing.messageID;
+    }
+
+    /**
+     * Updates the progress of a fragment.
+     *
+     * @return the logical message, or {@code null} if the message is not a fragment.
+     */
+    @Nullable
+    public synchronized Outgoing onProgress(@NonNull UUID messageID, int position, int of) {
+        await(messageID);
+
+        @Nullable
+        Sent sent = fragments.get(messageID);
+
+        if (sent == null) {
+            return null;
+        }
+
+        int size = sent.outgoing.sizes[sent.index];
+
+        sent.outgoing.positions[sent.index] = of > 0 ? (int) ((long) size * Math.min(position, of) / of) : 0;
+
+        return sent.outgoing;
+    }
+
+    /**
+     * @return the fragment contained in the payload, or {@code null} if the payload is not a fragment.
+     */
+    @Nullable
+    public static Fragment decode(@NonNull byte[] data) {
+        if (data.length < HEADER_SIZE) {
+            return null;
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+
+        if (buffer.getInt() != MAGIC) {
+            return null;
+        }
+
+        UUID messageID = new UUID(buffer.getLong(), buffer.getLong());
+        int index = buffer.getShort() & 0xFFFF;
+        int total = buffer.getShort() & 0xFFFF;
+
+        if (total == 0 || index >= total) {
+            return null;
+        }
+
+        byte[] fragment = new byte[buffer.remaining()];
+        buffer.get(fragment);
+
+        return new Fragment(messageID, index, total, fragment);
+    }
+
+    @NonNull
+    private static byte[] encode(@NonNull UUID messageID, int index, int total, @NonNull byte[] data, int offset, int size) {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + size);
+
+        buffer.putInt(MAGIC);
+        buffer.putLong(messageID.getMostSignificantBits());
+        buffer.putLong(messageID.getLeastSignificantBits());
+        buffer.putShort((short) index);
+        buffer.putShort((short) total);
+        buffer.put(data, offset, size);
+
+        return buffer.array();
+    }
+
+    /**
+     * Waits for the SDK calls in progress to return, unless the message is known to be a fragment.
+     */
+    private void await(@NonNull UUID messageID) {
+        // The SDK may call back on the thread sending the fragment, before it has returned.
+        if (fragments.containsKey(messageID) || calls.containsValue(Thread.currentThread())) {
+            return;
+        }
+
+        Set<Object> pending = new HashSet<>(calls.keySet());
+
+        while (!fragments.containsKey(messageID) && !Collections.disjoint(pending, calls.keySet())) {
+            try {
+                wait();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void remove(@NonNull Outgoing outgoing) {
+        outgoing.isDiscarded = true;
+
+        Iterator<Map.Entry<UUID, Sent>> iterator = fragments.entrySet().iterator();
+
+        while (iterator.hasNext()) {
+            Map.Entry<UUID, Sent> entry = iterator.next();
+
+            if (entry.getValue().outgoing == outgoing) {
+                discarded.put(entry.getKey(), Boolean.TRUE);
+                iterator.remove();
+            }
+        }
+    }
+
+    private void expire() {
+        long now = System.nanoTime();
+
+        Iterator<Map.Entry<UUID, Sent>> iterator = fragments.entrySet().iterator();
+
+        while (iterator.hasNext()) {
+            Map.Entry<UUID, Sent> entry = iterator.next();
+
+            if (now - entry.getValue().outgoing.created >= timeout) {
+                entry.getValue().outgoing.isDiscarded = true;
+
+                discarded.put(entry.getKey(), Boolean.TRUE);
+                iterator.remove();
+            }
+        }
+    }
+}
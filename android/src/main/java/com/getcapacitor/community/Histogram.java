@@ -0,0 +1,91 @@
+package com.getcapacitor.community;
+
+import androidx.annotation.NonNull;
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts durations into fixed buckets, without locking.
+ */
+public class Histogram {
+
+    /**
+     * The upper bounds of the buckets in microseconds, the last bucket holds all longer durations.
+     */
+    private static final long[] BOUNDS = {
+        10,
+        50,
+        100,
+        500,
+        1000,
+        5000,
+        10000,
+        50000,
+        100000,
+        500000,
+        1000000,
+        5000000,
+        10000000,
+        30000000
+    };
+
+    private final AtomicLongArray counts = new AtomicLongArray(BOUNDS.length + 1);
+
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long nanos) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+
+        int bucket = 0;
+        while (bucket < BOUNDS.length && micros > BOUNDS[bucket]) {
+            bucket++;
+        }
+
+        counts.incrementAndGet(bucket);
+
+        count.incrementAndGet();
+        sum.addAndGet(micros);
+
+        long previous;
+        while (micros > (previous = max.get()) && !max.compareAndSet(previous, micros)) {}
+    }
+
+    /**
+     * @param reset whether the counts start over once they have been taken.
+     */
+    @NonNull
+    public JSObject toJSObject(boolean reset) {
+        JSObject result = new JSObject();
+
+        JSArray bounds = new JSArray();
+        JSArray counts = new JSArray();
+
+        for (int bucket = 0; bucket <= BOUNDS.length; bucket++) {
+            if (bucket < BOUNDS.length) {
+                bounds.put(BOUNDS[bucket]);
+            }
+            counts.put(reset ? this.counts.getAndSet(bucket, 0) : this.counts.get(bucket));
+        }
+
+        long count = reset ? this.count.getAndSet(0) : this.count.get();
+        long sum = reset ? this.sum.getAndSet(0) : this.sum.get();
+        long max = reset ? this.max.getAndSet(0) : this.max.get();
+
+        result.put("count", count);
+
+        if (count > 0) {
+            result.put("average", sum / count);
+        }
+
+        result.put("max", max);
+        result.put("bounds", bounds);
+        result.put("counts", counts);
+
+        return result;
+    }
+}
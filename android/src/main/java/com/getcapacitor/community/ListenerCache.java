@@ -0,0 +1,51 @@
+package com.getcapacitor.community;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which events have listeners, so that events nobody listens to are not built at all.
+ * <p>
+ * Updated whenever a listener is added or removed, and read from any thread.
+ */
+public class ListenerCache {
+
+    public interface Lookup {
+        boolean hasListeners(@NonNull String eventName);
+    }
+
+    private final Lookup lookup;
+
+    private final Set<String> events = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+    public ListenerCache(@NonNull Lookup lookup) {
+        this.lookup = lookup;
+    }
+
+    public boolean hasListeners(@NonNull String eventName) {
+        return events.contains(eventName);
+    }
+
+    public boolean hasListeners(@NonNull String eventName, @NonNull String otherEventName) {
+        return events.contains(eventName) || events.contains(otherEventName);
+    }
+
+    public void update(@Nullable String eventName) {
+        if (eventName == null) {
+            return;
+        }
+
+        if (lookup.hasListeners(eventName)) {
+            events.add(eventName);
+        } else {
+            events.remove(eventName);
+        }
+    }
+
+    public void clear() {
+        events.clear();
+    }
+}
@@ -0,0 +1,96 @@
+package com.getcapacitor.community;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.getcapacitor.community.interfaces.Callback;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs plugin methods off the plugin thread, so that a slow SDK call does not hold up unrelated calls.
+ * <p>
+ * Lifecycle methods run one at a time in the order they have been called, and so do sends, to keep the order of the
+ * messages. Files are read one at a time on their own lane, so that reading a large file does not hold up the sends
+ * behind it. Methods which change the state of the plugin outside of its lifecycle, like the receive filter or secure
+ * connections, run one at a time in the order they have been called on a lane of their own. Queries run in parallel.
+ */
+public class MethodExecutor {
+
+    static final int DEFAULT_THREADS = 4;
+
+    private static final long KEEP_ALIVE = 30;
+
+    public interface Method {
+        void invoke() throws Exception;
+    }
+
+    private final ExecutorService lifecycle = newExecutor(1);
+    private final ExecutorService sends = newExecutor(1);
+    private final ExecutorService files = newExecutor(1);
+    private final ExecutorService updates = newExecutor(1);
+    private final ExecutorService queries;
+
+    public MethodExecutor(@Nullable Integer threads) {
+        this.queries = newExecutor(threads != null && threads > 0 ? threads : DEFAULT_THREADS);
+    }
+
+    public void lifecycle(@NonNull Callback callback, @NonNull Method method) {
+        execute(lifecycle, callback, method);
+    }
+
+    public void send(@NonNull Callback callback, @NonNull Method method) {
+        execute(sends, callback, method);
+    }
+
+    public void read(@NonNull Callback callback, @NonNull Method method) {
+        execute(files, callback, method);
+    }
+
+    public void update(@NonNull Callback callback, @NonNull Method method) {
+        execute(updates, callback, method);
+    }
+
+    public void query(@NonNull Callback callback, @NonNull Method method) {
+        execute(queries, callback, method);
+    }
+
+    public void release() {
+        lifecycle.shutdownNow();
+        sends.shutdownNow();
+        files.shutdownNow();
+        updates.shutdownNow();
+        queries.shutdownNow();
+    }
+
+    private static void execute(@NonNull ExecutorService executor, @NonNull Callback callback, @NonNull Method method) {
+        try {
+            executor.execute(() -> {
+                try {
+                    method.invoke();
+                } catch (Exception exception) {
+                    callback.error(exception);
+                }
+            });
+        } catch (RejectedExecutionException exception) {
+            callback.error(exception);
+        }
+    }
+
+    @NonNull
+    private static ExecutorService newExecutor(int threads) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            threads,
+            threads,
+            KEEP_ALIVE,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<Runnable>()
+        );
+
+        executor.allowCoreThreadTimeOut(true);
+
+        return executor;
+    }
+}
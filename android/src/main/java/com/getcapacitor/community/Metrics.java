@@ -0,0 +1,262 @@
+package com.getcapacitor.community;
+
+import android.util.Pair;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.community.BridgefyController.Reason;
+import com.getcapacitor.community.BridgefyController.ReasonType;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts the traffic, the failures and the time spent in the plugin, to tell the radio, the SDK and the bridge apart.
+ * <p>
+ * Traffic is counted twice: once per logical message, as sent by and delivered to the application, and once per SDK
+ * message on the wire, that is per fragment or packed message, compressed.
+ * <p>
+ * Counters are atomic rather than {@code LongAdder}s, which need API level 24.
+ */
+public class Metrics {
+
+    private static final String[] TRANSMISSION_TYPES = { "broadcast", "mesh", "p2p" };
+
+    private static final int MAX_SENDS = 4096;
+
+    // Messages and bytes per transmission type.
+    private final AtomicLongArray sent = new AtomicLongArray(TRANSMISSION_TYPES.length * 2);
+    private final AtomicLongArray received = new AtomicLongArray(TRANSMISSION_TYPES.length * 2);
+    private final AtomicLongArray wireSent = new AtomicLongArray(TRANSMISSION_TYPES.length * 2);
+    private final AtomicLongArray wireReceived = new AtomicLongArray(TRANSMISSION_TYPES.length * 2);
+
+    private final ConcurrentMap<String, AtomicLong> failures = new ConcurrentHashMap<>();
+
+    private final Histogram sendLatency = new Histogram();
+    private final Histogram sdkSendTime = new Histogram();
+    private final Histogram receiveBuildTime = new Histogram();
+    private final Histogram notifyTime = new Histogram();
+
+    /**
+     * The time messages have been queued, or have been sent if the SDK called back before the message ID was known.
+     */
+    private final ConcurrentMap<UUID, long[]> sends = new ConcurrentHashMap<>();
+
+    /**
+     * The messages in the order they have been added to {@link #sends}, to forget the oldest ones.
+     */
+    private final Queue<UUID> order = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger ordered = new AtomicInteger();
+
+    /**
+     * Counts a message handed over to the SDK, which has been queued at {@code queued}.
+     */
+    public void onDispatch(@NonNull UUID messageID, long queued, int length, @NonNull Pair<String, UUID> transmissionMode) {
+        count(sent, transmissionMode, length);
+
+        @Nullable
+        long[] send = match(messageID, new long[] { queued, 0 });
+
+        if (send != null) {
+            sendLatency.record(send[1] - queued);
+        }
+    }
+
+    public void onSend(@NonNull UUID messageID) {
+        long now = System.nanoTime();
+
+        @Nullable
+        long[] send = match(messageID, new long[] { 0, now });
+
+        if (send != null) {
+            sendLatency.record(now - send[0]);
+        }
+    }
+
+    public void onFailToSend(@NonNull UUID messageID, @Nullable Reason reason) {
+        sends.remove(messageID);
+
+        String type = reason != null ? reason.type() : ReasonType.UNKNOWN;
+
+        @Nullable
+        AtomicLong counter = failures.get(type);
+
+        if (counter == null) {
+            AtomicLong created = new AtomicLong();
+
+            counter = failures.putIfAbsent(type, created);
+
+            if (counter == null) {
+                counter = created;
+            }
+        }
+
+        counter.incrementAndGet();
+    }
+
+    /**
+     * Records the time the SDK took to accept a message.
+     */
+    public void onSDKSend(long nanos) {
+        sdkSendTime.record(nanos);
+    }
+
+    /**
+     * Counts an SDK message handed over to the SDK.
+     */
+    public void onWireSend(@NonNull Pair<String, UUID> transmissionMode, int length) {
+        count(wireSent, transmissionMode, length);
+    }
+
+    /**
+     * Counts a logical message, once it has been reassembled, decompressed and unpacked.
+     */
+    public void onReceive(@Nullable Pair<String, UUID> transmissionMode, int length) {
+        count(received, transmissionMode, length);
+    }
+
+    /**
+     * Counts an SDK message as received from the SDK.
+     */
+    public void onWireReceive(@Nullable Pair<String, UUID> transmissionMode, int length) {
+        count(wireReceived, transmissionMode, length);
+    }
+
+    public void onReceiveBuild(long nanos) {
+        receiveBuildTime.record(nanos);
+    }
+
+    public void onNotify(long nanos) {
+        notifyTime.record(nanos);
+    }
+
+    @NonNull
+    public JSObject getSent(boolean reset) {
+        return toJSObject(sent, reset);
+    }
+
+    @NonNull
+    public JSObject getReceived(boolean reset) {
+        return toJSObject(received, reset);
+    }
+
+    @NonNull
+    public JSObject getWireSent(boolean reset) {
+        return toJSObject(wireSent, reset);
+    }
+
+    @NonNull
+    public JSObject getWireReceived(boolean reset) {
+        return toJSObject(wireReceived, reset);
+    }
+
+    @NonNull
+    public JSObject getFailures(boolean reset) {
+        JSObject result = new JSObject();
+
+        for (Map.Entry<String, AtomicLong> entry : failures.entrySet()) {
+            result.put(entry.getKey(), reset ? entry.getValue().getAndSet(0) : entry.getValue().get());
+        }
+
+        return result;
+    }
+
+    @NonNull
+    public JSObject getSendLatency(boolean reset) {
+        return sendLatency.toJSObject(reset);
+    }
+
+    @NonNull
+    public JSObject getSDKSendTime(boolean reset) {
+        return sdkSendTime.toJSObject(reset);
+    }
+
+    @NonNull
+    public JSObject getReceiveBuildTime(boolean reset) {
+        return receiveBuildTime.toJSObject(reset);
+    }
+
+    @NonNull
+    public JSObject getNotifyTime(boolean reset) {
+        return notifyTime.toJSObject(reset);
+    }
+
+    /**
+     * Matches the dispatch of a message with its {@code onSend} callback, whichever comes first.
+     *
+     * @return the times recorded by the other one, or {@code null} if {@code times} has been kept for it.
+     */
+    @Nullable
+    private long[] match(@NonNull UUID messageID, @NonNull long[] times) {
+        @Nullable
+        long[] other = sends.remove(messageID);
+
+        if (other != null) {
+            return other;
+        }
+
+        other = sends.putIfAbsent(messageID, times);
+
+        if (other == null) {
+            track(messageID);
+            return null;
+        }
+
+        // The other one has been kept meanwhile, unless a third one has taken it.
+        return sends.remove(messageID, other) ? other : null;
+    }
+
+    /**
+     * Tracks the order messages are kept in, to forget the oldest ones, which may never be matched if the SDK does not
+     * call back.
+     */
+    private void track(@NonNull UUID messageID) {
+        order.add(messageID);
+
+        if (ordered.incrementAndGet() > MAX_SENDS) {
+            @Nullable
+            UUID eldest = order.poll();
+
+            if (eldest != null) {
+                ordered.decrementAndGet();
+                sends.remove(eldest);
+            }
+        }
+    }
+
+    private static void count(@NonNull AtomicLongArray counters, @Nullable Pair<String, UUID> transmissionMode, int length) {
+        if (transmissionMode == null) {
+            return;
+        }
+
+        for (int type = 0; type < TRANSMISSION_TYPES.length; type++) {
+            if (TRANSMISSION_TYPES[type].equals(transmissionMode.first)) {
+                counters.incrementAndGet(type * 2);
+                counters.addAndGet(type * 2 + 1, length);
+                return;
+            }
+        }
+    }
+
+    @NonNull
+    private static JSObject toJSObject(@NonNull AtomicLongArray counters, boolean reset) {
+        JSObject result = new JSObject();
+
+        for (int type = 0; type < TRANSMISSION_TYPES.length; type++) {
+            JSObject counts = new JSObject();
+
+            counts.put("messages", reset ? counters.getAndSet(type * 2, 0) : counters.get(type * 2));
+            counts.put("bytes", reset ? counters.getAndSet(type * 2 + 1, 0) : counters.get(type * 2 + 1));
+
+            result.put(TRANSMISSION_TYPES[type], counts);
+        }
+
+        return result;
+    }
+}
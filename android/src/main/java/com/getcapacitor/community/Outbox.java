@@ -0,0 +1,940 @@
+package com.getcapacitor.community;
+
+import android.util.Pair;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.getcapacitor.community.BridgefyController.Reason;
+import com.getcapacitor.community.BridgefyController.ReasonType;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.zip.CRC32;
+
+/**
+ * Journals outgoing messages until the SDK confirms them with {@code onSend}, so that messages which failed, or were
+ * still queued when the process died, are sent again once the SDK has started or a peer has connected.
+ * <p>
+ * Records are appended to the journal by a single writer thread, which commits everything queued since its last
+ * write with a single {@code force}, so concurrent sends share the cost of durability. Only a compact index of the
+ * pending messages is kept in memory, their payloads are read back from the journal when they are sent again. The
+ * journal is rewritten once most of it belongs to confirmed messages.
+ * <p>
+ * Messages are dropped once they failed for a reason which sending them again does not help with, or once they have
+ * been sent again too often or have been kept for too long.
+ */
+public class Outbox {
+
+    static final int DEFAULT_SIZE = 1024;
+    static final int DEFAULT_MAX_ATTEMPTS = 5;
+    static final int DEFAULT_MAX_AGE = 24 * 60 * 60 * 1000;
+
+    private static final String JOURNAL = "outbox.journal";
+    private static final String COMPACTING = "outbox.compacting";
+
+    private static final byte ADD = 1;
+    private static final byte ID = 2;
+    private static final byte REMOVE = 3;
+    private static final byte ATTEMPT = 4;
+
+    /**
+     * Every record is preceded by the length and the CRC-32 of its body.
+     */
+    private static final int FRAME_SIZE = 8;
+
+    private static final long COMPACT_SIZE = 1024 * 1024;
+
+    /**
+     * The reasons a message may still be sent after, all others are permanent.
+     */
+    private static final Set<String> TRANSIENT = new HashSet<>(
+        Arrays.asList(
+            ReasonType.GENERIC,
+            ReasonType.UNKNOWN,
+            ReasonType.SESSION_ERROR,
+            ReasonType.INTERNET_CONNECTION_REQUIRED,
+            ReasonType.QUEUE_FULL,
+            ReasonType.RATE_LIMITED
+        )
+    );
+
+    public interface Resend {
+        void resend(
+            @NonNull UUID entryID,
+            @Nullable UUID messageID,
+            @NonNull byte[] data,
+            @NonNull Pair<String, UUID> transmissionMode,
+            @NonNull SendScheduler.Priority priority
+        );
+    }
+
+    private static class Entry {
+
+        final UUID entryID;
+
+        final Pair<String, UUID> transmissionMode;
+
+        final SendScheduler.Priority priority;
+
+        final int length;
+
+        /**
+         * The time the message has been added, in milliseconds since the epoch.
+         */
+        final long created;
+
+        /**
+         * The number of times the message has been sent again.
+         */
+        int attempts = 0;
+
+        /**
+         * The payload, until its record has been committed to the journal.
+         */
+        @Nullable
+        byte[] data;
+
+        /**
+         * The position of the payload within the journal, {@code -1} until its record has been committed.
+         */
+        long offset = -1;
+
+        /**
+         * The identifier of the first attempt, which the message is reported with.
+         */
+        @Nullable
+        UUID messageID;
+
+        /**
+         * The identifier of the attempt in flight.
+         */
+        @Nullable
+        UUID attemptID;
+
+        boolean isWaiting = false;
+
+        long size = 0;
+
+        Entry(
+            @NonNull UUID entryID,
+            @NonNull Pair<String, UUID> transmissionMode,
+            @NonNull SendScheduler.Priority priority,
+            int length,
+            long created
+        ) {
+            this.entryID = entryID;
+            this.transmissionMode = transmissionMode;
+            this.priority = priority;
+            this.length = length;
+            this.created = created;
+        }
+    }
+
+    private static class Record {
+
+        final ByteBuffer buffer;
+
+        /**
+         * The entry whose payload this record holds.
+         */
+        @Nullable
+        final Entry entry;
+
+        final int dataOffset;
+
+        @Nullable
+        final Runnable committed;
+
+        Record(@NonNull ByteBuffer buffer, @Nullable Entry entry, int dataOffset, @Nullable Runnable committed) {
+            this.buffer = buffer;
+            this.entry = entry;
+            this.dataOffset = dataOffset;
+            this.committed = committed;
+        }
+    }
+
+    private final boolean enabled;
+
+    private final int size;
+
+    private final int maxAttempts;
+
+    private final long maxAge;
+
+    private final File directory;
+
+    private final Resend resend;
+
+    // In the order the messages have been sent, which they are sent again in.
+    private final Map<UUID, Entry> entries = new LinkedHashMap<>();
+
+    private final Map<UUID, Entry> attempts = new HashMap<>();
+
+    // Outcomes reported while a message is being handed over to the SDK, before its attempt is registered.
+    private final Set<UUID> sentEarly = new HashSet<>();
+    private final Map<UUID, Reason> failedEarly = new HashMap<>();
+
+    private int dispatching = 0;
+
+    private final List<Record> records = new ArrayList<>();
+
+    private boolean isFlushing = false;
+
+    private long liveSize = 0;
+
+    private final ExecutorService writer = Executors.newSingleThreadExecutor();
+
+    // Only accessed by the writer.
+    @Nullable
+    private FileChannel channel;
+
+    public Outbox(
+        @NonNull File directory,
+        @Nullable Boolean enabled,
+        @Nullable Integer size,
+        @Nullable Integer maxAttempts,
+        @Nullable Integer maxAge,
+        @NonNull Resend resend
+    ) {
+        this.directory = directory;
+
+        this.enabled = Boolean.TRUE.equals(enabled);
+        this.size = size != null && size > 0 ? size : DEFAULT_SIZE;
+        this.maxAttempts = maxAttempts != null && maxAttempts >= 0 ? maxAttempts : DEFAULT_MAX_ATTEMPTS;
+        this.maxAge = maxAge != null && maxAge > 0 ? maxAge : DEFAULT_MAX_AGE;
+
+        this.resend = resend;
+
+        if (this.enabled) {
+            writer.execute(this::load);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Journals a message, and runs {@code committed} once it has been committed.
+     *
+     * @return {@code false} if the outbox is full.
+     */
+    public boolean add(
+        @NonNull UUID entryID,
+        @NonNull byte[] data,
+        @NonNull Pair<String, UUID> transmissionMode,
+        @NonNull SendScheduler.Priority priority,
+        @NonNull Runnable committed
+    ) {
+        synchronized (this) {
+            if (entries.size() >= size) {
+                return false;
+            }
+
+            Entry entry = new Entry(entryID, transmissionMode, priority, data.length, System.currentTimeMillis());
+            entry.data = data;
+
+            entries.put(entryID, entry);
+
+            Record record = newAddRecord(entry, data, committed);
+            entry.size = record.buffer.remaining();
+            liveSize += entry.size;
+
+            append(record);
+        }
+
+        return true;
+    }
+
+    /**
+     * Runs {@code send} for a journaled message and registers the attempt, applying any delivery callback for it which
+     * has been handled meanwhile.
+     * <p>
+     * The message keeps the message ID of its first attempt, so it can be reported with it when it is sent again.
+     */
+    @NonNull
+    public UUID dispatch(@Nullable UUID entryID, @NonNull PendingSends.Send send) throws Exception {
+        @Nullable
+        Entry entry;
+
+        synchronized (this) {
+            entry = entryID != null ? entries.get(entryID) : null;
+
+            if (entry != null) {
+                entry.isWaiting = false;
+
+                dispatching++;
+            }
+        }
+
+        if (entry == null) {
+            return send.send();
+        }
+
+        // The SDK is called without holding the lock, so that delivery callbacks are not held up behind it.
+        @Nullable
+        UUID attemptID = null;
+
+        try {
+            attemptID = send.send();
+        } finally {
+            synchronized (this) {
+                dispatching--;
+
+                if (attemptID != null) {
+                    register(entry, attemptID);
+                }
+
+                if (dispatching == 0) {
+                    sentEarly.clear();
+                    failedEarly.clear();
+                }
+            }
+        }
+
+        return attemptID;
+    }
+
+    public synchronized void onSend(@NonNull UUID attemptID) {
+        @Nullable
+        Entry entry = attempts.remove(attemptID);
+
+        if (entry != null) {
+            remove(entry);
+        } else if (dispatching > 0) {
+            sentEarly.add(attemptID);
+        }
+    }
+
+    /**
+     * Keeps the message to be sent again, unless it failed permanently or has run out of attempts.
+     */
+    public synchronized void onFailToSend(@NonNull UUID attemptID, @Nullable Reason reason) {
+        @Nullable
+        Entry entry = attempts.remove(attemptID);
+
+        if (entry != null) {
+            fail(entry, reason);
+        } else if (dispatching > 0) {
+            failedEarly.put(attemptID, reason);
+        }
+    }
+
+    /**
+     * Drops a message which could not be handed over to the SDK.
+     */
+    public synchronized void remove(@Nullable UUID entryID) {
+        @Nullable
+        Entry entry = entryID != null ? entries.get(entryID) : null;
+
+        if (entry != null) {
+            if (entry.attemptID != null) {
+                attempts.remove(entry.attemptID);
+            }
+
+            remove(entry);
+        }
+    }
+
+    /**
+     * Keeps a message, which could not be sent right now, for the next retry, unless it failed permanently or has run
+     * out of attempts.
+     */
+    public synchronized void defer(@Nullable UUID entryID, @Nullable Reason reason) {
+        @Nullable
+        Entry entry = entryID != null ? entries.get(entryID) : null;
+
+        if (entry != null) {
+            if (entry.attemptID != null) {
+                attempts.remove(entry.attemptID);
+            }
+
+            fail(entry, reason);
+        }
+    }
+
+    /**
+     * Sends the waiting messages again.
+     */
+    public void retry() {
+        if (!enabled) {
+            return;
+        }
+
+        execute(() -> {
+            List<Entry> waiting = new ArrayList<>();
+
+            synchronized (this) {
+                List<Entry> exhausted = new ArrayList<>();
+
+                for (Entry entry : entries.values()) {
+                    if (!entry.isWaiting) {
+                        continue;
+                    }
+
+                    if (isExhausted(entry)) {
+                        exhausted.add(entry);
+                        continue;
+                    }
+
+                    entry.isWaiting = false;
+                    entry.attempts++;
+
+                    Record record = newAttemptRecord(entry);
+                    entry.size += record.buffer.remaining();
+                    liveSize += record.buffer.remaining();
+
+                    append(record);
+
+                    waiting.add(entry);
+                }
+
+                for (Entry entry : exhausted) {
+                    remove(entry);
+                }
+            }
+
+            for (Entry entry : waiting) {
+                @Nullable
+                byte[] data = read(entry);
+
+                if (data == null) {
+                    remove(entry.entryID);
+                    continue;
+                }
+
+                resend.resend(entry.entryID, entry.messageID, data, entry.transmissionMode, entry.priority);
+            }
+        });
+    }
+
+    public void release() {
+        execute(this::close);
+
+        writer.shutdown();
+    }
+
+    /**
+     * Journal
+     */
+
+    private void register(@NonNull Entry entry, @NonNull UUID attemptID) {
+        // The message may have been dropped while it was handed over to the SDK.
+        if (entries.get(entry.entryID) != entry) {
+            return;
+        }
+
+        if (entry.attemptID != null) {
+            attempts.remove(entry.attemptID);
+            entry.attemptID = null;
+        }
+
+        if (sentEarly.remove(attemptID)) {
+            remove(entry);
+            return;
+        }
+
+        if (entry.messageID == null) {
+            entry.messageID = attemptID;
+
+            Record record = newIDRecord(entry);
+            entry.size += record.buffer.remaining();
+            liveSize += record.buffer.remaining();
+
+            append(record);
+        }
+
+        if (failedEarly.containsKey(attemptID)) {
+            fail(entry, failedEarly.remove(attemptID));
+            return;
+        }
+
+        entry.attemptID = attemptID;
+
+        attempts.put(attemptID, entry);
+    }
+
+    private void fail(@NonNull Entry entry, @Nullable Reason reason) {
+        entry.attemptID = null;
+
+        if (!isTransient(reason) || isExhausted(entry)) {
+            remove(entry);
+            return;
+        }
+
+        entry.isWaiting = true;
+    }
+
+    private boolean isExhausted(@NonNull Entry entry) {
+        return entry.attempts >= maxAttempts || System.currentTimeMillis() - entry.created > maxAge;
+    }
+
+    private static boolean isTransient(@Nullable Reason reason) {
+        return reason == null || TRANSIENT.contains(reason.type());
+    }
+
+    private void remove(@NonNull Entry entry) {
+        entries.remove(entry.entryID);
+
+        liveSize -= entry.size;
+
+        append(newRemoveRecord(entry));
+    }
+
+    private void append(@NonNull Record record) {
+        records.add(record);
+
+        if (!isFlushing) {
+            isFlushing = true;
+
+            execute(this::flush);
+        }
+    }
+
+    private void execute(@NonNull Runnable task) {
+        try {
+            writer.execute(task);
+        } catch (RejectedExecutionException ignored) {}
+    }
+
+    /**
+     * Writes every record queued since the last flush, then commits them at once.
+     */
+    private void flush() {
+        List<Record> batch;
+
+        synchronized (this) {
+            batch = new ArrayList<>(records);
+            records.clear();
+
+            isFlushing = false;
+        }
+
+        long[] positions = new long[batch.size()];
+        boolean isCommitted = false;
+
+        try {
+            FileChannel channel = open();
+
+            long position = channel.size();
+            channel.position(position);
+
+            ByteBuffer[] buffers = new ByteBuffer[batch.size()];
+
+            for (int i = 0; i < batch.size(); i++) {
+                buffers[i] = batch.get(i).buffer;
+
+                positions[i] = position;
+                position += buffers[i].remaining();
+            }
+
+            while (buffers.length > 0 && buffers[buffers.length - 1].hasRemaining()) {
+                channel.write(buffers);
+            }
+
+            channel.force(false);
+
+            isCommitted = true;
+        } catch (IOException ignored) {
+            // The messages are still sent, they are only kept in memory.
+        }
+
+        if (isCommitted) {
+            synchronized (this) {
+                for (int i = 0; i < batch.size(); i++) {
+                    @Nullable
+                    Entry entry = batch.get(i).entry;
+
+                    if (entry != null) {
+                        entry.offset = positions[i] + batch.get(i).dataOffset;
+                        entry.data = null;
+                    }
+                }
+            }
+        }
+
+        for (Record record : batch) {
+            if (record.committed != null) {
+                record.committed.run();
+            }
+        }
+
+        if (isCommitted) {
+            compact();
+        }
+    }
+
+    /**
+     * Reads the journal left by a previous process, dropping anything after the first incomplete or corrupt record.
+     */
+    private void load() {
+        List<Entry> restored = new ArrayList<>();
+
+        try {
+            FileChannel channel = open();
+
+            long length = channel.size();
+            long position = 0;
+
+            ByteBuffer frame = ByteBuffer.allocate(FRAME_SIZE);
+
+            while (position + FRAME_SIZE <= length) {
+                frame.clear();
+                readFully(channel, frame, position);
+                frame.flip();
+
+                int size = frame.getInt();
+                long checksum = frame.getInt() & 0xFFFFFFFFL;
+
+                if (size <= 0 || position + FRAME_SIZE + size > length) {
+                    break;
+                }
+
+                ByteBuffer body = ByteBuffer.allocate(size);
+                readFully(channel, body, position + FRAME_SIZE);
+
+                CRC32 crc = new CRC32();
+                crc.update(body.array(), 0, size);
+
+                if (crc.getValue() != checksum) {
+                    break;
+                }
+
+                body.flip();
+
+                if (!replay(body, position + FRAME_SIZE, FRAME_SIZE + size, restored)) {
+                    break;
+                }
+
+                position += FRAME_SIZE + size;
+            }
+
+            if (position < length) {
+                channel.truncate(position);
+            }
+        } catch (IOException ignored) {}
+
+        synchronized (this) {
+            // Messages added since the outbox has been created are already on their way, only restored ones wait.
+            for (Entry entry : restored) {
+                if (entries.get(entry.entryID) == entry) {
+                    entry.isWaiting = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * @param restored the entries added by the record.
+     */
+    private synchronized boolean replay(@NonNull ByteBuffer body, long offset, int size, @NonNull List<Entry> restored) {
+        try {
+            byte type = body.get();
+            UUID entryID = new UUID(body.getLong(), body.getLong());
+
+            switch (type) {
+                case ADD:
+                    {
+                        SendScheduler.Priority priority = toPriority(body.get());
+
+                        byte[] modeType = new byte[body.get() & 0xFF];
+                        body.get(modeType);
+
+                        @Nullable
+                        UUID uuid = body.get() != 0 ? new UUID(body.getLong(), body.getLong()) : null;
+
+                        long created = body.getLong();
+                        int length = body.getInt();
+
+                        Pair<String, UUID> transmissionMode = new Pair<>(new String(modeType, StandardCharsets.UTF_8), uuid);
+
+                        Entry entry = new Entry(entryID, transmissionMode, priority, length, created);
+                        entry.offset = offset + body.position();
+                        entry.size = size;
+
+                        entries.put(entryID, entry);
+                        liveSize += size;
+
+                        restored.add(entry);
+
+                        return true;
+                    }
+                case ID:
+                    {
+                        @Nullable
+                        Entry entry = entries.get(entryID);
+
+                        if (entry != null) {
+                            entry.messageID = new UUID(body.getLong(), body.getLong());
+                            entry.size += size;
+                            liveSize += size;
+                        }
+
+                        return true;
+                    }
+                case ATTEMPT:
+                    {
+                        @Nullable
+                        Entry entry = entries.get(entryID);
+
+                        if (entry != null) {
+                            entry.attempts = body.getInt();
+                            entry.size += size;
+                            liveSize += size;
+                        }
+
+                        return true;
+                    }
+                case REMOVE:
+                    {
+                        @Nullable
+                        Entry entry = entries.remove(entryID);
+
+                        if (entry != null) {
+                            liveSize -= entry.size;
+                        }
+
+                        return true;
+                    }
+                default:
+                    return false;
+            }
+        } catch (RuntimeException exception) {
+            return false;
+        }
+    }
+
+    /**
+     * Rewrites the journal with the pending messages only, once most of it belongs to confirmed messages.
+     */
+    private void compact() {
+        List<Entry> live = new ArrayList<>();
+
+        try {
+            FileChannel channel = open();
+
+            long length = channel.size();
+
+            synchronized (this) {
+                if (length < COMPACT_SIZE || liveSize * 2 > length) {
+                    return;
+                }
+
+                for (Entry entry : entries.values()) {
+                    // Messages whose records have not been committed yet are written with the next flush.
+                    if (entry.offset >= 0) {
+                        live.add(entry);
+                    }
+                }
+            }
+
+            File file = new File(directory, COMPACTING);
+
+            long[] offsets = new long[live.size()];
+
+            try (RandomAccessFile compacting = new RandomAccessFile(file, "rw"); FileChannel target = compacting.getChannel()) {
+                target.truncate(0);
+
+                for (int i = 0; i < live.size(); i++) {
+                    Entry entry = live.get(i);
+
+                    @Nullable
+                    byte[] data = read(entry);
+
+                    if (data == null) {
+                        offsets[i] = -1;
+                        continue;
+                    }
+
+                    Record record = newAddRecord(entry, data, null);
+                    offsets[i] = target.position() + record.dataOffset;
+                    writeFully(target, record.buffer);
+
+                    if (entry.messageID != null) {
+                        writeFully(target, newIDRecord(entry).buffer);
+                    }
+
+                    if (entry.attempts > 0) {
+                        writeFully(target, newAttemptRecord(entry).buffer);
+                    }
+                }
+
+                target.force(false);
+            }
+
+            close();
+
+            if (!file.renameTo(new File(directory, JOURNAL))) {
+                file.delete();
+                return;
+            }
+
+            synchronized (this) {
+                for (int i = 0; i < live.size(); i++) {
+                    if (offsets[i] >= 0) {
+                        live.get(i).offset = offsets[i];
+                    }
+                }
+            }
+        } catch (IOException ignored) {}
+    }
+
+    @Nullable
+    private byte[] read(@NonNull Entry entry) {
+        synchronized (this) {
+            if (entry.data != null) {
+                return entry.data;
+            }
+        }
+
+        if (entry.offset < 0) {
+            return null;
+        }
+
+        try {
+            ByteBuffer buffer = ByteBuffer.allocate(entry.length);
+            readFully(open(), buffer, entry.offset);
+
+            return buffer.array();
+        } catch (IOException exception) {
+            return null;
+        }
+    }
+
+    @NonNull
+    private FileChannel open() throws IOException {
+        if (channel == null) {
+            if (!directory.isDirectory() && !directory.mkdirs()) {
+                throw new IOException("cannot create " + directory);
+            }
+
+            channel = new RandomAccessFile(new File(directory, JOURNAL), "rw").getChannel();
+        }
+
+        return channel;
+    }
+
+    private void close() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {}
+
+            channel = null;
+        }
+    }
+
+    /**
+     * Records
+     */
+
+    @NonNull
+    private static Record newAddRecord(@NonNull Entry entry, @NonNull byte[] data, @Nullable Runnable committed) {
+        byte[] modeType = entry.transmissionMode.first.getBytes(StandardCharsets.UTF_8);
+        @Nullable
+        UUID uuid = entry.transmissionMode.second;
+
+        int header = 1 + 16 + 1 + 1 + modeType.length + 1 + (uuid != null ? 16 : 0) + 8 + 4;
+
+        ByteBuffer body = ByteBuffer.allocate(header + data.length);
+        body.put(ADD);
+        putUUID(body, entry.entryID);
+        body.put((byte) entry.priority.ordinal());
+        body.put((byte) modeType.length);
+        body.put(modeType);
+        body.put((byte) (uuid != null ? 1 : 0));
+        if (uuid != null) {
+            putUUID(body, uuid);
+        }
+        body.putLong(entry.created);
+        body.putInt(data.length);
+        body.put(data);
+
+        return new Record(frame(body), entry, FRAME_SIZE + header, committed);
+    }
+
+    @NonNull
+    private static Record newIDRecord(@NonNull Entry entry) {
+        ByteBuffer body = ByteBuffer.allocate(1 + 16 + 16);
+        body.put(ID);
+        putUUID(body, entry.entryID);
+        putUUID(body, entry.messageID);
+
+        return new Record(frame(body), null, 0, null);
+    }
+
+    @NonNull
+    private static Record newAttemptRecord(@NonNull Entry entry) {
+        ByteBuffer body = ByteBuffer.allocate(1 + 16 + 4);
+        body.put(ATTEMPT);
+        putUUID(body, entry.entryID);
+        body.putInt(entry.attempts);
+
+        return new Record(frame(body), null, 0, null);
+    }
+
+    @NonNull
+    private static Record newRemoveRecord(@NonNull Entry entry) {
+        ByteBuffer body = ByteBuffer.allocate(1 + 16);
+        body.put(REMOVE);
+        putUUID(body, entry.entryID);
+
+        return new Record(frame(body), null, 0, null);
+    }
+
+    @NonNull
+    private static ByteBuffer frame(@NonNull ByteBuffer body) {
+        CRC32 crc = new CRC32();
+        crc.update(body.array(), 0, body.position());
+
+        ByteBuffer buffer = ByteBuffer.allocate(FRAME_SIZE + body.position());
+        buffer.putInt(body.position());
+        buffer.putInt((int) crc.getValue());
+        buffer.put(body.array(), 0, body.position());
+        buffer.flip();
+
+        return buffer;
+    }
+
+    private static void putUUID(@NonNull ByteBuffer buffer, @NonNull UUID uuid) {
+        buffer.putLong(uuid.getMostSignificantBits());
+        buffer.putLong(uuid.getLeastSignificantBits());
+    }
+
+    @NonNull
+    private static SendScheduler.Priority toPriority(byte ordinal) {
+        SendScheduler.Priority[] priorities = SendScheduler.Priority.values();
+
+        return ordinal >= 0 && ordinal < priorities.length ? priorities[ordinal] : SendScheduler.Priority.INTERACTIVE;
+    }
+
+    private static void readFully(@NonNull FileChannel channel, @NonNull ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+
+            if (read < 0) {
+                throw new IOException("unexpected end of journal");
+            }
+        }
+    }
+
+    private static void writeFully(@NonNull FileChannel channel, @NonNull ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
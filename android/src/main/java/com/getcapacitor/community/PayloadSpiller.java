@@ -0,0 +1,301 @@
+package com.getcapacitor.community;
+
+import android.util.Pair;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.getcapacitor.community.classes.events.ReceiveEvent;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Writes large received payloads to files in the cache directory, so that only their location has to cross the
+ * bridge.
+ * <p>
+ * Files are written on a background thread, the event is delivered once the file is complete. Later events from the
+ * same sender are held back until then, so that the events of each sender are delivered in the order received. The
+ * directory is bounded by a quota, deleting the oldest files first.
+ */
+public class PayloadSpiller {
+
+    static final int DEFAULT_QUOTA = 64 * 1024 * 1024;
+
+    private static final String SUFFIX = ".bin";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    public interface Deliver {
+        void deliver(@NonNull ReceiveEvent event);
+    }
+
+    private final File directory;
+
+    private final int threshold;
+    private final long quota;
+
+    private final Deliver deliver;
+
+    private static class Slot {
+
+        /**
+         * The event to deliver, {@code null} while its file is being written.
+         */
+        @Nullable
+        ReceiveEvent event;
+
+        Slot(@Nullable ReceiveEvent event) {
+            this.event = event;
+        }
+    }
+
+    private static class Queue {
+
+        final ArrayDeque<Slot> slots = new ArrayDeque<>();
+
+        boolean isDelivering = false;
+    }
+
+    @NonNull
+    private final ExecutorService executor;
+
+    /**
+     * Events waiting behind a file being written, by sender.
+     */
+    private final Map<UUID, Queue> queues = new HashMap<>();
+
+    /**
+     * @param threshold the minimum size of payloads written to files, {@code 0} disables spilling.
+     */
+    public PayloadSpiller(@NonNull File directory, @Nullable Integer threshold, @Nullable Integer quota, @NonNull Deliver deliver) {
+        this(directory, threshold, quota, deliver, Executors.newSingleThreadExecutor());
+    }
+
+    PayloadSpiller(
+        @NonNull File directory,
+        @Nullable Integer threshold,
+        @Nullable Integer quota,
+        @NonNull Deliver deliver,
+        @NonNull ExecutorService executor
+    ) {
+        this.directory = directory;
+        this.executor = executor;
+
+        this.threshold = threshold != null && threshold > 0 ? threshold : 0;
+        this.quota = quota != null && quota > 0 ? quota : DEFAULT_QUOTA;
+
+        this.deliver = deliver;
+
+        if (this.threshold > 0) {
+            executor.execute(() -> cleanup(0));
+        }
+    }
+
+    public boolean accepts(@Nullable byte[] data) {
+        return threshold > 0 && data != null && data.length >= threshold && data.length <= quota;
+    }
+
+    public void spill(@NonNull UUID messageID, @NonNull byte[] data, @Nullable Pair<String, UUID> transmissionMode) {
+        @Nullable
+        UUID sender = transmissionMode != null ? transmissionMode.second : null;
+
+        Slot slot = new Slot(null);
+
+        synchronized (queues) {
+            @Nullable
+            Queue queue = queues.get(sender);
+
+            if (queue == null) {
+                queue = new Queue();
+                queues.put(sender, queue);
+            }
+
+            queue.slots.add(slot);
+        }
+
+        try {
+            executor.execute(() -> {
+                @Nullable
+                File file = write(messageID, data);
+
+                complete(
+                    sender,
+                    slot,
+                    file != null
+                        ? new ReceiveEvent(messageID, file, data.length, transmissionMode)
+                        : new ReceiveEvent(messageID, data, transmissionMode)
+                );
+            });
+        } catch (RejectedExecutionException exception) {
+            // Once released, the payload is delivered in memory rather than dropped.
+            complete(sender, slot, new ReceiveEvent(messageID, data, transmissionMode));
+        }
+    }
+
+    /**
+     * Holds the event back if an earlier event from the same sender is still being written to a file.
+     *
+     * @return whether the event has been held back, to be delivered once the earlier events have been delivered.
+     */
+    public boolean hold(@NonNull ReceiveEvent event, @Nullable Pair<String, UUID> transmissionMode) {
+        @Nullable
+        UUID sender = transmissionMode != null ? transmissionMode.second : null;
+
+        synchronized (queues) {
+            @Nullable
+            Queue queue = queues.get(sender);
+
+            if (queue == null) {
+                return false;
+            }
+
+            queue.slots.add(new Slot(event));
+
+            return true;
+        }
+    }
+
+    public void release() {
+        executor.shutdown();
+    }
+
+    /**
+     * Delivers the events of the sender which are no longer waiting for a file, in order.
+     * <p>
+     * Events are delivered by one thread at a time per sender, without holding the lock but for the last one, which is
+     * delivered along with releasing the sender, so that a later event is neither held back behind it nor delivered before it.
+     */
+    private void complete(@Nullable UUID sender, @NonNull Slot slot, @NonNull ReceiveEvent event) {
+        @Nullable
+        Queue queue;
+
+        synchronized (queues) {
+            slot.event = event;
+
+            queue = queues.get(sender);
+
+            // Another thread delivering for the sender picks the event up.
+            if (queue == null || queue.isDelivering) {
+                return;
+            }
+
+            queue.isDelivering = true;
+        }
+
+        while (true) {
+            @Nullable
+            ReceiveEvent next = null;
+
+            synchronized (queues) {
+                @Nullable
+                Slot head = queue.slots.peek();
+
+                if (head != null && head.event != null) {
+                    queue.slots.poll();
+
+                    next = head.event;
+
+                    if (queue.slots.isEmpty()) {
+                        queue.isDelivering = false;
+                        queues.remove(sender);
+
+                        deliver.deliver(next);
+                        return;
+                    }
+                } else {
+                    queue.isDelivering = false;
+
+                    if (head == null) {
+                        queues.remove(sender);
+                    }
+                }
+            }
+
+            if (next == null) {
+                return;
+            }
+
+            try {
+                deliver.deliver(next);
+            } catch (RuntimeException exception) {
+                synchronized (queues) {
+                    queue.isDelivering = false;
+                }
+                throw exception;
+            }
+        }
+    }
+
+    @Nullable
+    private File write(@NonNull UUID messageID, @NonNull byte[] data) {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            return null;
+        }
+
+        cleanup(data.length);
+
+        File temporary = new File(directory, messageID + TEMPORARY_SUFFIX);
+        File file = new File(directory, messageID + SUFFIX);
+
+        try (FileOutputStream stream = new FileOutputStream(temporary); FileChannel channel = stream.getChannel()) {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException exception) {
+            temporary.delete();
+            return null;
+        }
+
+        if (!temporary.renameTo(file)) {
+            temporary.delete();
+            return null;
+        }
+
+        return file;
+    }
+
+    /**
+     * Deletes the oldest files until {@code length} more bytes fit into the quota.
+     */
+    private void cleanup(long length) {
+        @Nullable
+        File[] files = directory.listFiles();
+
+        if (files == null) {
+            return;
+        }
+
+        long total = length;
+        for (File file : files) {
+            total += file.length();
+        }
+
+        if (total <= quota) {
+            return;
+        }
+
+        Arrays.sort(files, (a, b) -> Long.compare(a.lastModified(), b.lastModified()));
+
+        for (File file : files) {
+            if (total <= quota) {
+                break;
+            }
+
+            long size = file.length();
+
+            if (file.delete()) {
+                total -= size;
+            }
+        }
+    }
+}
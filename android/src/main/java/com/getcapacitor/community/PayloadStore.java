@@ -0,0 +1,149 @@
+package com.getcapacitor.community;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the payloads of received messages until they are fetched with {@code getPayload}.
+ * <p>
+ * The store is bounded by a byte budget, evicting the least recently used payloads first, and drops payloads which
+ * have not been fetched in time.
+ */
+public class PayloadStore {
+
+    static final String EAGER = "eager";
+    static final String LAZY = "lazy";
+
+    static final int DEFAULT_SIZE = 8 * 1024 * 1024;
+    static final int DEFAULT_TIMEOUT = 300000;
+    static final int DEFAULT_PREVIEW_SIZE = 64;
+
+    private static final long EXPIRY_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+    private static class Payload {
+
+        final byte[] data;
+
+        final long created;
+
+        Payload(byte[] data, long created) {
+            this.data = data;
+            this.created = created;
+        }
+    }
+
+    private final boolean enabled;
+
+    private final int size;
+    private final long timeout;
+    private final int previewSize;
+
+    @NonNull
+    private final AdaptiveProfile.Clock clock;
+
+    private final Map<UUID, Payload> payloads = new LinkedHashMap<>(16, 0.75f, true);
+
+    private int bytes = 0;
+
+    private long expired;
+
+    public PayloadStore(@Nullable String mode, @Nullable Integer size, @Nullable Integer timeout, @Nullable Integer previewSize) {
+        this(mode, size, timeout, previewSize, System::nanoTime);
+    }
+
+    PayloadStore(
+        @Nullable String mode,
+        @Nullable Integer size,
+        @Nullable Integer timeout,
+        @Nullable Integer previewSize,
+        @NonNull AdaptiveProfile.Clock clock
+    ) {
+        this.enabled = LAZY.equals(mode);
+
+        this.size = size != null && size > 0 ? size : DEFAULT_SIZE;
+        this.timeout = TimeUnit.MILLISECONDS.toNanos(timeout != null && timeout > 0 ? timeout : DEFAULT_TIMEOUT);
+        this.previewSize = previewSize != null && previewSize >= 0 ? previewSize : DEFAULT_PREVIEW_SIZE;
+
+        this.clock = clock;
+        this.expired = clock.nanoTime();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getPreviewSize() {
+        return previewSize;
+    }
+
+    /**
+     * @return {@code false} if the payload does not fit into the store and has to be delivered in full.
+     */
+    public synchronized boolean put(@NonNull UUID messageID, @NonNull byte[] data) {
+        if (data.length > size) {
+            return false;
+        }
+
+        expire();
+
+        @Nullable
+        Payload previous = payloads.put(messageID, new Payload(data, clock.nanoTime()));
+
+        if (previous != null) {
+            bytes -= previous.data.length;
+        }
+
+        bytes += data.length;
+
+        Iterator<Payload> iterator = payloads.values().iterator();
+
+        while (bytes > size && iterator.hasNext()) {
+            bytes -= iterator.next().data.length;
+            iterator.remove();
+        }
+
+        return true;
+    }
+
+    @Nullable
+    public synchronized byte[] get(@NonNull UUID messageID) {
+        expire();
+
+        @Nullable
+        Payload payload = payloads.get(messageID);
+
+        return payload != null ? payload.data : null;
+    }
+
+    public synchronized void release() {
+        payloads.clear();
+        bytes = 0;
+    }
+
+    private void expire() {
+        long now = clock.nanoTime();
+
+        // The map is in access order, so expiring needs a full scan; do it at most once per interval.
+        if (now - expired < EXPIRY_INTERVAL) {
+            return;
+        }
+
+        expired = now;
+
+        Iterator<Payload> iterator = payloads.values().iterator();
+
+        while (iterator.hasNext()) {
+            Payload payload = iterator.next();
+
+            if (now - payload.created > timeout) {
+                bytes -= payload.data.length;
+                iterator.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.getcapacitor.community;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.getcapacitor.community.classes.events.ConnectedPeersChangeEvent;
+import com.getcapacitor.community.classes.results.ConnectedPeersResult;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Keeps the connected peers as reported by the SDK, and describes every change as the peers added and removed.
+ * <p>
+ * The version is incremented with every change, so that a gap between two changes can be recognized and the peers
+ * queried again.
+ */
+public class PeerRegistry {
+
+    private final Set<UUID> peers = new LinkedHashSet<>();
+
+    private long version = 0;
+
+    /**
+     * @return the change, or {@code null} if the peer was already connected.
+     */
+    @Nullable
+    public synchronized ConnectedPeersChangeEvent onConnected(@NonNull UUID peerID) {
+        if (!peers.add(peerID)) {
+            return null;
+        }
+
+        return change(Collections.singletonList(peerID), Collections.<UUID>emptyList());
+    }
+
+    /**
+     * @return the change, or {@code null} if the peer was not connected.
+     */
+    @Nullable
+    public synchronized ConnectedPeersChangeEvent onDisconnected(@NonNull UUID peerID) {
+        if (!peers.remove(peerID)) {
+            return null;
+        }
+
+        return change(Collections.<UUID>emptyList(), Collections.singletonList(peerID));
+    }
+
+    /**
+     * @return the change, or {@code null} if the peers are the same.
+     */
+    @Nullable
+    public synchronized ConnectedPeersChangeEvent onConnectedPeers(@NonNull List<UUID> connectedPeers) {
+        Set<UUID> connected = new HashSet<>(connectedPeers);
+
+        List<UUID> added = new ArrayList<>();
+        List<UUID> removed = new ArrayList<>();
+
+        for (UUID peerID : connectedPeers) {
+            if (peers.add(peerID)) {
+                added.add(peerID);
+            }
+        }
+
+        for (UUID peerID : peers) {
+            if (!connected.contains(peerID)) {
+                removed.add(peerID);
+            }
+        }
+
+        peers.removeAll(removed);
+
+        if (added.isEmpty() && removed.isEmpty()) {
+            return null;
+        }
+
+        return change(added, removed);
+    }
+
+    /**
+     * Removes all peers, once the SDK has been stopped.
+     *
+     * @return the change, or {@code null} if there were no peers.
+     */
+    @Nullable
+    public synchronized ConnectedPeersChangeEvent clear() {
+        if (peers.isEmpty()) {
+            return null;
+        }
+
+        List<UUID> removed = new ArrayList<>(peers);
+
+        peers.clear();
+
+        return change(Collections.<UUID>emptyList(), removed);
+    }
+
+    @NonNull
+    public synchronized ConnectedPeersResult getConnectedPeers() {
+        return new ConnectedPeersResult(new ArrayList<>(peers), version);
+    }
+
+    @NonNull
+    private ConnectedPeersChangeEvent change(@NonNull List<UUID> added, @NonNull List<UUID> removed) {
+        return new ConnectedPeersChangeEvent(added, removed, ++version);
+    }
+}
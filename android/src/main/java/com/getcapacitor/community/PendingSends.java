@@ -0,0 +1,213 @@
+package com.getcapacitor.community;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.getcapacitor.community.BridgefyController.Reason;
+import com.getcapacitor.community.BridgefyController.ReasonType;
+import com.getcapacitor.community.classes.results.SendResult;
+import com.getcapacitor.community.interfaces.Callback;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the calls of sends that wait for their delivery, and settles them once the SDK reports {@code onSend} or
+ * {@code onFailToSend} for their message, or once their timeout has elapsed.
+ */
+public class PendingSends {
+
+    static final int DEFAULT_TIMEOUT = 30000;
+
+    private static final long SWEEP_INTERVAL = 500;
+
+    private static final String SEND_TIMEOUT = "send timed out";
+    private static final String SEND_CANCELLED = "send cancelled";
+
+    private static class Pending {
+
+        @NonNull
+        final Callback callback;
+
+        final long deadline;
+
+        Pending(@NonNull Callback callback, long deadline) {
+            this.callback = callback;
+            this.deadline = deadline;
+        }
+    }
+
+    private final Map<UUID, Pending> pending = new ConcurrentHashMap<>();
+
+    private final Object lock = new Object();
+
+    // Outcomes reported while a message is being handed over to the SDK, before it is registered.
+    private final Set<UUID> sentEarly = new HashSet<>();
+    private final Map<UUID, Reason> failedEarly = new HashMap<>();
+
+    private int dispatching = 0;
+
+    @Nullable
+    private ScheduledExecutorService executor;
+
+    @Nullable
+    private ScheduledFuture<?> sweeper;
+
+    /**
+     * Runs {@code send} and registers its message, settling the call right away if a delivery callback for it has been
+     * handled meanwhile.
+     */
+    @NonNull
+    public UUID register(@NonNull Send send, @NonNull Callback callback, int timeout) throws Exception {
+        synchronized (lock) {
+            dispatching++;
+        }
+
+        boolean isSent = false;
+        boolean isFailed = false;
+
+        @Nullable
+        Reason reason = null;
+
+        // The SDK is called without holding the lock, so that delivery callbacks are not held up behind it.
+        @Nullable
+        UUID messageID = null;
+
+        try {
+            messageID = send.send();
+        } finally {
+            synchronized (lock) {
+                dispatching--;
+
+                if (messageID != null) {
+                    isSent = sentEarly.remove(messageID);
+                    isFailed = failedEarly.containsKey(messageID);
+                    reason = failedEarly.remove(messageID);
+
+                    if (!isSent && !isFailed) {
+                        pending.put(messageID, new Pending(callback, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout)));
+
+                        schedule();
+                    }
+                }
+
+                if (dispatching == 0) {
+                    sentEarly.clear();
+                    failedEarly.clear();
+                }
+            }
+        }
+
+        if (isSent) {
+            succeed(callback, messageID);
+        } else if (isFailed) {
+            fail(callback, reason);
+        }
+
+        return messageID;
+    }
+
+    public void onSend(@NonNull UUID messageID) {
+        @Nullable
+        Pending entry;
+
+        synchronized (lock) {
+            entry = pending.remove(messageID);
+
+            if (entry == null && dispatching > 0) {
+                sentEarly.add(messageID);
+            }
+        }
+
+        if (entry != null) {
+            succeed(entry.callback, messageID);
+        }
+    }
+
+    public void onFailToSend(@NonNull UUID messageID, @Nullable Reason reason) {
+        @Nullable
+        Pending entry;
+
+        synchronized (lock) {
+            entry = pending.remove(messageID);
+
+            if (entry == null && dispatching > 0) {
+                failedEarly.put(messageID, reason);
+            }
+        }
+
+        if (entry != null) {
+            fail(entry.callback, reason);
+        }
+    }
+
+    /**
+     * Rejects every pending call and stops the sweeper.
+     */
+    public void release() {
+        synchronized (lock) {
+            for (Pending entry : pending.values()) {
+                entry.callback.error(new Exception(SEND_CANCELLED));
+            }
+            pending.clear();
+
+            if (executor != null) {
+                executor.shutdownNow();
+                executor = null;
+            }
+            sweeper = null;
+        }
+    }
+
+    private static void succeed(@NonNull Callback callback, @NonNull UUID messageID) {
+        callback.success(new SendResult(messageID));
+    }
+
+    private static void fail(@NonNull Callback callback, @Nullable Reason reason) {
+        callback.error(reason != null ? reason : new Reason(ReasonType.UNKNOWN, null, null));
+    }
+
+    private void schedule() {
+        if (sweeper == null) {
+            if (executor == null) {
+                executor = Executors.newSingleThreadScheduledExecutor();
+            }
+            sweeper = executor.scheduleWithFixedDelay(this::sweep, SWEEP_INTERVAL, SWEEP_INTERVAL, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void sweep() {
+        long now = System.nanoTime();
+
+        synchronized (lock) {
+            Iterator<Map.Entry<UUID, Pending>> iterator = pending.entrySet().iterator();
+
+            while (iterator.hasNext()) {
+                Pending entry = iterator.next().getValue();
+
+                if (now - entry.deadline >= 0) {
+                    iterator.remove();
+
+                    entry.callback.error(new Exception(SEND_TIMEOUT));
+                }
+            }
+
+            if (pending.isEmpty() && sweeper != null) {
+                sweeper.cancel(false);
+                sweeper = null;
+            }
+        }
+    }
+
+    public interface Send {
+        @NonNull
+        UUID send() throws Exception;
+    }
+}
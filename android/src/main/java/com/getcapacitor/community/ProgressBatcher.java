@@ -0,0 +1,106 @@
+package com.getcapacitor.community;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.getcapacitor.community.classes.events.ProgressEvent;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the latest progress event of every message being sent, and delivers them together once per batch window.
+ * <p>
+ * Once the batch window has passed, the batch is flushed on the dispatcher, like the events it has been gathered from.
+ */
+public class ProgressBatcher {
+
+    public interface Flush {
+        void flush(@NonNull List<ProgressEvent> events);
+    }
+
+    private final int window;
+
+    @NonNull
+    private final Executor dispatcher;
+
+    @NonNull
+    private final Flush listener;
+
+    private Map<UUID, ProgressEvent> events = new LinkedHashMap<>();
+
+    private final Object delivery = new Object();
+
+    @Nullable
+    private ScheduledExecutorService executor;
+
+    @Nullable
+    private ScheduledFuture<?> flush;
+
+    public ProgressBatcher(@Nullable Integer window, @NonNull Executor dispatcher, @NonNull Flush listener) {
+        this.window = window != null && window > 0 ? window : 0;
+        this.dispatcher = dispatcher;
+        this.listener = listener;
+    }
+
+    public boolean isEnabled() {
+        return window > 0;
+    }
+
+    public synchronized void add(@NonNull ProgressEvent event) {
+        events.put(event.getMessageID(), event);
+
+        if (flush == null) {
+            if (executor == null) {
+                executor = Executors.newSingleThreadScheduledExecutor();
+            }
+            flush = executor.schedule(() -> dispatcher.execute(this::flush), window, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Delivers the pending events right away, so that they are not reported after the messages have been sent.
+     */
+    public void flush() {
+        synchronized (delivery) {
+            List<ProgressEvent> batch;
+
+            synchronized (this) {
+                batch = take();
+            }
+
+            if (!batch.isEmpty()) {
+                listener.flush(batch);
+            }
+        }
+    }
+
+    public void release() {
+        synchronized (this) {
+            if (executor != null) {
+                executor.shutdownNow();
+                executor = null;
+            }
+            flush = null;
+            events.clear();
+        }
+    }
+
+    @NonNull
+    private List<ProgressEvent> take() {
+        if (flush != null) {
+            flush.cancel(false);
+            flush = null;
+        }
+
+        List<ProgressEvent> batch = new ArrayList<>(events.values());
+        events = new LinkedHashMap<>();
+        return batch;
+    }
+}
@@ -0,0 +1,111 @@
+package com.getcapacitor.community;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.getcapacitor.community.classes.events.ProgressEvent;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drops progress events which follow the previous one of the same message by less than the interval, or by less than
+ * the step in percent. The first and the final event of a message always pass, and a message sent before its final
+ * event passed is completed with one.
+ */
+public class ProgressThrottle {
+
+    private static final int MAX_MESSAGES = 256;
+
+    private static class Progress {
+
+        long emitted;
+
+        double percentage;
+
+        int of;
+    }
+
+    private final long interval;
+    private final int step;
+
+    private final Map<UUID, Progress> messages = new LinkedHashMap<UUID, Progress>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, Progress> eldest) {
+            return size() > MAX_MESSAGES;
+        }
+    };
+
+    public ProgressThrottle(@Nullable Integer interval, @Nullable Integer step) {
+        this.interval = interval != null && interval > 0 ? TimeUnit.MILLISECONDS.toNanos(interval) : 0;
+        this.step = step != null && step > 0 ? step : 0;
+    }
+
+    public boolean isEnabled() {
+        return interval > 0 || step > 0;
+    }
+
+    /**
+     * @return the event to report, or {@code null} if it is dropped.
+     */
+    @Nullable
+    public synchronized ProgressEvent onProgress(@NonNull UUID messageID, int position, int of) {
+        ProgressEvent event = new ProgressEvent(messageID, position, of);
+
+        if (!isEnabled()) {
+            return event;
+        }
+
+        if (position >= of) {
+            messages.remove(messageID);
+            return event;
+        }
+
+        long now = System.nanoTime();
+        double percentage = of > 0 ? position * 100.0 / of : 0;
+
+        @Nullable
+        Progress progress = messages.get(messageID);
+
+        if (progress != null) {
+            progress.of = of;
+
+            if (now - progress.emitted < interval || percentage - progress.percentage < step) {
+                return null;
+            }
+        } else {
+            progress = new Progress();
+            progress.of = of;
+
+            messages.put(messageID, progress);
+        }
+
+        progress.emitted = now;
+        progress.percentage = percentage;
+
+        return event;
+    }
+
+    /**
+     * @return the final event of a message which has been sent before its final event passed, if any.
+     */
+    @Nullable
+    public synchronized ProgressEvent onSend(@NonNull UUID messageID) {
+        @Nullable
+        Progress progress = messages.remove(messageID);
+
+        if (progress == null) {
+            return null;
+        }
+
+        return new ProgressEvent(messageID, progress.of, progress.of);
+    }
+
+    public synchronized void onFailToSend(@NonNull UUID messageID) {
+        messages.remove(messageID);
+    }
+
+    public synchronized void release() {
+        messages.clear();
+    }
+}
@@ -0,0 +1,187 @@
+package com.getcapacitor.community;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token buckets limiting the bytes and messages sent per second, in total and per destination.
+ * <p>
+ * Every bucket holds up to one second of its rate. The limits are applied by the {@link SendScheduler}, which only
+ * hands a message over to the SDK once the buckets of its destination are out of debt, so that messages over the
+ * limit are held back in its bounded queue, and messages to the same destination keep their order. The bytes and
+ * messages are taken once they are actually handed over to the SDK, after compression and fragmentation. With the
+ * {@code "reject"} policy, messages are refused while the limits are exceeded instead.
+ */
+public class RateLimiter {
+
+    static final String DELAY = "delay";
+    static final String REJECT = "reject";
+
+    /**
+     * Messages which would have to wait for longer are refused, even with the {@code "delay"} policy.
+     */
+    private static final long MAX_DELAY = TimeUnit.SECONDS.toNanos(30);
+
+    private static final int MAX_DESTINATIONS = 256;
+
+    private static class Bucket {
+
+        final double rate;
+
+        double tokens;
+
+        long updated = System.nanoTime();
+
+        Bucket(double rate) {
+            this.rate = rate;
+            this.tokens = rate;
+        }
+
+        /**
+         * @return the time in nanoseconds until the bucket holds at least one token.
+         */
+        long getDelay(long now) {
+            // A bucket created after the time has been taken has nothing to refill yet.
+            if (now > updated) {
+                tokens = Math.min(rate, tokens + (now - updated) * rate / TimeUnit.SECONDS.toNanos(1));
+                updated = now;
+            }
+
+            // A message larger than the bucket only needs a token, and leaves the bucket in debt.
+            return tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) * TimeUnit.SECONDS.toNanos(1) / rate);
+        }
+
+        void take(int cost) {
+            tokens -= cost;
+        }
+    }
+
+    private final boolean isRejecting;
+
+    @Nullable
+    private final Bucket bytes;
+
+    @Nullable
+    private final Bucket messages;
+
+    private final int destinationBytes;
+    private final int destinationMessages;
+
+    private final Map<UUID, Bucket[]> destinations = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * A limit of {@code null} or {@code 0} is disabled.
+     */
+    public RateLimiter(
+        @Nullable String policy,
+        @Nullable Integer bytes,
+        @Nullable Integer messages,
+        @Nullable Integer destinationBytes,
+        @Nullable Integer destinationMessages
+    ) {
+        this.isRejecting = REJECT.equals(policy);
+
+        this.bytes = bytes != null && bytes > 0 ? new Bucket(bytes) : null;
+        this.messages = messages != null && messages > 0 ? new Bucket(messages) : null;
+
+        this.destinationBytes = destinationBytes != null && destinationBytes > 0 ? destinationBytes : 0;
+        this.destinationMessages = destinationMessages != null && destinationMessages > 0 ? destinationMessages : 0;
+    }
+
+    public boolean isEnabled() {
+        return bytes != null || messages != null || destinationBytes > 0 || destinationMessages > 0;
+    }
+
+    /**
+     * @return whether a new message to the destination is refused, rather than held back until the limits allow it.
+     */
+    public boolean isRefused(@Nullable UUID destination) {
+        long delay = getDelay(destination);
+
+        return delay > 0 && (isRejecting || delay > MAX_DELAY);
+    }
+
+    /**
+     * @param destination the destination, or {@code null} for the total limits only.
+     * @return the time in nanoseconds until a message to the destination may be sent.
+     */
+    public synchronized long getDelay(@Nullable UUID destination) {
+        if (!isEnabled()) {
+            return 0;
+        }
+
+        long now = System.nanoTime();
+
+        long delay = 0;
+        delay = Math.max(delay, bytes != null ? bytes.getDelay(now) : 0);
+        delay = Math.max(delay, messages != null ? messages.getDelay(now) : 0);
+
+        @Nullable
+        Bucket[] buckets = destination != null ? getDestination(destination) : null;
+
+        if (buckets != null) {
+            delay = Math.max(delay, buckets[0] != null ? buckets[0].getDelay(now) : 0);
+            delay = Math.max(delay, buckets[1] != null ? buckets[1].getDelay(now) : 0);
+        }
+
+        return delay;
+    }
+
+    /**
+     * Takes the tokens for a message handed over to the SDK.
+     */
+    public synchronized void take(@Nullable UUID destination, int length) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        if (bytes != null) {
+            bytes.take(length);
+        }
+        if (messages != null) {
+            messages.take(1);
+        }
+
+        @Nullable
+        Bucket[] buckets = destination != null ? getDestination(destination) : null;
+
+        if (buckets != null) {
+            if (buckets[0] != null) {
+                buckets[0].take(length);
+            }
+            if (buckets[1] != null) {
+                buckets[1].take(1);
+            }
+        }
+    }
+
+    @Nullable
+    private Bucket[] getDestination(@NonNull UUID destination) {
+        if (destinationBytes == 0 && destinationMessages == 0) {
+            return null;
+        }
+
+        @Nullable
+        Bucket[] buckets = destinations.get(destination);
+
+        if (buckets == null) {
+            // Evicting a bucket forgives its debt, which is bounded by the number of destinations.
+            if (destinations.size() >= MAX_DESTINATIONS) {
+                destinations.remove(destinations.keySet().iterator().next());
+            }
+
+            buckets = new Bucket[] {
+                destinationBytes > 0 ? new Bucket(destinationBytes) : null,
+                destinationMessages > 0 ? new Bucket(destinationMessages) : null
+            };
+
+            destinations.put(destination, buckets);
+        }
+
+        return buckets;
+    }
+}
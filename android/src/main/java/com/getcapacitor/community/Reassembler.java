@@ -0,0 +1,123 @@
+package com.getcapacitor.community;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects the fragments of logical messages until they are complete.
+ * <p>
+ * The table is bounded by the number of partial messages and the number of buffered bytes, evicting the oldest
+ * messages first, and drops messages whose fragments have not all arrived in time.
+ */
+public class Reassembler {
+
+    private static final int MAX_MESSAGES = 32;
+    static final int MAX_BYTES = 8 * 1024 * 1024;
+
+    private static final long TIMEOUT = TimeUnit.SECONDS.toNanos(60);
+
+    private static class Partial {
+
+        final byte[][] fragments;
+
+        int received = 0;
+        int length = 0;
+
+        final long created = System.nanoTime();
+
+        Partial(int total) {
+            this.fragments = new byte[total][];
+        }
+    }
+
+    private final Map<UUID, Partial> partials = new LinkedHashMap<>();
+
+    private int bytes = 0;
+
+    /**
+     * @return the payload of the logical message once all of its fragments have arrived, otherwise {@code null}.
+     */
+    @Nullable
+    public synchronized byte[] add(@NonNull Fragmenter.Fragment fragment) {
+        expire();
+
+        @Nullable
+        Partial partial = partials.get(fragment.messageID);
+
+        if (partial == null) {
+            partial = new Partial(fragment.total);
+            partials.put(fragment.messageID, partial);
+        } else if (partial.fragments.length != fragment.total) {
+            remove(fragment.messageID);
+            return null;
+        }
+
+        if (partial.fragments[fragment.index] != null) {
+            return null;
+        }
+
+        partial.fragments[fragment.index] = fragment.data;
+        partial.received++;
+        partial.length += fragment.data.length;
+
+        bytes += fragment.data.length;
+
+        if (partial.received < partial.fragments.length) {
+            evict();
+            return null;
+        }
+
+        remove(fragment.messageID);
+
+        byte[] data = new byte[partial.length];
+
+        int offset = 0;
+        for (byte[] part : partial.fragments) {
+            System.arraycopy(part, 0, data, offset, part.length);
+            offset += part.length;
+        }
+
+        return data;
+    }
+
+    private void remove(@NonNull UUID messageID) {
+        @Nullable
+        Partial partial = partials.remove(messageID);
+
+        if (partial != null) {
+            bytes -= partial.length;
+        }
+    }
+
+    private void evict() {
+        Iterator<Partial> iterator = partials.values().iterator();
+
+        while (iterator.hasNext() && (partials.size() > MAX_MESSAGES || bytes > MAX_BYTES)) {
+            bytes -= iterator.next().length;
+            iterator.remove();
+        }
+    }
+
+    private void expire() {
+        long now = System.nanoTime();
+
+        Iterator<Partial> iterator = partials.values().iterator();
+
+        while (iterator.hasNext()) {
+            Partial partial = iterator.next();
+
+            if (now - partial.created < TIMEOUT) {
+                // Messages are kept in arrival order.
+                break;
+            }
+
+            bytes -= partial.length;
+            iterator.remove();
+        }
+    }
+}
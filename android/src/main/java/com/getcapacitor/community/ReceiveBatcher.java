@@ -0,0 +1,121 @@
+package com.getcapacitor.community;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.getcapacitor.community.classes.events.ReceiveEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gathers received events for at most the batch window, or until the batch size is reached, so that they can be
+ * delivered with a single dispatch. Events are kept in arrival order.
+ * <p>
+ * Once the batch window has passed, the batch is flushed on the dispatcher, like the events it has been gathered from.
+ */
+public class ReceiveBatcher {
+
+    static final int DEFAULT_SIZE = 64;
+
+    public interface Flush {
+        void flush(@NonNull List<ReceiveEvent> events);
+    }
+
+    private final int window;
+    private final int size;
+
+    @NonNull
+    private final Executor dispatcher;
+
+    @NonNull
+    private final Flush listener;
+
+    private List<ReceiveEvent> events = new ArrayList<>();
+
+    private final Object delivery = new Object();
+
+    @Nullable
+    private ScheduledExecutorService executor;
+
+    @Nullable
+    private ScheduledFuture<?> flush;
+
+    public ReceiveBatcher(@Nullable Integer window, @Nullable Integer size, @NonNull Executor dispatcher, @NonNull Flush listener) {
+        this.window = window != null && window > 0 ? window : 0;
+        this.size = size != null && size > 0 ? size : DEFAULT_SIZE;
+        this.dispatcher = dispatcher;
+        this.listener = listener;
+    }
+
+    public boolean isEnabled() {
+        return window > 0;
+    }
+
+    public void add(@NonNull List<ReceiveEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        boolean isFull;
+
+        synchronized (this) {
+            this.events.addAll(events);
+
+            isFull = this.events.size() >= size;
+
+            if (!isFull && flush == null) {
+                if (executor == null) {
+                    executor = Executors.newSingleThreadScheduledExecutor();
+                }
+                flush = executor.schedule(() -> dispatcher.execute(this::flush), window, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        if (isFull) {
+            flush();
+        }
+    }
+
+    public void release() {
+        synchronized (this) {
+            if (executor != null) {
+                executor.shutdownNow();
+                executor = null;
+            }
+            flush = null;
+            events.clear();
+        }
+    }
+
+    private void flush() {
+        // Batches are taken and delivered under the same lock, so that a batch flushed by the timer cannot overtake one
+        // flushed because it is full, or the other way around.
+        synchronized (delivery) {
+            List<ReceiveEvent> batch;
+
+            synchronized (this) {
+                batch = take();
+            }
+
+            if (!batch.isEmpty()) {
+                listener.flush(batch);
+            }
+        }
+    }
+
+    @NonNull
+    private List<ReceiveEvent> take() {
+        if (flush != null) {
+            flush.cancel(false);
+            flush = null;
+        }
+
+        List<ReceiveEvent> batch = events;
+        events = new ArrayList<>();
+        return batch;
+    }
+}
@@ -0,0 +1,182 @@
+package com.getcapacitor.community;
+
+import android.util.Pair;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable set of rules a received message has to match to be delivered.
+ * <p>
+ * Filters are replaced as a whole, so they can be updated while messages are arriving, and matching does not
+ * allocate: senders are kept as sorted pairs of longs and looked up with a binary search.
+ */
+public class ReceiveFilter {
+
+    static final ReceiveFilter NONE = new ReceiveFilter(null, null, null, null);
+
+    private static final int BROADCAST = 1;
+    private static final int MESH = 1 << 1;
+    private static final int P2P = 1 << 2;
+
+    private static final int ALL = BROADCAST | MESH | P2P;
+
+    private final int transmissionTypes;
+
+    @Nullable
+    private final long[][] allowedSenders;
+
+    @Nullable
+    private final long[][] deniedSenders;
+
+    @Nullable
+    private final byte[][] prefixes;
+
+    public ReceiveFilter(
+        @Nullable List<String> transmissionTypes,
+        @Nullable List<UUID> allowedSenders,
+        @Nullable List<UUID> deniedSenders,
+        @Nullable List<byte[]> prefixes
+    ) {
+        int mask = transmissionTypes != null ? 0 : ALL;
+        if (transmissionTypes != null) {
+            for (String transmissionType : transmissionTypes) {
+                mask |= toMask(transmissionType);
+            }
+        }
+        this.transmissionTypes = mask;
+
+        this.allowedSenders = toSortedArray(allowedSenders);
+        this.deniedSenders = toSortedArray(deniedSenders);
+
+        this.prefixes = prefixes != null ? prefixes.toArray(new byte[0][]) : null;
+    }
+
+    /**
+     * Matches the transmission mode, before the payload has been decoded.
+     */
+    public boolean acceptsTransmissionMode(@Nullable Pair<String, UUID> transmissionMode) {
+        if (this == NONE) {
+            return true;
+        }
+
+        if (transmissionMode == null) {
+            return transmissionTypes == ALL && allowedSenders == null;
+        }
+
+        if ((toMask(transmissionMode.first) & transmissionTypes) == 0) {
+            return false;
+        }
+
+        @Nullable
+        UUID sender = transmissionMode.second;
+
+        if (allowedSenders != null && (sender == null || !contains(allowedSenders, sender))) {
+            return false;
+        }
+
+        return deniedSenders == null || sender == null || !contains(deniedSenders, sender);
+    }
+
+    public boolean acceptsPayload(@Nullable byte[] data) {
+        if (prefixes == null) {
+            return true;
+        }
+
+        if (data == null) {
+            return false;
+        }
+
+        for (byte[] prefix : prefixes) {
+            if (startsWith(data, prefix)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static int toMask(@Nullable String transmissionType) {
+        if (transmissionType == null) {
+            return 0;
+        }
+
+        switch (transmissionType) {
+            case "broadcast":
+                return BROADCAST;
+            case "mesh":
+                return MESH;
+            case "p2p":
+                return P2P;
+            default:
+                return 0;
+        }
+    }
+
+    private static boolean startsWith(@NonNull byte[] data, @NonNull byte[] prefix) {
+        if (data.length < prefix.length) {
+            return false;
+        }
+
+        for (int i = 0; i < prefix.length; i++) {
+            if (data[i] != prefix[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @return the most and least significant bits of the UUIDs, sorted.
+     */
+    @Nullable
+    private static long[][] toSortedArray(@Nullable List<UUID> uuids) {
+        if (uuids == null) {
+            return null;
+        }
+
+        List<UUID> sorted = new ArrayList<>(uuids);
+        Collections.sort(sorted);
+
+        long[][] result = new long[][] { new long[sorted.size()], new long[sorted.size()] };
+
+        for (int i = 0; i < sorted.size(); i++) {
+            result[0][i] = sorted.get(i).getMostSignificantBits();
+            result[1][i] = sorted.get(i).getLeastSignificantBits();
+        }
+
+        return result;
+    }
+
+    private static boolean contains(@NonNull long[][] uuids, @NonNull UUID uuid) {
+        long msb = uuid.getMostSignificantBits();
+        long lsb = uuid.getLeastSignificantBits();
+
+        int low = 0;
+        int high = uuids[0].length - 1;
+
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+
+            // Same signed ordering as UUID.compareTo.
+            int comparison = Long.compare(uuids[0][middle], msb);
+            if (comparison == 0) {
+                comparison = Long.compare(uuids[1][middle], lsb);
+            }
+
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,287 @@
+package com.getcapacitor.community;
+
+import android.util.Pair;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.getcapacitor.community.BridgefyController.Reason;
+import com.getcapacitor.community.BridgefyController.ReasonType;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.json.JSONObject;
+
+/**
+ * Sends messages again after {@code onFailToSend}, with exponential backoff and jitter, as configured per reason type.
+ * <p>
+ * Every attempt gets a new message ID from the SDK, the engine keeps track of them so that a message is reported
+ * once, with the message ID of its first attempt, when it has been sent or has run out of attempts.
+ */
+public class RetryEngine {
+
+    static final int DEFAULT_ATTEMPTS = 3;
+    static final int DEFAULT_DELAY = 1000;
+    static final int DEFAULT_MAX_DELAY = 30000;
+
+    private static final long TIMEOUT = TimeUnit.MINUTES.toNanos(10);
+
+    public static class Policy {
+
+        final int attempts;
+
+        final long delay;
+        final long maxDelay;
+
+        Policy(@NonNull JSONObject policy) {
+            int attempts = policy.optInt("maxAttempts", DEFAULT_ATTEMPTS);
+            long delay = policy.optLong("initialDelay", DEFAULT_DELAY);
+            long maxDelay = policy.optLong("maxDelay", DEFAULT_MAX_DELAY);
+
+            this.attempts = Math.max(attempts, 1);
+            this.delay = Math.max(delay, 0);
+            this.maxDelay = Math.max(maxDelay, this.delay);
+        }
+    }
+
+    public static class Retry {
+
+        /**
+         * The message ID of the first attempt, which the message is reported with.
+         */
+        @NonNull
+        final UUID messageID;
+
+        @Nullable
+        final UUID entryID;
+
+        @Nullable
+        final byte[] data;
+
+        @NonNull
+        final Pair<String, UUID> transmissionMode;
+
+        @NonNull
+        final SendScheduler.Priority priority;
+
+        int attempts = 0;
+
+        long created = System.nanoTime();
+
+        Retry(
+            @NonNull UUID messageID,
+            @Nullable UUID entryID,
+            @Nullable byte[] data,
+            @NonNull Pair<String, UUID> transmissionMode,
+            @NonNull SendScheduler.Priority priority
+        ) {
+            this.messageID = messageID;
+            this.entryID = entryID;
+            this.data = data;
+            this.transmissionMode = transmissionMode;
+            this.priority = priority;
+        }
+    }
+
+    public interface Resend {
+        void resend(@NonNull Retry retry);
+    }
+
+    public interface Failure {
+        void fail(@NonNull Retry retry, @NonNull Reason reason);
+    }
+
+    private final Map<String, Policy> policies = new HashMap<>();
+
+    private final Resend resend;
+    private final Failure failure;
+
+    // In the order of their attempts.
+    private final Map<UUID, Retry> retries = new LinkedHashMap<>();
+
+    private final Random random = new Random();
+
+    @Nullable
+    private ScheduledExecutorService executor;
+
+    /**
+     * @param policies the policies by reason type, retrying is disabled without any.
+     */
+    public RetryEngine(@Nullable JSONObject policies, @NonNull Resend resend, @NonNull Failure failure) {
+        if (policies != null) {
+            Iterator<String> types = policies.keys();
+
+            while (types.hasNext()) {
+                String type = types.next();
+
+                @Nullable
+                JSONObject policy = policies.optJSONObject(type);
+
+                if (policy != null) {
+                    this.policies.put(type, new Policy(policy));
+                }
+            }
+        }
+
+        this.resend = resend;
+        this.failure = failure;
+    }
+
+    public boolean isEnabled() {
+        return !policies.isEmpty();
+    }
+
+    /**
+     * Runs {@code send} and keeps the message for retrying before any delivery callback for it can be handled.
+     *
+     * @param messageID the message ID the message has been reported with before, if it is sent again.
+     */
+    @NonNull
+    public UUID dispatch(
+        @Nullable UUID messageID,
+        @Nullable UUID entryID,
+        @NonNull byte[] data,
+        @NonNull Pair<String, UUID> transmissionMode,
+        @NonNull SendScheduler.Priority priority,
+        @NonNull PendingSends.Send send
+    ) throws Exception {
+        synchronized (this) {
+            UUID attemptID = send.send();
+
+            // Messages sent again are tracked even without retrying, to be reported with their first message ID.
+            if (isEnabled() || messageID != null) {
+                Retry retry = new Retry(
+                    messageID != null ? messageID : attemptID,
+                    entryID,
+                    isEnabled() ? data : null,
+                    transmissionMode,
+                    priority
+                );
+
+                track(attemptID, retry);
+            }
+
+            return attemptID;
+        }
+    }
+
+    /**
+     * Runs {@code send} for another attempt of {@code retry}.
+     */
+    @NonNull
+    public UUID dispatch(@NonNull Retry retry, @NonNull PendingSends.Send send) throws Exception {
+        synchronized (this) {
+            UUID attemptID = send.send();
+
+            track(attemptID, retry);
+
+            return attemptID;
+        }
+    }
+
+    /**
+     * @return the message ID the message is reported with.
+     */
+    @NonNull
+    public synchronized UUID onSend(@NonNull UUID attemptID) {
+        @Nullable
+        Retry retry = retries.remove(attemptID);
+
+        return retry != null ? retry.messageID : attemptID;
+    }
+
+    /**
+     * @return the message ID the message is reported with, or {@code null} if it is sent again.
+     */
+    @Nullable
+    public UUID onFailToSend(@NonNull UUID attemptID, @Nullable Reason reason) {
+        @Nullable
+        Retry retry;
+
+        synchronized (this) {
+            retry = retries.remove(attemptID);
+        }
+
+        if (retry == null) {
+            return attemptID;
+        }
+
+        return schedule(retry, reason) ? null : retry.messageID;
+    }
+
+    /**
+     * Handles an attempt which could not be handed over to the SDK.
+     */
+    public void onFailure(@NonNull Retry retry, @NonNull Reason reason) {
+        if (!schedule(retry, reason)) {
+            failure.fail(retry, reason);
+        }
+    }
+
+    public synchronized void release() {
+        retries.clear();
+
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    /**
+     * @return {@code true} if another attempt has been scheduled.
+     */
+    private boolean schedule(@NonNull Retry retry, @Nullable Reason reason) {
+        @Nullable
+        Policy policy = policies.get(reason != null ? reason.type() : ReasonType.UNKNOWN);
+
+        if (policy == null || retry.data == null || retry.attempts >= policy.attempts) {
+            return false;
+        }
+
+        // Exponential backoff, with half of the delay randomized.
+        long delay = Math.min(policy.delay << Math.min(retry.attempts - 1, 30), policy.maxDelay);
+        delay = delay / 2 + (long) (random.nextDouble() * (delay / 2 + 1));
+
+        synchronized (this) {
+            if (executor == null) {
+                executor = Executors.newSingleThreadScheduledExecutor();
+            }
+
+            try {
+                executor.schedule(() -> resend.resend(retry), delay, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException exception) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void track(@NonNull UUID attemptID, @NonNull Retry retry) {
+        expire();
+
+        retry.attempts++;
+        retry.created = System.nanoTime();
+
+        retries.put(attemptID, retry);
+    }
+
+    private void expire() {
+        long now = System.nanoTime();
+
+        Iterator<Retry> iterator = retries.values().iterator();
+
+        while (iterator.hasNext()) {
+            if (now - iterator.next().created <= TIMEOUT) {
+                break;
+            }
+
+            iterator.remove();
+        }
+    }
+}
@@ -0,0 +1,343 @@
+package com.getcapacitor.community
+
+import android.content.Context
+import android.util.Log
+import android.util.Pair
+import com.getcapacitor.community.BridgefyController.Reason
+import com.getcapacitor.community.BridgefyController.ReasonType
+import com.getcapacitor.community.interfaces.Backend
+import me.bridgefy.Bridgefy
+import me.bridgefy.commons.TransmissionMode
+import me.bridgefy.commons.exception.BridgefyException
+import me.bridgefy.commons.listener.BridgefyDelegate
+import me.bridgefy.commons.propagation.PropagationProfile
+import me.bridgefy.logger.enums.LogType
+import java.util.Date
+import java.util.UUID
+
+/**
+ * Runs the controller on the Bridgefy SDK, translating its types from and to the ones of the plugin.
+ */
+class SDKBackend(context: Context) : Backend {
+
+    private val bridgefy: Bridgefy = Bridgefy(context)
+
+    /**
+     * Initialize
+     */
+
+    override fun init(
+        apiKey: UUID,
+        delegate: Backend.Delegate,
+        verboseLogging: Boolean?,
+    ) {
+        bridgefy.init(
+            apiKey,
+            object : BridgefyDelegate {
+                // Initialization Listeners
+
+                override fun onStarted(userID: UUID) {
+                    delegate.onStarted(userID)
+                }
+
+                override fun onFailToStart(error: BridgefyException) {
+                    delegate.onFailToStart(fromBridgefyException(error))
+                }
+
+                override fun onStopped() {
+                    delegate.onStopped()
+                }
+
+                override fun onFailToStop(error: BridgefyException) {
+                    delegate.onFailToStop(fromBridgefyException(error))
+                }
+
+                override fun onDestroySession() {
+                    delegate.onDestroySession()
+                }
+
+                override fun onFailToDestroySession(error: BridgefyException) {
+                    delegate.onFailToDestroySession(fromBridgefyException(error))
+                }
+
+                // Connectivity Listeners
+
+                override fun onConnected(peerID: UUID) {
+                    delegate.onConnected(peerID)
+                }
+
+                override fun onDisconnected(peerID: UUID) {
+                    delegate.onDisconnected(peerID)
+                }
+
+                override fun onConnectedPeers(connectedPeers: List<UUID>) {
+                    delegate.onConnectedPeers(connectedPeers)
+                }
+
+                override fun onEstablishSecureConnection(userId: UUID) {
+                    delegate.onEstablishSecureConnection(userId)
+                }
+
+                override fun onFailToEstablishSecureConnection(
+                    userId: UUID,
+                    error: BridgefyException
+                ) {
+                    delegate.onFailToEstablishSecureConnection(userId, fromBridgefyException(error))
+                }
+
+                // Transmission Listeners
+
+                override fun onSend(messageID: UUID) {
+                    delegate.onSend(messageID)
+                }
+
+                override fun onFailToSend(
+                    messageID: UUID,
+                    error: BridgefyException
+                ) {
+                    delegate.onFailToSend(messageID, fromBridgefyException(error))
+                }
+
+                override fun onProgressOfSend(
+                    messageID: UUID,
+                    position: Int,
+                    of: Int
+                ) {
+                    delegate.onProgressOfSend(messageID, position, of)
+                }
+
+                override fun onReceiveData(
+                    data: ByteArray,
+                    messageID: UUID,
+                    transmissionMode: TransmissionMode
+                ) {
+                    delegate.onReceiveData(data, messageID, fromTransmissionMode(transmissionMode))
+                }
+            },
+            if (verboseLogging == null)
+                LogType.None else
+                LogType.ConsoleLogger(
+                    if (verboseLogging)
+                        Log.DEBUG else
+                        Log.WARN
+                ),
+        )
+    }
+
+    override fun isInitialized(): Boolean {
+        return bridgefy.isInitialized
+    }
+
+    override fun start(
+        userID: UUID?,
+        propagationProfile: String?,
+    ) {
+        bridgefy.start(
+            userID,
+            toPropagationProfile(propagationProfile) ?: PropagationProfile.Standard,
+        )
+    }
+
+    override fun isStarted(): Boolean {
+        return bridgefy.isStarted
+    }
+
+    override fun stop() {
+        bridgefy.stop()
+    }
+
+    /**
+     * License
+     */
+
+    override fun licenseExpirationDate(): Date? {
+        return bridgefy.licenseExpirationDate().getOrNull()
+    }
+
+    override fun updateLicense() {
+        bridgefy.updateLicense()
+    }
+
+    /**
+     * Session
+     */
+
+    override fun destroySession() {
+        bridgefy.destroySession()
+    }
+
+    override fun currentUserId(): UUID? {
+        return bridgefy.currentUserId().getOrNull()
+    }
+
+    override fun connectedPeers(): List<UUID> {
+        val peers = bridgefy.connectedPeers().getOrNull()
+        return peers ?: emptyList()
+    }
+
+    /**
+     * Secure Connection
+     */
+
+    override fun establishSecureConnection(
+        userID: UUID,
+    ) {
+        bridgefy.establishSecureConnection(
+            userID,
+        )
+    }
+
+    override fun fingerprint(
+        userID: UUID,
+    ): ByteArray? {
+        val result = bridgefy.fingerprint(
+            userID,
+        ).getOrNull()
+        return result?.scannable
+    }
+
+    override fun isFingerprintValid(
+        userID: UUID,
+        fingerprint: ByteArray,
+    ): Boolean {
+        val result = bridgefy.isFingerprintValid(
+            fingerprint,
+            userID,
+        ).getOrNull()
+        return result ?: false
+    }
+
+    /**
+     * Payload
+     */
+
+    override fun send(
+        data: ByteArray,
+        transmissionMode: Pair<String, UUID>,
+    ): UUID {
+        val transmissionMode = toTransmissionMode(transmissionMode)
+        if (transmissionMode == null) {
+            throw Exception("missing transmission mode")
+        }
+
+        return bridgefy.send(
+            data,
+            transmissionMode,
+        )
+    }
+
+    override fun release() {}
+
+    /**
+     * Helpers
+     */
+
+    private fun toPropagationProfile(propagationProfile: String?): PropagationProfile? {
+        return when (propagationProfile) {
+            "highDensityNetwork" -> PropagationProfile.HighDensityEnvironment
+            "sparseNetwork" -> PropagationProfile.SparseEnvironment
+            "longReach" -> PropagationProfile.LongReach
+            "shortReach" -> PropagationProfile.ShortReach
+            "standard" -> PropagationProfile.Standard
+            else -> null
+        }
+    }
+
+    private fun toTransmissionMode(transmissionMode: Pair<String, UUID>): TransmissionMode? {
+        return when (transmissionMode.first) {
+            "broadcast" -> TransmissionMode.Broadcast(transmissionMode.second)
+            "mesh" -> TransmissionMode.Mesh(transmissionMode.second)
+            "p2p" -> TransmissionMode.P2P(transmissionMode.second)
+            else -> null
+        }
+    }
+
+    private fun fromTransmissionMode(transmissionMode: TransmissionMode): Pair<String, UUID>? {
+        return when (transmissionMode) {
+            is TransmissionMode.Broadcast -> Pair("broadcast", transmissionMode.sender)
+            is TransmissionMode.Mesh -> Pair("mesh", transmissionMode.receiver)
+            is TransmissionMode.P2P -> Pair("p2p", transmissionMode.receiver)
+            else -> null
+        }
+    }
+
+    private fun fromBridgefyException(bridgefyException: BridgefyException): Reason {
+        return when (bridgefyException) {
+            is BridgefyException.AlreadyStartedException -> Reason(
+                ReasonType.ALREADY_STARTED,
+                bridgefyException.message,
+            )
+
+            is BridgefyException.DeviceCapabilitiesException -> Reason(
+                ReasonType.DEVICE_CAPABILITIES,
+                bridgefyException.message,
+            )
+
+            is BridgefyException.ExpiredLicenseException -> Reason(
+                ReasonType.EXPIRED_LICENSE,
+                bridgefyException.message,
+            )
+
+            is BridgefyException.GenericException -> Reason(
+                ReasonType.GENERIC,
+                bridgefyException.message,
+                bridgefyException.code,
+            )
+
+            is BridgefyException.InconsistentDeviceTimeException -> Reason(
+                ReasonType.INCONSISTENT_DEVICE_TIME,
+                bridgefyException.message,
+            )
+
+            is BridgefyException.InternetConnectionRequiredException -> Reason(
+                ReasonType.INTERNET_CONNECTION_REQUIRED,
+                bridgefyException.message,
+            )
+
+            is BridgefyException.InvalidAPIKeyFormatException -> Reason(
+                ReasonType.INVALID_API_KEY,
+                bridgefyException.message,
+            )
+
+            is BridgefyException.MissingApplicationIdException -> Reason(
+                ReasonType.MISSING_APPLICATION_ID,
+                bridgefyException.message,
+            )
+
+            is BridgefyException.PermissionException -> Reason(
+                ReasonType.PERMISSION,
+                bridgefyException.message,
+            )
+
+            is BridgefyException.RegistrationException -> Reason(
+                ReasonType.REGISTRATION,
+                bridgefyException.message,
+            )
+
+            is BridgefyException.SessionErrorException -> Reason(
+                ReasonType.SESSION_ERROR,
+                bridgefyException.message,
+            )
+
+            is BridgefyException.SimulatorIsNotSupportedException -> Reason(
+                ReasonType.SIMULATOR_IS_NOT_SUPPORTED,
+                bridgefyException.message,
+            )
+
+            is BridgefyException.SizeLimitExceededException -> Reason(
+                ReasonType.SIZE_LIMIT_EXCEEDED,
+                bridgefyException.message,
+            )
+
+            is BridgefyException.UnknownException -> Reason(
+                ReasonType.UNKNOWN,
+                bridgefyException.message,
+            )
+
+            else -> Reason(
+                ReasonType.UNKNOWN,
+                bridgefyException.message,
+            )
+        }
+    }
+}
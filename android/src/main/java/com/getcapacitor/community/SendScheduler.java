@@ -0,0 +1,351 @@
+package com.getcapacitor.community;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outbound scheduler between {@link Bridgefy} and {@link BridgefyController}.
+ * <p>
+ * Messages are queued in bounded priority lanes and handed over to the SDK on a dedicated thread, with at most a
+ * configurable number of messages in flight. A message stays in flight until the SDK reports {@code onSend} or
+ * {@code onFailToSend} for it, or until it has been in flight for longer than {@link #IN_FLIGHT_TIMEOUT}.
+ * <p>
+ * Messages whose destination is over its rate limits stay queued, without holding up the messages to other
+ * destinations, until the {@link RateLimiter} allows them.
+ */
+public class SendScheduler {
+
+    static final int DEFAULT_QUEUE_CAPACITY = 256;
+    static final int DEFAULT_MAX_IN_FLIGHT = 16;
+
+    private static final long IN_FLIGHT_TIMEOUT = 30000;
+
+    public enum Priority {
+        CONTROL("control"),
+        INTERACTIVE("interactive"),
+        BULK("bulk");
+
+        @NonNull
+        private final String value;
+
+        Priority(@NonNull String value) {
+            this.value = value;
+        }
+
+        @Nullable
+        public static Priority fromString(@Nullable String value) {
+            for (Priority priority : values()) {
+                if (priority.value.equals(value)) {
+                    return priority;
+                }
+            }
+            return null;
+        }
+    }
+
+    public interface Dispatch {
+        /**
+         * Hands the message over to the SDK and settles its call.
+         *
+         * @return the identifier of the message now in flight, or {@code null} if it could not be sent.
+         */
+        @Nullable
+        UUID dispatch();
+    }
+
+    private static class Queued {
+
+        @Nullable
+        final UUID destination;
+
+        @NonNull
+        final Dispatch dispatch;
+
+        Queued(@Nullable UUID destination, @NonNull Dispatch dispatch) {
+            this.destination = destination;
+            this.dispatch = dispatch;
+        }
+    }
+
+    private final int capacity;
+    private final int maxInFlight;
+
+    private final long inFlightTimeout;
+
+    @NonNull
+    private final RateLimiter rateLimiter;
+
+    private final List<ArrayDeque<Queued>> lanes = new ArrayList<>();
+
+    private final Map<UUID, Long> inFlight = new LinkedHashMap<>();
+
+    // Completions reported while a message is being handed over to the SDK, before it is known to be in flight.
+    private final Set<UUID> completedEarly = new HashSet<>();
+
+    private boolean isDispatching = false;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+
+    @Nullable
+    private ScheduledFuture<?> retry;
+
+    private long retryAt;
+
+    public SendScheduler(@Nullable Integer capacity, @Nullable Integer maxInFlight, @NonNull RateLimiter rateLimiter) {
+        this(capacity, maxInFlight, rateLimiter, IN_FLIGHT_TIMEOUT);
+    }
+
+    /**
+     * @param inFlightTimeout the time in milliseconds after which a message the SDK has not reported is no longer in
+     * flight.
+     */
+    SendScheduler(@Nullable Integer capacity, @Nullable Integer maxInFlight, @NonNull RateLimiter rateLimiter, long inFlightTimeout) {
+        this.capacity = capacity != null && capacity > 0 ? capacity : DEFAULT_QUEUE_CAPACITY;
+        this.maxInFlight = maxInFlight != null && maxInFlight > 0 ? maxInFlight : DEFAULT_MAX_IN_FLIGHT;
+        this.inFlightTimeout = TimeUnit.MILLISECONDS.toNanos(inFlightTimeout);
+        this.rateLimiter = rateLimiter;
+
+        for (int i = 0; i < Priority.values().length; i++) {
+            lanes.add(new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Queues a message in the lane of the given priority.
+     *
+     * @param destination the destination the rate limits of which apply, or {@code null} for the total limits only.
+     * @return {@code false} if the lane is full, in which case the message has not been queued.
+     */
+    public boolean enqueue(@NonNull Priority priority, @Nullable UUID destination, @NonNull Dispatch dispatch) {
+        synchronized (lanes) {
+            ArrayDeque<Queued> lane = lanes.get(priority.ordinal());
+
+            if (lane.size() >= capacity) {
+                return false;
+            }
+
+            lane.add(new Queued(destination, dispatch));
+        }
+
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException ignored) {}
+
+        return true;
+    }
+
+    public void onComplete(@NonNull UUID messageID) {
+        boolean isRemoved;
+
+        synchronized (inFlight) {
+            isRemoved = inFlight.remove(messageID) != null;
+
+            if (!isRemoved && isDispatching) {
+                completedEarly.add(messageID);
+            }
+        }
+
+        if (isRemoved) {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException ignored) {}
+        }
+    }
+
+    public int getQueueDepth() {
+        synchronized (lanes) {
+            int depth = 0;
+            for (ArrayDeque<Queued> lane : lanes) {
+                depth += lane.size();
+            }
+            return depth;
+        }
+    }
+
+    public int getInFlight() {
+        synchronized (inFlight) {
+            return inFlight.size();
+        }
+    }
+
+    public void release() {
+        executor.shutdownNow();
+
+        synchronized (lanes) {
+            for (ArrayDeque<Queued> lane : lanes) {
+                lane.clear();
+            }
+        }
+    }
+
+    /**
+     * Takes the first message, by priority, whose destination is within its rate limits.
+     */
+    @Nullable
+    private Dispatch poll() {
+        synchronized (lanes) {
+            if (!rateLimiter.isEnabled()) {
+                for (ArrayDeque<Queued> lane : lanes) {
+                    @Nullable
+                    Queued queued = lane.poll();
+
+                    if (queued != null) {
+                        return queued.dispatch;
+                    }
+                }
+                return null;
+            }
+
+            if (rateLimiter.getDelay(null) > 0) {
+                return null;
+            }
+
+            // Destinations over their limits, whose later messages have to wait too to keep their order.
+            Set<UUID> limited = new HashSet<>();
+
+            for (ArrayDeque<Queued> lane : lanes) {
+                Iterator<Queued> iterator = lane.iterator();
+
+                while (iterator.hasNext()) {
+                    Queued queued = iterator.next();
+
+                    if (queued.destination != null) {
+                        if (limited.contains(queued.destination)) {
+                            continue;
+                        }
+
+                        if (rateLimiter.getDelay(queued.destination) > 0) {
+                            limited.add(queued.destination);
+                            continue;
+                        }
+                    }
+
+                    iterator.remove();
+
+                    return queued.dispatch;
+                }
+            }
+
+            return null;
+        }
+    }
+
+    /**
+     * @return the time in nanoseconds until a queued message may be sent as far as the rate limits are concerned, or
+     * {@code -1} if no message is queued.
+     */
+    private long getDelay() {
+        synchronized (lanes) {
+            long delay = -1;
+
+            for (ArrayDeque<Queued> lane : lanes) {
+                for (Queued queued : lane) {
+                    long next = rateLimiter.getDelay(queued.destination);
+
+                    delay = delay < 0 ? next : Math.min(delay, next);
+                }
+            }
+
+            return delay;
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            synchronized (inFlight) {
+                expire();
+
+                if (inFlight.size() >= maxInFlight) {
+                    // Nothing completes the messages in flight if the SDK never reports them, so retry once the oldest
+                    // one expires.
+                    if (getQueueDepth() > 0) {
+                        long oldest = inFlight.values().iterator().next();
+                        long delay = inFlightTimeout - (System.nanoTime() - oldest);
+
+                        schedule(delay);
+                    }
+                    return;
+                }
+
+                isDispatching = true;
+            }
+
+            @Nullable
+            Dispatch dispatch = poll();
+
+            // The SDK is called without holding the in-flight lock, so that completions are not held up behind it.
+            @Nullable
+            UUID messageID = dispatch != null ? dispatch.dispatch() : null;
+
+            synchronized (inFlight) {
+                isDispatching = false;
+
+                // The SDK may report a message before it has been registered as in flight.
+                if (messageID != null && !completedEarly.remove(messageID)) {
+                    inFlight.put(messageID, System.nanoTime());
+                }
+                completedEarly.clear();
+            }
+
+            if (dispatch == null) {
+                long delay = rateLimiter.isEnabled() ? getDelay() : -1;
+
+                // The queued messages are over their rate limits, so retry once the first of them is allowed.
+                if (delay >= 0) {
+                    synchronized (inFlight) {
+                        schedule(delay);
+                    }
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Drains the queue again after {@code delay} nanoseconds, unless it is drained earlier anyway.
+     */
+    private void schedule(long delay) {
+        long at = System.nanoTime() + Math.max(delay, 0);
+
+        if (retry != null && !retry.isDone() && retryAt - at <= 0) {
+            return;
+        }
+
+        if (retry != null) {
+            retry.cancel(false);
+        }
+
+        try {
+            retry = executor.schedule(this::drain, Math.max(delay, 0), TimeUnit.NANOSECONDS);
+            retryAt = at;
+        } catch (RejectedExecutionException ignored) {}
+    }
+
+    private void expire() {
+        long now = System.nanoTime();
+
+        Iterator<Long> iterator = inFlight.values().iterator();
+
+        while (iterator.hasNext()) {
+            if (now - iterator.next() < inFlightTimeout) {
+                // Messages are kept in dispatch order.
+                break;
+            }
+            iterator.remove();
+        }
+    }
+}
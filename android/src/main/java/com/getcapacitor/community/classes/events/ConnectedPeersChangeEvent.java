@@ -0,0 +1,61 @@
+package com.getcapacitor.community.classes.events;
+
+import androidx.annotation.NonNull;
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import java.util.List;
+import java.util.UUID;
+
+public class ConnectedPeersChangeEvent {
+
+    @NonNull
+    List<UUID> added;
+
+    @NonNull
+    List<UUID> removed;
+
+    long version;
+
+    public ConnectedPeersChangeEvent(@NonNull List<UUID> added, @NonNull List<UUID> removed, long version) {
+        this.added = added;
+        this.removed = removed;
+        this.version = version;
+    }
+
+    @NonNull
+    public List<UUID> getAdded() {
+        return added;
+    }
+
+    @NonNull
+    public List<UUID> getRemoved() {
+        return removed;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    @NonNull
+    public JSObject toJSObject() {
+        JSObject result = new JSObject();
+
+        JSArray added = new JSArray();
+
+        for (UUID peer : this.added) {
+            added.put(peer.toString());
+        }
+
+        JSArray removed = new JSArray();
+
+        for (UUID peer : this.removed) {
+            removed.put(peer.toString());
+        }
+
+        result.put("added", added);
+        result.put("removed", removed);
+        result.put("version", version);
+
+        return result;
+    }
+}
@@ -13,6 +13,11 @@ public class MessageIDEvent {
         this.messageID = messageID;
     }
 
+    @NonNull
+    public UUID getMessageID() {
+        return messageID;
+    }
+
     @NonNull
     public JSObject toJSObject() {
         JSObject result = new JSObject();
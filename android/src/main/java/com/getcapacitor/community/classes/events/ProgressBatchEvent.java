@@ -0,0 +1,31 @@
+package com.getcapacitor.community.classes.events;
+
+import androidx.annotation.NonNull;
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import java.util.List;
+
+public class ProgressBatchEvent {
+
+    @NonNull
+    List<ProgressEvent> events;
+
+    public ProgressBatchEvent(@NonNull List<ProgressEvent> events) {
+        this.events = events;
+    }
+
+    @NonNull
+    public JSObject toJSObject() {
+        JSObject result = new JSObject();
+
+        JSArray events = new JSArray();
+
+        for (ProgressEvent event : this.events) {
+            events.put(event.toJSObject());
+        }
+
+        result.put("events", events);
+
+        return result;
+    }
+}
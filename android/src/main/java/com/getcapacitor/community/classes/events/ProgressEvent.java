@@ -15,6 +15,14 @@ public class ProgressEvent extends MessageIDEvent {
         this.of = of;
     }
 
+    public int getPosition() {
+        return position;
+    }
+
+    public int getOf() {
+        return of;
+    }
+
     @NonNull
     public JSObject toJSObject() {
         JSObject result = super.toJSObject();
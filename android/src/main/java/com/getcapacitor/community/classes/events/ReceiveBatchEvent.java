@@ -0,0 +1,31 @@
+package com.getcapacitor.community.classes.events;
+
+import androidx.annotation.NonNull;
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import java.util.List;
+
+public class ReceiveBatchEvent {
+
+    @NonNull
+    List<ReceiveEvent> events;
+
+    public ReceiveBatchEvent(@NonNull List<ReceiveEvent> events) {
+        this.events = events;
+    }
+
+    @NonNull
+    public JSObject toJSObject() {
+        JSObject result = new JSObject();
+
+        JSArray events = new JSArray();
+
+        for (ReceiveEvent event : this.events) {
+            events.put(event.toJSObject());
+        }
+
+        result.put("events", events);
+
+        return result;
+    }
+}
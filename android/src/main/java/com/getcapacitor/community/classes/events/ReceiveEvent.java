@@ -5,6 +5,7 @@ import android.util.Pair;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import com.getcapacitor.JSObject;
+import java.io.File;
 import java.util.UUID;
 
 public class ReceiveEvent extends MessageIDEvent {
@@ -15,17 +16,61 @@ public class ReceiveEvent extends MessageIDEvent {
     @Nullable
     private final Pair<String, UUID> transmissionMode;
 
+    @Nullable
+    private final Integer previewSize;
+
+    @Nullable
+    private final File file;
+
+    private final int size;
+
     public ReceiveEvent(@NonNull UUID messageID, @Nullable byte[] data, @Nullable Pair<String, UUID> transmissionMode) {
+        this(messageID, data, transmissionMode, null);
+    }
+
+    /**
+     * @param previewSize if set, only the size and the first bytes of the data are emitted.
+     */
+    public ReceiveEvent(
+        @NonNull UUID messageID,
+        @Nullable byte[] data,
+        @Nullable Pair<String, UUID> transmissionMode,
+        @Nullable Integer previewSize
+    ) {
         super(messageID);
         this.data = data;
         this.transmissionMode = transmissionMode;
+        this.previewSize = previewSize;
+        this.file = null;
+        this.size = data != null ? data.length : 0;
+    }
+
+    /**
+     * @param file the file the data has been written to, emitted instead of the data.
+     */
+    public ReceiveEvent(@NonNull UUID messageID, @NonNull File file, int size, @Nullable Pair<String, UUID> transmissionMode) {
+        super(messageID);
+        this.data = null;
+        this.transmissionMode = transmissionMode;
+        this.previewSize = null;
+        this.file = file;
+        this.size = size;
     }
 
     @NonNull
     public JSObject toJSObject() {
         JSObject result = super.toJSObject();
 
-        if (data != null && data.length > 0) {
+        if (file != null) {
+            result.put("size", size);
+            result.put("uri", "file://" + file.getAbsolutePath());
+        } else if (previewSize != null) {
+            result.put("size", size);
+
+            if (data != null && size > 0 && previewSize > 0) {
+                result.put("preview", Base64.encodeToString(data, 0, Math.min(size, previewSize), Base64.NO_WRAP));
+            }
+        } else if (data != null && size > 0) {
             result.put("data", Base64.encodeToString(data, Base64.NO_WRAP));
         }
 
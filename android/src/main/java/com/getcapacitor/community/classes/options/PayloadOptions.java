@@ -0,0 +1,28 @@
+package com.getcapacitor.community.classes.options;
+
+import static com.getcapacitor.community.BridgefyHelper.makeUUID;
+
+import androidx.annotation.Nullable;
+import com.getcapacitor.PluginCall;
+import java.util.UUID;
+
+public class PayloadOptions {
+
+    @Nullable
+    private UUID messageID;
+
+    public PayloadOptions(PluginCall call) {
+        @Nullable
+        String messageID = call.getString("messageID");
+        this.setMessageID(messageID);
+    }
+
+    private void setMessageID(@Nullable String messageID) {
+        this.messageID = makeUUID(messageID);
+    }
+
+    @Nullable
+    public UUID getMessageID() {
+        return messageID;
+    }
+}
@@ -0,0 +1,121 @@
+package com.getcapacitor.community.classes.options;
+
+import static com.getcapacitor.community.BridgefyHelper.makeUUID;
+
+import android.util.Base64;
+import androidx.annotation.Nullable;
+import com.getcapacitor.JSArray;
+import com.getcapacitor.PluginCall;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.json.JSONException;
+
+public class ReceiveFilterOptions {
+
+    @Nullable
+    private List<String> transmissionTypes;
+
+    @Nullable
+    private List<UUID> allowedSenders;
+
+    @Nullable
+    private List<UUID> deniedSenders;
+
+    @Nullable
+    private List<byte[]> prefixes;
+
+    public ReceiveFilterOptions(PluginCall call) throws JSONException {
+        @Nullable
+        JSArray transmissionTypes = call.getArray("transmissionTypes");
+        this.setTransmissionTypes(transmissionTypes);
+
+        @Nullable
+        JSArray allowedSenders = call.getArray("allowedSenders");
+        this.setAllowedSenders(allowedSenders);
+
+        @Nullable
+        JSArray deniedSenders = call.getArray("deniedSenders");
+        this.setDeniedSenders(deniedSenders);
+
+        @Nullable
+        JSArray prefixes = call.getArray("prefixes");
+        @Nullable
+        JSArray topics = call.getArray("topics");
+        this.setPrefixes(prefixes, topics);
+    }
+
+    private void setTransmissionTypes(@Nullable JSArray transmissionTypes) throws JSONException {
+        this.transmissionTypes = transmissionTypes != null ? transmissionTypes.toList() : null;
+    }
+
+    private void setAllowedSenders(@Nullable JSArray allowedSenders) throws JSONException {
+        this.allowedSenders = makeUUIDs(allowedSenders);
+    }
+
+    private void setDeniedSenders(@Nullable JSArray deniedSenders) throws JSONException {
+        this.deniedSenders = makeUUIDs(deniedSenders);
+    }
+
+    private void setPrefixes(@Nullable JSArray prefixes, @Nullable JSArray topics) throws JSONException {
+        if (prefixes == null && topics == null) {
+            this.prefixes = null;
+            return;
+        }
+
+        this.prefixes = new ArrayList<>();
+
+        if (prefixes != null) {
+            for (Object prefix : prefixes.toList()) {
+                this.prefixes.add(Base64.decode(prefix.toString(), Base64.NO_WRAP));
+            }
+        }
+
+        if (topics != null) {
+            for (Object topic : topics.toList()) {
+                this.prefixes.add(topic.toString().getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    @Nullable
+    private static List<UUID> makeUUIDs(@Nullable JSArray values) throws JSONException {
+        if (values == null) {
+            return null;
+        }
+
+        List<UUID> result = new ArrayList<>();
+
+        for (Object value : values.toList()) {
+            @Nullable
+            UUID uuid = makeUUID(value.toString());
+
+            if (uuid != null) {
+                result.add(uuid);
+            }
+        }
+
+        return result;
+    }
+
+    @Nullable
+    public List<String> getTransmissionTypes() {
+        return transmissionTypes;
+    }
+
+    @Nullable
+    public List<UUID> getAllowedSenders() {
+        return allowedSenders;
+    }
+
+    @Nullable
+    public List<UUID> getDeniedSenders() {
+        return deniedSenders;
+    }
+
+    @Nullable
+    public List<byte[]> getPrefixes() {
+        return prefixes;
+    }
+}
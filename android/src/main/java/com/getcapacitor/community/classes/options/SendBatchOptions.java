@@ -0,0 +1,56 @@
+package com.getcapacitor.community.classes.options;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.PluginCall;
+import java.util.ArrayList;
+import java.util.List;
+import org.json.JSONObject;
+
+public class SendBatchOptions {
+
+    @Nullable
+    private List<JSObject> messages;
+
+    public SendBatchOptions(PluginCall call) {
+        @Nullable
+        JSArray messages = call.getArray("messages");
+        this.setMessages(messages);
+    }
+
+    private void setMessages(@Nullable JSArray messages) {
+        if (messages == null) {
+            this.messages = null;
+            return;
+        }
+
+        this.messages = new ArrayList<>(messages.length());
+
+        for (int i = 0; i < messages.length(); i++) {
+            @Nullable
+            JSONObject message = messages.optJSONObject(i);
+
+            this.messages.add(message != null ? toJSObject(message) : null);
+        }
+    }
+
+    @Nullable
+    private static JSObject toJSObject(@NonNull JSONObject message) {
+        try {
+            return JSObject.fromJSONObject(message);
+        } catch (Exception ignored) {
+            return null;
+        }
+    }
+
+    /**
+     * The raw entries of the batch, each one parsed into a {@link SendOptions} by the caller so that a malformed entry
+     * only fails itself. Entries that are not objects are returned as {@code null}.
+     */
+    @Nullable
+    public List<JSObject> getMessages() {
+        return messages;
+    }
+}
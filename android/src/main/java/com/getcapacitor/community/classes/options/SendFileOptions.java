@@ -0,0 +1,39 @@
+package com.getcapacitor.community.classes.options;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.getcapacitor.PluginCall;
+
+public class SendFileOptions {
+
+    @Nullable
+    private String uri;
+
+    @NonNull
+    private final SendOptions sendOptions;
+
+    public SendFileOptions(PluginCall call) {
+        @Nullable
+        String uri = call.getString("uri");
+        this.setURI(uri);
+
+        this.sendOptions = new SendOptions(call);
+    }
+
+    private void setURI(@Nullable String uri) {
+        this.uri = (uri == null || uri.isEmpty()) ? null : uri;
+    }
+
+    @Nullable
+    public String getURI() {
+        return uri;
+    }
+
+    /**
+     * @return the transmission mode, delivery and scheduling options, without data.
+     */
+    @NonNull
+    public SendOptions getSendOptions() {
+        return sendOptions;
+    }
+}
@@ -18,13 +18,26 @@ public class SendOptions {
     @Nullable
     private Pair<String, UUID> transmissionMode;
 
+    @Nullable
+    private Boolean awaitDelivery;
+
+    @Nullable
+    private Integer timeout;
+
+    @Nullable
+    private String priority;
+
     public SendOptions(PluginCall call) {
+        this(call.getData());
+    }
+
+    public SendOptions(@NonNull JSObject options) {
         @Nullable
-        String data = call.getString("data");
+        String data = options.getString("data");
         this.setData(data);
 
         @Nullable
-        JSObject transmissionMode = call.getObject("transmissionMode");
+        JSObject transmissionMode = options.getJSObject("transmissionMode");
         if (transmissionMode != null) {
             String type = transmissionMode.getString("type");
             String uuid = transmissionMode.getString("uuid");
@@ -32,6 +45,18 @@ public class SendOptions {
                 this.setTransmissionMode(type, makeUUID(uuid));
             }
         }
+
+        @Nullable
+        Boolean awaitDelivery = options.getBool("awaitDelivery");
+        this.setAwaitDelivery(awaitDelivery);
+
+        @Nullable
+        Integer timeout = options.getInteger("timeout");
+        this.setTimeout(timeout);
+
+        @Nullable
+        String priority = options.getString("priority");
+        this.setPriority(priority);
     }
 
     private void setData(@Nullable String data) {
@@ -42,6 +67,18 @@ public class SendOptions {
         this.transmissionMode = new Pair<>(type, uuid);
     }
 
+    private void setAwaitDelivery(@Nullable Boolean awaitDelivery) {
+        this.awaitDelivery = awaitDelivery;
+    }
+
+    private void setTimeout(@Nullable Integer timeout) {
+        this.timeout = (timeout == null || timeout <= 0) ? null : timeout;
+    }
+
+    private void setPriority(@Nullable String priority) {
+        this.priority = priority;
+    }
+
     @Nullable
     public byte[] getData() {
         return data;
@@ -51,4 +88,19 @@ public class SendOptions {
     public Pair<String, UUID> getTransmissionMode() {
         return transmissionMode;
     }
+
+    @Nullable
+    public Boolean getAwaitDelivery() {
+        return awaitDelivery;
+    }
+
+    @Nullable
+    public Integer getTimeout() {
+        return timeout;
+    }
+
+    @Nullable
+    public String getPriority() {
+        return priority;
+    }
 }
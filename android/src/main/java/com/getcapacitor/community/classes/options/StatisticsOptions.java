@@ -0,0 +1,25 @@
+package com.getcapacitor.community.classes.options;
+
+import androidx.annotation.Nullable;
+import com.getcapacitor.PluginCall;
+
+public class StatisticsOptions {
+
+    @Nullable
+    private Boolean reset;
+
+    public StatisticsOptions(PluginCall call) {
+        @Nullable
+        Boolean reset = call.getBoolean("reset");
+        this.setReset(reset);
+    }
+
+    private void setReset(@Nullable Boolean reset) {
+        this.reset = reset;
+    }
+
+    @Nullable
+    public Boolean getReset() {
+        return reset;
+    }
+}
@@ -0,0 +1,67 @@
+package com.getcapacitor.community.classes.results;
+
+import com.getcapacitor.JSObject;
+import com.getcapacitor.community.interfaces.Result;
+
+public class CompressionStatisticsResult implements Result {
+
+    private final long compressedMessages;
+    private final long skippedMessages;
+    private final long ineffectiveMessages;
+    private final long ineffectiveTime;
+    private final long uncompressedBytes;
+    private final long compressedBytes;
+    private final long compressTime;
+    private final long decompressedMessages;
+    private final long decompressTime;
+
+    public CompressionStatisticsResult(
+        long compressedMessages,
+        long skippedMessages,
+        long ineffectiveMessages,
+        long ineffectiveTime,
+        long uncompressedBytes,
+        long compressedBytes,
+        long compressTime,
+        long decompressedMessages,
+        long decompressTime
+    ) {
+        this.compressedMessages = compressedMessages;
+        this.skippedMessages = skippedMessages;
+        this.ineffectiveMessages = ineffectiveMessages;
+        this.ineffectiveTime = ineffectiveTime;
+        this.uncompressedBytes = uncompressedBytes;
+        this.compressedBytes = compressedBytes;
+        this.compressTime = compressTime;
+        this.decompressedMessages = decompressedMessages;
+        this.decompressTime = decompressTime;
+    }
+
+    @Override
+    public JSObject toJSObject() {
+        JSObject result = new JSObject();
+
+        result.put("compressedMessages", compressedMessages);
+        result.put("skippedMessages", skippedMessages);
+        result.put("ineffectiveMessages", ineffectiveMessages);
+        result.put("ineffectiveCompressTime", ineffectiveTime / 1000);
+        result.put("uncompressedBytes", uncompressedBytes);
+        result.put("compressedBytes", compressedBytes);
+
+        if (compressedBytes > 0) {
+            result.put("compressionRatio", (double) uncompressedBytes / compressedBytes);
+        }
+
+        if (compressedMessages > 0) {
+            result.put("averageCompressTime", compressTime / compressedMessages / 1000);
+        }
+
+        result.put("decompressedMessages", decompressedMessages);
+
+        if (decompressedMessages > 0) {
+            result.put("averageDecompressTime", decompressTime / decompressedMessages / 1000);
+        }
+
+        return result;
+    }
+}
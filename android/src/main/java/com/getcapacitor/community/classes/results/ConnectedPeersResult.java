@@ -10,8 +10,19 @@ public class ConnectedPeersResult implements Result {
 
     private final List<UUID> peers;
 
-    public ConnectedPeersResult(List<UUID> peers) {
+    private final long version;
+
+    public ConnectedPeersResult(List<UUID> peers, long version) {
         this.peers = peers;
+        this.version = version;
+    }
+
+    public List<UUID> getPeers() {
+        return peers;
+    }
+
+    public long getVersion() {
+        return version;
     }
 
     @Override
@@ -28,6 +39,8 @@ public class ConnectedPeersResult implements Result {
             result.put("peers", jsPeers);
         }
 
+        result.put("version", version);
+
         return result;
     }
 }
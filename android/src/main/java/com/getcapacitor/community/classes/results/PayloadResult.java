@@ -0,0 +1,25 @@
+package com.getcapacitor.community.classes.results;
+
+import android.util.Base64;
+import androidx.annotation.NonNull;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.community.interfaces.Result;
+
+public class PayloadResult implements Result {
+
+    @NonNull
+    private final byte[] data;
+
+    public PayloadResult(@NonNull byte[] data) {
+        this.data = data;
+    }
+
+    @Override
+    public JSObject toJSObject() {
+        JSObject result = new JSObject();
+
+        result.put("data", Base64.encodeToString(data, Base64.NO_WRAP));
+
+        return result;
+    }
+}
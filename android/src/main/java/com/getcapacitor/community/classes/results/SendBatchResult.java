@@ -0,0 +1,47 @@
+package com.getcapacitor.community.classes.results;
+
+import androidx.annotation.NonNull;
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.community.interfaces.Result;
+import java.util.UUID;
+
+public class SendBatchResult implements Result {
+
+    private final JSObject[] results;
+
+    public SendBatchResult(int size) {
+        this.results = new JSObject[size];
+    }
+
+    public void setMessageID(int index, @NonNull UUID messageID) {
+        JSObject result = new JSObject();
+
+        result.put("messageID", messageID);
+
+        results[index] = result;
+    }
+
+    public void setError(int index, @NonNull String error) {
+        JSObject result = new JSObject();
+
+        result.put("error", error);
+
+        results[index] = result;
+    }
+
+    @Override
+    public JSObject toJSObject() {
+        JSObject result = new JSObject();
+
+        JSArray jsResults = new JSArray();
+
+        for (JSObject entry : results) {
+            jsResults.put(entry);
+        }
+
+        result.put("results", jsResults);
+
+        return result;
+    }
+}
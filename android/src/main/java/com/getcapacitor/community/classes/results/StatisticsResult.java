@@ -0,0 +1,80 @@
+package com.getcapacitor.community.classes.results;
+
+import com.getcapacitor.JSObject;
+import com.getcapacitor.community.interfaces.Result;
+
+public class StatisticsResult implements Result {
+
+    private final JSObject sent;
+    private final JSObject received;
+    private final JSObject wireSent;
+    private final JSObject wireReceived;
+    private final JSObject failures;
+    private final JSObject sendLatency;
+    private final JSObject sdkSendTime;
+    private final JSObject receiveBuildTime;
+    private final JSObject notifyTime;
+    private final int sendQueueDepth;
+    private final int messagesInFlight;
+    private final int dispatchQueueDepth;
+    private final long droppedEvents;
+    private final long duplicates;
+    private final CompressionStatisticsResult compression;
+
+    public StatisticsResult(
+        JSObject sent,
+        JSObject received,
+        JSObject wireSent,
+        JSObject wireReceived,
+        JSObject failures,
+        JSObject sendLatency,
+        JSObject sdkSendTime,
+        JSObject receiveBuildTime,
+        JSObject notifyTime,
+        int sendQueueDepth,
+        int messagesInFlight,
+        int dispatchQueueDepth,
+        long droppedEvents,
+        long duplicates,
+        CompressionStatisticsResult compression
+    ) {
+        this.sent = sent;
+        this.received = received;
+        this.wireSent = wireSent;
+        this.wireReceived = wireReceived;
+        this.failures = failures;
+        this.sendLatency = sendLatency;
+        this.sdkSendTime = sdkSendTime;
+        this.receiveBuildTime = receiveBuildTime;
+        this.notifyTime = notifyTime;
+        this.sendQueueDepth = sendQueueDepth;
+        this.messagesInFlight = messagesInFlight;
+        this.dispatchQueueDepth = dispatchQueueDepth;
+        this.droppedEvents = droppedEvents;
+        this.duplicates = duplicates;
+        this.compression = compression;
+    }
+
+    @Override
+    public JSObject toJSObject() {
+        JSObject result = new JSObject();
+
+        result.put("sent", sent);
+        result.put("received", received);
+        result.put("wireSent", wireSent);
+        result.put("wireReceived", wireReceived);
+        result.put("failures", failures);
+        result.put("sendLatency", sendLatency);
+        result.put("sdkSendTime", sdkSendTime);
+        result.put("receiveBuildTime", receiveBuildTime);
+        result.put("notifyTime", notifyTime);
+        result.put("sendQueueDepth", sendQueueDepth);
+        result.put("messagesInFlight", messagesInFlight);
+        result.put("dispatchQueueDepth", dispatchQueueDepth);
+        result.put("droppedEvents", droppedEvents);
+        result.put("duplicates", duplicates);
+        result.put("compression", compression.toJSObject());
+
+        return result;
+    }
+}
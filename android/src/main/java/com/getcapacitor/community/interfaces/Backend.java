@@ -0,0 +1,92 @@
+package com.getcapacitor.community.interfaces;
+
+import android.util.Pair;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.getcapacitor.community.BridgefyController.Reason;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The part of the SDK the controller uses, so that it can run on the SDK as well as on a simulated mesh.
+ * <p>
+ * Transmission modes are pairs of type and UUID, errors are reasons, as they are reported to the web view.
+ */
+public interface Backend {
+    interface Delegate {
+        // Initialization Listeners
+
+        void onStarted(@NonNull UUID userID);
+
+        void onFailToStart(@NonNull Reason reason);
+
+        void onStopped();
+
+        void onFailToStop(@NonNull Reason reason);
+
+        void onDestroySession();
+
+        void onFailToDestroySession(@NonNull Reason reason);
+
+        // Connectivity Listeners
+
+        void onConnected(@NonNull UUID peerID);
+
+        void onDisconnected(@NonNull UUID peerID);
+
+        void onConnectedPeers(@NonNull List<UUID> connectedPeers);
+
+        void onEstablishSecureConnection(@NonNull UUID userID);
+
+        void onFailToEstablishSecureConnection(@NonNull UUID userID, @NonNull Reason reason);
+
+        // Transmission Listeners
+
+        void onSend(@NonNull UUID messageID);
+
+        void onFailToSend(@NonNull UUID messageID, @NonNull Reason reason);
+
+        void onProgressOfSend(@NonNull UUID messageID, int position, int of);
+
+        void onReceiveData(@NonNull byte[] data, @NonNull UUID messageID, @Nullable Pair<String, UUID> transmissionMode);
+    }
+
+    void init(@NonNull UUID apiKey, @NonNull Delegate delegate, @Nullable Boolean verboseLogging);
+
+    boolean isInitialized();
+
+    void start(@Nullable UUID userID, @Nullable String propagationProfile);
+
+    boolean isStarted();
+
+    void stop();
+
+    void destroySession();
+
+    @Nullable
+    Date licenseExpirationDate();
+
+    void updateLicense();
+
+    @Nullable
+    UUID currentUserId();
+
+    @NonNull
+    List<UUID> connectedPeers();
+
+    void establishSecureConnection(@NonNull UUID userID);
+
+    @Nullable
+    byte[] fingerprint(@NonNull UUID userID);
+
+    boolean isFingerprintValid(@NonNull UUID userID, @NonNull byte[] fingerprint);
+
+    /**
+     * @return the message ID, the outcome is reported to the delegate.
+     */
+    @NonNull
+    UUID send(@NonNull byte[] data, @NonNull Pair<String, UUID> transmissionMode) throws Exception;
+
+    void release();
+}
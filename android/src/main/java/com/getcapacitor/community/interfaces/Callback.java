@@ -2,6 +2,7 @@ package com.getcapacitor.community.interfaces;
 
 import androidx.annotation.NonNull;
 import com.getcapacitor.PluginCall;
+import com.getcapacitor.community.BridgefyController.Reason;
 
 public abstract class Callback {
 
@@ -33,4 +34,13 @@ public abstract class Callback {
 
         call.reject(message, exception);
     }
+
+    public void error(@NonNull Reason reason) {
+        String message = reason.message();
+        if (message == null) {
+            message = reason.type();
+        }
+
+        call.reject(message, reason.type());
+    }
 }
@@ -0,0 +1,17 @@
+package com.getcapacitor.community.interfaces;
+
+import androidx.annotation.NonNull;
+import java.io.IOException;
+
+public interface Codec {
+    /**
+     * The byte prefixed to payloads compressed by this codec.
+     */
+    byte getHeader();
+
+    @NonNull
+    byte[] compress(@NonNull byte[] data) throws IOException;
+
+    @NonNull
+    byte[] decompress(@NonNull byte[] data, int offset, int length, int maxLength) throws IOException;
+}
@@ -0,0 +1,213 @@
+package com.getcapacitor.community;
+
+import static org.junit.Assert.*;
+
+import androidx.annotation.NonNull;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class AdaptiveProfileTest {
+
+    private static final long WINDOW = 60000;
+    private static final long MIN_DWELL = 1000;
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final BlockingQueue<String> restarts = new LinkedBlockingQueue<>();
+
+    private ScheduledExecutorService executor;
+
+    private AdaptiveProfile profile;
+
+    @Before
+    public void setUp() throws Exception {
+        JSONObject options = new JSONObject();
+        options.put("window", WINDOW);
+        options.put("minDwell", MIN_DWELL);
+        options.put("highDensityEnter", 3);
+        options.put("highDensityLeave", 2);
+        options.put("sparseEnter", 0);
+        options.put("sparseLeave", 1);
+
+        executor = Executors.newSingleThreadScheduledExecutor();
+
+        profile = new AdaptiveProfile(
+            options,
+            new AdaptiveProfile.Restart() {
+                @Override
+                public void stop() {
+                    restarts.add("stop");
+                }
+
+                @Override
+                public void start(@NonNull String propagationProfile) {
+                    restarts.add(propagationProfile);
+                }
+            },
+            now::get,
+            executor
+        );
+    }
+
+    @After
+    public void tearDown() {
+        profile.release();
+    }
+
+    private void advance(long milliseconds) {
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(milliseconds));
+    }
+
+    /**
+     * @return the restart step taken since the last call, once the steps queued so far have run.
+     */
+    private String next() throws Exception {
+        executor.submit(() -> {}).get(5, TimeUnit.SECONDS);
+
+        return restarts.poll();
+    }
+
+    /**
+     * Connects three peers, which enters the high density profile.
+     */
+    private void restartToHighDensity(UUID... peers) throws Exception {
+        for (UUID peerID : peers) {
+            profile.onConnected(peerID);
+        }
+
+        assertEquals("stop", next());
+
+        assertTrue(profile.onStopped());
+        assertEquals("highDensityNetwork", next());
+
+        assertTrue(profile.onStarted());
+        assertFalse(profile.onStarted());
+    }
+
+    @Test
+    public void onConnected_restartsWithDenserProfile() throws Exception {
+        assertEquals("standard", profile.start());
+
+        advance(MIN_DWELL);
+
+        profile.onConnected(UUID.randomUUID());
+        profile.onConnected(UUID.randomUUID());
+
+        assertNull(next());
+
+        restartToHighDensity(UUID.randomUUID());
+    }
+
+    @Test
+    public void onDisconnected_leavesProfileBelowItsLeaveDensity() throws Exception {
+        profile.start();
+
+        advance(MIN_DWELL);
+
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+
+        restartToHighDensity(first, second, third);
+
+        // Two peers are below the density to enter, but not below the one to leave.
+        profile.onDisconnected(third);
+        advance(WINDOW + 1);
+        profile.onConnected(first);
+
+        assertNull(next());
+
+        profile.onDisconnected(second);
+        advance(WINDOW + 1);
+        profile.onConnected(first);
+
+        assertEquals("stop", next());
+
+        assertTrue(profile.onStopped());
+        assertEquals("standard", next());
+    }
+
+    @Test
+    public void onConnected_waitsForMinimumDwell() throws Exception {
+        profile.start();
+
+        profile.onConnected(UUID.randomUUID());
+        profile.onConnected(UUID.randomUUID());
+        profile.onConnected(UUID.randomUUID());
+
+        assertNull(next());
+
+        advance(MIN_DWELL);
+        profile.onConnected(UUID.randomUUID());
+
+        assertEquals("stop", next());
+    }
+
+    @Test
+    public void onFailToStop_keepsAdapting() throws Exception {
+        profile.start();
+
+        advance(MIN_DWELL);
+
+        UUID peerID = UUID.randomUUID();
+        profile.onConnected(peerID);
+        profile.onConnected(UUID.randomUUID());
+        profile.onConnected(UUID.randomUUID());
+
+        assertEquals("stop", next());
+
+        profile.onFailToStop();
+
+        // The SDK still runs with the previous profile, which is switched from once the minimum time has passed.
+        profile.onConnected(peerID);
+
+        assertNull(next());
+
+        advance(MIN_DWELL);
+        profile.onConnected(peerID);
+
+        assertEquals("stop", next());
+
+        assertTrue(profile.onStopped());
+        assertEquals("highDensityNetwork", next());
+    }
+
+    @Test
+    public void onFailToStart_stopsAdapting() throws Exception {
+        profile.start();
+
+        advance(MIN_DWELL);
+
+        UUID peerID = UUID.randomUUID();
+        profile.onConnected(peerID);
+        profile.onConnected(UUID.randomUUID());
+        profile.onConnected(UUID.randomUUID());
+
+        assertEquals("stop", next());
+
+        assertTrue(profile.onStopped());
+        assertEquals("highDensityNetwork", next());
+
+        profile.onFailToStart();
+
+        advance(WINDOW + 1);
+        profile.onConnected(peerID);
+
+        assertNull(next());
+
+        // A later stop is reported as such.
+        assertFalse(profile.onStopped());
+    }
+}
@@ -0,0 +1,288 @@
+package com.getcapacitor.community;
+
+import static org.junit.Assert.*;
+
+import android.util.Pair;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.getcapacitor.community.BridgefyController.Reason;
+import com.getcapacitor.community.BridgefyController.ReasonType;
+import com.getcapacitor.community.BridgefyController.State;
+import com.getcapacitor.community.interfaces.Backend;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BridgefyControllerTest {
+
+    private static final String STANDARD = "standard";
+
+    private static final long TIMEOUT = 5;
+
+    /**
+     * Drops the events instead of handing them over to the bridge.
+     */
+    private static class TestPlugin extends BridgefyPlugin {
+
+        @Override
+        protected void dispatchEvent(Runnable event) {}
+    }
+
+    /**
+     * Counts the lifecycle calls, whose outcomes are reported by the test through the delegate.
+     */
+    private static class FakeBackend implements Backend {
+
+        final AtomicInteger starts = new AtomicInteger();
+        final AtomicInteger stops = new AtomicInteger();
+
+        volatile boolean isStarted = false;
+
+        Delegate delegate;
+
+        @Override
+        public void init(@NonNull UUID apiKey, @NonNull Delegate delegate, @Nullable Boolean verboseLogging) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean isInitialized() {
+            return delegate != null;
+        }
+
+        @Override
+        public void start(@Nullable UUID userID, @Nullable String propagationProfile) {
+            starts.incrementAndGet();
+        }
+
+        @Override
+        public boolean isStarted() {
+            return isStarted;
+        }
+
+        @Override
+        public void stop() {
+            stops.incrementAndGet();
+        }
+
+        @Override
+        public void destroySession() {}
+
+        @Nullable
+        @Override
+        public Date licenseExpirationDate() {
+            return null;
+        }
+
+        @Override
+        public void updateLicense() {}
+
+        @Nullable
+        @Override
+        public UUID currentUserId() {
+            return null;
+        }
+
+        @NonNull
+        @Override
+        public List<UUID> connectedPeers() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public void establishSecureConnection(@NonNull UUID userID) {}
+
+        @Nullable
+        @Override
+        public byte[] fingerprint(@NonNull UUID userID) {
+            return null;
+        }
+
+        @Override
+        public boolean isFingerprintValid(@NonNull UUID userID, @NonNull byte[] fingerprint) {
+            return false;
+        }
+
+        @NonNull
+        @Override
+        public UUID send(@NonNull byte[] data, @NonNull Pair<String, UUID> transmissionMode) {
+            return UUID.randomUUID();
+        }
+
+        @Override
+        public void release() {}
+
+        void onStarted() {
+            isStarted = true;
+            delegate.onStarted(UUID.randomUUID());
+        }
+
+        void onStopped() {
+            isStarted = false;
+            delegate.onStopped();
+        }
+    }
+
+    private static class Outcome implements BridgefyController.Completion {
+
+        private final CountDownLatch done = new CountDownLatch(1);
+
+        @Nullable
+        private volatile Reason reason;
+
+        @Override
+        public void complete(@Nullable Reason reason) {
+            this.reason = reason;
+            done.countDown();
+        }
+
+        boolean isDone() {
+            return done.getCount() == 0;
+        }
+
+        @Nullable
+        Reason await() throws InterruptedException {
+            assertTrue(done.await(TIMEOUT, TimeUnit.SECONDS));
+
+            return reason;
+        }
+    }
+
+    private FakeBackend backend;
+
+    private BridgefyController controller;
+
+    @Before
+    public void setUp() {
+        backend = new FakeBackend();
+
+        controller = new BridgefyController(new TestPlugin(), backend);
+        controller.initialize(UUID.randomUUID(), false);
+    }
+
+    @After
+    public void tearDown() {
+        controller.release();
+    }
+
+    @Test
+    public void start_mergesDuplicateCall() throws Exception {
+        UUID userID = UUID.randomUUID();
+
+        Outcome first = new Outcome();
+        Outcome second = new Outcome();
+
+        controller.start(userID, STANDARD, first);
+        controller.start(userID, STANDARD, second);
+
+        assertEquals(1, backend.starts.get());
+
+        backend.onStarted();
+
+        assertNull(first.await());
+        assertNull(second.await());
+        assertEquals(State.STARTED, controller.state());
+    }
+
+    @Test
+    public void start_withOtherArgumentsReportsAlreadyStarted() throws Exception {
+        Outcome started = new Outcome();
+
+        controller.start(null, STANDARD, started);
+        backend.onStarted();
+
+        assertNull(started.await());
+
+        Outcome restarted = new Outcome();
+        controller.start(null, "highDensityNetwork", restarted);
+
+        Reason reason = restarted.await();
+
+        assertNotNull(reason);
+        assertEquals(ReasonType.ALREADY_STARTED, reason.type());
+        assertEquals(1, backend.starts.get());
+
+        // The same arguments have the outcome they were called for.
+        Outcome repeated = new Outcome();
+        controller.start(null, STANDARD, repeated);
+
+        assertNull(repeated.await());
+        assertEquals(1, backend.starts.get());
+    }
+
+    @Test
+    public void stop_isQueuedBehindStart() throws Exception {
+        Outcome started = new Outcome();
+        Outcome stopped = new Outcome();
+
+        controller.start(null, STANDARD, started);
+        controller.stop(stopped);
+
+        assertEquals(State.STARTING, controller.state());
+        assertEquals(0, backend.stops.get());
+
+        backend.onStarted();
+
+        assertNull(started.await());
+        assertEquals(1, backend.stops.get());
+        assertFalse(stopped.isDone());
+
+        backend.onStopped();
+
+        assertNull(stopped.await());
+        assertEquals(State.STOPPED, controller.state());
+    }
+
+    @Test
+    public void onFailToStop_returnsToReportedState() throws Exception {
+        controller.start(null, STANDARD, null);
+        backend.onStarted();
+
+        Outcome stopped = new Outcome();
+        controller.stop(stopped);
+
+        assertEquals(State.STOPPING, controller.state());
+
+        backend.delegate.onFailToStop(new Reason(ReasonType.GENERIC, "failed", null));
+
+        Reason reason = stopped.await();
+
+        assertNotNull(reason);
+        assertEquals(ReasonType.GENERIC, reason.type());
+        assertEquals(State.STARTED, controller.state());
+    }
+
+    @Test
+    public void timeout_settlesPendingCall() throws Exception {
+        controller.release();
+
+        controller = new BridgefyController(new TestPlugin(), backend, 100);
+        controller.initialize(UUID.randomUUID(), false);
+
+        Outcome started = new Outcome();
+        controller.start(null, STANDARD, started);
+
+        Reason reason = started.await();
+
+        assertNotNull(reason);
+        assertEquals(ReasonType.GENERIC, reason.type());
+        assertEquals(State.STOPPED, controller.state());
+
+        // The next call is not held up behind it.
+        Outcome restarted = new Outcome();
+        controller.start(null, STANDARD, restarted);
+
+        assertEquals(2, backend.starts.get());
+
+        backend.onStarted();
+
+        assertNull(restarted.await());
+    }
+}
@@ -0,0 +1,556 @@
+package com.getcapacitor.community;
+
+import static org.junit.Assert.*;
+
+import android.content.Context;
+import android.util.Base64;
+import android.util.Pair;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.community.BridgefyController.Reason;
+import com.getcapacitor.community.classes.options.InitializeOptions;
+import com.getcapacitor.community.classes.options.SendBatchOptions;
+import com.getcapacitor.community.classes.options.SendOptions;
+import com.getcapacitor.community.classes.options.StartOptions;
+import com.getcapacitor.community.interfaces.Backend;
+import com.getcapacitor.community.interfaces.Callback;
+import com.getcapacitor.community.interfaces.Result;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+/**
+ * Runs the plugin end to end on a simulated mesh, from its methods down to the backend and back up to its events.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class BridgefyTest {
+
+    private static final String API_KEY = "2d0ec5a2-1c2b-4a3f-9d1e-3b5a7f6c8e90";
+
+    private static final long TIMEOUT = 5;
+
+    private static final long SEED = 42;
+
+    // Per link, in milliseconds and bytes per second.
+    private static final int LATENCY = 10;
+    private static final int BANDWIDTH = 10000;
+
+    /**
+     * Keeps the events instead of handing them over to the bridge.
+     */
+    private static class TestPlugin extends BridgefyPlugin {
+
+        final BlockingQueue<Pair<String, JSObject>> events = new LinkedBlockingQueue<>();
+
+        @Override
+        public Context getContext() {
+            return RuntimeEnvironment.getApplication();
+        }
+
+        @Override
+        protected void notifyListeners(String eventName, JSObject data) {
+            events.add(new Pair<>(eventName, data));
+        }
+
+        void listen(@NonNull String eventName) {
+            JSObject data = new JSObject();
+            data.put("eventName", eventName);
+
+            addListener(call(data));
+        }
+
+        @NonNull
+        JSObject await(@NonNull String eventName) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT);
+
+            while (true) {
+                Pair<String, JSObject> event = events.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+
+                assertNotNull("no " + eventName + " event", event);
+
+                if (eventName.equals(event.first)) {
+                    return event.second;
+                }
+            }
+        }
+    }
+
+    private static class TestCallback extends Callback {
+
+        private final CountDownLatch done = new CountDownLatch(1);
+
+        @Nullable
+        private JSObject result;
+
+        @Nullable
+        private String error;
+
+        TestCallback() {
+            super(null);
+        }
+
+        @Override
+        public void success() {
+            done.countDown();
+        }
+
+        @Override
+        public void success(@NonNull Result result) {
+            this.result = result.toJSObject();
+            done.countDown();
+        }
+
+        @Override
+        public void error(Exception exception) {
+            error = exception.getMessage();
+            done.countDown();
+        }
+
+        @Override
+        public void error(@NonNull Reason reason) {
+            error = reason.type();
+            done.countDown();
+        }
+
+        boolean isDone() {
+            return done.getCount() == 0;
+        }
+
+        @Nullable
+        JSObject await() throws InterruptedException {
+            assertTrue(done.await(TIMEOUT, TimeUnit.SECONDS));
+            assertNull(error, error);
+
+            return result;
+        }
+    }
+
+    /**
+     * Records the payloads a simulated node receives, with the virtual time they arrive at.
+     */
+    private class Receiver implements Backend.Delegate {
+
+        final Map<String, Long> arrivals = new HashMap<>();
+
+        int length = 0;
+
+        @Override
+        public void onStarted(@NonNull UUID userID) {}
+
+        @Override
+        public void onFailToStart(@NonNull Reason reason) {}
+
+        @Override
+        public void onStopped() {}
+
+        @Override
+        public void onFailToStop(@NonNull Reason reason) {}
+
+        @Override
+        public void onDestroySession() {}
+
+        @Override
+        public void onFailToDestroySession(@NonNull Reason reason) {}
+
+        @Override
+        public void onConnected(@NonNull UUID peerID) {}
+
+        @Override
+        public void onDisconnected(@NonNull UUID peerID) {}
+
+        @Override
+        public void onConnectedPeers(@NonNull List<UUID> connectedPeers) {}
+
+        @Override
+        public void onEstablishSecureConnection(@NonNull UUID userID) {}
+
+        @Override
+        public void onFailToEstablishSecureConnection(@NonNull UUID userID, @NonNull Reason reason) {}
+
+        @Override
+        public void onSend(@NonNull UUID messageID) {}
+
+        @Override
+        public void onFailToSend(@NonNull UUID messageID, @NonNull Reason reason) {}
+
+        @Override
+        public void onProgressOfSend(@NonNull UUID messageID, int position, int of) {}
+
+        @Override
+        public void onReceiveData(@NonNull byte[] data, @NonNull UUID messageID, @Nullable Pair<String, UUID> transmissionMode) {
+            arrivals.put(new String(data, StandardCharsets.UTF_8), simulator.nanoTime());
+            length = data.length;
+        }
+    }
+
+    private TestPlugin plugin;
+
+    private Bridgefy bridgefy;
+
+    @Nullable
+    private MeshSimulator simulator;
+
+    // The messages the plugin has handed over to the simulated mesh.
+    private final AtomicInteger dispatched = new AtomicInteger();
+
+    @NonNull
+    private static PluginCall call(@NonNull JSObject data) {
+        return new PluginCall(null, "Bridgefy", "0", "test", data);
+    }
+
+    /**
+     * @return the node of a mesh with a virtual peer sending the messages back, which follows the wall clock.
+     */
+    @NonNull
+    private static Backend echo() throws Exception {
+        JSONObject options = new JSONObject();
+        options.put("nodes", 2);
+        options.put("latency", 5);
+        options.put("echo", true);
+
+        return MeshSimulator.create(options);
+    }
+
+    /**
+     * Links the nodes on a virtual clock, which only moves forward when the test runs the simulation. The node to
+     * run the plugin on comes first, the receiver is started on the one at the given position, and the others relay.
+     *
+     * @return the user ID of the receiver.
+     */
+    @NonNull
+    private UUID mesh(int count, @NonNull String topology, @NonNull MeshSimulator.Link link, @NonNull Receiver receiver, int position)
+        throws Exception {
+        simulator = new MeshSimulator(SEED, 0);
+
+        List<MeshSimulator.Node> nodes = new ArrayList<>();
+
+        nodes.add(
+            new MeshSimulator.Node(simulator) {
+                @NonNull
+                @Override
+                public UUID send(@NonNull byte[] data, @NonNull Pair<String, UUID> transmissionMode) throws Exception {
+                    UUID messageID = super.send(data, transmissionMode);
+                    dispatched.incrementAndGet();
+                    return messageID;
+                }
+            }
+        );
+
+        for (int i = 1; i < count; i++) {
+            nodes.add(simulator.addNode());
+        }
+
+        simulator.connect(nodes, topology, link);
+
+        UUID userID = UUID.randomUUID();
+
+        for (MeshSimulator.Node node : nodes.subList(1, count)) {
+            boolean isReceiver = node == nodes.get(position);
+
+            node.init(UUID.randomUUID(), isReceiver ? receiver : new Receiver(), null);
+            node.start(isReceiver ? userID : null, null);
+        }
+
+        load(nodes.get(0));
+
+        TestCallback started = new TestCallback();
+        bridgefy.start(new StartOptions(call(new JSObject())), started);
+        run(started);
+
+        return userID;
+    }
+
+    private void load(@NonNull Backend backend) throws Exception {
+        plugin = new TestPlugin();
+        plugin.load(new BridgefyConfig(null, API_KEY, false, null), backend);
+
+        plugin.listen(BridgefyPlugin.STARTED_EVENT);
+        plugin.listen(BridgefyPlugin.CONNECTED_EVENT);
+        plugin.listen(BridgefyPlugin.SEND_EVENT);
+        plugin.listen(BridgefyPlugin.RECEIVE_EVENT);
+
+        bridgefy = plugin.getImplementation();
+
+        TestCallback initialized = new TestCallback();
+        bridgefy.initialize(new InitializeOptions(call(new JSObject())), initialized);
+        initialized.await();
+    }
+
+    @After
+    public void tearDown() {
+        if (plugin != null) {
+            plugin.handleOnDestroy();
+        }
+    }
+
+    /**
+     * Runs the simulation until the call has completed, as the plugin calls the backend on threads of its own.
+     */
+    private void run(@NonNull TestCallback callback) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT);
+
+        while (!callback.isDone() && System.nanoTime() < deadline) {
+            simulator.runUntilIdle();
+            Thread.sleep(1);
+        }
+
+        callback.await();
+    }
+
+    /**
+     * Waits until the plugin has handed over as many messages to the simulated mesh, which the virtual clock does not
+     * move for.
+     */
+    private void awaitDispatched(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT);
+
+        while (dispatched.get() < count && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+
+        assertEquals(count, dispatched.get());
+    }
+
+    @NonNull
+    private TestCallback send(@NonNull String payload, @NonNull UUID receiver) {
+        JSObject transmissionMode = new JSObject();
+        transmissionMode.put("type", "mesh");
+        transmissionMode.put("uuid", receiver.toString());
+
+        JSObject options = new JSObject();
+        options.put("data", Base64.encodeToString(payload.getBytes(StandardCharsets.UTF_8), Base64.NO_WRAP));
+        options.put("transmissionMode", transmissionMode);
+
+        TestCallback sent = new TestCallback();
+        bridgefy.send(new SendOptions(options), sent);
+
+        return sent;
+    }
+
+    @NonNull
+    private static String payload(int index, int length) {
+        StringBuilder builder = new StringBuilder(String.format("%04d", index));
+
+        while (builder.length() < length) {
+            builder.append('.');
+        }
+
+        return builder.toString();
+    }
+
+    @Test
+    public void start_connectsToSimulatedPeer() throws Exception {
+        load(echo());
+
+        TestCallback started = new TestCallback();
+        bridgefy.start(new StartOptions(call(new JSObject())), started);
+        started.await();
+
+        assertNotNull(plugin.await(BridgefyPlugin.STARTED_EVENT).getString("userID"));
+        assertNotNull(plugin.await(BridgefyPlugin.CONNECTED_EVENT).getString("peerID"));
+    }
+
+    @Test
+    public void send_isEchoedBackBySimulatedPeer() throws Exception {
+        load(echo());
+
+        TestCallback started = new TestCallback();
+        bridgefy.start(new StartOptions(call(new JSObject())), started);
+        started.await();
+
+        String peerID = plugin.await(BridgefyPlugin.CONNECTED_EVENT).getString("peerID");
+
+        String data = Base64.encodeToString("hello".getBytes(StandardCharsets.UTF_8), Base64.NO_WRAP);
+
+        JSObject transmissionMode = new JSObject();
+        transmissionMode.put("type", "p2p");
+        transmissionMode.put("uuid", peerID);
+
+        JSObject options = new JSObject();
+        options.put("data", data);
+        options.put("transmissionMode", transmissionMode);
+
+        TestCallback sent = new TestCallback();
+        bridgefy.send(new SendOptions(options), sent);
+
+        JSObject result = sent.await();
+
+        assertNotNull(result);
+        assertEquals(result.getString("messageID"), plugin.await(BridgefyPlugin.SEND_EVENT).getString("messageID"));
+
+        JSObject received = plugin.await(BridgefyPlugin.RECEIVE_EVENT);
+
+        assertEquals(data, received.getString("data"));
+        assertEquals(peerID, received.getJSObject("transmissionMode").getString("uuid"));
+    }
+
+    @Test
+    public void sendBatch_settlesEachEntryOnItsOwn() throws Exception {
+        load(echo());
+
+        TestCallback started = new TestCallback();
+        bridgefy.start(new StartOptions(call(new JSObject())), started);
+        started.await();
+
+        String peerID = plugin.await(BridgefyPlugin.CONNECTED_EVENT).getString("peerID");
+
+        JSObject transmissionMode = new JSObject();
+        transmissionMode.put("type", "p2p");
+        transmissionMode.put("uuid", peerID);
+
+        JSObject message = new JSObject();
+        message.put("data", Base64.encodeToString("hello".getBytes(StandardCharsets.UTF_8), Base64.NO_WRAP));
+        message.put("transmissionMode", transmissionMode);
+
+        JSObject missingPayload = new JSObject();
+        missingPayload.put("transmissionMode", transmissionMode);
+
+        JSArray messages = new JSArray();
+        messages.put(message);
+        messages.put(missingPayload);
+        messages.put("not a message");
+
+        JSObject options = new JSObject();
+        options.put("messages", messages);
+
+        TestCallback sent = new TestCallback();
+        bridgefy.sendBatch(new SendBatchOptions(call(options)), sent);
+
+        JSObject result = sent.await();
+
+        assertNotNull(result);
+
+        JSONArray results = result.getJSONArray("results");
+
+        assertEquals(3, results.length());
+
+        // The valid entry is sent although the ones after it fail.
+        String messageID = results.getJSONObject(0).getString("messageID");
+
+        assertEquals(messageID, plugin.await(BridgefyPlugin.SEND_EVENT).getString("messageID"));
+        assertEquals("missing payload", results.getJSONObject(1).getString("error"));
+        assertEquals("missing payload", results.getJSONObject(2).getString("error"));
+    }
+
+    @Test
+    public void send_isRelayedAlongLineWithinVirtualTime() throws Exception {
+        final int count = 8;
+
+        Receiver receiver = new Receiver();
+        UUID userID = mesh(4, MeshSimulator.LINE, new MeshSimulator.Link(LATENCY, 0, BANDWIDTH), receiver, 3);
+
+        long sentAt = simulator.nanoTime();
+
+        List<TestCallback> calls = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            calls.add(send(payload(i, 1000), userID));
+        }
+
+        awaitDispatched(count);
+
+        simulator.runUntilIdle();
+
+        for (TestCallback call : calls) {
+            call.await();
+        }
+
+        assertEquals(count, receiver.arrivals.size());
+
+        long transmission = receiver.length * TimeUnit.SECONDS.toNanos(1) / BANDWIDTH;
+        long latency = TimeUnit.MILLISECONDS.toNanos(LATENCY);
+
+        // Each of the three hops takes the transmission of the message and the latency of the link.
+        assertEquals(3 * (transmission + latency), receiver.arrivals.get(payload(0, 1000)) - sentAt);
+
+        // The messages queue up on the first link, and are relayed along the others as they arrive.
+        long elapsed = receiver.arrivals.get(payload(count - 1, 1000)) - sentAt;
+
+        assertEquals((count + 2) * transmission + 3 * latency, elapsed);
+
+        double throughput = (double) count * receiver.length * TimeUnit.SECONDS.toNanos(1) / elapsed;
+
+        assertTrue(throughput <= BANDWIDTH);
+        assertTrue(throughput >= BANDWIDTH * 0.75);
+    }
+
+    @Test
+    public void send_isDeliveredAcrossLossyRingOnceRetried() throws Exception {
+        final int count = 20;
+        final int rounds = 10;
+
+        Receiver receiver = new Receiver();
+        UUID userID = mesh(6, MeshSimulator.RING, new MeshSimulator.Link(LATENCY, 0.3, BANDWIDTH), receiver, 3);
+
+        Set<String> pending = new LinkedHashSet<>();
+
+        for (int i = 0; i < count; i++) {
+            pending.add(payload(i, 100));
+        }
+
+        List<Integer> delivered = new ArrayList<>();
+
+        for (int round = 0; round < rounds && !pending.isEmpty(); round++) {
+            long sentAt = simulator.nanoTime();
+
+            List<TestCallback> calls = new ArrayList<>();
+
+            // Lost messages are not reported by the mesh, so the ones not received yet are sent again.
+            for (String payload : pending) {
+                calls.add(send(payload, userID));
+            }
+
+            // More messages than are let in flight at once, which are sent as the ones before them are.
+            for (TestCallback call : calls) {
+                run(call);
+            }
+
+            simulator.runUntilIdle();
+
+            int received = 0;
+
+            for (String payload : pending) {
+                @Nullable
+                Long arrival = receiver.arrivals.get(payload);
+
+                if (arrival != null) {
+                    received++;
+
+                    // The receiver is three hops away either way around the ring, which messages queued up on the
+                    // first links take longer for.
+                    assertTrue(arrival - sentAt >= 3 * TimeUnit.MILLISECONDS.toNanos(LATENCY));
+                }
+            }
+
+            delivered.add(received);
+            pending.removeAll(receiver.arrivals.keySet());
+        }
+
+        assertTrue(pending.isEmpty());
+        assertEquals(count, receiver.arrivals.size());
+
+        // Some messages have been lost the first time, and took another round to arrive.
+        assertTrue(delivered.size() > 1);
+        assertTrue(delivered.get(0) > 0 && delivered.get(0) < count);
+    }
+}
@@ -0,0 +1,193 @@
+package com.getcapacitor.community;
+
+import static org.junit.Assert.*;
+
+import android.util.Pair;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class CoalescerTest {
+
+    private static final Pair<String, UUID> BROADCAST = new Pair<>("broadcast", UUID.randomUUID());
+
+    private final BlockingQueue<Coalescer.Frame> frames = new LinkedBlockingQueue<>();
+
+    private final BlockingQueue<List<UUID>> failed = new LinkedBlockingQueue<>();
+
+    private Coalescer coalescer;
+
+    @After
+    public void tearDown() {
+        if (coalescer != null) {
+            coalescer.release();
+        }
+    }
+
+    private Coalescer coalescer(int window, int size, Coalescer.SendFrame sender) {
+        return new Coalescer(window, size, sender, frames::add, (messageIDs, exception) -> failed.add(messageIDs));
+    }
+
+    private Coalescer.Frame next(long timeout) throws InterruptedException {
+        return frames.poll(timeout, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void decode_returnsPackedEntries() throws Exception {
+        coalescer = coalescer(60000, 1024, (data, transmissionMode) -> UUID.randomUUID());
+
+        UUID first = coalescer.add(new byte[] { 1, 2, 3 }, BROADCAST, SendScheduler.Priority.BULK);
+        UUID second = coalescer.add(new byte[0], BROADCAST, SendScheduler.Priority.INTERACTIVE);
+
+        coalescer.release();
+
+        Coalescer.Frame frame = next(0);
+
+        assertNotNull(frame);
+        assertEquals(Arrays.asList(first, second), frame.messageIDs);
+        assertEquals(SendScheduler.Priority.INTERACTIVE, frame.priority);
+
+        List<Coalescer.Entry> entries = Coalescer.decode(frame.data);
+
+        assertNotNull(entries);
+        assertEquals(2, entries.size());
+        assertEquals(first, entries.get(0).messageID);
+        assertArrayEquals(new byte[] { 1, 2, 3 }, entries.get(0).data);
+        assertEquals(second, entries.get(1).messageID);
+        assertArrayEquals(new byte[0], entries.get(1).data);
+
+        // Payloads which are not packed, or are cut short, are left alone.
+        assertNull(Coalescer.decode(new byte[] { 1, 2, 3 }));
+        assertNull(Coalescer.decode(Arrays.copyOf(frame.data, frame.data.length - 1)));
+    }
+
+    @Test
+    public void add_flushesOnceBatchIsFull() throws Exception {
+        // The header (6) and two entries (20 + 8) fill the batch.
+        coalescer = coalescer(60000, 62, (data, transmissionMode) -> UUID.randomUUID());
+
+        UUID first = coalescer.add(new byte[8], BROADCAST, SendScheduler.Priority.BULK);
+
+        assertNull(next(0));
+
+        UUID second = coalescer.add(new byte[8], BROADCAST, SendScheduler.Priority.BULK);
+
+        Coalescer.Frame frame = next(0);
+
+        assertNotNull(frame);
+        assertEquals(Arrays.asList(first, second), frame.messageIDs);
+        assertEquals(62, frame.data.length);
+
+        // A payload which does not fit flushes the batch before it is added.
+        UUID third = coalescer.add(new byte[8], BROADCAST, SendScheduler.Priority.BULK);
+        UUID fourth = coalescer.add(new byte[16], BROADCAST, SendScheduler.Priority.BULK);
+
+        frame = next(0);
+
+        assertNotNull(frame);
+        assertEquals(Collections.singletonList(third), frame.messageIDs);
+
+        coalescer.release();
+
+        frame = next(0);
+
+        assertNotNull(frame);
+        assertEquals(Collections.singletonList(fourth), frame.messageIDs);
+    }
+
+    @Test
+    public void add_flushesOnceWindowHasElapsed() throws Exception {
+        coalescer = coalescer(100, 62, (data, transmissionMode) -> UUID.randomUUID());
+
+        UUID first = coalescer.add(new byte[8], BROADCAST, SendScheduler.Priority.BULK);
+
+        Coalescer.Frame frame = next(5000);
+
+        assertNotNull(frame);
+        assertEquals(Collections.singletonList(first), frame.messageIDs);
+
+        // The batch flushed on size is replaced by one which is given its own window.
+        coalescer.add(new byte[8], BROADCAST, SendScheduler.Priority.BULK);
+        coalescer.add(new byte[8], BROADCAST, SendScheduler.Priority.BULK);
+
+        assertNotNull(next(0));
+
+        UUID later = coalescer.add(new byte[8], BROADCAST, SendScheduler.Priority.BULK);
+
+        assertNull(next(50));
+
+        frame = next(5000);
+
+        assertNotNull(frame);
+        assertEquals(Collections.singletonList(later), frame.messageIDs);
+    }
+
+    @Test
+    public void onComplete_returnsPackedMessages() throws Exception {
+        UUID packedID = UUID.randomUUID();
+
+        coalescer = coalescer(60000, 1024, (data, transmissionMode) -> packedID);
+
+        UUID first = coalescer.add(new byte[] { 1 }, BROADCAST, SendScheduler.Priority.BULK);
+        UUID second = coalescer.add(new byte[] { 2 }, BROADCAST, SendScheduler.Priority.BULK);
+
+        coalescer.release();
+
+        assertEquals(packedID, coalescer.send(next(0)));
+        assertTrue(coalescer.isPacked(packedID));
+
+        assertEquals(Arrays.asList(first, second), coalescer.onComplete(packedID));
+        assertFalse(coalescer.isPacked(packedID));
+
+        // Messages which have not been packed complete themselves.
+        UUID messageID = UUID.randomUUID();
+
+        assertEquals(Collections.singletonList(messageID), coalescer.onComplete(messageID));
+    }
+
+    @Test
+    public void send_reportsPackedMessagesAsFailed() throws Exception {
+        coalescer = coalescer(60000, 1024, (data, transmissionMode) -> {
+            throw new Exception("failed");
+        });
+
+        UUID messageID = coalescer.add(new byte[] { 1 }, BROADCAST, SendScheduler.Priority.BULK);
+
+        coalescer.release();
+
+        assertNull(coalescer.send(next(0)));
+        assertEquals(Collections.singletonList(messageID), failed.poll());
+    }
+
+    @Test
+    public void onComplete_waitsForPackedMessageBeingSent() throws Exception {
+        UUID packedID = UUID.randomUUID();
+
+        BlockingQueue<List<UUID>> completed = new LinkedBlockingQueue<>();
+
+        coalescer = coalescer(60000, 1024, (data, transmissionMode) -> {
+            // The SDK reports the message on its own thread, before it has returned the message ID.
+            new Thread(() -> completed.add(coalescer.onComplete(packedID))).start();
+
+            assertNull(completed.poll(100, TimeUnit.MILLISECONDS));
+
+            return packedID;
+        });
+
+        UUID messageID = coalescer.add(new byte[] { 1 }, BROADCAST, SendScheduler.Priority.BULK);
+
+        coalescer.release();
+
+        assertEquals(packedID, coalescer.send(next(0)));
+        assertEquals(Collections.singletonList(messageID), completed.poll(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,149 @@
+package com.getcapacitor.community;
+
+import static org.junit.Assert.*;
+
+import com.getcapacitor.JSObject;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class CompressionTest {
+
+    private static byte[] compressible(int length) {
+        byte[] data = new byte[length];
+
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) ('a' + i % 4);
+        }
+
+        return data;
+    }
+
+    private static byte[] incompressible(int length) {
+        byte[] data = new byte[length];
+
+        new Random(0).nextBytes(data);
+
+        return data;
+    }
+
+    @Test
+    public void decode_restoresEncodedPayload() throws Exception {
+        Compression compression = new Compression(DeflateCodec.NAME, 256);
+
+        byte[] data = compressible(1024);
+        byte[] encoded = compression.encode(data);
+
+        assertTrue(encoded.length < data.length);
+        assertArrayEquals(data, compression.decode(encoded));
+
+        JSObject statistics = compression.getStatistics().toJSObject();
+
+        assertEquals(1, statistics.getLong("compressedMessages"));
+        assertEquals(1024, statistics.getLong("uncompressedBytes"));
+        assertEquals(encoded.length, statistics.getLong("compressedBytes"));
+        assertEquals(1, statistics.getLong("decompressedMessages"));
+    }
+
+    @Test
+    public void encode_skipsPayloadBelowThreshold() throws Exception {
+        Compression compression = new Compression(DeflateCodec.NAME, 256);
+
+        byte[] data = compressible(255);
+
+        assertSame(data, compression.encode(data));
+        assertNotSame(data, compression.encode(compressible(256)));
+
+        JSObject statistics = compression.getStatistics().toJSObject();
+
+        assertEquals(1, statistics.getLong("skippedMessages"));
+        assertEquals(0, statistics.getLong("ineffectiveMessages"));
+    }
+
+    @Test
+    public void encode_skipsPayloadWhichDoesNotShrink() throws Exception {
+        Compression compression = new Compression(DeflateCodec.NAME, 0);
+
+        byte[] data = incompressible(1024);
+
+        assertSame(data, compression.encode(data));
+
+        JSObject statistics = compression.getStatistics().toJSObject();
+
+        assertEquals(1, statistics.getLong("skippedMessages"));
+        assertEquals(1, statistics.getLong("ineffectiveMessages"));
+        assertEquals(0, statistics.getLong("compressedMessages"));
+        assertFalse(statistics.has("compressionRatio"));
+    }
+
+    @Test
+    public void encode_leavesPayloadAloneWithoutCodec() {
+        Compression compression = new Compression(null, 0);
+
+        byte[] data = compressible(1024);
+
+        assertSame(data, compression.encode(data));
+    }
+
+    @Test
+    public void decode_leavesUncompressedPayloadAlone() {
+        Compression compression = new Compression(null, null);
+
+        byte[] data = compressible(1024);
+
+        assertSame(data, compression.decode(data));
+
+        // A payload from a peer that merely starts with the frame header is delivered unchanged.
+        byte[] framed = new Compression(DeflateCodec.NAME, 0).encode(data);
+        byte[] corrupted = Arrays.copyOf(framed, framed.length);
+        corrupted[corrupted.length - 1] ^= 0xFF;
+
+        assertSame(corrupted, compression.decode(corrupted));
+
+        byte[] unknown = Arrays.copyOf(framed, framed.length);
+        unknown[Compression.HEADER_SIZE - 1] = 0;
+
+        assertSame(unknown, compression.decode(unknown));
+    }
+
+    @Test
+    public void getStatistics_startsOverOnceReset() throws Exception {
+        Compression compression = new Compression(DeflateCodec.NAME, 0);
+
+        compression.encode(compressible(1024));
+
+        assertEquals(1, compression.getStatistics(true).toJSObject().getLong("compressedMessages"));
+        assertEquals(0, compression.getStatistics().toJSObject().getLong("compressedMessages"));
+    }
+
+    @Test
+    public void decompress_rejectsPayloadAboveMaximumLength() throws Exception {
+        DeflateCodec codec = new DeflateCodec();
+
+        byte[] data = compressible(4096);
+        byte[] compressed = codec.compress(data);
+
+        assertArrayEquals(data, codec.decompress(compressed, 0, compressed.length, data.length));
+
+        assertThrows(IOException.class, () -> codec.decompress(compressed, 0, compressed.length, data.length - 1));
+    }
+
+    @Test
+    public void decompress_rejectsTruncatedPayload() throws Exception {
+        DeflateCodec codec = new DeflateCodec();
+
+        byte[] compressed = codec.compress(compressible(4096));
+
+        assertThrows(IOException.class, () -> codec.decompress(compressed, 0, compressed.length - 4, Integer.MAX_VALUE));
+
+        // Trailing bytes after the stream are not part of a valid payload either.
+        byte[] padded = ByteBuffer.allocate(compressed.length + 1).put(compressed).array();
+
+        assertThrows(IOException.class, () -> codec.decompress(padded, 0, padded.length, Integer.MAX_VALUE));
+    }
+}
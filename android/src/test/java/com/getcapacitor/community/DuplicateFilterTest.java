@@ -0,0 +1,81 @@
+package com.getcapacitor.community;
+
+import static org.junit.Assert.*;
+
+import java.util.UUID;
+import org.junit.Test;
+
+public class DuplicateFilterTest {
+
+    private static final byte[] DATA = { 1, 2, 3 };
+
+    @Test
+    public void isDuplicate_disabledByDefault() {
+        DuplicateFilter filter = new DuplicateFilter(null, null, null);
+        UUID messageID = UUID.randomUUID();
+
+        assertFalse(filter.isDuplicate(messageID, DATA, null));
+        assertFalse(filter.isDuplicate(messageID, DATA, null));
+        assertEquals(0, filter.getDuplicates());
+    }
+
+    @Test
+    public void isDuplicate_disabledForUnknownMode() {
+        DuplicateFilter filter = new DuplicateFilter("unknown", null, null);
+        UUID messageID = UUID.randomUUID();
+
+        assertFalse(filter.isDuplicate(messageID, DATA, null));
+        assertFalse(filter.isDuplicate(messageID, DATA, null));
+    }
+
+    @Test
+    public void isDuplicate_byMessageID() {
+        DuplicateFilter filter = new DuplicateFilter(DuplicateFilter.MESSAGE_ID, null, null);
+        UUID messageID = UUID.randomUUID();
+
+        assertFalse(filter.isDuplicate(messageID, DATA, null));
+        assertTrue(filter.isDuplicate(messageID, new byte[] { 4 }, null));
+        assertFalse(filter.isDuplicate(UUID.randomUUID(), DATA, null));
+        assertEquals(1, filter.getDuplicates());
+    }
+
+    @Test
+    public void isDuplicate_byContentAndSender() {
+        DuplicateFilter filter = new DuplicateFilter(DuplicateFilter.CONTENT, null, null);
+        UUID sender = UUID.randomUUID();
+
+        assertFalse(filter.isDuplicate(UUID.randomUUID(), DATA, sender));
+        assertTrue(filter.isDuplicate(UUID.randomUUID(), DATA, sender));
+        assertFalse(filter.isDuplicate(UUID.randomUUID(), DATA, UUID.randomUUID()));
+        assertFalse(filter.isDuplicate(UUID.randomUUID(), new byte[] { 1, 2 }, sender));
+    }
+
+    @Test
+    public void isDuplicate_evictsOldestOnceFull() {
+        DuplicateFilter filter = new DuplicateFilter(DuplicateFilter.MESSAGE_ID, 4, null);
+        UUID[] messageIDs = new UUID[5];
+
+        for (int i = 0; i < messageIDs.length; i++) {
+            messageIDs[i] = UUID.randomUUID();
+            assertFalse(filter.isDuplicate(messageIDs[i], DATA, null));
+        }
+
+        // The oldest message has been evicted, the others are still remembered.
+        assertFalse(filter.isDuplicate(messageIDs[0], DATA, null));
+        for (int i = 2; i < messageIDs.length; i++) {
+            assertTrue(filter.isDuplicate(messageIDs[i], DATA, null));
+        }
+    }
+
+    @Test
+    public void getDuplicates_resets() {
+        DuplicateFilter filter = new DuplicateFilter(DuplicateFilter.MESSAGE_ID, null, null);
+        UUID messageID = UUID.randomUUID();
+
+        filter.isDuplicate(messageID, DATA, null);
+        filter.isDuplicate(messageID, DATA, null);
+
+        assertEquals(1, filter.getDuplicates(true));
+        assertEquals(0, filter.getDuplicates());
+    }
+}
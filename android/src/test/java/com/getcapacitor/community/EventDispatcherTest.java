@@ -0,0 +1,125 @@
+package com.getcapacitor.community;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class EventDispatcherTest {
+
+    /**
+     * Holds the dispatch thread in the first event, so that the events after it stay queued.
+     */
+    private static CountDownLatch hold(EventDispatcher dispatcher) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch gate = new CountDownLatch(1);
+
+        dispatcher.execute(() -> {
+            started.countDown();
+            try {
+                gate.await();
+            } catch (InterruptedException ignored) {}
+        });
+
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+
+        return gate;
+    }
+
+    /**
+     * Waits for the queued events to be handled, without making room for the last one.
+     */
+    private static void await(EventDispatcher dispatcher) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+
+        while (dispatcher.getQueueDepth() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+
+        CountDownLatch done = new CountDownLatch(1);
+        dispatcher.execute(done::countDown);
+        assertTrue(done.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void offer_dropsWhenFull() throws Exception {
+        EventDispatcher dispatcher = new EventDispatcher(EventDispatcher.DROP, 2);
+        List<Integer> handled = Collections.synchronizedList(new ArrayList<>());
+
+        CountDownLatch gate = hold(dispatcher);
+
+        dispatcher.offer(() -> handled.add(1));
+        dispatcher.offer(() -> handled.add(2));
+        dispatcher.offer(() -> handled.add(3));
+
+        assertEquals(2, dispatcher.getQueueDepth());
+        assertEquals(1, dispatcher.getDropped(false));
+
+        gate.countDown();
+        await(dispatcher);
+
+        assertEquals(Arrays.asList(1, 2), handled);
+
+        dispatcher.release();
+    }
+
+    @Test
+    public void execute_takesPlaceOfOldestDroppableEvent() throws Exception {
+        EventDispatcher dispatcher = new EventDispatcher(EventDispatcher.DROP, 2);
+        List<Integer> handled = Collections.synchronizedList(new ArrayList<>());
+
+        CountDownLatch gate = hold(dispatcher);
+
+        dispatcher.offer(() -> handled.add(1));
+        dispatcher.offer(() -> handled.add(2));
+        dispatcher.execute(() -> handled.add(3));
+
+        // The queue stays within its size.
+        assertEquals(2, dispatcher.getQueueDepth());
+        assertEquals(1, dispatcher.getDropped(true));
+        assertEquals(0, dispatcher.getDropped(false));
+
+        gate.countDown();
+        await(dispatcher);
+
+        assertEquals(Arrays.asList(2, 3), handled);
+
+        dispatcher.release();
+    }
+
+    @Test
+    public void execute_waitsForRoomWithoutDroppableEvents() throws Exception {
+        EventDispatcher dispatcher = new EventDispatcher(EventDispatcher.DROP, 1);
+        List<Integer> handled = Collections.synchronizedList(new ArrayList<>());
+
+        CountDownLatch gate = hold(dispatcher);
+
+        dispatcher.execute(() -> handled.add(1));
+
+        CountDownLatch queued = new CountDownLatch(1);
+
+        Thread producer = new Thread(() -> {
+            dispatcher.execute(() -> handled.add(2));
+            queued.countDown();
+        });
+        producer.start();
+
+        assertFalse(queued.await(100, TimeUnit.MILLISECONDS));
+        assertEquals(1, dispatcher.getQueueDepth());
+
+        gate.countDown();
+
+        assertTrue(queued.await(1, TimeUnit.SECONDS));
+        await(dispatcher);
+
+        assertEquals(Arrays.asList(1, 2), handled);
+        assertEquals(0, dispatcher.getDropped(false));
+
+        dispatcher.release();
+    }
+}
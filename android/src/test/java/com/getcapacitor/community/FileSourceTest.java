@@ -0,0 +1,73 @@
+package com.getcapacitor.community;
+
+import static org.junit.Assert.*;
+
+import android.content.Context;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.util.Random;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+@RunWith(RobolectricTestRunner.class)
+public class FileSourceTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final Context context = RuntimeEnvironment.getApplication();
+
+    private File write(byte[] data) throws Exception {
+        File file = folder.newFile();
+
+        try (FileOutputStream stream = new FileOutputStream(file)) {
+            stream.write(data);
+        }
+
+        return file;
+    }
+
+    private static byte[] payload(int length) {
+        byte[] data = new byte[length];
+
+        new Random(length).nextBytes(data);
+
+        return data;
+    }
+
+    @Test
+    public void read_returnsFileOfMaximumSize() throws Exception {
+        byte[] data = payload(1024);
+        File file = write(data);
+
+        assertArrayEquals(data, FileSource.read(context, file.getPath(), 1024));
+        assertArrayEquals(data, FileSource.read(context, file.toURI().toString(), 1024));
+    }
+
+    @Test
+    public void read_rejectsFileAboveMaximumSize() throws Exception {
+        File file = write(payload(1025));
+
+        assertThrows(FileSource.TooLargeException.class, () -> FileSource.read(context, file.getPath(), 1024));
+        assertThrows(FileSource.TooLargeException.class, () -> FileSource.read(context, file.toURI().toString(), 1024));
+    }
+
+    @Test
+    public void read_returnsEmptyFile() throws Exception {
+        File file = write(new byte[0]);
+
+        assertEquals(0, FileSource.read(context, file.getPath(), 0).length);
+    }
+
+    @Test
+    public void read_rejectsMissingFile() {
+        File file = new File(folder.getRoot(), "missing");
+
+        assertThrows(FileNotFoundException.class, () -> FileSource.read(context, file.getPath(), 1024));
+    }
+}
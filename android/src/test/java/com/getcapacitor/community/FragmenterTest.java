@@ -0,0 +1,265 @@
+package com.getcapacitor.community;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.Test;
+
+public class FragmenterTest {
+
+    private static final int FRAGMENT_SIZE = Fragmenter.HEADER_SIZE + 100;
+
+    private static class Sender implements Fragmenter.SendFragment {
+
+        final List<byte[]> fragments = new ArrayList<>();
+        final List<UUID> fragmentIDs = new ArrayList<>();
+
+        int failAt = -1;
+
+        @Override
+        public UUID send(byte[] fragment) {
+            if (fragments.size() == failAt) {
+                throw new IllegalStateException("failed");
+            }
+
+            UUID fragmentID = UUID.randomUUID();
+
+            fragments.add(fragment);
+            fragmentIDs.add(fragmentID);
+
+            return fragmentID;
+        }
+    }
+
+    private static byte[] payload(int length) {
+        byte[] data = new byte[length];
+        new Random(length).nextBytes(data);
+        return data;
+    }
+
+    @Test
+    public void send_roundTripsThroughReassembler() throws Exception {
+        Fragmenter fragmenter = new Fragmenter(FRAGMENT_SIZE);
+        Reassembler reassembler = new Reassembler();
+        Sender sender = new Sender();
+
+        byte[] data = payload(1050);
+
+        UUID messageID = fragmenter.send(data, sender);
+
+        assertEquals(11, sender.fragments.size());
+
+        byte[] result = null;
+
+        // Fragments may arrive in any order.
+        for (int i = sender.fragments.size() - 1; i >= 0; i--) {
+            assertNull(result);
+
+            Fragmenter.Fragment fragment = Fragmenter.decode(sender.fragments.get(i));
+
+            assertNotNull(fragment);
+            assertEquals(messageID, fragment.messageID);
+            assertEquals(i, fragment.index);
+            assertEquals(11, fragment.total);
+
+            result = reassembler.add(fragment);
+        }
+
+        assertArrayEquals(data, result);
+    }
+
+    @Test
+    public void needsFragmentation_onlyAboveFragmentSize() {
+        Fragmenter fragmenter = new Fragmenter(FRAGMENT_SIZE);
+
+        assertFalse(fragmenter.needsFragmentation(new byte[FRAGMENT_SIZE]));
+        assertTrue(fragmenter.needsFragmentation(new byte[FRAGMENT_SIZE + 1]));
+    }
+
+    @Test
+    public void decode_ignoresPlainPayloads() {
+        assertNull(Fragmenter.decode(payload(10)));
+        assertNull(Fragmenter.decode(payload(200)));
+    }
+
+    @Test
+    public void onSend_reportsLogicalMessageOnceAllFragmentsAreSent() throws Exception {
+        Fragmenter fragmenter = new Fragmenter(FRAGMENT_SIZE);
+        Sender sender = new Sender();
+
+        UUID messageID = fragmenter.send(payload(250), sender);
+
+        assertNull(fragmenter.onSend(sender.fragmentIDs.get(0)));
+        assertNull(fragmenter.onSend(sender.fragmentIDs.get(2)));
+        assertEquals(messageID, fragmenter.onSend(sender.fragmentIDs.get(1)));
+    }
+
+    @Test
+    public void onSend_passesThroughPlainMessages() {
+        Fragmenter fragmenter = new Fragmenter(FRAGMENT_SIZE);
+
+        UUID messageID = UUID.randomUUID();
+
+        assertEquals(messageID, fragmenter.onSend(messageID));
+        assertEquals(messageID, fragmenter.onFailToSend(messageID));
+        assertNull(fragmenter.onProgress(messageID, 1, 2));
+        assertFalse(fragmenter.isDiscarded(messageID));
+    }
+
+    @Test
+    public void onProgress_rollsUpFragments() throws Exception {
+        Fragmenter fragmenter = new Fragmenter(FRAGMENT_SIZE);
+        Sender sender = new Sender();
+
+        UUID messageID = fragmenter.send(payload(250), sender);
+
+        Fragmenter.Outgoing outgoing = fragmenter.onProgress(sender.fragmentIDs.get(0), 50, 100);
+
+        assertNotNull(outgoing);
+        assertEquals(messageID, outgoing.messageID);
+        assertEquals(250, outgoing.length);
+        assertEquals(50, outgoing.getPosition());
+
+        fragmenter.onSend(sender.fragmentIDs.get(0));
+        outgoing = fragmenter.onProgress(sender.fragmentIDs.get(2), 1, 2);
+
+        assertNotNull(outgoing);
+        assertEquals(125, outgoing.getPosition());
+    }
+
+    @Test
+    public void onFailToSend_failsLogicalMessageOnceAndSwallowsSiblings() throws Exception {
+        Fragmenter fragmenter = new Fragmenter(FRAGMENT_SIZE);
+        Sender sender = new Sender();
+
+        UUID messageID = fragmenter.send(payload(350), sender);
+
+        assertNull(fragmenter.onSend(sender.fragmentIDs.get(0)));
+        assertEquals(messageID, fragmenter.onFailToSend(sender.fragmentIDs.get(1)));
+
+        assertTrue(fragmenter.isDiscarded(sender.fragmentIDs.get(2)));
+        assertNull(fragmenter.onProgress(sender.fragmentIDs.get(2), 1, 2));
+        assertNull(fragmenter.onSend(sender.fragmentIDs.get(2)));
+        assertNull(fragmenter.onFailToSend(sender.fragmentIDs.get(3)));
+
+        // Each swallowed callback is forgotten.
+        assertFalse(fragmenter.isDiscarded(sender.fragmentIDs.get(2)));
+        assertEquals(sender.fragmentIDs.get(2), fragmenter.onSend(sender.fragmentIDs.get(2)));
+    }
+
+    @Test
+    public void send_swallowsSiblingsOfFailedSend() {
+        Fragmenter fragmenter = new Fragmenter(FRAGMENT_SIZE);
+        Sender sender = new Sender();
+        sender.failAt = 2;
+
+        assertThrows(IllegalStateException.class, () -> fragmenter.send(payload(350), sender));
+
+        assertEquals(2, sender.fragmentIDs.size());
+        assertNull(fragmenter.onSend(sender.fragmentIDs.get(0)));
+        assertNull(fragmenter.onFailToSend(sender.fragmentIDs.get(1)));
+    }
+
+    @Test
+    public void send_expiresStaleMessages() throws Exception {
+        Fragmenter fragmenter = new Fragmenter(FRAGMENT_SIZE, 0);
+        Sender sender = new Sender();
+
+        fragmenter.send(payload(250), sender);
+        UUID stale = sender.fragmentIDs.get(0);
+
+        // Sending the next message expires the previous one.
+        UUID messageID = fragmenter.send(payload(150), sender);
+
+        assertTrue(fragmenter.isDiscarded(stale));
+        assertNull(fragmenter.onSend(stale));
+
+        assertNull(fragmenter.onSend(sender.fragmentIDs.get(3)));
+        assertEquals(messageID, fragmenter.onSend(sender.fragmentIDs.get(4)));
+    }
+
+    @Test
+    public void accepts_matchesReassembler() {
+        Fragmenter fragmenter = new Fragmenter(null);
+
+        assertTrue(fragmenter.accepts(Reassembler.MAX_BYTES));
+        assertFalse(fragmenter.accepts(Reassembler.MAX_BYTES + 1));
+
+        // Small fragments run out of indexes first.
+        Fragmenter small = new Fragmenter(Fragmenter.HEADER_SIZE + 1);
+
+        assertTrue(small.accepts(0xFFFF));
+        assertFalse(small.accepts(0xFFFF + 1));
+    }
+
+    @Test
+    public void send_rejectsOversizePayloads() {
+        Fragmenter fragmenter = new Fragmenter(null);
+        Sender sender = new Sender();
+
+        assertThrows(Exception.class, () -> fragmenter.send(new byte[Reassembler.MAX_BYTES + 1], sender));
+        assertTrue(sender.fragments.isEmpty());
+    }
+
+    @Test
+    public void onSend_waitsForFragmentBeingSent() throws Exception {
+        Fragmenter fragmenter = new Fragmenter(FRAGMENT_SIZE);
+
+        List<UUID> results = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> callbacks = new ArrayList<>();
+
+        // The SDK reports every fragment on its own thread, before it has returned the fragment ID.
+        UUID messageID = fragmenter.send(payload(150), fragment -> {
+            UUID fragmentID = UUID.randomUUID();
+
+            Thread callback = new Thread(() -> results.add(fragmenter.onSend(fragmentID)));
+            callback.start();
+            callbacks.add(callback);
+
+            return fragmentID;
+        });
+
+        for (Thread callback : callbacks) {
+            callback.join(5000);
+        }
+
+        assertEquals(2, results.size());
+        assertEquals(new HashSet<>(Arrays.asList(null, messageID)), new HashSet<>(results));
+    }
+
+    @Test
+    public void send_stopsOnceLogicalMessageHasFailed() throws Exception {
+        Fragmenter fragmenter = new Fragmenter(FRAGMENT_SIZE);
+        Sender sender = new Sender();
+
+        List<UUID> failed = Collections.synchronizedList(new ArrayList<>());
+
+        UUID messageID = fragmenter.send(payload(350), fragment -> {
+            // The first fragment fails while the second one is being sent.
+            if (sender.fragmentIDs.size() == 1) {
+                UUID firstID = sender.fragmentIDs.get(0);
+
+                Thread callback = new Thread(() -> failed.add(fragmenter.onFailToSend(firstID)));
+                callback.start();
+
+                try {
+                    callback.join(5000);
+                } catch (InterruptedException ignored) {}
+            }
+
+            return sender.send(fragment);
+        });
+
+        assertEquals(Collections.singletonList(messageID), failed);
+
+        // The fragment sent meanwhile is swallowed, the remaining ones are not sent.
+        assertEquals(2, sender.fragments.size());
+        assertTrue(fragmenter.isDiscarded(sender.fragmentIDs.get(1)));
+    }
+}
@@ -0,0 +1,70 @@
+package com.getcapacitor.community;
+
+import static org.junit.Assert.*;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.Test;
+
+public class ListenerCacheTest {
+
+    // The events the bridge has listeners for.
+    private final Set<String> registered = new HashSet<>();
+
+    private final ListenerCache listeners = new ListenerCache(registered::contains);
+
+    @Test
+    public void hasListeners_followsUpdates() {
+        assertFalse(listeners.hasListeners("onSend"));
+
+        registered.add("onSend");
+
+        // The bridge is only looked up once a listener has been added or removed.
+        assertFalse(listeners.hasListeners("onSend"));
+
+        listeners.update("onSend");
+
+        assertTrue(listeners.hasListeners("onSend"));
+        assertFalse(listeners.hasListeners("onReceive"));
+
+        registered.remove("onSend");
+        listeners.update("onSend");
+
+        assertFalse(listeners.hasListeners("onSend"));
+    }
+
+    @Test
+    public void hasListeners_matchesEitherEvent() {
+        registered.add("onProgressBatch");
+        listeners.update("onProgressBatch");
+
+        assertTrue(listeners.hasListeners("onProgress", "onProgressBatch"));
+        assertTrue(listeners.hasListeners("onProgressBatch", "onProgress"));
+        assertFalse(listeners.hasListeners("onProgress", "onSend"));
+    }
+
+    @Test
+    public void update_keepsEventWithRemainingListeners() {
+        registered.add("onReceive");
+        listeners.update("onReceive");
+
+        // Another listener for the event has been removed, but this one is still registered.
+        listeners.update("onReceive");
+        listeners.update(null);
+
+        assertTrue(listeners.hasListeners("onReceive"));
+    }
+
+    @Test
+    public void clear_forgetsAllEvents() {
+        registered.add("onSend");
+        registered.add("onReceive");
+        listeners.update("onSend");
+        listeners.update("onReceive");
+
+        listeners.clear();
+
+        assertFalse(listeners.hasListeners("onSend"));
+        assertFalse(listeners.hasListeners("onReceive"));
+    }
+}
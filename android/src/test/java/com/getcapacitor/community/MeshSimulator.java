@@ -0,0 +1,1002 @@
+package com.getcapacitor.community;
+
+import android.util.Pair;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.getcapacitor.community.BridgefyController.Reason;
+import com.getcapacitor.community.BridgefyController.ReasonType;
+import com.getcapacitor.community.interfaces.Backend;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.json.JSONObject;
+
+/**
+ * Simulates a mesh of nodes in a single process, each of which is a backend the controller can run on, so that the
+ * plugin can be tested end to end without radios.
+ * <p>
+ * Time is virtual and every random outcome is drawn from a seeded source, so that the same calls on the same topology
+ * play out the same way. The simulation is driven with {@link #advance(long)} and {@link #runUntilIdle()}, or follows
+ * the wall clock once {@link #start()} has been called. Delegates are called on the thread driving the simulation.
+ * <p>
+ * A link carries one transmission at a time per direction, which takes its size over the bandwidth, arrives after the
+ * latency, and is lost with the loss probability. Broadcast and mesh messages are relayed by every node they reach, up
+ * to the hop limit, P2P messages are only sent to connected peers. Like with the SDK, received messages carry the
+ * user ID of their sender.
+ */
+public class MeshSimulator {
+
+    static final String LINE = "line";
+    static final String RING = "ring";
+    static final String STAR = "star";
+    static final String FULL = "full";
+
+    static final int DEFAULT_NODES = 2;
+    static final int DEFAULT_HOPS = 5;
+    static final int DEFAULT_LATENCY = 10;
+
+    private static final String BROADCAST = "broadcast";
+    private static final String MESH = "mesh";
+    private static final String P2P = "p2p";
+
+    // Bytes between progress events of a message being sent.
+    private static final int PROGRESS_STEP = 1024;
+
+    private static final int MAX_SEEN = 4096;
+
+    public static class Link {
+
+        final long latency;
+
+        final double loss;
+
+        final long bandwidth;
+
+        /**
+         * @param latency in milliseconds.
+         * @param loss the probability of a transmission to be lost, from 0 to 1.
+         * @param bandwidth in bytes per second, or 0 for unlimited.
+         */
+        public Link(int latency, double loss, int bandwidth) {
+            this.latency = TimeUnit.MILLISECONDS.toNanos(Math.max(latency, 0));
+            this.loss = Math.min(Math.max(loss, 0), 1);
+            this.bandwidth = Math.max(bandwidth, 0);
+        }
+    }
+
+    private static class Channel {
+
+        @NonNull
+        final Link link;
+
+        // The time the channel is done with the transmissions handed to it.
+        long busy;
+
+        Channel(@NonNull Link link) {
+            this.link = link;
+        }
+    }
+
+    private static class Frame {
+
+        @NonNull
+        final UUID messageID;
+
+        @NonNull
+        final UUID sender;
+
+        @NonNull
+        final String type;
+
+        @NonNull
+        final UUID receiver;
+
+        @NonNull
+        final byte[] data;
+
+        final int hops;
+
+        Frame(@NonNull UUID messageID, @NonNull UUID sender, @NonNull String type, @NonNull UUID receiver, @NonNull byte[] data, int hops) {
+            this.messageID = messageID;
+            this.sender = sender;
+            this.type = type;
+            this.receiver = receiver;
+            this.data = data;
+            this.hops = hops;
+        }
+    }
+
+    private static class Event {
+
+        final long time;
+
+        final long sequence;
+
+        @NonNull
+        final Runnable action;
+
+        Event(long time, long sequence, @NonNull Runnable action) {
+            this.time = time;
+            this.sequence = sequence;
+            this.action = action;
+        }
+    }
+
+    private interface Notification {
+        void notify(@NonNull Backend.Delegate delegate);
+    }
+
+    private final Random random;
+
+    private final int hops;
+
+    private final PriorityQueue<Event> events = new PriorityQueue<>(16, (a, b) ->
+        a.time != b.time ? Long.compare(a.time, b.time) : Long.compare(a.sequence, b.sequence)
+    );
+
+    private long sequence = 0;
+
+    private long now = 0;
+
+    // Delegate calls made by the event being run, which are made once the simulator is unlocked.
+    private List<Runnable> notifications = new ArrayList<>();
+
+    // Runs one event at a time, so that delegates are called in order.
+    private final Object driver = new Object();
+
+    @Nullable
+    private Thread clock;
+
+    private long origin;
+
+    public MeshSimulator(long seed, int hops) {
+        this.random = new Random(seed);
+        this.hops = hops > 0 ? hops : DEFAULT_HOPS;
+    }
+
+    /**
+     * Creates a simulator as configured, with virtual peers which are started right away, and starts its clock.
+     *
+     * @return the node to run the plugin on, which stops the simulator once it is released.
+     */
+    @NonNull
+    public static Node create(@NonNull JSONObject options) {
+        int count = Math.max(options.optInt("nodes", DEFAULT_NODES), 1);
+        String topology = options.optString("topology", FULL);
+        Link link = new Link(options.optInt("latency", DEFAULT_LATENCY), options.optDouble("loss", 0), options.optInt("bandwidth", 0));
+        boolean echo = options.optBoolean("echo", false);
+
+        MeshSimulator simulator = new MeshSimulator(options.optLong("seed", 0), options.optInt("hops", DEFAULT_HOPS));
+
+        List<Node> nodes = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            nodes.add(simulator.addNode());
+        }
+
+        simulator.connect(nodes, topology, link);
+
+        Node node = nodes.get(0);
+        node.isOwner = true;
+
+        for (Node peer : nodes.subList(1, count)) {
+            peer.init(simulator.randomUUID(), new Peer(peer, node, echo), null);
+            peer.start(null, null);
+        }
+
+        simulator.start();
+
+        return node;
+    }
+
+    /**
+     * Topology
+     */
+
+    @NonNull
+    public Node addNode() {
+        return new Node(this);
+    }
+
+    /**
+     * Links two nodes, which connect if both are started.
+     */
+    public void link(@NonNull Node a, @NonNull Node b, @NonNull Link link) {
+        synchronized (this) {
+            if (a == b || a.links.containsKey(b)) {
+                return;
+            }
+
+            a.links.put(b, new Channel(link));
+            b.links.put(a, new Channel(link));
+
+            if (a.isStarted && b.isStarted) {
+                schedule(now(), () -> {
+                    onConnected(a, b);
+                    onConnected(b, a);
+                });
+            }
+        }
+    }
+
+    /**
+     * Unlinks two nodes, which disconnect if both are started. Transmissions on the way are lost.
+     */
+    public void unlink(@NonNull Node a, @NonNull Node b) {
+        synchronized (this) {
+            if (a.links.remove(b) == null) {
+                return;
+            }
+
+            b.links.remove(a);
+
+            if (a.isStarted && b.isStarted) {
+                schedule(now(), () -> {
+                    onDisconnected(a, b);
+                    onDisconnected(b, a);
+                });
+            }
+        }
+    }
+
+    /**
+     * Links the nodes as a {@code "line"}, a {@code "ring"}, a {@code "star"} around the first node, or each to every
+     * other one with {@code "full"}.
+     */
+    public void connect(@NonNull List<Node> nodes, @Nullable String topology, @NonNull Link link) {
+        int count = nodes.size();
+
+        if (LINE.equals(topology) || RING.equals(topology)) {
+            for (int i = 1; i < count; i++) {
+                link(nodes.get(i - 1), nodes.get(i), link);
+            }
+
+            if (RING.equals(topology) && count > 2) {
+                link(nodes.get(count - 1), nodes.get(0), link);
+            }
+        } else if (STAR.equals(topology)) {
+            for (int i = 1; i < count; i++) {
+                link(nodes.get(0), nodes.get(i), link);
+            }
+        } else {
+            for (int i = 0; i < count; i++) {
+                for (int j = i + 1; j < count; j++) {
+                    link(nodes.get(i), nodes.get(j), link);
+                }
+            }
+        }
+    }
+
+    /**
+     * Clock
+     */
+
+    /**
+     * @return the virtual time in nanoseconds.
+     */
+    public synchronized long nanoTime() {
+        return now();
+    }
+
+    /**
+     * Runs the events due within the given time, and moves the clock forward by it.
+     */
+    public void advance(long millis) {
+        long until;
+
+        synchronized (this) {
+            until = now() + TimeUnit.MILLISECONDS.toNanos(millis);
+        }
+
+        runUntil(until);
+
+        synchronized (this) {
+            now = Math.max(now, until);
+        }
+    }
+
+    /**
+     * Runs events until there are none left, moving the clock forward to each of them.
+     */
+    public void runUntilIdle() {
+        runUntil(Long.MAX_VALUE);
+    }
+
+    /**
+     * Follows the wall clock on a thread of its own, until {@link #stop()} is called.
+     */
+    public synchronized void start() {
+        if (clock != null) {
+            return;
+        }
+
+        origin = System.nanoTime() - now;
+
+        clock = new Thread(this::tick, "MeshSimulator");
+        clock.setDaemon(true);
+        clock.start();
+    }
+
+    public void stop() {
+        Thread clock;
+
+        synchronized (this) {
+            clock = this.clock;
+            this.clock = null;
+
+            notifyAll();
+        }
+
+        if (clock != null) {
+            clock.interrupt();
+        }
+    }
+
+    /**
+     * Helpers
+     */
+
+    private long now() {
+        if (clock != null) {
+            now = Math.max(now, System.nanoTime() - origin);
+        }
+
+        return now;
+    }
+
+    private void schedule(long time, @NonNull Runnable action) {
+        events.add(new Event(time, sequence++, action));
+
+        // Wakes up the clock, if the event is due before the one it waits for.
+        notifyAll();
+    }
+
+    private void notify(@NonNull Node node, @NonNull Notification notification) {
+        @Nullable
+        Backend.Delegate delegate = node.delegate;
+
+        if (delegate != null) {
+            notifications.add(() -> notification.notify(delegate));
+        }
+    }
+
+    @NonNull
+    private UUID randomUUID() {
+        // Version 4, variant 2, like UUID.randomUUID().
+        long most = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long least = (random.nextLong() & ~(0xC000000000000000L)) | 0x8000000000000000L;
+        return new UUID(most, least);
+    }
+
+    private void runUntil(long until) {
+        while (true) {
+            synchronized (driver) {
+                List<Runnable> notifications;
+
+                synchronized (this) {
+                    Event event = events.peek();
+
+                    if (event == null || event.time > until) {
+                        return;
+                    }
+
+                    events.poll();
+
+                    now = Math.max(now, event.time);
+
+                    event.action.run();
+
+                    notifications = this.notifications;
+                    this.notifications = new ArrayList<>();
+                }
+
+                for (Runnable notification : notifications) {
+                    try {
+                        notification.run();
+                    } catch (RuntimeException ignored) {
+                        // A failing delegate must not stop the simulation.
+                    }
+                }
+            }
+        }
+    }
+
+    private void tick() {
+        while (true) {
+            long time;
+
+            synchronized (this) {
+                if (clock != Thread.currentThread()) {
+                    return;
+                }
+
+                time = now();
+
+                Event event = events.peek();
+
+                if (event == null || event.time > time) {
+                    try {
+                        if (event == null) {
+                            wait();
+                        } else {
+                            TimeUnit.NANOSECONDS.timedWait(this, event.time - time);
+                        }
+                    } catch (InterruptedException exception) {
+                        return;
+                    }
+                    continue;
+                }
+            }
+
+            runUntil(time);
+        }
+    }
+
+    /**
+     * Connectivity
+     */
+
+    private void onStarted(@NonNull Node node, @NonNull UUID userID) {
+        node.isStarted = true;
+        node.userID = userID;
+
+        notify(node, delegate -> delegate.onStarted(userID));
+
+        for (Node peer : node.getConnectedNodes()) {
+            onConnected(node, peer);
+            onConnected(peer, node);
+        }
+    }
+
+    private void onStopped(@NonNull Node node) {
+        List<Node> peers = node.getConnectedNodes();
+
+        node.isStarted = false;
+
+        for (Node peer : peers) {
+            onDisconnected(peer, node);
+        }
+    }
+
+    private void onConnected(@NonNull Node node, @NonNull Node peer) {
+        UUID peerID = peer.userID;
+        List<UUID> connectedPeers = node.getConnectedPeers();
+
+        notify(node, delegate -> delegate.onConnected(peerID));
+        notify(node, delegate -> delegate.onConnectedPeers(connectedPeers));
+    }
+
+    private void onDisconnected(@NonNull Node node, @NonNull Node peer) {
+        UUID peerID = peer.userID;
+        List<UUID> connectedPeers = node.getConnectedPeers();
+
+        notify(node, delegate -> delegate.onDisconnected(peerID));
+        notify(node, delegate -> delegate.onConnectedPeers(connectedPeers));
+    }
+
+    /**
+     * Transmission
+     */
+
+    /**
+     * @return the time the transmission is done with, the frame arrives a latency later unless it is lost.
+     */
+    private long transmit(@NonNull Node from, @NonNull Node to, @NonNull Frame frame) {
+        Channel channel = from.links.get(to);
+
+        if (channel == null) {
+            return now;
+        }
+
+        Link link = channel.link;
+
+        long start = Math.max(now(), channel.busy);
+        long duration = link.bandwidth > 0 ? frame.data.length * TimeUnit.SECONDS.toNanos(1) / link.bandwidth : 0;
+
+        channel.busy = start + duration;
+
+        boolean isLost = link.loss > 0 && random.nextDouble() < link.loss;
+
+        if (!isLost) {
+            schedule(channel.busy + link.latency, () -> onArrive(to, from, frame));
+        }
+
+        return channel.busy;
+    }
+
+    private void onArrive(@NonNull Node node, @NonNull Node from, @NonNull Frame frame) {
+        // The link may have gone since the frame has been sent.
+        if (!node.isStarted || !node.links.containsKey(from) || !node.see(frame.messageID)) {
+            return;
+        }
+
+        boolean isReceiver = frame.receiver.equals(node.userID);
+
+        if (BROADCAST.equals(frame.type) || isReceiver) {
+            Pair<String, UUID> transmissionMode = new Pair<>(frame.type, frame.sender);
+
+            notify(node, delegate -> delegate.onReceiveData(frame.data, frame.messageID, transmissionMode));
+        }
+
+        if (P2P.equals(frame.type) || isReceiver || frame.hops <= 1) {
+            return;
+        }
+
+        Frame relay = new Frame(frame.messageID, frame.sender, frame.type, frame.receiver, frame.data, frame.hops - 1);
+
+        for (Node peer : node.getConnectedNodes()) {
+            if (peer != from) {
+                transmit(node, peer, relay);
+            }
+        }
+    }
+
+    /**
+     * Reports the progress along the transmissions of a message, and the message as sent once they are done.
+     */
+    private void onTransmit(@NonNull Node node, @NonNull UUID messageID, int length, long start, long end) {
+        for (int position = Math.min(PROGRESS_STEP, length); position > 0; ) {
+            int current = position;
+            long time = start + (long) ((end - start) * ((double) current / length));
+
+            schedule(time, () -> notify(node, delegate -> delegate.onProgressOfSend(messageID, current, length)));
+
+            position = position < length ? Math.min(position + PROGRESS_STEP, length) : 0;
+        }
+
+        schedule(end, () -> notify(node, delegate -> delegate.onSend(messageID)));
+    }
+
+    /**
+     * Security
+     */
+
+    /**
+     * @return the latency to the node of the user within the hop limit, or {@code null} if it cannot be reached.
+     */
+    @Nullable
+    private Long latency(@NonNull Node node, @NonNull UUID userID) {
+        Map<Node, Long> latencies = new HashMap<>();
+        Map<Node, Integer> distances = new HashMap<>();
+        ArrayDeque<Node> queue = new ArrayDeque<>();
+
+        latencies.put(node, 0L);
+        distances.put(node, 0);
+        queue.add(node);
+
+        while (!queue.isEmpty()) {
+            Node current = queue.poll();
+
+            if (userID.equals(current.userID) && current != node) {
+                return latencies.get(current);
+            }
+
+            int distance = distances.get(current);
+
+            if (distance >= hops) {
+                continue;
+            }
+
+            for (Node peer : current.getConnectedNodes()) {
+                if (!distances.containsKey(peer)) {
+                    latencies.put(peer, latencies.get(current) + current.links.get(peer).link.latency);
+                    distances.put(peer, distance + 1);
+                    queue.add(peer);
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * A node of the simulated mesh.
+     */
+    public static class Node implements Backend {
+
+        @NonNull
+        private final MeshSimulator simulator;
+
+        // In the order they have been linked.
+        private final Map<Node, Channel> links = new LinkedHashMap<>();
+
+        private final Map<UUID, Boolean> seen = new LinkedHashMap<UUID, Boolean>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Boolean> eldest) {
+                return size() > MAX_SEEN;
+            }
+        };
+
+        @Nullable
+        private Backend.Delegate delegate;
+
+        private boolean isStarting = false;
+        private boolean isStarted = false;
+
+        private boolean isOwner = false;
+
+        @Nullable
+        private UUID userID;
+
+        Node(@NonNull MeshSimulator simulator) {
+            this.simulator = simulator;
+        }
+
+        /**
+         * Initialize
+         */
+
+        @Override
+        public void init(@NonNull UUID apiKey, @NonNull Backend.Delegate delegate, @Nullable Boolean verboseLogging) {
+            synchronized (simulator) {
+                this.delegate = delegate;
+            }
+        }
+
+        @Override
+        public boolean isInitialized() {
+            synchronized (simulator) {
+                return delegate != null;
+            }
+        }
+
+        @Override
+        public void start(@Nullable UUID userID, @Nullable String propagationProfile) {
+            synchronized (simulator) {
+                if (delegate == null) {
+                    throw new IllegalStateException("not initialized");
+                }
+
+                if (isStarting || isStarted) {
+                    simulator.schedule(simulator.now(), () ->
+                        simulator.notify(this, delegate -> delegate.onFailToStart(new Reason(ReasonType.ALREADY_STARTED, "already started", null)))
+                    );
+                    return;
+                }
+
+                isStarting = true;
+
+                // Like the SDK, the user ID is kept until the session is destroyed.
+                UUID user = userID != null ? userID : this.userID != null ? this.userID : simulator.randomUUID();
+
+                simulator.schedule(simulator.now(), () -> {
+                    isStarting = false;
+                    simulator.onStarted(this, user);
+                });
+            }
+        }
+
+        @Override
+        public boolean isStarted() {
+            synchronized (simulator) {
+                return isStarted;
+            }
+        }
+
+        @Override
+        public void stop() {
+            synchronized (simulator) {
+                simulator.schedule(simulator.now(), () -> {
+                    if (!isStarted) {
+                        simulator.notify(this, delegate -> delegate.onFailToStop(new Reason(ReasonType.GENERIC, "not started", null)));
+                        return;
+                    }
+
+                    simulator.onStopped(this);
+                    simulator.notify(this, Backend.Delegate::onStopped);
+                });
+            }
+        }
+
+        /**
+         * License
+         */
+
+        /**
+         * @return {@code null}, as simulated nodes are not licensed.
+         */
+        @Nullable
+        @Override
+        public Date licenseExpirationDate() {
+            return null;
+        }
+
+        @Override
+        public void updateLicense() {}
+
+        /**
+         * Session
+         */
+
+        @Override
+        public void destroySession() {
+            synchronized (simulator) {
+                simulator.schedule(simulator.now(), () -> {
+                    if (isStarted) {
+                        simulator.onStopped(this);
+                    }
+
+                    userID = null;
+                    seen.clear();
+
+                    simulator.notify(this, Backend.Delegate::onDestroySession);
+                });
+            }
+        }
+
+        @Nullable
+        @Override
+        public UUID currentUserId() {
+            synchronized (simulator) {
+                return userID;
+            }
+        }
+
+        @NonNull
+        @Override
+        public List<UUID> connectedPeers() {
+            synchronized (simulator) {
+                return getConnectedPeers();
+            }
+        }
+
+        /**
+         * Secure Connection
+         */
+
+        @Override
+        public void establishSecureConnection(@NonNull UUID userID) {
+            synchronized (simulator) {
+                @Nullable
+                Long latency = isStarted ? simulator.latency(this, userID) : null;
+
+                if (latency == null) {
+                    simulator.schedule(simulator.now(), () ->
+                        simulator.notify(this, delegate ->
+                            delegate.onFailToEstablishSecureConnection(userID, new Reason(ReasonType.GENERIC, "user not reachable", null))
+                        )
+                    );
+                    return;
+                }
+
+                // A round trip to the user.
+                simulator.schedule(simulator.now() + latency * 2, () ->
+                    simulator.notify(this, delegate -> delegate.onEstablishSecureConnection(userID))
+                );
+            }
+        }
+
+        /**
+         * @return a fingerprint derived from both user IDs, which is the same on both sides.
+         */
+        @Nullable
+        @Override
+        public byte[] fingerprint(@NonNull UUID userID) {
+            @Nullable
+            UUID user;
+
+            synchronized (simulator) {
+                user = this.userID;
+            }
+
+            if (user == null) {
+                return null;
+            }
+
+            boolean isFirst = user.compareTo(userID) < 0;
+            UUID first = isFirst ? user : userID;
+            UUID second = isFirst ? userID : user;
+
+            ByteBuffer buffer = ByteBuffer.allocate(32);
+            buffer.putLong(first.getMostSignificantBits()).putLong(first.getLeastSignificantBits());
+            buffer.putLong(second.getMostSignificantBits()).putLong(second.getLeastSignificantBits());
+
+            try {
+                return MessageDigest.getInstance("SHA-256").digest(buffer.array());
+            } catch (NoSuchAlgorithmException ignored) {
+                return null;
+            }
+        }
+
+        @Override
+        public boolean isFingerprintValid(@NonNull UUID userID, @NonNull byte[] fingerprint) {
+            @Nullable
+            byte[] expected = fingerprint(userID);
+
+            return expected != null && MessageDigest.isEqual(expected, fingerprint);
+        }
+
+        /**
+         * Payload
+         */
+
+        @NonNull
+        @Override
+        public UUID send(@NonNull byte[] data, @NonNull Pair<String, UUID> transmissionMode) throws Exception {
+            String type = transmissionMode.first;
+            UUID receiver = transmissionMode.second;
+
+            if (!BROADCAST.equals(type) && !MESH.equals(type) && !P2P.equals(type)) {
+                throw new Exception("missing transmission mode");
+            }
+
+            synchronized (simulator) {
+                if (!isStarted || userID == null) {
+                    throw new IllegalStateException("not started");
+                }
+
+                UUID messageID = simulator.randomUUID();
+
+                List<Node> peers = new ArrayList<>();
+
+                for (Node peer : getConnectedNodes()) {
+                    if (!P2P.equals(type) || receiver.equals(peer.userID)) {
+                        peers.add(peer);
+                    }
+                }
+
+                if (P2P.equals(type) && peers.isEmpty()) {
+                    simulator.schedule(simulator.now(), () ->
+                        simulator.notify(this, delegate -> delegate.onFailToSend(messageID, new Reason(ReasonType.GENERIC, "peer not connected", null)))
+                    );
+                    return messageID;
+                }
+
+                see(messageID);
+
+                Frame frame = new Frame(messageID, userID, type, receiver, data.clone(), simulator.hops);
+
+                long start = simulator.now();
+                long end = start;
+
+                for (Node peer : peers) {
+                    end = Math.max(end, simulator.transmit(this, peer, frame));
+                }
+
+                simulator.onTransmit(this, messageID, data.length, start, end);
+
+                return messageID;
+            }
+        }
+
+        @Override
+        public void release() {
+            synchronized (simulator) {
+                delegate = null;
+            }
+
+            if (isOwner) {
+                simulator.stop();
+            }
+        }
+
+        /**
+         * Helpers
+         */
+
+        /**
+         * @return whether the message is seen for the first time.
+         */
+        private boolean see(@NonNull UUID messageID) {
+            return seen.put(messageID, Boolean.TRUE) == null;
+        }
+
+        @NonNull
+        private List<Node> getConnectedNodes() {
+            List<Node> peers = new ArrayList<>();
+
+            if (isStarted) {
+                for (Node peer : links.keySet()) {
+                    if (peer.isStarted) {
+                        peers.add(peer);
+                    }
+                }
+            }
+
+            return peers;
+        }
+
+        @NonNull
+        private List<UUID> getConnectedPeers() {
+            List<UUID> peers = new ArrayList<>();
+
+            for (Node peer : getConnectedNodes()) {
+                peers.add(peer.userID);
+            }
+
+            return peers;
+        }
+    }
+
+    /**
+     * A virtual peer, which sends the messages of the node running the plugin back to it, if echoing.
+     */
+    private static class Peer implements Backend.Delegate {
+
+        @NonNull
+        private final Node node;
+
+        @NonNull
+        private final Node home;
+
+        private final boolean isEchoing;
+
+        Peer(@NonNull Node node, @NonNull Node home, boolean isEchoing) {
+            this.node = node;
+            this.home = home;
+            this.isEchoing = isEchoing;
+        }
+
+        @Override
+        public void onStarted(@NonNull UUID userID) {}
+
+        @Override
+        public void onFailToStart(@NonNull Reason reason) {}
+
+        @Override
+        public void onStopped() {}
+
+        @Override
+        public void onFailToStop(@NonNull Reason reason) {}
+
+        @Override
+        public void onDestroySession() {}
+
+        @Override
+        public void onFailToDestroySession(@NonNull Reason reason) {}
+
+        @Override
+        public void onConnected(@NonNull UUID peerID) {}
+
+        @Override
+        public void onDisconnected(@NonNull UUID peerID) {}
+
+        @Override
+        public void onConnectedPeers(@NonNull List<UUID> connectedPeers) {}
+
+        @Override
+        public void onEstablishSecureConnection(@NonNull UUID userID) {}
+
+        @Override
+        public void onFailToEstablishSecureConnection(@NonNull UUID userID, @NonNull Reason reason) {}
+
+        @Override
+        public void onSend(@NonNull UUID messageID) {}
+
+        @Override
+        public void onFailToSend(@NonNull UUID messageID, @NonNull Reason reason) {}
+
+        @Override
+        public void onProgressOfSend(@NonNull UUID messageID, int position, int of) {}
+
+        @Override
+        public void onReceiveData(@NonNull byte[] data, @NonNull UUID messageID, @Nullable Pair<String, UUID> transmissionMode) {
+            if (!isEchoing || transmissionMode == null || BROADCAST.equals(transmissionMode.first)) {
+                return;
+            }
+
+            UUID sender = transmissionMode.second;
+
+            if (sender == null || !sender.equals(home.currentUserId())) {
+                return;
+            }
+
+            try {
+                node.send(data, new Pair<>(transmissionMode.first, sender));
+            } catch (Exception ignored) {
+                // The node running the plugin may have gone.
+            }
+        }
+    }
+}
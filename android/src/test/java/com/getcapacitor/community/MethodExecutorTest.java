@@ -0,0 +1,153 @@
+package com.getcapacitor.community;
+
+import static org.junit.Assert.*;
+
+import com.getcapacitor.community.interfaces.Callback;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+
+public class MethodExecutorTest {
+
+    private final MethodExecutor executor = new MethodExecutor(2);
+
+    private final BlockingQueue<String> invoked = new LinkedBlockingQueue<>();
+
+    private static class TestCallback extends Callback {
+
+        final BlockingQueue<Exception> errors = new LinkedBlockingQueue<>();
+
+        TestCallback() {
+            super(null);
+        }
+
+        @Override
+        public void error(Exception exception) {
+            errors.add(exception);
+        }
+    }
+
+    private final TestCallback callback = new TestCallback();
+
+    @After
+    public void tearDown() {
+        executor.release();
+    }
+
+    private MethodExecutor.Method record(String name) {
+        return () -> invoked.add(name);
+    }
+
+    /**
+     * @return a method which records its name once started, and returns once the gate has been opened.
+     */
+    private MethodExecutor.Method block(String name, CountDownLatch gate) {
+        return () -> {
+            invoked.add(name);
+            assertTrue(gate.await(5, TimeUnit.SECONDS));
+        };
+    }
+
+    private String next() throws InterruptedException {
+        return invoked.poll(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void send_runsOneAtATimeInCallOrder() throws Exception {
+        CountDownLatch gate = new CountDownLatch(1);
+
+        executor.send(callback, block("first", gate));
+        executor.send(callback, record("second"));
+        executor.send(callback, record("third"));
+
+        assertEquals("first", next());
+
+        // The sends behind the one in progress wait for it.
+        assertNull(invoked.poll(100, TimeUnit.MILLISECONDS));
+
+        gate.countDown();
+
+        assertEquals("second", next());
+        assertEquals("third", next());
+    }
+
+    @Test
+    public void lifecycle_runsOneAtATimeInCallOrder() throws Exception {
+        CountDownLatch gate = new CountDownLatch(1);
+
+        executor.lifecycle(callback, block("start", gate));
+        executor.lifecycle(callback, record("stop"));
+
+        assertEquals("start", next());
+        assertNull(invoked.poll(100, TimeUnit.MILLISECONDS));
+
+        gate.countDown();
+
+        assertEquals("stop", next());
+    }
+
+    @Test
+    public void lanes_doNotHoldUpEachOther() throws Exception {
+        CountDownLatch gate = new CountDownLatch(1);
+
+        executor.read(callback, block("read", gate));
+
+        assertEquals("read", next());
+
+        executor.send(callback, record("send"));
+        executor.lifecycle(callback, record("lifecycle"));
+        executor.update(callback, record("update"));
+        executor.query(callback, record("query"));
+
+        List<String> others = Arrays.asList(next(), next(), next(), next());
+
+        assertTrue(others.containsAll(Arrays.asList("send", "lifecycle", "update", "query")));
+
+        gate.countDown();
+    }
+
+    @Test
+    public void query_runsInParallel() throws Exception {
+        CyclicBarrier barrier = new CyclicBarrier(2);
+
+        // Neither query returns before the other one has started.
+        for (String name : Arrays.asList("first", "second")) {
+            executor.query(callback, () -> {
+                barrier.await(5, TimeUnit.SECONDS);
+                invoked.add(name);
+            });
+        }
+
+        assertNotNull(next());
+        assertNotNull(next());
+        assertNull(callback.errors.poll());
+    }
+
+    @Test
+    public void execute_reportsFailureToCall() throws Exception {
+        Exception failure = new Exception("failed");
+
+        executor.update(callback, () -> {
+            throw failure;
+        });
+
+        assertSame(failure, callback.errors.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void execute_rejectsCallOnceReleased() throws Exception {
+        executor.release();
+
+        executor.send(callback, record("send"));
+
+        assertTrue(callback.errors.poll(5, TimeUnit.SECONDS) instanceof RejectedExecutionException);
+        assertNull(invoked.poll());
+    }
+}
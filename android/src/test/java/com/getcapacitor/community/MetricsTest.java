@@ -0,0 +1,64 @@
+package com.getcapacitor.community;
+
+import static org.junit.Assert.*;
+
+import android.util.Pair;
+import com.getcapacitor.JSObject;
+import java.util.UUID;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class MetricsTest {
+
+    private static final Pair<String, UUID> MESH = new Pair<>("mesh", UUID.randomUUID());
+
+    @Test
+    public void onSend_matchesDispatchInEitherOrder() throws Exception {
+        Metrics metrics = new Metrics();
+
+        UUID dispatchedFirst = UUID.randomUUID();
+        metrics.onDispatch(dispatchedFirst, System.nanoTime(), 1, MESH);
+        metrics.onSend(dispatchedFirst);
+
+        // The SDK may call back before the message ID has been returned.
+        UUID sentFirst = UUID.randomUUID();
+        metrics.onSend(sentFirst);
+        metrics.onDispatch(sentFirst, System.nanoTime(), 1, MESH);
+
+        assertEquals(2, metrics.getSendLatency(false).getInt("count"));
+    }
+
+    @Test
+    public void onFailToSend_forgetsDispatch() throws Exception {
+        Metrics metrics = new Metrics();
+
+        UUID messageID = UUID.randomUUID();
+        metrics.onDispatch(messageID, System.nanoTime(), 1, MESH);
+        metrics.onFailToSend(messageID, null);
+        metrics.onSend(messageID);
+
+        assertEquals(0, metrics.getSendLatency(false).getInt("count"));
+    }
+
+    @Test
+    public void onReceive_countsLogicalAndWireMessagesApart() throws Exception {
+        Metrics metrics = new Metrics();
+
+        // A packed message of two logical messages.
+        metrics.onWireReceive(MESH, 100);
+        metrics.onReceive(MESH, 30);
+        metrics.onReceive(MESH, 40);
+
+        JSObject received = metrics.getReceived(true).getJSObject("mesh");
+        JSObject wireReceived = metrics.getWireReceived(false).getJSObject("mesh");
+
+        assertEquals(2, received.getInt("messages"));
+        assertEquals(70, received.getInt("bytes"));
+        assertEquals(1, wireReceived.getInt("messages"));
+        assertEquals(100, wireReceived.getInt("bytes"));
+
+        assertEquals(0, metrics.getReceived(false).getJSObject("mesh").getInt("messages"));
+    }
+}
@@ -0,0 +1,258 @@
+package com.getcapacitor.community;
+
+import static org.junit.Assert.*;
+
+import android.util.Pair;
+import com.getcapacitor.community.BridgefyController.Reason;
+import com.getcapacitor.community.BridgefyController.ReasonType;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class OutboxTest {
+
+    private static final Pair<String, UUID> BROADCAST = new Pair<>("broadcast", UUID.randomUUID());
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static class Resender implements Outbox.Resend {
+
+        final List<UUID> entryIDs = Collections.synchronizedList(new ArrayList<>());
+        final List<UUID> messageIDs = Collections.synchronizedList(new ArrayList<>());
+        final List<byte[]> data = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void resend(
+            UUID entryID,
+            UUID messageID,
+            byte[] data,
+            Pair<String, UUID> transmissionMode,
+            SendScheduler.Priority priority
+        ) {
+            this.entryIDs.add(entryID);
+            this.messageIDs.add(messageID);
+            this.data.add(data);
+        }
+    }
+
+    /**
+     * Waits until everything queued on the writer so far has been done, by journaling one more message.
+     */
+    private static void await(Outbox outbox) throws InterruptedException {
+        // The first message may join a flush queued before the last task, the second one is flushed after it.
+        for (int i = 0; i < 2; i++) {
+            CountDownLatch latch = new CountDownLatch(1);
+
+            assertTrue(outbox.add(UUID.randomUUID(), new byte[] { 0 }, BROADCAST, SendScheduler.Priority.BULK, latch::countDown));
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void load_resendsPendingMessagesOnRetry() throws Exception {
+        File directory = folder.newFolder();
+
+        Outbox previous = new Outbox(directory, true, null, null, null, new Resender());
+
+        UUID failed = UUID.randomUUID();
+        UUID sent = UUID.randomUUID();
+
+        previous.add(failed, new byte[] { 1, 2 }, BROADCAST, SendScheduler.Priority.INTERACTIVE, () -> {});
+        previous.add(sent, new byte[] { 3 }, BROADCAST, SendScheduler.Priority.INTERACTIVE, () -> {});
+
+        UUID messageID = previous.dispatch(failed, UUID::randomUUID);
+        previous.onFailToSend(messageID, null);
+
+        previous.onSend(previous.dispatch(sent, UUID::randomUUID));
+
+        await(previous);
+        previous.release();
+
+        Resender resender = new Resender();
+        Outbox outbox = new Outbox(directory, true, null, null, null, resender);
+
+        outbox.retry();
+        await(outbox);
+
+        // The messages used to wait for the commit are pending too.
+        assertEquals(3, resender.entryIDs.size());
+        assertEquals(failed, resender.entryIDs.get(0));
+        assertEquals(messageID, resender.messageIDs.get(0));
+        assertArrayEquals(new byte[] { 1, 2 }, resender.data.get(0));
+
+        outbox.release();
+    }
+
+    @Test
+    public void load_doesNotResendMessagesAddedMeanwhile() throws Exception {
+        File directory = folder.newFolder();
+
+        Outbox previous = new Outbox(directory, true, null, null, null, new Resender());
+
+        UUID restored = UUID.randomUUID();
+        previous.add(restored, new byte[] { 1 }, BROADCAST, SendScheduler.Priority.INTERACTIVE, () -> {});
+
+        await(previous);
+        previous.release();
+
+        Resender resender = new Resender();
+        Outbox outbox = new Outbox(directory, true, null, null, null, resender);
+
+        // Added and handed over to the SDK while the journal may still be loading.
+        UUID live = UUID.randomUUID();
+        outbox.add(live, new byte[] { 2 }, BROADCAST, SendScheduler.Priority.INTERACTIVE, () -> {});
+        outbox.dispatch(live, UUID::randomUUID);
+
+        outbox.retry();
+        await(outbox);
+
+        assertFalse(resender.entryIDs.contains(live));
+        assertTrue(resender.entryIDs.contains(restored));
+
+        outbox.release();
+    }
+
+    @Test
+    public void retry_resendsDeferredMessagesOnce() throws Exception {
+        Resender resender = new Resender();
+        Outbox outbox = new Outbox(folder.newFolder(), true, null, null, null, resender);
+
+        UUID entryID = UUID.randomUUID();
+        outbox.add(entryID, new byte[] { 1 }, BROADCAST, SendScheduler.Priority.INTERACTIVE, () -> {});
+        outbox.defer(entryID, null);
+
+        outbox.retry();
+        outbox.retry();
+        await(outbox);
+
+        assertEquals(Arrays.asList(entryID), resender.entryIDs);
+
+        outbox.release();
+    }
+
+    @Test
+    public void add_rejectsOnceFull() throws Exception {
+        Outbox outbox = new Outbox(folder.newFolder(), true, 1, null, null, new Resender());
+
+        assertTrue(outbox.add(UUID.randomUUID(), new byte[] { 1 }, BROADCAST, SendScheduler.Priority.BULK, () -> {}));
+        assertFalse(outbox.add(UUID.randomUUID(), new byte[] { 2 }, BROADCAST, SendScheduler.Priority.BULK, () -> {}));
+
+        outbox.release();
+    }
+
+    @Test
+    public void onFailToSend_dropsPermanentlyFailedMessages() throws Exception {
+        Resender resender = new Resender();
+        Outbox outbox = new Outbox(folder.newFolder(), true, 3, null, null, resender);
+
+        UUID entryID = UUID.randomUUID();
+        outbox.add(entryID, new byte[] { 1 }, BROADCAST, SendScheduler.Priority.INTERACTIVE, () -> {});
+        outbox.onFailToSend(outbox.dispatch(entryID, UUID::randomUUID), new Reason(ReasonType.SIZE_LIMIT_EXCEEDED, null, null));
+
+        outbox.retry();
+        await(outbox);
+
+        assertFalse(resender.entryIDs.contains(entryID));
+
+        // Its place is free again.
+        assertTrue(outbox.add(UUID.randomUUID(), new byte[] { 2 }, BROADCAST, SendScheduler.Priority.BULK, () -> {}));
+
+        outbox.release();
+    }
+
+    @Test
+    public void retry_dropsMessagesOutOfAttempts() throws Exception {
+        File directory = folder.newFolder();
+
+        Resender resender = new Resender();
+        Outbox previous = new Outbox(directory, true, null, 2, null, resender);
+
+        UUID entryID = UUID.randomUUID();
+        previous.add(entryID, new byte[] { 1 }, BROADCAST, SendScheduler.Priority.INTERACTIVE, () -> {});
+        previous.onFailToSend(previous.dispatch(entryID, UUID::randomUUID), new Reason(ReasonType.SESSION_ERROR, null, null));
+
+        previous.retry();
+        await(previous);
+
+        assertEquals(Arrays.asList(entryID), resender.entryIDs);
+
+        previous.onFailToSend(previous.dispatch(entryID, UUID::randomUUID), new Reason(ReasonType.SESSION_ERROR, null, null));
+        previous.release();
+
+        // The attempts are journaled, so the message has one left after a restart.
+        resender = new Resender();
+        Outbox outbox = new Outbox(directory, true, null, 2, null, resender);
+
+        outbox.retry();
+        await(outbox);
+
+        assertTrue(resender.entryIDs.contains(entryID));
+
+        outbox.defer(entryID, new Reason(ReasonType.SESSION_ERROR, null, null));
+        resender.entryIDs.clear();
+
+        outbox.retry();
+        outbox.retry();
+        await(outbox);
+
+        assertFalse(resender.entryIDs.contains(entryID));
+
+        outbox.release();
+    }
+
+    @Test
+    public void retry_dropsExpiredMessages() throws Exception {
+        Resender resender = new Resender();
+        Outbox outbox = new Outbox(folder.newFolder(), true, null, null, 1, resender);
+
+        UUID entryID = UUID.randomUUID();
+        outbox.add(entryID, new byte[] { 1 }, BROADCAST, SendScheduler.Priority.INTERACTIVE, () -> {});
+
+        Thread.sleep(10);
+
+        outbox.defer(entryID, null);
+        outbox.retry();
+        await(outbox);
+
+        assertFalse(resender.entryIDs.contains(entryID));
+
+        outbox.release();
+    }
+
+    @Test
+    public void dispatch_handlesDeliveryDuringSend() throws Exception {
+        Outbox outbox = new Outbox(folder.newFolder(), true, 1, null, null, new Resender());
+
+        UUID entryID = UUID.randomUUID();
+        outbox.add(entryID, new byte[] { 1 }, BROADCAST, SendScheduler.Priority.INTERACTIVE, () -> {});
+
+        outbox.dispatch(entryID, () -> {
+            UUID attemptID = UUID.randomUUID();
+
+            // The SDK reports the message on its own thread, before it has returned the message ID.
+            Thread callback = new Thread(() -> outbox.onSend(attemptID));
+            callback.start();
+            callback.join(5000);
+
+            assertFalse(callback.isAlive());
+
+            return attemptID;
+        });
+
+        assertTrue(outbox.add(UUID.randomUUID(), new byte[] { 2 }, BROADCAST, SendScheduler.Priority.BULK, () -> {}));
+
+        outbox.release();
+    }
+}
@@ -0,0 +1,115 @@
+package com.getcapacitor.community;
+
+import static org.junit.Assert.*;
+
+import com.getcapacitor.community.classes.events.ReceiveEvent;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class PayloadSpillerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static class Receiver implements PayloadSpiller.Deliver {
+
+        final List<UUID> messageIDs = Collections.synchronizedList(new ArrayList<>());
+
+        final CountDownLatch latch;
+
+        // Holds the delivery back until opened.
+        final CountDownLatch gate = new CountDownLatch(1);
+
+        Receiver(int count) {
+            latch = new CountDownLatch(count);
+        }
+
+        @Override
+        public void deliver(ReceiveEvent event) {
+            try {
+                gate.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ignored) {}
+
+            messageIDs.add(event.getMessageID());
+            latch.countDown();
+        }
+    }
+
+    @Test
+    public void accepts_onlyAboveThreshold() throws Exception {
+        PayloadSpiller spiller = new PayloadSpiller(folder.newFolder(), 10, 100, event -> {});
+
+        assertFalse(spiller.accepts(new byte[9]));
+        assertTrue(spiller.accepts(new byte[10]));
+        assertFalse(spiller.accepts(new byte[101]));
+
+        PayloadSpiller disabled = new PayloadSpiller(folder.newFolder(), null, null, event -> {});
+
+        assertFalse(disabled.accepts(new byte[1024]));
+    }
+
+    @Test
+    public void hold_deliversLaterEventsAfterSpilledPayload() throws Exception {
+        Receiver receiver = new Receiver(3);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        PayloadSpiller spiller = new PayloadSpiller(folder.newFolder(), 10, null, receiver, executor);
+
+        // Holds the file back from being written until the later events have arrived.
+        CountDownLatch writing = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                writing.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ignored) {}
+        });
+
+        UUID spilled = UUID.randomUUID();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        spiller.spill(spilled, new byte[64], null);
+
+        assertTrue(spiller.hold(new ReceiveEvent(first, new byte[1], null), null));
+        assertTrue(spiller.hold(new ReceiveEvent(second, new byte[1], null), null));
+
+        writing.countDown();
+        receiver.gate.countDown();
+
+        assertTrue(receiver.latch.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList(spilled, first, second), receiver.messageIDs);
+
+        // Nothing is pending anymore, so events are delivered right away.
+        assertFalse(spiller.hold(new ReceiveEvent(UUID.randomUUID(), new byte[1], null), null));
+
+        spiller.release();
+    }
+
+    @Test
+    public void spill_deliversInMemoryOnceReleased() throws Exception {
+        Receiver receiver = new Receiver(1);
+        PayloadSpiller spiller = new PayloadSpiller(folder.newFolder(), 10, null, receiver);
+
+        spiller.release();
+
+        UUID messageID = UUID.randomUUID();
+
+        receiver.gate.countDown();
+
+        spiller.spill(messageID, new byte[64], null);
+
+        assertTrue(receiver.latch.await(5, TimeUnit.SECONDS));
+        assertEquals(Collections.singletonList(messageID), receiver.messageIDs);
+        assertFalse(spiller.hold(new ReceiveEvent(UUID.randomUUID(), new byte[1], null), null));
+    }
+}
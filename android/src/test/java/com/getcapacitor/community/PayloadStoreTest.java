@@ -0,0 +1,115 @@
+package com.getcapacitor.community;
+
+import static org.junit.Assert.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Test;
+
+public class PayloadStoreTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private void advance(long milliseconds) {
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(milliseconds));
+    }
+
+    private PayloadStore store(int size, int timeout) {
+        return new PayloadStore(PayloadStore.LAZY, size, timeout, null, now::get);
+    }
+
+    @Test
+    public void isEnabled_onlyWhenLazy() {
+        assertTrue(new PayloadStore(PayloadStore.LAZY, null, null, null).isEnabled());
+        assertFalse(new PayloadStore(PayloadStore.EAGER, null, null, null).isEnabled());
+        assertFalse(new PayloadStore(null, null, null, null).isEnabled());
+    }
+
+    @Test
+    public void put_evictsLeastRecentlyUsedOverBudget() {
+        PayloadStore store = store(10, 60000);
+
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+
+        assertTrue(store.put(first, new byte[4]));
+        assertTrue(store.put(second, new byte[4]));
+
+        // Fetching the first payload makes the second one the least recently used.
+        assertNotNull(store.get(first));
+
+        assertTrue(store.put(third, new byte[4]));
+
+        assertNotNull(store.get(first));
+        assertNull(store.get(second));
+        assertNotNull(store.get(third));
+    }
+
+    @Test
+    public void put_refusesPayloadLargerThanBudget() {
+        PayloadStore store = store(10, 60000);
+
+        UUID kept = UUID.randomUUID();
+        store.put(kept, new byte[4]);
+
+        assertFalse(store.put(UUID.randomUUID(), new byte[11]));
+        assertNotNull(store.get(kept));
+
+        assertTrue(store.put(UUID.randomUUID(), new byte[10]));
+        assertNull(store.get(kept));
+    }
+
+    @Test
+    public void put_replacesPayloadWithinBudget() {
+        PayloadStore store = store(10, 60000);
+
+        UUID replaced = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+
+        store.put(replaced, new byte[4]);
+        store.put(replaced, new byte[8]);
+
+        // Only the replacing payload counts against the budget.
+        assertTrue(store.put(other, new byte[2]));
+
+        assertEquals(8, store.get(replaced).length);
+        assertNotNull(store.get(other));
+    }
+
+    @Test
+    public void get_dropsExpiredPayloads() {
+        PayloadStore store = store(10, 5000);
+
+        UUID expired = UUID.randomUUID();
+        store.put(expired, new byte[4]);
+
+        advance(3000);
+
+        UUID kept = UUID.randomUUID();
+        store.put(kept, new byte[4]);
+
+        advance(3000);
+
+        assertNull(store.get(expired));
+        assertNotNull(store.get(kept));
+
+        // Expired payloads no longer count against the budget.
+        assertTrue(store.put(UUID.randomUUID(), new byte[6]));
+        assertNotNull(store.get(kept));
+    }
+
+    @Test
+    public void release_dropsPayloads() {
+        PayloadStore store = store(10, 60000);
+
+        UUID messageID = UUID.randomUUID();
+        store.put(messageID, new byte[4]);
+
+        store.release();
+
+        assertNull(store.get(messageID));
+        assertTrue(store.put(UUID.randomUUID(), new byte[10]));
+    }
+}
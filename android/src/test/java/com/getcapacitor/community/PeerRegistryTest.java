@@ -0,0 +1,95 @@
+package com.getcapacitor.community;
+
+import static org.junit.Assert.*;
+
+import com.getcapacitor.community.classes.events.ConnectedPeersChangeEvent;
+import com.getcapacitor.community.classes.results.ConnectedPeersResult;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.UUID;
+import org.junit.Test;
+
+public class PeerRegistryTest {
+
+    @Test
+    public void onConnected_reportsNewPeersOnly() {
+        PeerRegistry registry = new PeerRegistry();
+        UUID peerID = UUID.randomUUID();
+
+        ConnectedPeersChangeEvent event = registry.onConnected(peerID);
+
+        assertNotNull(event);
+        assertEquals(Collections.singletonList(peerID), event.getAdded());
+        assertTrue(event.getRemoved().isEmpty());
+        assertEquals(1, event.getVersion());
+
+        assertNull(registry.onConnected(peerID));
+    }
+
+    @Test
+    public void onDisconnected_reportsConnectedPeersOnly() {
+        PeerRegistry registry = new PeerRegistry();
+        UUID peerID = UUID.randomUUID();
+
+        assertNull(registry.onDisconnected(peerID));
+
+        registry.onConnected(peerID);
+
+        ConnectedPeersChangeEvent event = registry.onDisconnected(peerID);
+
+        assertNotNull(event);
+        assertTrue(event.getAdded().isEmpty());
+        assertEquals(Collections.singletonList(peerID), event.getRemoved());
+        assertEquals(2, event.getVersion());
+    }
+
+    @Test
+    public void onConnectedPeers_reportsDifference() {
+        PeerRegistry registry = new PeerRegistry();
+        UUID kept = UUID.randomUUID();
+        UUID removed = UUID.randomUUID();
+        UUID added = UUID.randomUUID();
+
+        registry.onConnectedPeers(Arrays.asList(kept, removed));
+
+        ConnectedPeersChangeEvent event = registry.onConnectedPeers(Arrays.asList(kept, added));
+
+        assertNotNull(event);
+        assertEquals(Collections.singletonList(added), event.getAdded());
+        assertEquals(Collections.singletonList(removed), event.getRemoved());
+
+        assertNull(registry.onConnectedPeers(Arrays.asList(added, kept)));
+    }
+
+    @Test
+    public void clear_removesAllPeers() {
+        PeerRegistry registry = new PeerRegistry();
+        UUID peerID = UUID.randomUUID();
+
+        assertNull(registry.clear());
+
+        registry.onConnected(peerID);
+
+        ConnectedPeersChangeEvent event = registry.clear();
+
+        assertNotNull(event);
+        assertEquals(Collections.singletonList(peerID), event.getRemoved());
+        assertTrue(registry.getConnectedPeers().getPeers().isEmpty());
+    }
+
+    @Test
+    public void getConnectedPeers_carriesVersionOfLastChange() {
+        PeerRegistry registry = new PeerRegistry();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        registry.onConnected(first);
+        registry.onConnected(second);
+        registry.onConnected(second);
+
+        ConnectedPeersResult result = registry.getConnectedPeers();
+
+        assertEquals(Arrays.asList(first, second), result.getPeers());
+        assertEquals(2, result.getVersion());
+    }
+}
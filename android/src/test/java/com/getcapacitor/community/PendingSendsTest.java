@@ -0,0 +1,129 @@
+package com.getcapacitor.community;
+
+import static org.junit.Assert.*;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.getcapacitor.community.BridgefyController.Reason;
+import com.getcapacitor.community.BridgefyController.ReasonType;
+import com.getcapacitor.community.interfaces.Callback;
+import com.getcapacitor.community.interfaces.Result;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class PendingSendsTest {
+
+    private final PendingSends pendingSends = new PendingSends();
+
+    private static class TestCallback extends Callback {
+
+        private final CountDownLatch done = new CountDownLatch(1);
+
+        @Nullable
+        private volatile String messageID;
+
+        @Nullable
+        private volatile String error;
+
+        TestCallback() {
+            super(null);
+        }
+
+        @Override
+        public void success(@NonNull Result result) {
+            messageID = result.toJSObject().getString("messageID");
+            done.countDown();
+        }
+
+        @Override
+        public void error(Exception exception) {
+            error = exception.getMessage();
+            done.countDown();
+        }
+
+        @Override
+        public void error(@NonNull Reason reason) {
+            error = reason.type();
+            done.countDown();
+        }
+
+        boolean isDone() {
+            return done.getCount() == 0;
+        }
+
+        void await() throws InterruptedException {
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @After
+    public void tearDown() {
+        pendingSends.release();
+    }
+
+    @Test
+    public void onSend_resolvesCall() throws Exception {
+        TestCallback callback = new TestCallback();
+        UUID messageID = pendingSends.register(UUID::randomUUID, callback, 30000);
+
+        assertFalse(callback.isDone());
+
+        pendingSends.onSend(messageID);
+        callback.await();
+
+        assertEquals(messageID.toString(), callback.messageID);
+        assertNull(callback.error);
+    }
+
+    @Test
+    public void onFailToSend_rejectsCallWithReason() throws Exception {
+        TestCallback callback = new TestCallback();
+        UUID messageID = pendingSends.register(UUID::randomUUID, callback, 30000);
+
+        pendingSends.onFailToSend(messageID, new Reason(ReasonType.SESSION_ERROR, null, null));
+        callback.await();
+
+        assertEquals(ReasonType.SESSION_ERROR, callback.error);
+    }
+
+    @Test
+    public void sweep_rejectsCallOnceTimedOut() throws Exception {
+        TestCallback callback = new TestCallback();
+        pendingSends.register(UUID::randomUUID, callback, 10);
+
+        callback.await();
+
+        assertEquals("send timed out", callback.error);
+    }
+
+    @Test
+    public void register_settlesCallReportedDuringSend() throws Exception {
+        TestCallback callback = new TestCallback();
+
+        UUID messageID = pendingSends.register(
+            () -> {
+                UUID sent = UUID.randomUUID();
+
+                // The SDK reports the message on its own thread, before it has returned the message ID.
+                Thread reported = new Thread(() -> pendingSends.onSend(sent));
+                reported.start();
+                reported.join(5000);
+
+                assertFalse(reported.isAlive());
+
+                return sent;
+            },
+            callback,
+            30000
+        );
+
+        assertTrue(callback.isDone());
+        assertEquals(messageID.toString(), callback.messageID);
+    }
+}
@@ -0,0 +1,94 @@
+package com.getcapacitor.community;
+
+import static org.junit.Assert.*;
+
+import com.getcapacitor.community.classes.events.ProgressEvent;
+import java.util.UUID;
+import org.junit.Test;
+
+public class ProgressThrottleTest {
+
+    @Test
+    public void onProgress_passesEverythingWhenDisabled() {
+        ProgressThrottle throttle = new ProgressThrottle(null, 0);
+        UUID messageID = UUID.randomUUID();
+
+        assertFalse(throttle.isEnabled());
+
+        for (int position = 1; position <= 100; position++) {
+            assertNotNull(throttle.onProgress(messageID, position, 100));
+        }
+        assertNull(throttle.onSend(messageID));
+    }
+
+    @Test
+    public void onProgress_dropsEventsWithinStep() {
+        ProgressThrottle throttle = new ProgressThrottle(null, 10);
+        UUID messageID = UUID.randomUUID();
+
+        assertNotNull(throttle.onProgress(messageID, 1, 200));
+        assertNull(throttle.onProgress(messageID, 10, 200));
+        assertNull(throttle.onProgress(messageID, 20, 200));
+
+        ProgressEvent event = throttle.onProgress(messageID, 22, 200);
+
+        assertNotNull(event);
+        assertEquals(22, event.getPosition());
+        assertEquals(200, event.getOf());
+    }
+
+    @Test
+    public void onProgress_dropsEventsWithinInterval() {
+        ProgressThrottle throttle = new ProgressThrottle(60000, null);
+        UUID messageID = UUID.randomUUID();
+
+        assertNotNull(throttle.onProgress(messageID, 1, 100));
+        assertNull(throttle.onProgress(messageID, 50, 100));
+        assertNull(throttle.onProgress(messageID, 99, 100));
+    }
+
+    @Test
+    public void onProgress_alwaysPassesFirstAndFinalEvent() {
+        ProgressThrottle throttle = new ProgressThrottle(60000, 50);
+        UUID messageID = UUID.randomUUID();
+
+        assertNotNull(throttle.onProgress(messageID, 1, 100));
+        assertNull(throttle.onProgress(messageID, 2, 100));
+        assertNotNull(throttle.onProgress(messageID, 100, 100));
+
+        // The final event forgets the message, so there is nothing left to complete.
+        assertNull(throttle.onSend(messageID));
+
+        // Other messages are throttled on their own.
+        assertNotNull(throttle.onProgress(UUID.randomUUID(), 2, 100));
+    }
+
+    @Test
+    public void onSend_completesMessageWithoutFinalEvent() {
+        ProgressThrottle throttle = new ProgressThrottle(null, 10);
+        UUID messageID = UUID.randomUUID();
+
+        throttle.onProgress(messageID, 1, 100);
+        throttle.onProgress(messageID, 50, 120);
+
+        ProgressEvent event = throttle.onSend(messageID);
+
+        assertNotNull(event);
+        assertEquals(messageID, event.getMessageID());
+        assertEquals(120, event.getPosition());
+        assertEquals(120, event.getOf());
+
+        assertNull(throttle.onSend(messageID));
+    }
+
+    @Test
+    public void onFailToSend_forgetsMessage() {
+        ProgressThrottle throttle = new ProgressThrottle(null, 10);
+        UUID messageID = UUID.randomUUID();
+
+        throttle.onProgress(messageID, 1, 100);
+        throttle.onFailToSend(messageID);
+
+        assertNull(throttle.onSend(messageID));
+    }
+}
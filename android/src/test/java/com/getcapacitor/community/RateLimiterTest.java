@@ -0,0 +1,134 @@
+package com.getcapacitor.community;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class RateLimiterTest {
+
+    @Test
+    public void getDelay_zeroWhenDisabled() {
+        RateLimiter limiter = new RateLimiter(null, null, 0, null, null);
+
+        assertFalse(limiter.isEnabled());
+
+        limiter.take(UUID.randomUUID(), 1 << 20);
+
+        assertEquals(0, limiter.getDelay(UUID.randomUUID()));
+        assertFalse(limiter.isRefused(null));
+    }
+
+    @Test
+    public void getDelay_holdsBackOnceMessagesAreTaken() {
+        RateLimiter limiter = new RateLimiter(RateLimiter.DELAY, null, 2, null, null);
+
+        limiter.take(null, 1);
+        assertEquals(0, limiter.getDelay(null));
+
+        limiter.take(null, 1);
+        long delay = limiter.getDelay(null);
+
+        assertTrue(delay > 0);
+        assertTrue(delay <= TimeUnit.SECONDS.toNanos(1));
+
+        // Held back in the queue rather than refused.
+        assertFalse(limiter.isRefused(null));
+    }
+
+    @Test
+    public void isRefused_whileExceededWithRejectPolicy() {
+        RateLimiter limiter = new RateLimiter(RateLimiter.REJECT, null, 1, null, null);
+
+        assertFalse(limiter.isRefused(null));
+
+        limiter.take(null, 1);
+
+        assertTrue(limiter.isRefused(null));
+    }
+
+    @Test
+    public void getDelay_countsBytesBeyondBucket() {
+        RateLimiter limiter = new RateLimiter(RateLimiter.DELAY, 100, null, null, null);
+
+        // A message larger than the bucket is allowed, and leaves the bucket in debt.
+        assertEquals(0, limiter.getDelay(null));
+
+        limiter.take(null, 1000);
+
+        assertTrue(limiter.getDelay(null) > TimeUnit.SECONDS.toNanos(9));
+    }
+
+    @Test
+    public void isRefused_whenDelayTooLong() {
+        RateLimiter limiter = new RateLimiter(RateLimiter.DELAY, 10, null, null, null);
+
+        limiter.take(null, 1000);
+
+        assertTrue(limiter.isRefused(null));
+    }
+
+    @Test
+    public void getDelay_limitsDestinationsIndependently() {
+        RateLimiter limiter = new RateLimiter(RateLimiter.DELAY, null, null, null, 1);
+
+        UUID limited = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+
+        limiter.take(limited, 1);
+
+        assertTrue(limiter.getDelay(limited) > 0);
+        assertEquals(0, limiter.getDelay(other));
+        assertEquals(0, limiter.getDelay(null));
+    }
+
+    @Test
+    public void scheduler_holdsBackLimitedDestinationOnly() throws Exception {
+        RateLimiter limiter = new RateLimiter(RateLimiter.DELAY, null, null, null, 1);
+        SendScheduler scheduler = new SendScheduler(null, null, limiter);
+
+        UUID limited = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+
+        List<String> sent = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch first = new CountDownLatch(2);
+        CountDownLatch all = new CountDownLatch(3);
+
+        SendScheduler.Dispatch[] dispatches = new SendScheduler.Dispatch[3];
+        String[] names = { "limited 1", "limited 2", "other" };
+        UUID[] destinations = { limited, limited, other };
+
+        for (int i = 0; i < 3; i++) {
+            final int index = i;
+
+            dispatches[i] = () -> {
+                limiter.take(destinations[index], 1);
+                sent.add(names[index]);
+
+                first.countDown();
+                all.countDown();
+
+                return UUID.randomUUID();
+            };
+        }
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(scheduler.enqueue(SendScheduler.Priority.INTERACTIVE, destinations[i], dispatches[i]));
+        }
+
+        assertTrue(first.await(5, TimeUnit.SECONDS));
+        assertEquals("limited 1", sent.get(0));
+        assertEquals("other", sent.get(1));
+
+        // The second message to the limited destination follows once its bucket has refilled.
+        assertTrue(all.await(5, TimeUnit.SECONDS));
+        assertEquals("limited 2", sent.get(2));
+
+        scheduler.release();
+    }
+}
@@ -0,0 +1,70 @@
+package com.getcapacitor.community;
+
+import static org.junit.Assert.*;
+
+import java.util.UUID;
+import org.junit.Test;
+
+public class ReassemblerTest {
+
+    private static Fragmenter.Fragment fragment(UUID messageID, int index, int total, int length) {
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) (index + i);
+        }
+        return new Fragmenter.Fragment(messageID, index, total, data);
+    }
+
+    @Test
+    public void add_completesOnceAllFragmentsArrived() {
+        Reassembler reassembler = new Reassembler();
+        UUID messageID = UUID.randomUUID();
+
+        assertNull(reassembler.add(fragment(messageID, 1, 2, 3)));
+
+        byte[] data = reassembler.add(fragment(messageID, 0, 2, 2));
+
+        assertArrayEquals(new byte[] { 0, 1, 1, 2, 3 }, data);
+    }
+
+    @Test
+    public void add_ignoresRepeatedFragments() {
+        Reassembler reassembler = new Reassembler();
+        UUID messageID = UUID.randomUUID();
+
+        assertNull(reassembler.add(fragment(messageID, 0, 3, 2)));
+        assertNull(reassembler.add(fragment(messageID, 0, 3, 2)));
+        assertNull(reassembler.add(fragment(messageID, 1, 3, 2)));
+        assertNotNull(reassembler.add(fragment(messageID, 2, 3, 2)));
+    }
+
+    @Test
+    public void add_dropsMessageWithInconsistentTotal() {
+        Reassembler reassembler = new Reassembler();
+        UUID messageID = UUID.randomUUID();
+
+        assertNull(reassembler.add(fragment(messageID, 0, 2, 2)));
+        assertNull(reassembler.add(fragment(messageID, 1, 3, 2)));
+
+        // The message starts over.
+        assertNull(reassembler.add(fragment(messageID, 1, 2, 2)));
+        assertNotNull(reassembler.add(fragment(messageID, 0, 2, 2)));
+    }
+
+    @Test
+    public void add_evictsOldestMessagesAboveByteLimit() {
+        Reassembler reassembler = new Reassembler();
+        UUID oldest = UUID.randomUUID();
+        UUID newest = UUID.randomUUID();
+
+        int half = Reassembler.MAX_BYTES / 2;
+
+        assertNull(reassembler.add(fragment(oldest, 0, 2, half)));
+        assertNull(reassembler.add(fragment(newest, 0, 2, half)));
+        assertNull(reassembler.add(fragment(UUID.randomUUID(), 0, 2, 1)));
+
+        // The oldest message has been evicted, so its last fragment starts it over.
+        assertNull(reassembler.add(fragment(oldest, 1, 2, 1)));
+        assertNotNull(reassembler.add(fragment(newest, 1, 2, 1)));
+    }
+}
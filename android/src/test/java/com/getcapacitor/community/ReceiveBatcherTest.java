@@ -0,0 +1,109 @@
+package com.getcapacitor.community;
+
+import static org.junit.Assert.*;
+
+import com.getcapacitor.community.classes.events.ReceiveEvent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Test;
+
+public class ReceiveBatcherTest {
+
+    private final BlockingQueue<List<ReceiveEvent>> batches = new LinkedBlockingQueue<>();
+
+    // Counts the flushes handed over to the dispatcher, which runs them right away.
+    private final AtomicInteger dispatched = new AtomicInteger();
+
+    private final Executor dispatcher = command -> {
+        dispatched.incrementAndGet();
+        command.run();
+    };
+
+    private ReceiveBatcher batcher;
+
+    @After
+    public void tearDown() {
+        if (batcher != null) {
+            batcher.release();
+        }
+    }
+
+    private static ReceiveEvent event() {
+        return new ReceiveEvent(UUID.randomUUID(), new byte[1], null);
+    }
+
+    @Test
+    public void isEnabled_onlyWithWindow() {
+        assertTrue(new ReceiveBatcher(10, null, dispatcher, batches::add).isEnabled());
+        assertFalse(new ReceiveBatcher(0, null, dispatcher, batches::add).isEnabled());
+        assertFalse(new ReceiveBatcher(null, null, dispatcher, batches::add).isEnabled());
+    }
+
+    @Test
+    public void add_flushesOnceFull() throws Exception {
+        batcher = new ReceiveBatcher(60000, 3, dispatcher, batches::add);
+
+        ReceiveEvent first = event();
+        ReceiveEvent second = event();
+        ReceiveEvent third = event();
+
+        batcher.add(Collections.singletonList(first));
+        batcher.add(Collections.singletonList(second));
+
+        assertNull(batches.poll());
+
+        batcher.add(Collections.singletonList(third));
+
+        // Full batches are flushed on the thread adding to them, in arrival order.
+        assertEquals(Arrays.asList(first, second, third), batches.poll());
+        assertEquals(0, dispatched.get());
+    }
+
+    @Test
+    public void add_flushesOnceWindowHasElapsed() throws Exception {
+        batcher = new ReceiveBatcher(50, 3, dispatcher, batches::add);
+
+        List<ReceiveEvent> events = new ArrayList<>(Arrays.asList(event(), event()));
+
+        batcher.add(events);
+
+        assertEquals(events, batches.poll(5, TimeUnit.SECONDS));
+        assertEquals(1, dispatched.get());
+
+        // The next event starts a window of its own.
+        ReceiveEvent later = event();
+        batcher.add(Collections.singletonList(later));
+
+        assertEquals(Collections.singletonList(later), batches.poll(5, TimeUnit.SECONDS));
+        assertEquals(2, dispatched.get());
+    }
+
+    @Test
+    public void add_ignoresEmptyEvents() throws Exception {
+        batcher = new ReceiveBatcher(10, 3, dispatcher, batches::add);
+
+        batcher.add(Collections.emptyList());
+
+        assertNull(batches.poll(100, TimeUnit.MILLISECONDS));
+        assertEquals(0, dispatched.get());
+    }
+
+    @Test
+    public void release_dropsPendingEvents() throws Exception {
+        batcher = new ReceiveBatcher(50, 3, dispatcher, batches::add);
+
+        batcher.add(Collections.singletonList(event()));
+        batcher.release();
+
+        assertNull(batches.poll(200, TimeUnit.MILLISECONDS));
+    }
+}
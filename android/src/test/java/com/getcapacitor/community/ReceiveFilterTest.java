@@ -0,0 +1,94 @@
+package com.getcapacitor.community;
+
+import static org.junit.Assert.*;
+
+import android.util.Pair;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class ReceiveFilterTest {
+
+    private static Pair<String, UUID> mode(String type, UUID sender) {
+        return new Pair<>(type, sender);
+    }
+
+    @Test
+    public void none_acceptsEverything() {
+        assertTrue(ReceiveFilter.NONE.acceptsTransmissionMode(null));
+        assertTrue(ReceiveFilter.NONE.acceptsTransmissionMode(mode("p2p", UUID.randomUUID())));
+        assertTrue(ReceiveFilter.NONE.acceptsPayload(null));
+        assertTrue(ReceiveFilter.NONE.acceptsPayload(new byte[0]));
+    }
+
+    @Test
+    public void acceptsTransmissionMode_matchesTransmissionTypes() {
+        ReceiveFilter filter = new ReceiveFilter(Arrays.asList("mesh", "p2p"), null, null, null);
+
+        assertFalse(filter.acceptsTransmissionMode(mode("broadcast", UUID.randomUUID())));
+        assertTrue(filter.acceptsTransmissionMode(mode("mesh", UUID.randomUUID())));
+        assertTrue(filter.acceptsTransmissionMode(mode("p2p", UUID.randomUUID())));
+        assertFalse(filter.acceptsTransmissionMode(mode("unknown", UUID.randomUUID())));
+
+        // Without a transmission mode, only a filter on the payload alone lets the message through.
+        assertFalse(filter.acceptsTransmissionMode(null));
+        assertTrue(new ReceiveFilter(null, null, null, null).acceptsTransmissionMode(null));
+    }
+
+    @Test
+    public void acceptsTransmissionMode_matchesSenders() {
+        Random random = new Random(0);
+
+        List<UUID> allowed = new ArrayList<>();
+
+        // Both signs of the most significant bits, to match the ordering of UUID.compareTo.
+        for (int i = 0; i < 64; i++) {
+            allowed.add(new UUID(random.nextLong(), random.nextLong()));
+        }
+
+        Collections.shuffle(allowed, random);
+
+        UUID denied = allowed.get(0);
+
+        ReceiveFilter filter = new ReceiveFilter(null, allowed, Collections.singletonList(denied), null);
+
+        for (UUID sender : allowed.subList(1, allowed.size())) {
+            assertTrue(filter.acceptsTransmissionMode(mode("mesh", sender)));
+        }
+
+        // Denied senders are refused although they are allowed.
+        assertFalse(filter.acceptsTransmissionMode(mode("mesh", denied)));
+        assertFalse(filter.acceptsTransmissionMode(mode("mesh", UUID.randomUUID())));
+        assertFalse(filter.acceptsTransmissionMode(mode("mesh", null)));
+        assertFalse(filter.acceptsTransmissionMode(null));
+
+        ReceiveFilter denying = new ReceiveFilter(null, null, Collections.singletonList(denied), null);
+
+        assertFalse(denying.acceptsTransmissionMode(mode("broadcast", denied)));
+        assertTrue(denying.acceptsTransmissionMode(mode("broadcast", UUID.randomUUID())));
+        assertTrue(denying.acceptsTransmissionMode(mode("broadcast", null)));
+    }
+
+    @Test
+    public void acceptsPayload_matchesPrefixes() {
+        ReceiveFilter filter = new ReceiveFilter(null, null, null, Arrays.asList(new byte[] { 1, 2 }, new byte[] { 7 }));
+
+        assertTrue(filter.acceptsPayload(new byte[] { 1, 2, 3 }));
+        assertTrue(filter.acceptsPayload(new byte[] { 1, 2 }));
+        assertTrue(filter.acceptsPayload(new byte[] { 7 }));
+        assertFalse(filter.acceptsPayload(new byte[] { 1 }));
+        assertFalse(filter.acceptsPayload(new byte[] { 2, 1 }));
+        assertFalse(filter.acceptsPayload(new byte[0]));
+        assertFalse(filter.acceptsPayload(null));
+
+        // An empty prefix matches every payload.
+        assertTrue(new ReceiveFilter(null, null, null, Collections.singletonList(new byte[0])).acceptsPayload(new byte[0]));
+    }
+}
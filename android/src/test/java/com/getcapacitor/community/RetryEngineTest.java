@@ -0,0 +1,158 @@
+package com.getcapacitor.community;
+
+import static org.junit.Assert.*;
+
+import android.util.Pair;
+import com.getcapacitor.community.BridgefyController.Reason;
+import com.getcapacitor.community.BridgefyController.ReasonType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.json.JSONObject;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class RetryEngineTest {
+
+    private static final Pair<String, UUID> BROADCAST = new Pair<>("broadcast", UUID.randomUUID());
+
+    private static final byte[] DATA = { 1, 2, 3 };
+
+    private static final Reason GENERIC = new Reason(ReasonType.GENERIC, null, null);
+
+    private static class Listener implements RetryEngine.Resend, RetryEngine.Failure {
+
+        final List<RetryEngine.Retry> resent = Collections.synchronizedList(new ArrayList<>());
+        final List<RetryEngine.Retry> failed = Collections.synchronizedList(new ArrayList<>());
+
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        @Override
+        public void resend(RetryEngine.Retry retry) {
+            resent.add(retry);
+            latch.countDown();
+        }
+
+        @Override
+        public void fail(RetryEngine.Retry retry, Reason reason) {
+            failed.add(retry);
+        }
+    }
+
+    private static JSONObject policies(int attempts) throws Exception {
+        JSONObject policy = new JSONObject();
+        policy.put("maxAttempts", attempts);
+        policy.put("initialDelay", 0);
+        policy.put("maxDelay", 0);
+
+        JSONObject policies = new JSONObject();
+        policies.put(ReasonType.GENERIC, policy);
+
+        return policies;
+    }
+
+    private static UUID dispatch(RetryEngine engine, UUID messageID) throws Exception {
+        return engine.dispatch(messageID, null, DATA, BROADCAST, SendScheduler.Priority.INTERACTIVE, UUID::randomUUID);
+    }
+
+    @Test
+    public void onFailToSend_reportsRightAwayWithoutPolicies() throws Exception {
+        Listener listener = new Listener();
+        RetryEngine engine = new RetryEngine(null, listener, listener);
+
+        assertFalse(engine.isEnabled());
+
+        UUID attemptID = dispatch(engine, null);
+
+        assertEquals(attemptID, engine.onFailToSend(attemptID, GENERIC));
+        assertTrue(listener.resent.isEmpty());
+    }
+
+    @Test
+    public void onSend_reportsMessageSentAgainWithFirstMessageID() throws Exception {
+        Listener listener = new Listener();
+        RetryEngine engine = new RetryEngine(null, listener, listener);
+
+        UUID messageID = UUID.randomUUID();
+        UUID attemptID = dispatch(engine, messageID);
+
+        assertEquals(messageID, engine.onSend(attemptID));
+    }
+
+    @Test
+    public void onFailToSend_sendsAgainUntilOutOfAttempts() throws Exception {
+        Listener listener = new Listener();
+        RetryEngine engine = new RetryEngine(policies(2), listener, listener);
+
+        UUID messageID = dispatch(engine, null);
+
+        assertNull(engine.onFailToSend(messageID, GENERIC));
+        assertTrue(listener.latch.await(5, TimeUnit.SECONDS));
+
+        RetryEngine.Retry retry = listener.resent.get(0);
+
+        assertEquals(messageID, retry.messageID);
+        assertArrayEquals(DATA, retry.data);
+
+        UUID attemptID = engine.dispatch(retry, UUID::randomUUID);
+
+        // The last attempt is reported with the message ID of the first one.
+        assertEquals(messageID, engine.onFailToSend(attemptID, GENERIC));
+        assertEquals(1, listener.resent.size());
+
+        engine.release();
+    }
+
+    @Test
+    public void onFailToSend_reportsReasonsWithoutPolicy() throws Exception {
+        Listener listener = new Listener();
+        RetryEngine engine = new RetryEngine(policies(3), listener, listener);
+
+        UUID messageID = dispatch(engine, null);
+
+        assertEquals(messageID, engine.onFailToSend(messageID, new Reason(ReasonType.SESSION_ERROR, null, null)));
+        assertTrue(listener.resent.isEmpty());
+    }
+
+    @Test
+    public void onSend_reportsAttemptWithFirstMessageID() throws Exception {
+        Listener listener = new Listener();
+        RetryEngine engine = new RetryEngine(policies(3), listener, listener);
+
+        UUID messageID = dispatch(engine, null);
+
+        assertNull(engine.onFailToSend(messageID, GENERIC));
+        assertTrue(listener.latch.await(5, TimeUnit.SECONDS));
+
+        UUID attemptID = engine.dispatch(listener.resent.get(0), UUID::randomUUID);
+
+        assertEquals(messageID, engine.onSend(attemptID));
+
+        engine.release();
+    }
+
+    @Test
+    public void onFailure_failsOnceOutOfAttempts() throws Exception {
+        Listener listener = new Listener();
+        RetryEngine engine = new RetryEngine(policies(1), listener, listener);
+
+        UUID messageID = dispatch(engine, null);
+
+        // The only attempt has been used, so the message is failed without scheduling another one.
+        assertEquals(messageID, engine.onFailToSend(messageID, GENERIC));
+
+        RetryEngine.Retry retry = new RetryEngine.Retry(messageID, null, DATA, BROADCAST, SendScheduler.Priority.INTERACTIVE);
+        retry.attempts = 1;
+
+        engine.onFailure(retry, GENERIC);
+
+        assertEquals(1, listener.failed.size());
+        assertEquals(messageID, listener.failed.get(0).messageID);
+        assertTrue(listener.resent.isEmpty());
+    }
+}
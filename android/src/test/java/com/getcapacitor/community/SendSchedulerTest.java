@@ -0,0 +1,129 @@
+package com.getcapacitor.community;
+
+import static org.junit.Assert.*;
+
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+
+public class SendSchedulerTest {
+
+    private final BlockingQueue<String> dispatched = new LinkedBlockingQueue<>();
+
+    private SendScheduler scheduler;
+
+    @After
+    public void tearDown() {
+        if (scheduler != null) {
+            scheduler.release();
+        }
+    }
+
+    private static RateLimiter unlimited() {
+        return new RateLimiter(null, null, null, null, null);
+    }
+
+    private SendScheduler.Dispatch dispatch(String name, UUID messageID) {
+        return () -> {
+            dispatched.add(name);
+            return messageID;
+        };
+    }
+
+    private String next() throws InterruptedException {
+        return dispatched.poll(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Waits until {@code count} messages are in flight.
+     */
+    private void awaitInFlight(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (scheduler.getInFlight() < count && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+
+        assertEquals(count, scheduler.getInFlight());
+    }
+
+    @Test
+    public void enqueue_dispatchesByPriority() throws Exception {
+        scheduler = new SendScheduler(null, 1, unlimited());
+
+        UUID first = UUID.randomUUID();
+        UUID bulk = UUID.randomUUID();
+        UUID interactive = UUID.randomUUID();
+        UUID control = UUID.randomUUID();
+
+        scheduler.enqueue(SendScheduler.Priority.BULK, null, dispatch("first", first));
+
+        assertEquals("first", next());
+        awaitInFlight(1);
+
+        scheduler.enqueue(SendScheduler.Priority.BULK, null, dispatch("bulk", bulk));
+        scheduler.enqueue(SendScheduler.Priority.INTERACTIVE, null, dispatch("interactive", interactive));
+        scheduler.enqueue(SendScheduler.Priority.CONTROL, null, dispatch("control", control));
+
+        assertEquals(3, scheduler.getQueueDepth());
+
+        scheduler.onComplete(first);
+        assertEquals("control", next());
+
+        scheduler.onComplete(control);
+        assertEquals("interactive", next());
+
+        scheduler.onComplete(interactive);
+        assertEquals("bulk", next());
+    }
+
+    @Test
+    public void enqueue_rejectsOnceLaneIsFull() throws Exception {
+        scheduler = new SendScheduler(1, 1, unlimited());
+
+        scheduler.enqueue(SendScheduler.Priority.BULK, null, dispatch("first", UUID.randomUUID()));
+
+        assertEquals("first", next());
+        awaitInFlight(1);
+
+        assertTrue(scheduler.enqueue(SendScheduler.Priority.BULK, null, dispatch("queued", UUID.randomUUID())));
+        assertFalse(scheduler.enqueue(SendScheduler.Priority.BULK, null, dispatch("rejected", UUID.randomUUID())));
+
+        // The lanes are bounded apart.
+        assertTrue(scheduler.enqueue(SendScheduler.Priority.CONTROL, null, dispatch("control", UUID.randomUUID())));
+
+        assertEquals(2, scheduler.getQueueDepth());
+    }
+
+    @Test
+    public void drain_expiresUnreportedMessages() throws Exception {
+        scheduler = new SendScheduler(null, 1, unlimited(), 50);
+
+        scheduler.enqueue(SendScheduler.Priority.INTERACTIVE, null, dispatch("unreported", UUID.randomUUID()));
+        scheduler.enqueue(SendScheduler.Priority.INTERACTIVE, null, dispatch("next", UUID.randomUUID()));
+
+        assertEquals("unreported", next());
+
+        // The SDK never reports the first message, so the next one is sent once it has expired.
+        assertEquals("next", next());
+    }
+
+    @Test
+    public void onComplete_isIgnoredOnceReleased() throws Exception {
+        scheduler = new SendScheduler(null, 1, unlimited());
+
+        UUID messageID = UUID.randomUUID();
+        scheduler.enqueue(SendScheduler.Priority.INTERACTIVE, null, dispatch("sent", messageID));
+
+        assertEquals("sent", next());
+        awaitInFlight(1);
+
+        scheduler.release();
+        scheduler.onComplete(messageID);
+
+        assertEquals(0, scheduler.getInFlight());
+    }
+}
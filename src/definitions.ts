@@ -35,10 +35,532 @@ declare module '@capacitor/cli' {
        * @since 1.1.0
        */
       propagationProfile?: PropagationProfile;
+
+      /**
+       * The maximum number of messages waiting to be sent, per priority.
+       *
+       * When full, sends are rejected with `ReasonType.QUEUE_FULL`.
+       *
+       * ![Android](assets/android.svg) Only available for Android.
+       *
+       * @default 256
+       * @example 64
+       * @since 1.3.0
+       */
+      sendQueueCapacity?: number;
+
+      /**
+       * The maximum number of messages handed over to the SDK that have not been sent yet.
+       *
+       * ![Android](assets/android.svg) Only available for Android.
+       *
+       * @default 16
+       * @example 4
+       * @since 1.3.0
+       */
+      maxMessagesInFlight?: number;
+
+      /**
+       * The maximum size in bytes of a single SDK message.
+       *
+       * Larger payloads are split into fragments and reassembled by the receiving plugin into a single `onReceive` event.
+       * Their `onSend`, `onFailToSend` and `onProgress` events refer to the whole payload.
+       * Payloads above 8 MiB are rejected with `ReasonType.PAYLOAD_TOO_LARGE`.
+       *
+       * ![Android](assets/android.svg) Only available for Android.
+       *
+       * @default 16384
+       * @example 4096
+       * @since 1.3.0
+       */
+      fragmentSize?: number;
+
+      /**
+       * The codec used to compress outgoing payloads.
+       *
+       * Compressed payloads are prefixed with a five-byte header and decompressed by the receiving plugin.
+       * Incoming payloads are always decompressed if needed, regardless of this setting.
+       *
+       * ![Android](assets/android.svg) Only available for Android.
+       *
+       * @default Compression.NONE
+       * @example Compression.DEFLATE
+       * @since 1.3.0
+       */
+      compression?: Compression;
+
+      /**
+       * The minimum size in bytes of a payload to be compressed.
+       *
+       * ![Android](assets/android.svg) Only available for Android.
+       *
+       * @default 256
+       * @example 128
+       * @since 1.3.0
+       */
+      compressionThreshold?: number;
+
+      /**
+       * The time in milliseconds small payloads for the same transmission mode are held back, to be packed into a single
+       * SDK message.
+       *
+       * The receiving plugin unpacks them into separate `onReceive` events, each with its own message ID.
+       * Messages with `control` priority are never held back.
+       * Set to `0` to disable coalescing.
+       *
+       * ![Android](assets/android.svg) Only available for Android.
+       *
+       * @default 0
+       * @example 20
+       * @since 1.3.0
+       */
+      coalescingWindow?: number;
+
+      /**
+       * The maximum size in bytes of a packed SDK message.
+       *
+       * Payloads too large to fit into an empty packed message are sent on their own.
+       *
+       * ![Android](assets/android.svg) Only available for Android.
+       *
+       * @default 1024
+       * @example 512
+       * @since 1.3.0
+       */
+      coalescingSize?: number;
+
+      /**
+       * How received messages that have already been seen are recognized and dropped.
+       *
+       * ![Android](assets/android.svg) Only available for Android.
+       *
+       * @default DuplicateFilter.NONE
+       * @example DuplicateFilter.MESSAGE_ID
+       * @since 1.3.0
+       */
+      duplicateFilter?: DuplicateFilter;
+
+      /**
+       * The number of received messages remembered by the duplicate filter.
+       *
+       * ![Android](assets/android.svg) Only available for Android.
+       *
+       * @default 1024
+       * @example 4096
+       * @since 1.3.0
+       */
+      duplicateFilterSize?: number;
+
+      /**
+       * The time in milliseconds a received message is remembered by the duplicate filter.
+       *
+       * ![Android](assets/android.svg) Only available for Android.
+       *
+       * @default 300000
+       * @example 60000
+       * @since 1.3.0
+       */
+      duplicateFilterWindow?: number;
+
+      /**
+       * The time in milliseconds received messages are gathered, to be delivered with a single `onReceiveBatch` event
+       * instead of one `onReceive` event each.
+       *
+       * Set to `0` to deliver every message with its own `onReceive` event.
+       *
+       * ![Android](assets/android.svg) Only available for Android.
+       *
+       * @default 0
+       * @example 16
+       * @since 1.3.0
+       */
+      receiveBatchWindow?: number;
+
+      /**
+       * The maximum number of messages delivered with a single `onReceiveBatch` event.
+       *
+       * ![Android](assets/android.svg) Only available for Android.
+       *
+       * @default 64
+       * @example 32
+       * @since 1.3.0
+       */
+      receiveBatchSize?: number;
+
+      /**
+       * The minimum time in milliseconds between two `onProgress` events of the same message.
+       *
+       * The first and the final event of a message are always delivered.
+       *
+       * ![Android](assets/android.svg) Only available for Android.
+       *
+       * @default 0
+       * @example 100
+       * @since 1.3.0
+       */
+      progressInterval?: number;
+
+      /**
+       * The minimum progress in percent between two `onProgress` events of the same message.
+       *
+       * The first and the final event of a message are always delivered.
+       *
+       * ![Android](assets/android.svg) Only available for Android.
+       *
+       * @default 0
+       * @example 5
+       * @since 1.3.0
+       */
+      progressStep?: number;
+
+      /**
+       * The time in milliseconds the latest progress of every message being sent is gathered, to be delivered with a
+       * single `onProgressBatch` event instead of `onProgress` events.
+       *
+       * Set to `0` to deliver `onProgress` events.
+       *
+       * ![Android](assets/android.svg) Only available for Android.
+       *
+       * @default 0
+       * @example 16
+       * @since 1.3.0
+       */
+      progressBatchWindow?: number;
+
+      /**
+       * The maximum number of SDK callbacks waiting to be turned into events.
+       *
+       * Callbacks are handed over from the SDK thread to a thread of the plugin, and handled in the order they arrived.
+       *
+       * ![Android](assets/android.svg) Only available for Android.
+       *
+       * @default 1024
+       * @example 256
+       * @since 1.3.0
+       */
+      dispatchQueueSize?: number;
+
+      /**
+       * What happens to SDK callbacks when the queue is full.
+       *
+       * `'block'` holds up the SDK thread until there is room. `'drop'` drops `onProgress` events instead, and other
+       * events take the place of the oldest queued `onProgress` event, or wait for room if there is none.
+       *
+       * ![Android](assets/android.svg) Only available for Android.
+       *
+       * @default 'block'
+       * @example 'drop'
+       * @since 1.3.0
+       */
+      dispatchOverflow?: 'block' | 'drop';
+
+      /**
+       * The maximum number of queries run in parallel.
+       *
+       * Plugin methods run off the plugin thread: lifecycle methods one at a time, sends one at a time in the order they
+       * have been called, `setReceiveFilter` and `establishSecureConnection` one at a time, and queries in parallel, so
+       * that a slow `start` does not hold up `send` or `isStarted`.
+       *
+       * ![Android](assets/android.svg) Only available for Android.
+       *
+       * @default 4
+       * @example 2
+       * @since 1.3.0
+       */
+      methodThreads?: number;
+
+      /**
+       * How the payload of received messages is delivered.
+       *
+       * ![Android](assets/android.svg) Only available for Android.
+       *
+       * @default ReceiveMode.EAGER
+       * @example ReceiveMode.LAZY
+       * @since 1.3.0
+       */
+      receiveMode?: ReceiveMode;
+
+      /**
+       * The maximum number of bytes of payloads kept for `getPayload`, if `receiveMode` is `ReceiveMode.LAZY`.
+       *
+       * The least recently used payloads are dropped first. Larger payloads are delivered in full.
+       *
+       * ![Android](assets/android.svg) Only available for Android.
+       *
+       * @default 8388608
+       * @example 1048576
+       * @since 1.3.0
+       */
+      payloadStoreSize?: number;
+
+      /**
+       * The time in milliseconds a payload is kept for `getPayload`, if `receiveMode` is `ReceiveMode.LAZY`.
+       *
+       * ![Android](assets/android.svg) Only available for Android.
+       *
+       * @default 300000
+       * @example 60000
+       * @since 1.3.0
+       */
+      payloadStoreTimeout?: number;
+
+      /**
+       * The number of bytes of the payload included in `onReceive` events as `preview`, if `receiveMode` is
+       * `ReceiveMode.LAZY`.
+       *
+       * ![Android](assets/android.svg) Only available for Android.
+       *
+       * @default 64
+       * @example 16
+       * @since 1.3.0
+       */
+      payloadPreviewSize?: number;
+
+      /**
+       * The minimum size in bytes of received payloads written to a file in the cache directory, delivered as `uri`
+       * instead of `data`.
+       *
+       * Files are written in the background, so their `onReceive` event may follow events of smaller messages received
+       * later. Set to `0` to deliver every payload inline.
+       *
+       * ![Android](assets/android.svg) Only available for Android.
+       *
+       * @default 0
+       * @example 262144
+       * @since 1.3.0
+       */
+      spillThreshold?: number;
+
+      /**
+       * The maximum number of bytes of files written for received payloads, the oldest files are deleted first.
+       *
+       * ![Android](assets/android.svg) Only available for Android.
+       *
+       * @default 67108864
+       * @example 16777216
+       * @since 1.3.0
+       */
+      spillQuota?: number;
+
+      /**
+       * If `true`, sent messages are journaled to a file until `onSend` confirms them.
+       *
+       * Messages which failed, or were still queued when the app was killed, are sent again after `onStarted` or
+       * `onConnected`. They are reported with the message ID of their first attempt.
+       *
+       * ![Android](assets/android.svg) Only available for Android.
+       *
+       * @default false
+       * @example true
+       * @since 1.3.0
+       */
+      outbox?: boolean;
+
+      /**
+       * The maximum number of unconfirmed messages kept in the outbox, further sends are rejected with
+       * `ReasonType.QUEUE_FULL`.
+       *
+       * ![Android](assets/android.svg) Only available for Android.
+       *
+       * @default 1024
+       * @example 256
+       * @since 1.3.0
+       */
+      outboxSize?: number;
+
+      /**
+       * The maximum number of times a failed message is sent again from the outbox, before it is dropped.
+       *
+       * Messages which failed for a reason other than `ReasonType.GENERIC`, `ReasonType.UNKNOWN`,
+       * `ReasonType.SESSION_ERROR`, `ReasonType.INTERNET_CONNECTION_REQUIRED`, `ReasonType.QUEUE_FULL` or
+       * `ReasonType.RATE_LIMITED` are dropped right away.
+       *
+       * ![Android](assets/android.svg) Only available for Android.
+       *
+       * @default 5
+       * @example 10
+       * @since 1.3.0
+       */
+      outboxMaxAttempts?: number;
+
+      /**
+       * The time in milliseconds a message is kept in the outbox, before it is dropped.
+       *
+       * ![Android](assets/android.svg) Only available for Android.
+       *
+       * @default 86400000
+       * @example 3600000
+       * @since 1.3.0
+       */
+      outboxMaxAge?: number;
+
+      /**
+       * How failed messages are sent again, by the type of the reason they failed with.
+       *
+       * A message is reported with `onSend` or `onFailToSend` once, with the message ID of its first attempt, when it
+       * has been sent or has run out of attempts. Messages failing for other reasons are not sent again.
+       *
+       * ![Android](assets/android.svg) Only available for Android.
+       *
+       * @example { generic: { maxAttempts: 5 }, sessionError: { maxAttempts: 3, initialDelay: 2000 } }
+       * @since 1.3.0
+       */
+      retryPolicies?: { [type in ReasonType]?: RetryPolicy };
+
+      /**
+       * What happens to messages exceeding the rate limits.
+       *
+       * `'delay'` holds them back in the send queue until the limits allow them, rejecting new messages only if the
+       * limits would hold them back for more than 30 seconds, `'reject'` rejects new messages with
+       * `ReasonType.RATE_LIMITED` while the limits are exceeded.
+       *
+       * The limits apply to messages sent again by the outbox and by retries as well, and count the messages and bytes
+       * handed over to the SDK, after compression and fragmentation.
+       *
+       * ![Android](assets/android.svg) Only available for Android.
+       *
+       * @default 'delay'
+       * @example 'reject'
+       * @since 1.3.0
+       */
+      rateLimitPolicy?: 'delay' | 'reject';
+
+      /**
+       * The maximum number of bytes sent per second, in total.
+       *
+       * ![Android](assets/android.svg) Only available for Android.
+       *
+       * @default 0 (unlimited)
+       * @example 65536
+       * @since 1.3.0
+       */
+      rateLimitBytes?: number;
+
+      /**
+       * The maximum number of SDK messages sent per second, in total.
+       *
+       * Every fragment and every packed message counts as one message.
+       *
+       * ![Android](assets/android.svg) Only available for Android.
+       *
+       * @default 0 (unlimited)
+       * @example 50
+       * @since 1.3.0
+       */
+      rateLimitMessages?: number;
+
+      /**
+       * The maximum number of bytes sent per second to the UUID of a transmission mode.
+       *
+       * ![Android](assets/android.svg) Only available for Android.
+       *
+       * @default 0 (unlimited)
+       * @example 16384
+       * @since 1.3.0
+       */
+      rateLimitDestinationBytes?: number;
+
+      /**
+       * The maximum number of SDK messages sent per second to the UUID of a transmission mode.
+       *
+       * ![Android](assets/android.svg) Only available for Android.
+       *
+       * @default 0 (unlimited)
+       * @example 10
+       * @since 1.3.0
+       */
+      rateLimitDestinationMessages?: number;
+
+      /**
+       * How the adaptive propagation profile follows the number of peers around.
+       *
+       * ![Android](assets/android.svg) Only available for Android.
+       *
+       * @example { window: 30000, minDwell: 60000, highDensityEnter: 12, highDensityLeave: 8 }
+       * @since 1.3.0
+       */
+      adaptiveProfile?: AdaptiveProfileOptions;
     };
   }
 }
 
+/**
+ * @since 1.3.0
+ */
+export interface RetryPolicy {
+  /**
+   * The maximum number of attempts, including the first one.
+   *
+   * @default 3
+   * @since 1.3.0
+   */
+  maxAttempts?: number;
+  /**
+   * The delay in milliseconds before the second attempt, doubled for every further attempt.
+   *
+   * Half of every delay is randomized, so that messages failing together are not sent again together.
+   *
+   * @default 1000
+   * @since 1.3.0
+   */
+  initialDelay?: number;
+  /**
+   * The maximum delay in milliseconds between attempts.
+   *
+   * @default 30000
+   * @since 1.3.0
+   */
+  maxDelay?: number;
+}
+
+/**
+ * @since 1.3.0
+ */
+export interface AdaptiveProfileOptions {
+  /**
+   * The time in milliseconds a peer is counted after it has been connected.
+   *
+   * @default 60000
+   * @since 1.3.0
+   */
+  window?: number;
+  /**
+   * The minimum time in milliseconds between two switches of the profile, each of which restarts the SDK.
+   *
+   * @default 120000
+   * @since 1.3.0
+   */
+  minDwell?: number;
+  /**
+   * The number of peers at which the high-density profile is entered.
+   *
+   * @default 8
+   * @since 1.3.0
+   */
+  highDensityEnter?: number;
+  /**
+   * The number of peers below which the high-density profile is left, at most `highDensityEnter`.
+   *
+   * @default 5
+   * @since 1.3.0
+   */
+  highDensityLeave?: number;
+  /**
+   * The number of peers at or below which the sparse profile is entered.
+   *
+   * @default 1
+   * @since 1.3.0
+   */
+  sparseEnter?: number;
+  /**
+   * The number of peers at which the sparse profile is left, more than `sparseEnter`.
+   *
+   * @default 3
+   * @since 1.3.0
+   */
+  sparseLeave?: number;
+}
+
 export type Base64 = string & { readonly __brand: unique symbol };
 export function isBase64(value: string): value is Base64 {
   return /^(?:[A-Za-z0-9+/]{4})*(?:[A-Za-z0-9+/]{2}==|[A-Za-z0-9+/]{3}=)?$/.test(value);
@@ -82,6 +604,11 @@ export interface BridgefyPlugin {
   /**
    * Starts Bridgefy operations, allowing the SDK to participate in the Bridgefy network.
    *
+   * On Android, resolves once the SDK has started, or rejects with the `ReasonType` it failed with.
+   * Calls made while the SDK is starting, stopping or destroying the session are queued, and merged into the call
+   * before them if they have the same options. Once started, starting with other options rejects with
+   * `alreadyStarted`.
+   *
    * @since 1.0.0
    */
   start(options?: StartOptions): Promise<void>;
@@ -95,6 +622,8 @@ export interface BridgefyPlugin {
   /**
    * Stops Bridgefy operations and releases associated resources.
    *
+   * On Android, resolves once the SDK has stopped, or rejects with the `ReasonType` it failed with.
+   *
    * @since 1.0.0
    */
   stop(): Promise<void>;
@@ -126,6 +655,8 @@ export interface BridgefyPlugin {
   /**
    * Destroys the current session, terminating any active connections and cleaning up resources.
    *
+   * On Android, resolves once the session has been destroyed, or rejects with the `ReasonType` it failed with.
+   *
    * @since 1.0.0
    */
   destroySession(): Promise<void>;
@@ -179,32 +710,108 @@ export interface BridgefyPlugin {
    * @since 1.0.0
    */
   send(options: SendOptions): Promise<SendResult>;
-
-  /**
-   * Permissions
-   */
-
   /**
-   * Check for the appropriate permissions to use Bridgefy.
+   * Sends multiple payloads with a single call.
    *
-   * @since 1.0.0
+   * Every entry is validated and sent independently, a failing entry does not fail the whole batch.
+   *
+   * ![Android](assets/android.svg) Only available for Android.
+   *
+   * @since 1.3.0
    */
-  checkPermissions(): Promise<PermissionStatus>;
+  sendBatch(options: SendBatchOptions): Promise<SendBatchResult>;
   /**
-   * Request the appropriate permissions to use Bridgefy.
+   * Sends the content of a file using a specific transmission mode.
    *
-   * @since 1.0.0
+   * The file is read natively, so its content never has to be encoded as `Base64` in JavaScript.
+   * It is read in the background, so messages sent while it is being read may be sent before it.
+   * Files larger than 8 MiB are rejected with `payloadTooLarge`.
+   * Progress is reported with `onProgress` as for `send`.
+   *
+   * ![Android](assets/android.svg) Only available for Android.
+   *
+   * @since 1.3.0
    */
-  requestPermissions(options?: Permissions): Promise<PermissionStatus>;
+  sendFile(options: SendFileOptions): Promise<SendResult>;
 
   /**
-   * Initialization Listeners
+   * Filters
    */
 
   /**
-   * When the operation has started.
+   * Sets the rules a received message has to match to be delivered to `onReceive`.
    *
-   * @since 1.0.0
+   * Messages not matching are dropped natively, before an event is built.
+   * The filter replaces any previous one, calling it without options removes it.
+   *
+   * ![Android](assets/android.svg) Only available for Android.
+   *
+   * @since 1.3.0
+   */
+  setReceiveFilter(options?: ReceiveFilterOptions): Promise<void>;
+
+  /**
+   * Payloads
+   */
+
+  /**
+   * Retrieves the payload of a received message, if `receiveMode` is `ReceiveMode.LAZY`.
+   *
+   * Payloads are kept until they are evicted or have timed out, see `payloadStoreSize` and `payloadStoreTimeout`.
+   *
+   * ![Android](assets/android.svg) Only available for Android.
+   *
+   * @since 1.3.0
+   */
+  getPayload(options: PayloadOptions): Promise<PayloadResult>;
+
+  /**
+   * Statistics
+   */
+
+  /**
+   * Retrieves statistics about the compression of payloads.
+   *
+   * ![Android](assets/android.svg) Only available for Android.
+   *
+   * @since 1.3.0
+   */
+  compressionStatistics(): Promise<CompressionStatisticsResult>;
+
+  /**
+   * Retrieves runtime statistics about the traffic, the failures and the time spent in the plugin.
+   *
+   * ![Android](assets/android.svg) Only available for Android.
+   *
+   * @since 1.3.0
+   */
+  getStatistics(options?: StatisticsOptions): Promise<StatisticsResult>;
+
+  /**
+   * Permissions
+   */
+
+  /**
+   * Check for the appropriate permissions to use Bridgefy.
+   *
+   * @since 1.0.0
+   */
+  checkPermissions(): Promise<PermissionStatus>;
+  /**
+   * Request the appropriate permissions to use Bridgefy.
+   *
+   * @since 1.0.0
+   */
+  requestPermissions(options?: Permissions): Promise<PermissionStatus>;
+
+  /**
+   * Initialization Listeners
+   */
+
+  /**
+   * When the operation has started.
+   *
+   * @since 1.0.0
    */
   addListener(eventName: 'onStarted', listenerFunc: OnStartedListener): Promise<PluginListenerHandle>;
   /**
@@ -265,6 +872,17 @@ export interface BridgefyPlugin {
    * @since 1.0.0
    */
   addListener(eventName: 'onConnectedPeers', listenerFunc: OnConnectedPeersListener): Promise<PluginListenerHandle>;
+  /**
+   * When the connected peers have changed, returns the peers added and removed.
+   *
+   * ![Android](assets/android.svg) Only available for Android.
+   *
+   * @since 1.3.0
+   */
+  addListener(
+    eventName: 'onConnectedPeersChange',
+    listenerFunc: OnConnectedPeersChangeListener,
+  ): Promise<PluginListenerHandle>;
 
   /**
    * When an on-demand secure connection was successfully established.
@@ -309,12 +927,32 @@ export interface BridgefyPlugin {
    * @since 1.2.0
    */
   addListener(eventName: 'onProgress', listenerFunc: OnProgressListener): Promise<PluginListenerHandle>;
+  /**
+   * When a message is being sent, if `progressBatchWindow` is configured.
+   *
+   * Contains the latest progress of every message being sent.
+   *
+   * ![Android](assets/android.svg) Only available for Android.
+   *
+   * @since 1.3.0
+   */
+  addListener(eventName: 'onProgressBatch', listenerFunc: OnProgressBatchListener): Promise<PluginListenerHandle>;
   /**
    * When data has been received.
    *
    * @since 1.2.0
    */
   addListener(eventName: 'onReceive', listenerFunc: OnReceiveListener): Promise<PluginListenerHandle>;
+  /**
+   * When data has been received, if `receiveBatchWindow` is configured.
+   *
+   * Messages are delivered in the order they have been received.
+   *
+   * ![Android](assets/android.svg) Only available for Android.
+   *
+   * @since 1.3.0
+   */
+  addListener(eventName: 'onReceiveBatch', listenerFunc: OnReceiveBatchListener): Promise<PluginListenerHandle>;
 
   /**
    * Remove all listeners for this plugin.
@@ -351,252 +989,711 @@ export type OnDestroySessionListener = (event: void) => void;
 export type OnFailToDestroySessionListener = (event: OnFailToDestroySessionEvent) => void;
 export interface OnFailToDestroySessionEvent {
   /**
-   * The reason for the failure.
+   * The reason for the failure.
+   *
+   * @since 1.0.0
+   */
+  reason: Reason;
+}
+
+export type OnConnectedListener = (event: OnConnectedEvent) => void;
+export interface OnConnectedEvent {
+  /**
+   * Identifier of the peer that has established a connection.
+   *
+   * @since 1.0.0
+   */
+  peerID: PeerID;
+}
+export type OnDisconnectedListener = (event: OnDisconnectedEvent) => void;
+export interface OnDisconnectedEvent {
+  /**
+   * Identifier of the disconnected peer.
+   *
+   * @since 1.0.0
+   */
+  peerID: PeerID;
+}
+export type OnConnectedPeersListener = (event: OnConnectedPeersEvent) => void;
+export interface OnConnectedPeersEvent {
+  /**
+   * List of identifiers of the connected peers.
+   *
+   * @since 1.0.0
+   */
+  peers: PeerID[];
+}
+
+export type OnConnectedPeersChangeListener = (event: OnConnectedPeersChangeEvent) => void;
+export interface OnConnectedPeersChangeEvent {
+  /**
+   * List of identifiers of the peers which have been connected.
+   *
+   * @since 1.3.0
+   */
+  added: PeerID[];
+  /**
+   * List of identifiers of the peers which have been disconnected.
+   *
+   * @since 1.3.0
+   */
+  removed: PeerID[];
+  /**
+   * Incremented with every change.
+   *
+   * If a change has been missed, `connectedPeers` returns the peers of the current version.
+   *
+   * @since 1.3.0
+   */
+  version: number;
+}
+
+export type OnEstablishSecureConnectionListener = (event: OnEstablishSecureConnectionEvent) => void;
+export interface OnEstablishSecureConnectionEvent {
+  /**
+   * Identifier of the user with whom the secure connection is established.
+   *
+   * @since 1.0.0
+   */
+  userID: UserID;
+}
+export type OnFailToEstablishSecureConnectionListener = (event: OnFailToEstablishSecureConnectionEvent) => void;
+export interface OnFailToEstablishSecureConnectionEvent {
+  /**
+   * Identifier of the user with whom the secure connection was attempted.
+   *
+   * @since 1.0.0
+   */
+  userID: UserID;
+  /**
+   * The reason for the failure.
+   *
+   * @since 1.0.0
+   */
+  reason: Reason;
+}
+
+export type OnSendListener = (event: OnSendEvent) => void;
+export interface OnSendEvent {
+  /**
+   * Identifier of the sent message.
+   *
+   * @since 1.0.0
+   */
+  messageID: MessageID;
+}
+export type OnFailToSendListener = (event: OnFailToSendEvent) => void;
+export interface OnFailToSendEvent {
+  /**
+   * Identifier of the failed message.
+   *
+   * @since 1.0.0
+   */
+  messageID: MessageID;
+  /**
+   * The reason for the failure.
+   *
+   * @since 1.0.0
+   */
+  reason: Reason;
+}
+export type OnProgressListener = (event: OnProgressEvent) => void;
+export interface OnProgressEvent {
+  /**
+   * Identifier of the message being sent.
+   *
+   * @since 1.0.0
+   */
+  messageID: MessageID;
+  /**
+   * Current position of the message being sent.
+   *
+   * @since 1.0.0
+   */
+  position: number;
+  /**
+   * Total size of the message being sent.
+   *
+   * @since 1.0.0
+   */
+  of: number;
+}
+export type OnProgressBatchListener = (event: OnProgressBatchEvent) => void;
+export interface OnProgressBatchEvent {
+  /**
+   * The latest progress of every message being sent.
+   *
+   * @since 1.3.0
+   */
+  events: OnProgressEvent[];
+}
+export type OnReceiveListener = (event: OnReceiveEvent) => void;
+export interface OnReceiveEvent {
+  /**
+   * Identifier of the received message.
+   *
+   * @since 1.0.0
+   */
+  messageID: MessageID;
+  /**
+   * The received data, encoded as a `Base64` string.
+   *
+   * Not set if `receiveMode` is `ReceiveMode.LAZY`, use `getPayload` instead, or if the data has been written to `uri`.
+   *
+   * @since 1.0.0
+   */
+  data?: Base64;
+  /**
+   * The size of the received data in bytes, if `receiveMode` is `ReceiveMode.LAZY` or the data has been written to `uri`.
+   *
+   * ![Android](assets/android.svg) Only available for Android.
+   *
+   * @since 1.3.0
+   */
+  size?: number;
+  /**
+   * The first bytes of the received data, encoded as a `Base64` string, if `receiveMode` is `ReceiveMode.LAZY`.
+   *
+   * ![Android](assets/android.svg) Only available for Android.
+   *
+   * @since 1.3.0
+   */
+  preview?: Base64;
+  /**
+   * The `file://` URI of the file the received data has been written to, if its size reaches `spillThreshold`.
+   *
+   * Use `Capacitor.convertFileSrc` to load it in the web view. The file may be deleted to stay within `spillQuota`.
+   *
+   * ![Android](assets/android.svg) Only available for Android.
+   *
+   * @since 1.3.0
+   */
+  uri?: string;
+  /**
+   * The transmission mode used when sending the message.
+   *
+   * @since 1.0.0
+   */
+  transmissionMode: TransmissionMode;
+}
+export type OnReceiveBatchListener = (event: OnReceiveBatchEvent) => void;
+export interface OnReceiveBatchEvent {
+  /**
+   * The received messages.
+   *
+   * @since 1.3.0
+   */
+  events: OnReceiveEvent[];
+}
+
+/**
+ * @since 1.0.0
+ */
+export interface InitializeOptions {
+  /**
+   * The API key for Bridgefy.
+   *
+   * @since 1.0.0
+   */
+  apiKey?: UUID;
+
+  /**
+   * If `true`, enables verbose logging for debugging purposes.
+   *
+   * @since 1.0.0
+   */
+  verboseLogging?: boolean;
+}
+
+/**
+ * @since 1.0.0
+ */
+export interface IsInitializedResult {
+  isInitialized?: boolean;
+}
+
+/**
+ * Propagation Profiles
+ *
+ * | Profile                  | Hops Limit |        TTL | Sharing Time | Maximum Propagation | Tracklist Limit |
+ * | :----------------------- | ---------: | ---------: | -----------: | ------------------: | --------------: |
+ * | Standard                 |        100 | 400   (1d) |        15000 |                 200 |              50 |
+ * | High Density Environment |         50 | 600   (1h) |        10000 |                  50 |              50 |
+ * | Sparse Environment       |        100 | 400 (3.5d) |        10000 |                 250 |              50 |
+ * | Long Reach               |        250 | 800   (7d) |        15000 |                1000 |              50 |
+ * | Short Reach              |         50 | 800 (0.5d) |        10000 |                  50 |              50 |
+ *
+ * **Hops Limit**\
+ * The maximum number of hops a message can get. Each time a message is forwarded, is considered a hop.
+ *
+ * **TTL**\
+ * Time to live, is the maximum amount of time a message can be propagated since its creation.
+ *
+ * **Sharing Time**\
+ * The maximum amount of time a message will be kept for forwarding.
+ *
+ * **Maximum Propagation**\
+ * The maximum number of times a message will be forwarded from a device.
+ *
+ * **Tracklist Limit**\
+ * The maximum number of UUID’s stored in an array to prevent sending the message to a peer which already forwarded the message.
+ *
+ * @since 1.0.0
+ */
+export interface StartOptions {
+  /**
+   * The ID used to identify the user in the Bridgefy network.
+   *
+   * If not provided, a new user ID will be generated.
+   */
+  userID?: UserID;
+
+  /**
+   * A profile that defines a series of properties and rules for the propagation of messages.
+   *
+   * @default PropagationProfile.STANDARD
+   */
+  propagationProfile?: PropagationProfile;
+}
+
+/**
+ * @since 1.0.0
+ */
+export interface IsStartedResult {
+  isStarted?: boolean;
+}
+
+/**
+ * @since 1.0.0
+ */
+export interface LicenseExpirationDateResult {
+  /**
+   * The expiration date of the license.
+   *
+   * The time in milliseconds that has elapsed since the epoch, which is defined as the midnight at the beginning of January 1, 1970, UTC (equivalent to the UNIX epoch).
+   * This timestamp is timezone-agnostic and uniquely defines an instant in history.
+   *
+   * @since 1.0.0
+   */
+  licenseExpirationDate?: number;
+}
+
+/**
+ * @since 1.0.0
+ */
+export interface CurrentUserIDResult {
+  userID?: UserID;
+}
+
+/**
+ * @since 1.0.0
+ */
+export interface ConnectedPeersResult {
+  peers?: PeerID[];
+  /**
+   * The version of the connected peers, as of `onConnectedPeersChange`.
+   *
+   * ![Android](assets/android.svg) Only available for Android.
+   *
+   * @since 1.3.0
+   */
+  version?: number;
+}
+
+/**
+ * @since 1.0.0
+ */
+export interface SendOptions {
+  data: Base64;
+  transmissionMode: TransmissionMode;
+
+  /**
+   * If `true`, the promise settles once the message has been sent (`onSend`) or has failed (`onFailToSend`),
+   * instead of as soon as the message has been handed over to the SDK.
+   *
+   * ![Android](assets/android.svg) Only available for Android.
+   *
+   * @default false
+   * @since 1.3.0
+   */
+  awaitDelivery?: boolean;
+  /**
+   * The time in milliseconds to wait for the delivery when `awaitDelivery` is `true`.
+   *
+   * ![Android](assets/android.svg) Only available for Android.
+   *
+   * @default 30000
+   * @since 1.3.0
+   */
+  timeout?: number;
+  /**
+   * The priority of the message in the outbound queue.
+   *
+   * ![Android](assets/android.svg) Only available for Android.
+   *
+   * @default SendPriority.INTERACTIVE
+   * @since 1.3.0
+   */
+  priority?: SendPriority;
+}
+
+/**
+ * @since 1.0.0
+ */
+export interface SendResult {
+  messageID: MessageID;
+}
+
+/**
+ * @since 1.3.0
+ */
+export interface SendFileOptions extends Omit<SendOptions, 'data'> {
+  /**
+   * The file to send, as a path, a `file://` URI or a `content://` URI.
+   *
+   * @since 1.3.0
+   */
+  uri: string;
+}
+
+/**
+ * @since 1.3.0
+ */
+export interface SendBatchOptions {
+  /**
+   * The payloads to send, in order.
+   *
+   * @since 1.3.0
+   */
+  messages: SendOptions[];
+}
+
+/**
+ * @since 1.3.0
+ */
+export interface SendBatchResult {
+  /**
+   * One entry per message, in the same order as `SendBatchOptions.messages`.
+   *
+   * @since 1.3.0
+   */
+  results: SendBatchEntryResult[];
+}
+
+/**
+ * @since 1.3.0
+ */
+export interface SendBatchEntryResult {
+  /**
+   * Identifier of the sent message, if the entry has been sent.
+   *
+   * @since 1.3.0
+   */
+  messageID?: MessageID;
+  /**
+   * The error message, if the entry could not be sent.
+   *
+   * @since 1.3.0
+   */
+  error?: string;
+}
+
+/**
+ * @since 1.3.0
+ */
+export interface PayloadOptions {
+  /**
+   * Identifier of the received message.
+   *
+   * @since 1.3.0
+   */
+  messageID: MessageID;
+}
+
+/**
+ * @since 1.3.0
+ */
+export interface PayloadResult {
+  /**
+   * The received data, encoded as a `Base64` string.
+   *
+   * @since 1.3.0
+   */
+  data: Base64;
+}
+
+/**
+ * @since 1.3.0
+ */
+export interface ReceiveFilterOptions {
+  /**
+   * Only messages received with one of these transmission types are delivered.
+   *
+   * @since 1.3.0
+   */
+  transmissionTypes?: TransmissionType[];
+  /**
+   * Only messages of these senders are delivered.
+   *
+   * @since 1.3.0
+   */
+  allowedSenders?: UUID[];
+  /**
+   * Messages of these senders are dropped.
+   *
+   * @since 1.3.0
+   */
+  deniedSenders?: UUID[];
+  /**
+   * Only messages whose payload starts with one of these prefixes, or one of the `topics`, are delivered.
+   *
+   * @since 1.3.0
+   */
+  prefixes?: Base64[];
+  /**
+   * Only messages whose payload starts with the UTF-8 encoding of one of these topics, or one of the `prefixes`, are delivered.
+   *
+   * @since 1.3.0
+   */
+  topics?: string[];
+}
+
+/**
+ * @since 1.3.0
+ */
+export interface CompressionStatisticsResult {
+  /**
+   * Number of compressed outgoing payloads.
+   *
+   * @since 1.3.0
+   */
+  compressedMessages: number;
+  /**
+   * Number of outgoing payloads sent uncompressed, because they were below the threshold or did not shrink.
+   *
+   * @since 1.3.0
+   */
+  skippedMessages: number;
+  /**
+   * Number of outgoing payloads that were compressed but sent uncompressed, because they did not shrink.
+   *
+   * @since 1.3.0
+   */
+  ineffectiveMessages: number;
+  /**
+   * Total CPU time in microseconds spent compressing payloads that did not shrink.
+   *
+   * @since 1.3.0
+   */
+  ineffectiveCompressTime: number;
+  /**
+   * Size in bytes of the compressed payloads before compression.
+   *
+   * @since 1.3.0
+   */
+  uncompressedBytes: number;
+  /**
+   * Size in bytes of the compressed payloads after compression, including their header.
+   *
+   * @since 1.3.0
+   */
+  compressedBytes: number;
+  /**
+   * Ratio of `uncompressedBytes` to `compressedBytes`.
+   *
+   * @since 1.3.0
+   */
+  compressionRatio?: number;
+  /**
+   * Average CPU time in microseconds spent compressing a payload.
+   *
+   * @since 1.3.0
+   */
+  averageCompressTime?: number;
+  /**
+   * Number of decompressed incoming payloads.
+   *
+   * @since 1.3.0
+   */
+  decompressedMessages: number;
+  /**
+   * Average CPU time in microseconds spent decompressing a payload.
    *
-   * @since 1.0.0
+   * @since 1.3.0
    */
-  reason: Reason;
+  averageDecompressTime?: number;
 }
 
-export type OnConnectedListener = (event: OnConnectedEvent) => void;
-export interface OnConnectedEvent {
+/**
+ * @since 1.3.0
+ */
+export interface StatisticsOptions {
   /**
-   * Identifier of the peer that has established a connection.
+   * If `true`, the counters start over once they have been retrieved.
    *
-   * @since 1.0.0
+   * @default false
+   * @since 1.3.0
    */
-  peerID: PeerID;
+  reset?: boolean;
 }
-export type OnDisconnectedListener = (event: OnDisconnectedEvent) => void;
-export interface OnDisconnectedEvent {
+
+/**
+ * @since 1.3.0
+ */
+export interface TrafficStatistics {
   /**
-   * Identifier of the disconnected peer.
+   * Number of messages.
    *
-   * @since 1.0.0
+   * @since 1.3.0
    */
-  peerID: PeerID;
-}
-export type OnConnectedPeersListener = (event: OnConnectedPeersEvent) => void;
-export interface OnConnectedPeersEvent {
+  messages: number;
   /**
-   * List of identifiers of the connected peers.
+   * Number of bytes.
    *
-   * @since 1.0.0
+   * @since 1.3.0
    */
-  peers: PeerID[];
+  bytes: number;
 }
 
-export type OnEstablishSecureConnectionListener = (event: OnEstablishSecureConnectionEvent) => void;
-export interface OnEstablishSecureConnectionEvent {
+/**
+ * @since 1.3.0
+ */
+export interface HistogramStatistics {
   /**
-   * Identifier of the user with whom the secure connection is established.
+   * Number of recorded durations.
    *
-   * @since 1.0.0
+   * @since 1.3.0
    */
-  userID: UserID;
-}
-export type OnFailToEstablishSecureConnectionListener = (event: OnFailToEstablishSecureConnectionEvent) => void;
-export interface OnFailToEstablishSecureConnectionEvent {
+  count: number;
   /**
-   * Identifier of the user with whom the secure connection was attempted.
+   * Average duration in microseconds.
    *
-   * @since 1.0.0
+   * @since 1.3.0
    */
-  userID: UserID;
+  average?: number;
   /**
-   * The reason for the failure.
+   * Longest duration in microseconds.
    *
-   * @since 1.0.0
+   * @since 1.3.0
    */
-  reason: Reason;
+  max: number;
+  /**
+   * Upper bounds in microseconds of the buckets.
+   *
+   * @since 1.3.0
+   */
+  bounds: number[];
+  /**
+   * Number of durations per bucket, the last bucket holds the durations above the last bound.
+   *
+   * @since 1.3.0
+   */
+  counts: number[];
 }
 
-export type OnSendListener = (event: OnSendEvent) => void;
-export interface OnSendEvent {
+/**
+ * @since 1.3.0
+ */
+export interface StatisticsResult {
   /**
-   * Identifier of the sent message.
+   * Messages and bytes handed over to the SDK, per transmission type.
    *
-   * @since 1.0.0
+   * Counts the messages as sent by the application, before they are packed, compressed and fragmented.
+   *
+   * @since 1.3.0
    */
-  messageID: MessageID;
-}
-export type OnFailToSendListener = (event: OnFailToSendEvent) => void;
-export interface OnFailToSendEvent {
+  sent: { [type in TransmissionType]: TrafficStatistics };
   /**
-   * Identifier of the failed message.
+   * Messages and bytes received from the SDK, per transmission type.
    *
-   * @since 1.0.0
+   * Counts the messages as delivered to the application, once they have been reassembled, decompressed and unpacked,
+   * including the ones dropped by the receive filter or as duplicates afterwards.
+   *
+   * @since 1.3.0
    */
-  messageID: MessageID;
+  received: { [type in TransmissionType]: TrafficStatistics };
   /**
-   * The reason for the failure.
+   * SDK messages and bytes handed over to the SDK, per transmission type.
    *
-   * @since 1.0.0
+   * Counts every fragment and packed message on its own, with its size on the wire, including the ones sent again.
+   *
+   * @since 1.3.0
    */
-  reason: Reason;
-}
-export type OnProgressListener = (event: OnProgressEvent) => void;
-export interface OnProgressEvent {
+  wireSent: { [type in TransmissionType]: TrafficStatistics };
   /**
-   * Identifier of the message being sent.
+   * SDK messages and bytes received from the SDK, per transmission type.
    *
-   * @since 1.0.0
+   * Counts every fragment and packed message on its own, with its size on the wire.
+   *
+   * @since 1.3.0
    */
-  messageID: MessageID;
+  wireReceived: { [type in TransmissionType]: TrafficStatistics };
   /**
-   * Current position of the message being sent.
+   * Number of messages that failed to be sent, per reason type.
    *
-   * @since 1.0.0
+   * @since 1.3.0
    */
-  position: number;
+  failures: { [type in ReasonType]?: number };
   /**
-   * Total size of the message being sent.
+   * Time from calling `send` until `onSend`, including queueing and retries.
    *
-   * @since 1.0.0
+   * @since 1.3.0
    */
-  of: number;
-}
-export type OnReceiveListener = (event: OnReceiveEvent) => void;
-export interface OnReceiveEvent {
+  sendLatency: HistogramStatistics;
   /**
-   * Identifier of the received message.
+   * Time the SDK took to accept a message.
    *
-   * @since 1.0.0
+   * @since 1.3.0
    */
-  messageID: MessageID;
+  sdkSendTime: HistogramStatistics;
   /**
-   * The received data, encoded as a `Base64` string.
+   * Time to build received events, including the Base64 encoding of their payload.
    *
-   * @since 1.0.0
+   * @since 1.3.0
    */
-  data: Base64;
+  receiveBuildTime: HistogramStatistics;
   /**
-   * The transmission mode used when sending the message.
+   * Time to hand an event over to the bridge.
    *
-   * @since 1.0.0
+   * @since 1.3.0
    */
-  transmissionMode: TransmissionMode;
-}
-
-/**
- * @since 1.0.0
- */
-export interface InitializeOptions {
+  notifyTime: HistogramStatistics;
   /**
-   * The API key for Bridgefy.
+   * Number of messages waiting to be sent.
    *
-   * @since 1.0.0
+   * @since 1.3.0
    */
-  apiKey?: UUID;
-
+  sendQueueDepth: number;
   /**
-   * If `true`, enables verbose logging for debugging purposes.
+   * Number of messages handed over to the SDK that have not been sent yet.
    *
-   * @since 1.0.0
+   * @since 1.3.0
    */
-  verboseLogging?: boolean;
-}
-
-/**
- * @since 1.0.0
- */
-export interface IsInitializedResult {
-  isInitialized?: boolean;
-}
-
-/**
- * Propagation Profiles
- *
- * | Profile                  | Hops Limit |        TTL | Sharing Time | Maximum Propagation | Tracklist Limit |
- * | :----------------------- | ---------: | ---------: | -----------: | ------------------: | --------------: |
- * | Standard                 |        100 | 400   (1d) |        15000 |                 200 |              50 |
- * | High Density Environment |         50 | 600   (1h) |        10000 |                  50 |              50 |
- * | Sparse Environment       |        100 | 400 (3.5d) |        10000 |                 250 |              50 |
- * | Long Reach               |        250 | 800   (7d) |        15000 |                1000 |              50 |
- * | Short Reach              |         50 | 800 (0.5d) |        10000 |                  50 |              50 |
- *
- * **Hops Limit**\
- * The maximum number of hops a message can get. Each time a message is forwarded, is considered a hop.
- *
- * **TTL**\
- * Time to live, is the maximum amount of time a message can be propagated since its creation.
- *
- * **Sharing Time**\
- * The maximum amount of time a message will be kept for forwarding.
- *
- * **Maximum Propagation**\
- * The maximum number of times a message will be forwarded from a device.
- *
- * **Tracklist Limit**\
- * The maximum number of UUID’s stored in an array to prevent sending the message to a peer which already forwarded the message.
- *
- * @since 1.0.0
- */
-export interface StartOptions {
+  messagesInFlight: number;
   /**
-   * The ID used to identify the user in the Bridgefy network.
+   * Number of SDK callbacks waiting to be turned into events.
    *
-   * If not provided, a new user ID will be generated.
+   * @since 1.3.0
    */
-  userID?: UserID;
-
+  dispatchQueueDepth: number;
   /**
-   * A profile that defines a series of properties and rules for the propagation of messages.
+   * Number of events dropped because the dispatch queue was full.
    *
-   * @default PropagationProfile.STANDARD
+   * @since 1.3.0
    */
-  propagationProfile?: PropagationProfile;
-}
-
-/**
- * @since 1.0.0
- */
-export interface IsStartedResult {
-  isStarted?: boolean;
-}
-
-/**
- * @since 1.0.0
- */
-export interface LicenseExpirationDateResult {
+  droppedEvents: number;
   /**
-   * The expiration date of the license.
+   * Number of received messages dropped as duplicates.
    *
-   * The time in milliseconds that has elapsed since the epoch, which is defined as the midnight at the beginning of January 1, 1970, UTC (equivalent to the UNIX epoch).
-   * This timestamp is timezone-agnostic and uniquely defines an instant in history.
+   * @since 1.3.0
+   */
+  duplicates: number;
+  /**
+   * Statistics about the compression of payloads.
    *
-   * @since 1.0.0
+   * @since 1.3.0
    */
-  licenseExpirationDate?: number;
-}
-
-/**
- * @since 1.0.0
- */
-export interface CurrentUserIDResult {
-  userID?: UserID;
-}
-
-/**
- * @since 1.0.0
- */
-export interface ConnectedPeersResult {
-  peers?: PeerID[];
-}
-
-/**
- * @since 1.0.0
- */
-export interface SendOptions {
-  data: Base64;
-  transmissionMode: TransmissionMode;
-}
-
-/**
- * @since 1.0.0
- */
-export interface SendResult {
-  messageID: MessageID;
+  compression: CompressionStatisticsResult;
 }
 
 /**
@@ -725,6 +1822,78 @@ export enum TransmissionType {
   P2P = 'p2p',
 }
 
+export enum SendPriority {
+  /**
+   * Sent before any other message.
+   *
+   * @since 1.3.0
+   */
+  CONTROL = 'control',
+  /**
+   * Sent before bulk messages.
+   *
+   * @since 1.3.0
+   */
+  INTERACTIVE = 'interactive',
+  /**
+   * Sent when no other message is waiting.
+   *
+   * @since 1.3.0
+   */
+  BULK = 'bulk',
+}
+
+export enum Compression {
+  /**
+   * Payloads are sent uncompressed.
+   *
+   * @since 1.3.0
+   */
+  NONE = 'none',
+  /**
+   * Payloads are compressed with deflate.
+   *
+   * @since 1.3.0
+   */
+  DEFLATE = 'deflate',
+}
+
+export enum DuplicateFilter {
+  /**
+   * Every received message is delivered.
+   *
+   * @since 1.3.0
+   */
+  NONE = 'none',
+  /**
+   * Messages with the same message ID are delivered once.
+   *
+   * @since 1.3.0
+   */
+  MESSAGE_ID = 'messageID',
+  /**
+   * Messages with the same content and transmission mode are delivered once, even with different message IDs.
+   *
+   * @since 1.3.0
+   */
+  CONTENT = 'content',
+}
+
+export enum ReceiveMode {
+  /**
+   * The payload is delivered with every `onReceive` event.
+   *
+   * @since 1.3.0
+   */
+  EAGER = 'eager',
+  /**
+   * Only the size and a preview of the payload are delivered, the payload is retrieved with `getPayload`.
+   *
+   * @since 1.3.0
+   */
+  LAZY = 'lazy',
+}
+
 export enum PropagationProfile {
   /**
    * Represents a standard propagation profile.
@@ -756,6 +1925,17 @@ export enum PropagationProfile {
    * @since 1.0.0
    */
   SHORT_REACH = 'shortReach',
+  /**
+   * Switches between the standard, high-density and sparse profiles, following the number of peers around.
+   * The thresholds are configured with `adaptiveProfile`.
+   *
+   * The SDK is restarted on every switch, without emitting `onStopped` and `onStarted`.
+   *
+   * ![Android](assets/android.svg) Only available for Android.
+   *
+   * @since 1.3.0
+   */
+  ADAPTIVE = 'adaptive',
 }
 
 export enum ReasonType {
@@ -846,6 +2026,30 @@ export enum ReasonType {
    * @since 1.0.0
    */
   UNKNOWN = 'unknown',
+  /**
+   * The outbound queue is full, the message has not been sent.
+   *
+   * ![Android](assets/android.svg) Only available for Android.
+   *
+   * @since 1.3.0
+   */
+  QUEUE_FULL = 'queueFull',
+  /**
+   * The payload is larger than the receiving plugin can reassemble, the message has not been sent.
+   *
+   * ![Android](assets/android.svg) Only available for Android.
+   *
+   * @since 1.3.0
+   */
+  PAYLOAD_TOO_LARGE = 'payloadTooLarge',
+  /**
+   * The message exceeds the configured rate limits, the message has not been sent.
+   *
+   * ![Android](assets/android.svg) Only available for Android.
+   *
+   * @since 1.3.0
+   */
+  RATE_LIMITED = 'rateLimited',
 
   // iOS
 
@@ -13,6 +13,15 @@ import type {
   IsInitializedResult,
   IsStartedResult,
   SendResult,
+  SendFileOptions,
+  SendBatchOptions,
+  SendBatchResult,
+  PayloadOptions,
+  PayloadResult,
+  ReceiveFilterOptions,
+  CompressionStatisticsResult,
+  StatisticsOptions,
+  StatisticsResult,
   EstablishSecureConnectionOptions,
   FingerprintOptions,
   FingerprintResult,
@@ -108,6 +117,42 @@ export class BridgefyWeb extends WebPlugin implements BridgefyPlugin {
     this.notifyListeners('onReceive', { messageID, ...options });
     return { messageID };
   }
+  async sendFile(options: SendFileOptions): Promise<SendResult> {
+    console.info('sendFile', options);
+    throw this.unimplemented('Method not implemented.');
+  }
+  async sendBatch(options: SendBatchOptions): Promise<SendBatchResult> {
+    console.info('sendBatch', options);
+    const results = [];
+    for (const message of options.messages) {
+      try {
+        results.push(await this.send(message));
+      } catch (error) {
+        results.push({ error: (error as Error).message });
+      }
+    }
+    return { results };
+  }
+
+  async getPayload(options: PayloadOptions): Promise<PayloadResult> {
+    console.info('getPayload', options);
+    throw this.unimplemented('Method not implemented.');
+  }
+
+  async setReceiveFilter(options?: ReceiveFilterOptions): Promise<void> {
+    console.info('setReceiveFilter', options);
+    throw this.unimplemented('Method not implemented.');
+  }
+
+  async compressionStatistics(): Promise<CompressionStatisticsResult> {
+    console.info('compressionStatistics');
+    throw this.unimplemented('Method not implemented.');
+  }
+
+  async getStatistics(options?: StatisticsOptions): Promise<StatisticsResult> {
+    console.info('getStatistics', options);
+    throw this.unimplemented('Method not implemented.');
+  }
 
   async checkPermissions(): Promise<PermissionStatus> {
     console.info('checkPermissions');